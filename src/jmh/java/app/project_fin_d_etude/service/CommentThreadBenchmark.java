@@ -0,0 +1,66 @@
+package app.project_fin_d_etude.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.project_fin_d_etude.model.CommentSummary;
+import app.project_fin_d_etude.utils.TextesFrancais;
+
+/**
+ * Banc d'essai de l'assemblage d'un fil de discussion
+ * ({@link CommentThreadService#construire}) à partir de commentaires triés
+ * chronologiquement : environ 40 % de commentaires de premier niveau, les
+ * autres répondant à un commentaire antérieur, plus souvent récent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentThreadBenchmark {
+
+    @Param({"50", "500", "5000"})
+    private int nombreCommentaires;
+
+    private List<CommentSummary> commentaires;
+
+    @Setup
+    public void preparer() {
+        Random aleatoire = new Random(42);
+        List<String> contenus = TextesFrancais.paragraphes(64, 400, 42);
+        LocalDateTime date = LocalDateTime.of(2024, 3, 1, 9, 0);
+        commentaires = new ArrayList<>(nombreCommentaires);
+        for (long id = 1; id <= nombreCommentaires; id++) {
+            Long parentId = null;
+            if (id > 1 && aleatoire.nextInt(10) >= 4) {
+                // Réponse à l'un des 20 derniers commentaires
+                parentId = Math.max(1, id - 1 - aleatoire.nextInt((int) Math.min(20, id - 1)));
+            }
+            date = date.plusMinutes(1 + aleatoire.nextInt(30));
+            commentaires.add(new CommentSummary(id, parentId,
+                    TextesFrancais.NOMS[aleatoire.nextInt(TextesFrancais.NOMS.length)], null, date,
+                    contenus.get(aleatoire.nextInt(contenus.size())), false));
+        }
+    }
+
+    @Benchmark
+    public CommentThreadService.Fil construire() {
+        return CommentThreadService.construire(commentaires);
+    }
+}
@@ -0,0 +1,63 @@
+package app.project_fin_d_etude.utils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai de {@link DateUtils}, appelé pour chaque carte d'article et
+ * chaque commentaire affichés.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilsBenchmark {
+
+    private LocalDateTime date;
+    private LocalDateTime ilYaTroisHeures;
+
+    @Setup
+    public void preparer() {
+        date = LocalDateTime.of(2024, 2, 29, 18, 45);
+        ilYaTroisHeures = LocalDateTime.now().minusHours(3);
+    }
+
+    @Benchmark
+    public String format() {
+        return DateUtils.format(date);
+    }
+
+    @Benchmark
+    public String formatShort() {
+        return DateUtils.formatShort(date);
+    }
+
+    @Benchmark
+    public String formatIso() {
+        return DateUtils.formatIso(date);
+    }
+
+    @Benchmark
+    public String descriptionRelative() {
+        return DateUtils.getRelativeTimeDescription(ilYaTroisHeures);
+    }
+
+    @Benchmark
+    public String descriptionRelativeAncienne() {
+        // Au-delà d'une semaine : format complet
+        return DateUtils.getRelativeTimeDescription(date);
+    }
+}
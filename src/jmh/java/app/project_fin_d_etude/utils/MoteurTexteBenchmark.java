@@ -0,0 +1,142 @@
+package app.project_fin_d_etude.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Comparaison de {@link MoteurTexte} avec les implémentations par
+ * expressions régulières et {@link Normalizer} qu'il remplace, recopiées
+ * ici telles qu'elles étaient dans {@link ValidationUtils} et
+ * {@link TextUtils} (méthodes {@code reference*}).
+ *
+ * {@code longueur} : 80 caractères pour un titre ou un commentaire court,
+ * 2000 pour un article.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoteurTexteBenchmark {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$",
+            Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern NAME_PATTERN = Pattern.compile(
+            "^[a-zA-ZÀ-ÿ\\s'-]{2,50}$",
+            Pattern.UNICODE_CHARACTER_CLASS
+    );
+    private static final Pattern TITLE_PATTERN = Pattern.compile(
+            "^[a-zA-ZÀ-ÿ0-9\\s'-]{3,300}$",
+            Pattern.UNICODE_CHARACTER_CLASS
+    );
+    private static final Pattern DIACRITIQUES = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    @Param({"80", "2000"})
+    private int longueur;
+
+    private String texte;
+    private String email;
+    private String nom;
+    private String titre;
+
+    @Setup
+    public void preparer() {
+        texte = TextesFrancais.paragraphe(longueur, 42);
+        email = TextesFrancais.EMAILS[1];
+        nom = TextesFrancais.NOMS[3];
+        titre = TextesFrancais.TITRES[3];
+    }
+
+    @Benchmark
+    public String referenceSansAccents() {
+        String normalized = Normalizer.normalize(texte, Normalizer.Form.NFD);
+        return DIACRITIQUES.matcher(normalized).replaceAll("");
+    }
+
+    @Benchmark
+    public String sansAccents() {
+        return MoteurTexte.sansAccents(texte);
+    }
+
+    @Benchmark
+    public String referenceNormaliser() {
+        String normalized = Normalizer.normalize(texte, Normalizer.Form.NFD);
+        return DIACRITIQUES.matcher(normalized).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    @Benchmark
+    public String normaliser() {
+        return MoteurTexte.normaliser(texte);
+    }
+
+    @Benchmark
+    public String referenceNettoyer() {
+        return texte.replaceAll("\\s+", " ").trim();
+    }
+
+    @Benchmark
+    public String nettoyer() {
+        return MoteurTexte.nettoyer(texte);
+    }
+
+    @Benchmark
+    public boolean referenceLongueurContenu() {
+        String trimmed = texte.trim();
+        return trimmed.length() >= ValidationUtils.MIN_CONTENT_LENGTH
+                && trimmed.length() <= ValidationUtils.MAX_CONTENT_LENGTH;
+    }
+
+    @Benchmark
+    public boolean longueurContenu() {
+        int longueurUtile = MoteurTexte.longueurUtile(texte);
+        return longueurUtile >= ValidationUtils.MIN_CONTENT_LENGTH
+                && longueurUtile <= ValidationUtils.MAX_CONTENT_LENGTH;
+    }
+
+    @Benchmark
+    public boolean referenceEmail() {
+        return EMAIL_PATTERN.matcher(email.trim()).matches();
+    }
+
+    @Benchmark
+    public boolean email() {
+        return MoteurTexte.estEmail(email);
+    }
+
+    @Benchmark
+    public boolean referenceNom() {
+        return NAME_PATTERN.matcher(nom.trim()).matches();
+    }
+
+    @Benchmark
+    public boolean nom() {
+        return MoteurTexte.estNom(nom);
+    }
+
+    @Benchmark
+    public boolean referenceTitre() {
+        return TITLE_PATTERN.matcher(titre.trim()).matches();
+    }
+
+    @Benchmark
+    public boolean titre() {
+        return MoteurTexte.estTitre(titre);
+    }
+}
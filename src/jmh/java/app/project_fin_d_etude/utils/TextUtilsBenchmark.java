@@ -0,0 +1,76 @@
+package app.project_fin_d_etude.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai de {@link TextUtils} : normalisation des titres et contenus
+ * (recherche, index), nettoyage, extraits et distance d'édition de
+ * l'autocomplétion.
+ *
+ * {@code longueur} : 80 caractères pour un titre ou un commentaire court,
+ * 2000 pour un article.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextUtilsBenchmark {
+
+    @Param({"80", "2000"})
+    private int longueur;
+
+    private String texte;
+    private String titre;
+    private String saisie;
+
+    @Setup
+    public void preparer() {
+        texte = TextesFrancais.paragraphe(longueur, 42);
+        titre = TextesFrancais.TITRES[1];
+        saisie = "economie circulaire reparer";
+    }
+
+    @Benchmark
+    public String removeAccents() {
+        return TextUtils.removeAccents(texte);
+    }
+
+    @Benchmark
+    public String normaliser() {
+        return TextUtils.normaliser(texte);
+    }
+
+    @Benchmark
+    public String clean() {
+        return TextUtils.clean(texte);
+    }
+
+    @Benchmark
+    public String resume() {
+        return TextUtils.resume(texte, 150);
+    }
+
+    @Benchmark
+    public String motifRecherche() {
+        return TextUtils.motifRecherche(titre);
+    }
+
+    @Benchmark
+    public int distanceLevenshtein() {
+        return TextUtils.distanceLevenshtein(saisie, TextUtils.normaliser(titre));
+    }
+}
@@ -0,0 +1,74 @@
+package app.project_fin_d_etude.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Jeux de données en français pour les bancs d'essai : titres, noms, emails
+ * et paragraphes accentués, semblables à ceux saisis dans le blog. Générés
+ * avec une graine fixe, pour que deux exécutions mesurent les mêmes entrées.
+ */
+public final class TextesFrancais {
+
+    public static final String[] TITRES = {
+        "Les élèves de l'école Jean-Moulin découvrent la programmation",
+        "Économie circulaire : réparer plutôt que jeter",
+        "Fête de la musique à Saint-Étienne",
+        "Pourquoi l'hiver dernier a été si doux",
+        "Recette de la crème brûlée à l'ancienne",
+        "Où apprendre le français à Montréal"
+    };
+
+    public static final String[] NOMS = {
+        "Amélie Poulain", "François Hollande", "Éloïse D'Arcy", "Jean-Baptiste Lefèvre",
+        "Chloé Müller", "Noël Béranger", "Zoé O'Neil", "Hélène Garçon"
+    };
+
+    public static final String[] EMAILS = {
+        "amelie.poulain@exemple.fr", "francois.h@universite-paris.fr", "eloise+blog@mail.com",
+        "jb.lefevre@orange.fr", "chloe_muller@gmail.com", "noel.beranger@laposte.net"
+    };
+
+    private static final String[] PHRASES = {
+        "L'été dernier, nous avons traversé la Provence à vélo, de café en café.",
+        "Les critiques étaient unanimes : la mise en scène était à la fois sobre et émouvante.",
+        "À mon avis, ce débat mérite qu'on s'y attarde davantage qu'on ne le pense.",
+        "Ça dépend surtout du budget alloué par la région et de la météo du printemps.",
+        "Né à Besançon, il a étudié l'électronique avant de se tourner vers le théâtre.",
+        "Merci pour cet article très complet, j'ai hâte de lire la suite !",
+        "Où trouver des données fiables sur la qualité de l'air en Île-de-France ?",
+        "Les coûts ont augmenté de 12 % depuis l'année précédente, d'après l'Insee."
+    };
+
+    private TextesFrancais() {
+        // Classe utilitaire, constructeur privé
+    }
+
+    /**
+     * Paragraphe d'au moins {@code longueur} caractères, fait de phrases
+     * accentuées séparées par des espaces et quelques sauts de ligne.
+     */
+    public static String paragraphe(int longueur, long graine) {
+        Random aleatoire = new Random(graine);
+        StringBuilder texte = new StringBuilder(longueur + 100);
+        while (texte.length() < longueur) {
+            texte.append(PHRASES[aleatoire.nextInt(PHRASES.length)]);
+            texte.append(aleatoire.nextInt(5) == 0 ? "\n\n  " : " ");
+        }
+        return texte.toString();
+    }
+
+    /**
+     * Liste de paragraphes de longueurs variées (de 20 à {@code longueurMax}
+     * caractères).
+     */
+    public static List<String> paragraphes(int nombre, int longueurMax, long graine) {
+        Random aleatoire = new Random(graine);
+        List<String> textes = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            textes.add(paragraphe(20 + aleatoire.nextInt(Math.max(1, longueurMax - 20)), graine + i));
+        }
+        return textes;
+    }
+}
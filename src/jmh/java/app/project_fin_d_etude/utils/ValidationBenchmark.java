@@ -0,0 +1,114 @@
+package app.project_fin_d_etude.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import app.project_fin_d_etude.model.Commentaire;
+import app.project_fin_d_etude.model.Message;
+import app.project_fin_d_etude.model.Post;
+
+/**
+ * Banc d'essai des validations exécutées à chaque enregistrement :
+ * {@link ValidationUtils} et {@link EntityValidator}
+ * sur des articles, commentaires et messages valides, et sur des saisies
+ * invalides (qui parcourent toutes les branches d'erreur).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private String email;
+    private String nom;
+    private String titre;
+    private String contenu;
+    private Post post;
+    private Post postInvalide;
+    private Commentaire commentaire;
+    private Message message;
+
+    @Setup
+    public void preparer() {
+        email = TextesFrancais.EMAILS[1];
+        nom = TextesFrancais.NOMS[3];
+        titre = TextesFrancais.TITRES[3];
+        contenu = TextesFrancais.paragraphe(1500, 7);
+
+        post = new Post();
+        post.setTitre(titre);
+        post.setContenu(contenu);
+        post.setAuteurEmail(email);
+        post.setAuteurNom(nom);
+
+        postInvalide = new Post();
+        postInvalide.setTitre("Économie : 100 % réparable ?");
+        postInvalide.setContenu("Trop court");
+        postInvalide.setAuteurEmail("francois.h@universite");
+        postInvalide.setAuteurNom("F");
+
+        commentaire = new Commentaire();
+        commentaire.setContenu(TextesFrancais.paragraphe(200, 11));
+        commentaire.setPost(post);
+        commentaire.setAuteurEmail(TextesFrancais.EMAILS[0]);
+        commentaire.setAuteurNom(TextesFrancais.NOMS[0]);
+
+        message = new Message();
+        message.setNom(TextesFrancais.NOMS[2]);
+        message.setEmail(TextesFrancais.EMAILS[2]);
+        message.setSujet("Question sur l'inscription à l'atelier d'écriture");
+        message.setContenu(TextesFrancais.paragraphe(600, 13));
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return ValidationUtils.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean isValidName() {
+        return ValidationUtils.isValidName(nom);
+    }
+
+    @Benchmark
+    public boolean isValidTitle() {
+        return ValidationUtils.isValidTitle(titre);
+    }
+
+    @Benchmark
+    public boolean isValidContent() {
+        return ValidationUtils.isValidContent(contenu);
+    }
+
+    @Benchmark
+    public EntityValidator.ValidationResult validatePost() {
+        return EntityValidator.validatePost(post);
+    }
+
+    @Benchmark
+    public EntityValidator.ValidationResult validatePostInvalide() {
+        return EntityValidator.validatePost(postInvalide);
+    }
+
+    @Benchmark
+    public EntityValidator.ValidationResult validateCommentaire() {
+        return EntityValidator.validateCommentaire(commentaire);
+    }
+
+    @Benchmark
+    public EntityValidator.ValidationResult validateMessage() {
+        return EntityValidator.validateMessage(message);
+    }
+}
@@ -0,0 +1,225 @@
+package app.project_fin_d_etude.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import app.project_fin_d_etude.config.AsyncConfig;
+import app.project_fin_d_etude.repository.PostRepository;
+import app.project_fin_d_etude.utils.SemaphoreBoundedExecutor;
+
+/**
+ * Banc d'essai des deux modes d'exécution asynchrone ({@code async.mode}) :
+ * pools de threads plateforme, et threads virtuels bornés par sémaphore.
+ *
+ * Activé uniquement avec le profil "benchmark-executeurs" :
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=benchmark-executeurs}
+ * (sous Java 21 pour mesurer aussi le mode virtuel). Simule
+ * {@code benchmark.executeurs.sessions} sessions simultanées, chacune
+ * enchaînant des requêtes asynchrones dont elle attend le résultat : lecture
+ * de la première page d'articles en base, ou appel Keycloak simulé par une
+ * attente. Les deux modes sont mesurés avec les réglages de l'application,
+ * puis l'application s'arrête.
+ */
+@Component
+@Profile("benchmark-executeurs")
+public class ExecuteurBenchmark implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecuteurBenchmark.class);
+    private static final int TAILLE_PAGE = 12;
+
+    private final PostRepository postRepository;
+    private final ApplicationContext context;
+
+    @Value("${benchmark.executeurs.sessions:500}")
+    private int sessions;
+    @Value("${benchmark.executeurs.requetes-par-session:20}")
+    private int requetesParSession;
+    @Value("${benchmark.executeurs.latence-keycloak-ms:20}")
+    private long latenceKeycloakMs;
+    @Value("${benchmark.executeurs.part-keycloak:0.2}")
+    private double partKeycloak;
+    @Value("${async.corePoolSize:2}")
+    private int corePoolSize;
+    @Value("${async.maxPoolSize:4}")
+    private int maxPoolSize;
+    @Value("${async.queueCapacity:100}")
+    private int queueCapacity;
+    @Value("${async.virtual.concurrence-max:10}")
+    private int virtuelConcurrenceMax;
+    @Value("${keycloak.client.concurrence-max:4}")
+    private int keycloakConcurrenceMax;
+    @Value("${keycloak.client.file-attente:20}")
+    private int keycloakFileAttente;
+
+    /**
+     * Mesures d'un mode.
+     */
+    private record Resultat(String mode, int requetes, int rejets, int executeesParAppelant, long dureeMs, double[] latences) {
+
+        double debit() {
+            return dureeMs == 0 ? 0 : (requetes - rejets) * 1000.0 / dureeMs;
+        }
+
+        double centile(double c) {
+            if (latences.length == 0) {
+                return 0;
+            }
+            return latences[Math.min(latences.length - 1, (int) Math.ceil(latences.length * c) - 1)];
+        }
+
+        double moyenne() {
+            return Arrays.stream(latences).average().orElse(0);
+        }
+    }
+
+    @Autowired
+    public ExecuteurBenchmark(PostRepository postRepository, ApplicationContext context) {
+        this.postRepository = postRepository;
+        this.context = context;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        logger.info("Banc d'essai des exécuteurs : {} sessions x {} requêtes, {} % d'appels Keycloak à {} ms",
+                sessions, requetesParSession, Math.round(partKeycloak * 100), latenceKeycloakMs);
+        // Préchauffage du pool de connexions et du cache de requêtes
+        postRepository.findFirstPage(PageRequest.of(0, TAILLE_PAGE));
+
+        List<Resultat> resultats = new ArrayList<>();
+        resultats.add(mesurer("platform",
+                AsyncConfig.executeurPlateforme(corePoolSize, maxPoolSize, queueCapacity, "Bench-",
+                        new ThreadPoolExecutor.CallerRunsPolicy()),
+                AsyncConfig.executeurPlateforme(keycloakConcurrenceMax, keycloakConcurrenceMax, keycloakFileAttente,
+                        "BenchKeycloak-", new ThreadPoolExecutor.AbortPolicy())));
+        if (SemaphoreBoundedExecutor.threadsVirtuelsDisponibles()) {
+            resultats.add(mesurer("virtual",
+                    AsyncConfig.executeurVirtuel("Bench-", virtuelConcurrenceMax, -1),
+                    AsyncConfig.executeurVirtuel("BenchKeycloak-", keycloakConcurrenceMax, keycloakFileAttente)));
+        } else {
+            logger.warn("Mode virtual non mesuré : Java {} ne fournit pas de threads virtuels (Java 21 requis, profil Maven java21)",
+                    Runtime.version().feature());
+        }
+
+        logger.info(String.format("%-10s %10s %10s %10s %10s %12s %8s %10s", "Mode", "Moy.", "p95", "p99", "Durée",
+                "Débit", "Rejets", "Appelant"));
+        for (Resultat r : resultats) {
+            logger.info(String.format("%-10s %8.2fms %8.2fms %8.2fms %8dms %8.0f/s %8d %10d", r.mode(), r.moyenne(),
+                    r.centile(0.95), r.centile(0.99), r.dureeMs(), r.debit(), r.rejets(), r.executeesParAppelant()));
+        }
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    /**
+     * Fait tourner toutes les sessions sur une paire d'exécuteurs (base et
+     * Keycloak) et mesure la latence de chaque requête, de sa soumission à
+     * son résultat.
+     */
+    private Resultat mesurer(String mode, ExecutorService executeurBase, ExecutorService executeurKeycloak) throws InterruptedException {
+        // Les sessions sont des threads plateforme, comme les threads de requête du serveur
+        ExecutorService sessionsPool = Executors.newFixedThreadPool(sessions);
+        CountDownLatch depart = new CountDownLatch(1);
+        AtomicInteger rejets = new AtomicInteger();
+        AtomicInteger parAppelant = new AtomicInteger();
+        double[][] latencesParSession = new double[sessions][];
+        List<Future<?>> fins = new ArrayList<>(sessions);
+        for (int s = 0; s < sessions; s++) {
+            int session = s;
+            fins.add(sessionsPool.submit(() -> {
+                Thread appelant = Thread.currentThread();
+                double[] latences = new double[requetesParSession];
+                int mesurees = 0;
+                depart.await();
+                for (int i = 0; i < requetesParSession; i++) {
+                    boolean keycloak = ThreadLocalRandom.current().nextDouble() < partKeycloak;
+                    long debut = System.nanoTime();
+                    try {
+                        Future<?> resultat = keycloak
+                                ? executeurKeycloak.submit(() -> {
+                                    compterAppelant(appelant, parAppelant);
+                                    attendre(latenceKeycloakMs);
+                                })
+                                : executeurBase.submit(() -> {
+                                    compterAppelant(appelant, parAppelant);
+                                    postRepository.findFirstPage(PageRequest.of(0, TAILLE_PAGE));
+                                });
+                        resultat.get();
+                        latences[mesurees++] = (System.nanoTime() - debut) / 1_000_000.0;
+                    } catch (RejectedExecutionException e) {
+                        rejets.incrementAndGet();
+                    } catch (ExecutionException e) {
+                        rejets.incrementAndGet();
+                        logger.debug("Requête en échec : {}", e.getCause().getMessage());
+                    }
+                }
+                latencesParSession[session] = Arrays.copyOf(latences, mesurees);
+                return null;
+            }));
+        }
+
+        long debut = System.currentTimeMillis();
+        depart.countDown();
+        for (Future<?> fin : fins) {
+            try {
+                fin.get();
+            } catch (ExecutionException e) {
+                logger.error("Session en échec : {}", e.getCause().getMessage(), e.getCause());
+            }
+        }
+        long duree = System.currentTimeMillis() - debut;
+
+        sessionsPool.shutdown();
+        executeurBase.shutdown();
+        executeurKeycloak.shutdown();
+        executeurBase.awaitTermination(10, TimeUnit.SECONDS);
+        executeurKeycloak.awaitTermination(10, TimeUnit.SECONDS);
+
+        double[] latences = Arrays.stream(latencesParSession)
+                .filter(l -> l != null)
+                .flatMapToDouble(Arrays::stream)
+                .sorted()
+                .toArray();
+        logger.info("Mode {} mesuré en {} ms", mode, duree);
+        return new Resultat(mode, sessions * requetesParSession, rejets.get(), parAppelant.get(), duree, latences);
+    }
+
+    /**
+     * Compte les tâches exécutées par le thread de la session elle-même
+     * (politique CallerRunsPolicy d'un pool saturé).
+     */
+    private static void compterAppelant(Thread appelant, AtomicInteger parAppelant) {
+        if (Thread.currentThread() == appelant) {
+            parAppelant.incrementAndGet();
+        }
+    }
+
+    private static void attendre(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
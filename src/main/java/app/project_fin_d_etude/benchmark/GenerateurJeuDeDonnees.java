@@ -0,0 +1,365 @@
+package app.project_fin_d_etude.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import app.project_fin_d_etude.model.Commentaire;
+import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.utils.TextUtils;
+
+/**
+ * Générateur de jeux de données synthétiques pour les tests de charge :
+ * auteurs, articles, fils de commentaires et messages de contact.
+ *
+ * Les lignes sont insérées en JDBC par lots d'INSERT à plusieurs VALUES,
+ * avec des identifiants attribués ici à la suite du plus grand identifiant
+ * existant : les entités utilisent {@code GenerationType.IDENTITY}, qui
+ * oblige Hibernate à insérer ligne par ligne pour relire chaque
+ * identifiant. Les identifiants connus d'avance donnent aussi le chemin
+ * matérialisé des commentaires et les compteurs des articles sans relecture.
+ * L'application ne doit donc pas enregistrer de données pendant la
+ * génération.
+ *
+ * Le contenu ne dépend que de la graine et des volumes demandés ; les dates
+ * sont réparties sur l'année qui précède le jour de la génération.
+ */
+public class GenerateurJeuDeDonnees {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerateurJeuDeDonnees.class);
+
+    /**
+     * Vocabulaire des titres et contenus (les requêtes de
+     * {@link RechercheBenchmark} en sont tirées).
+     */
+    private static final String[] VOCABULAIRE = {
+        "développement", "sécurité", "application", "données", "serveur", "réseau", "spring", "java",
+        "vaadin", "keycloak", "architecture", "performance", "requête", "index", "mémoire", "thread",
+        "université", "étudiant", "projet", "rapport", "soutenance", "recherche", "algorithme", "système",
+        "interface", "utilisateur", "authentification", "déploiement", "conteneur", "docker", "cloud",
+        "élève", "professeur", "cours", "examen", "bibliothèque", "événement", "conférence", "atelier",
+        "intelligence", "artificielle", "apprentissage", "modèle", "statistique", "analyse", "qualité",
+        "test", "intégration", "continue", "version", "migration", "schéma", "transaction", "cache"
+    };
+    private static final String[] PRENOMS = {
+        "Amélie", "Benoît", "Céline", "Damien", "Élodie", "François", "Gaëlle", "Hélène", "Inès", "Jérôme",
+        "Karim", "Léa", "Mamadou", "Noémie", "Océane", "Pascal", "Quentin", "Raphaël", "Sébastien", "Thérèse",
+        "Ulysse", "Valérie", "William", "Xavier", "Yasmine", "Zoé", "Aïcha", "Cédric", "Fatou", "Loïc"
+    };
+    private static final String[] NOMS = {
+        "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand", "Leroy", "Moreau",
+        "Simon", "Laurent", "Lefèvre", "Michel", "Garcia", "David", "Bertrand", "Roux", "Vincent", "Fournier",
+        "Diop", "Ndiaye", "Fall", "Sow", "Faye", "Girard", "Bonnet", "Dupont", "Lambert", "Fontaine"
+    };
+
+    private static final int JOURS = 365;
+    private static final int MOTS_PAR_TITRE = 6;
+    private static final int MOTS_PAR_ARTICLE = 150;
+    // 40 % de commentaires de premier niveau, les autres répondent à l'un des 20 derniers du fil
+    private static final double PART_PREMIER_NIVEAU = 0.4;
+    private static final int FENETRE_REPONSE = 20;
+    private static final double PART_INAPPROPRIES = 0.01;
+    private static final int INTERVALLE_PROGRESSION = 100_000;
+
+    /**
+     * Volumes à générer.
+     *
+     * @param auteurs Nombre d'auteurs (au moins un s'il y a des articles)
+     * @param posts Nombre d'articles
+     * @param commentaires Nombre total de commentaires, répartis très
+     * inégalement entre les articles
+     * @param messages Nombre de messages de contact
+     */
+    public record Volumes(int auteurs, int posts, int commentaires, int messages) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long graine;
+    private final int tailleLot;
+    private final int profondeurMax;
+    private final LocalDateTime reference = LocalDate.now().atStartOfDay();
+
+    /**
+     * @param jdbcTemplate Accès à la base
+     * @param graine Graine des tirages aléatoires
+     * @param tailleLot Nombre de lignes par INSERT
+     * @param profondeurMax Profondeur maximale des fils de commentaires (au
+     * plus 50, la longueur du chemin matérialisé)
+     */
+    public GenerateurJeuDeDonnees(JdbcTemplate jdbcTemplate, long graine, int tailleLot, int profondeurMax) {
+        if (tailleLot < 1) {
+            throw new IllegalArgumentException("La taille des lots doit être positive");
+        }
+        if (profondeurMax < 1 || profondeurMax * Commentaire.LONGUEUR_SEGMENT_CHEMIN > Commentaire.LONGUEUR_MAX_CHEMIN) {
+            throw new IllegalArgumentException("La profondeur des fils doit être comprise entre 1 et "
+                    + Commentaire.LONGUEUR_MAX_CHEMIN / Commentaire.LONGUEUR_SEGMENT_CHEMIN);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.graine = graine;
+        this.tailleLot = tailleLot;
+        this.profondeurMax = profondeurMax;
+    }
+
+    /**
+     * Insère les volumes demandés, à la suite des données existantes.
+     */
+    public void generer(Volumes volumes) {
+        if (volumes.posts() > 0 && volumes.auteurs() < 1) {
+            throw new IllegalArgumentException("Les articles demandent au moins un auteur");
+        }
+        if (volumes.commentaires() > 0 && volumes.posts() < 1) {
+            throw new IllegalArgumentException("Les commentaires demandent au moins un article");
+        }
+        long debut = System.currentTimeMillis();
+        List<String[]> auteurs = genererAuteurs(volumes.auteurs());
+        genererPostsEtCommentaires(auteurs, volumes.posts(), volumes.commentaires());
+        genererMessages(volumes.messages());
+        logger.info("Jeu de données généré en {} s : {} auteurs, {} articles, {} commentaires, {} messages",
+                (System.currentTimeMillis() - debut) / 1000, volumes.auteurs(), volumes.posts(),
+                volumes.commentaires(), volumes.messages());
+    }
+
+    /**
+     * Auteurs {id, email, nom}. Leurs identifiants ne dépendent que de la
+     * graine : une seconde génération réutilise les mêmes auteurs.
+     */
+    private List<String[]> genererAuteurs(int nombre) {
+        LotInsertion lot = new LotInsertion("INSERT IGNORE INTO auteur (id, email, nom) VALUES ", 3, null);
+        List<String[]> auteurs = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            String prenom = PRENOMS[i % PRENOMS.length];
+            String nom = NOMS[(i / PRENOMS.length) % NOMS.length];
+            String id = UUID.nameUUIDFromBytes(("auteur-" + graine + "-" + i).getBytes(StandardCharsets.UTF_8)).toString();
+            String email = TextUtils.normaliser(prenom) + "." + TextUtils.normaliser(nom) + "." + i + "@exemple.fr";
+            String[] auteur = {id, email, prenom + " " + nom};
+            auteurs.add(auteur);
+            lot.ajouter((Object[]) auteur);
+        }
+        lot.vider();
+        return auteurs;
+    }
+
+    private void genererPostsEtCommentaires(List<String[]> auteurs, int nombrePosts, int nombreCommentaires) {
+        if (nombrePosts == 0) {
+            return;
+        }
+        Random random = new Random(graine);
+        int[] repartition = repartirCommentaires(random, nombrePosts, nombreCommentaires);
+        long idPost = prochainId("post");
+        long idCommentaire = prochainId("commentaire");
+
+        LotInsertion posts = new LotInsertion("INSERT INTO post (id, titre, contenu, extrait, date_publication, auteur_id, "
+                + "auteur_email, auteur_nom, nombre_commentaires, date_dernier_commentaire) VALUES ", 10, null);
+        // Les articles d'un lot de commentaires sont toujours insérés avant lui
+        LotInsertion commentaires = new LotInsertion("INSERT INTO commentaire (id, contenu, date_creation, auteur_id, "
+                + "auteur_email, auteur_nom, post_id, inapproprie, parent_id, chemin) VALUES ", 10, posts);
+
+        long secondesParPost = Math.max(1, JOURS * 86_400L / nombrePosts);
+        LocalDateTime debutPublication = reference.minusDays(JOURS);
+        long profondeurTotale = 0;
+        long commentairesInseres = 0;
+        for (int i = 0; i < nombrePosts; i++, idPost++) {
+            LocalDateTime datePost = debutPublication.plusSeconds(i * secondesParPost + random.nextLong(secondesParPost));
+            String titre = phrase(random, MOTS_PAR_TITRE);
+            String contenu = phrase(random, MOTS_PAR_ARTICLE);
+            String[] auteur = auteurs.get(indiceAuteur(random, auteurs.size()));
+
+            // Fil de l'article, tiré avant l'article pour connaître la date du dernier commentaire
+            int n = repartition[i];
+            List<Object[]> fil = new ArrayList<>(n);
+            long[] ids = new long[n];
+            String[] chemins = new String[n];
+            int[] profondeurs = new int[n];
+            LocalDateTime dateCommentaire = datePost;
+            for (int j = 0; j < n; j++, idCommentaire++) {
+                int parent = -1;
+                if (j > 0 && random.nextDouble() >= PART_PREMIER_NIVEAU) {
+                    parent = j - 1 - random.nextInt(Math.min(FENETRE_REPONSE, j));
+                    if (profondeurs[parent] >= profondeurMax) {
+                        parent = -1;
+                    }
+                }
+                ids[j] = idCommentaire;
+                chemins[j] = Commentaire.cheminEnfant(parent < 0 ? "" : chemins[parent], idCommentaire);
+                profondeurs[j] = parent < 0 ? 1 : profondeurs[parent] + 1;
+                profondeurTotale += profondeurs[j];
+                dateCommentaire = dateCommentaire.plusMinutes(1 + random.nextInt(180));
+                if (dateCommentaire.isAfter(reference)) {
+                    dateCommentaire = reference;
+                }
+                String[] commentateur = auteurs.get(indiceAuteur(random, auteurs.size()));
+                fil.add(new Object[]{idCommentaire, phrase(random, 3 + random.nextInt(40)),
+                        Timestamp.valueOf(dateCommentaire), commentateur[0], commentateur[1], commentateur[2], idPost,
+                        random.nextDouble() < PART_INAPPROPRIES, parent < 0 ? null : ids[parent], chemins[j]});
+            }
+
+            posts.ajouter(idPost, titre, contenu, TextUtils.resume(contenu, Post.LONGUEUR_EXTRAIT),
+                    Timestamp.valueOf(datePost), auteur[0], auteur[1], auteur[2], n,
+                    n == 0 ? null : Timestamp.valueOf(dateCommentaire));
+            for (Object[] commentaire : fil) {
+                commentaires.ajouter(commentaire);
+                if (++commentairesInseres % INTERVALLE_PROGRESSION == 0) {
+                    logger.info("{} commentaires générés", commentairesInseres);
+                }
+            }
+        }
+        posts.vider();
+        commentaires.vider();
+        logger.info("{} articles et {} commentaires insérés (profondeur moyenne des commentaires : {})", nombrePosts,
+                nombreCommentaires, String.format("%.2f", (double) profondeurTotale / Math.max(1, nombreCommentaires)));
+    }
+
+    /**
+     * Répartit les commentaires entre les articles selon une loi à queue
+     * lourde : la plupart des articles en ont peu, quelques-uns beaucoup.
+     */
+    private static int[] repartirCommentaires(Random random, int nombrePosts, int nombreCommentaires) {
+        double[] poids = new double[nombrePosts];
+        double total = 0;
+        for (int i = 0; i < nombrePosts; i++) {
+            double exponentielle = -Math.log(1 - random.nextDouble());
+            poids[i] = exponentielle * exponentielle * exponentielle;
+            total += poids[i];
+        }
+        int[] repartition = new int[nombrePosts];
+        long attribues = 0;
+        for (int i = 0; i < nombrePosts; i++) {
+            repartition[i] = (int) (nombreCommentaires * poids[i] / total);
+            attribues += repartition[i];
+        }
+        for (long reste = nombreCommentaires - attribues; reste > 0; reste--) {
+            repartition[random.nextInt(nombrePosts)]++;
+        }
+        return repartition;
+    }
+
+    private void genererMessages(int nombre) {
+        if (nombre == 0) {
+            return;
+        }
+        Random random = new Random(graine + 1);
+        LotInsertion lot = new LotInsertion("INSERT INTO message (id, nom, email, sujet, contenu, date_envoi, lu) VALUES ", 7, null);
+        long id = prochainId("message");
+        long secondesParMessage = Math.max(1, JOURS * 86_400L / nombre);
+        LocalDateTime debutEnvoi = reference.minusDays(JOURS);
+        for (int i = 0; i < nombre; i++, id++) {
+            String prenom = PRENOMS[random.nextInt(PRENOMS.length)];
+            String nom = NOMS[random.nextInt(NOMS.length)];
+            LocalDateTime dateEnvoi = debutEnvoi.plusSeconds(i * secondesParMessage + random.nextLong(secondesParMessage));
+            lot.ajouter(id, prenom + " " + nom,
+                    TextUtils.normaliser(prenom) + "." + TextUtils.normaliser(nom) + "@exemple.fr",
+                    phrase(random, 2 + random.nextInt(6)), phrase(random, 10 + random.nextInt(80)),
+                    // Les messages anciens ont presque tous été lus, les récents rarement
+                    Timestamp.valueOf(dateEnvoi), random.nextDouble() < 0.95 - 0.8 * i / nombre);
+        }
+        lot.vider();
+        logger.info("{} messages insérés", nombre);
+    }
+
+    /**
+     * Auteur tiré au hasard, les premiers bien plus souvent que les
+     * derniers.
+     */
+    private static int indiceAuteur(Random random, int nombreAuteurs) {
+        double u = random.nextDouble();
+        return (int) (nombreAuteurs * u * u * u);
+    }
+
+    private long prochainId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private static String phrase(Random random, int mots) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < mots; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(VOCABULAIRE[random.nextInt(VOCABULAIRE.length)]);
+        }
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.toString();
+    }
+
+    /**
+     * Lignes en attente d'une table, insérées par un seul INSERT à
+     * {@link #tailleLot} VALUES dès que le lot est plein.
+     */
+    private final class LotInsertion {
+
+        private final String debutRequete;
+        private final int colonnes;
+        private final LotInsertion prerequis;
+        private final List<Object> valeurs;
+        private String requeteLotPlein;
+
+        /**
+         * @param debutRequete INSERT jusqu'au mot-clé VALUES compris
+         * @param colonnes Nombre de colonnes
+         * @param prerequis Lot à insérer avant celui-ci (clés étrangères), ou
+         * null
+         */
+        LotInsertion(String debutRequete, int colonnes, LotInsertion prerequis) {
+            this.debutRequete = debutRequete;
+            this.colonnes = colonnes;
+            this.prerequis = prerequis;
+            this.valeurs = new ArrayList<>(tailleLot * colonnes);
+        }
+
+        void ajouter(Object... ligne) {
+            Collections.addAll(valeurs, ligne);
+            if (valeurs.size() == tailleLot * colonnes) {
+                vider();
+            }
+        }
+
+        void vider() {
+            if (prerequis != null) {
+                prerequis.vider();
+            }
+            if (valeurs.isEmpty()) {
+                return;
+            }
+            int lignes = valeurs.size() / colonnes;
+            String requete;
+            if (lignes == tailleLot) {
+                if (requeteLotPlein == null) {
+                    requeteLotPlein = requete(lignes);
+                }
+                requete = requeteLotPlein;
+            } else {
+                requete = requete(lignes);
+            }
+            jdbcTemplate.update(requete, valeurs.toArray());
+            valeurs.clear();
+        }
+
+        private String requete(int lignes) {
+            StringBuilder ligne = new StringBuilder("(");
+            for (int i = 0; i < colonnes; i++) {
+                ligne.append(i == 0 ? "?" : ", ?");
+            }
+            ligne.append(')');
+            StringBuilder sb = new StringBuilder(debutRequete.length() + lignes * (ligne.length() + 2));
+            sb.append(debutRequete);
+            for (int i = 0; i < lignes; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(ligne);
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package app.project_fin_d_etude.benchmark;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remplit la base avec un jeu de données synthétique
+ * ({@link GenerateurJeuDeDonnees}) pour reproduire les volumes de
+ * production, puis arrête l'application.
+ *
+ * Activé uniquement avec le profil "generation", les volumes se règlent en
+ * ligne de commande :
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=generation
+ * -Dspring-boot.run.arguments="--generation.posts=20000 --generation.commentaires=1000000"}.
+ * Chaque exécution ajoute ses données à celles déjà présentes.
+ */
+@Component
+@Profile("generation")
+public class GenerationJeuDeDonnees implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationContext context;
+
+    @Value("${generation.auteurs:500}")
+    private int auteurs;
+    @Value("${generation.posts:10000}")
+    private int posts;
+    @Value("${generation.commentaires:100000}")
+    private int commentaires;
+    @Value("${generation.messages:1000}")
+    private int messages;
+    @Value("${generation.graine:42}")
+    private long graine;
+    @Value("${generation.taille-lot:1000}")
+    private int tailleLot;
+    @Value("${generation.profondeur-max:12}")
+    private int profondeurMax;
+
+    @Autowired
+    public GenerationJeuDeDonnees(JdbcTemplate jdbcTemplate, ApplicationContext context) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.context = context;
+    }
+
+    @Override
+    public void run(String... args) {
+        new GenerateurJeuDeDonnees(jdbcTemplate, graine, tailleLot, profondeurMax)
+                .generer(new GenerateurJeuDeDonnees.Volumes(auteurs, posts, commentaires, messages));
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
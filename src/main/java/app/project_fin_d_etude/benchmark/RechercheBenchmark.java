@@ -0,0 +1,119 @@
+package app.project_fin_d_etude.benchmark;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import app.project_fin_d_etude.repository.PostRepository;
+import app.project_fin_d_etude.service.PostSearchIndex;
+import app.project_fin_d_etude.service.PostService;
+
+/**
+ * Banc d'essai de la recherche d'articles : compare les requêtes LIKE
+ * historiques à l'index inversé en mémoire.
+ *
+ * Activé uniquement avec le profil "benchmark" :
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=benchmark}. Complète
+ * si besoin la table post avec des articles synthétiques jusqu'à
+ * {@code benchmark.posts} lignes, puis arrête l'application.
+ */
+@Component
+@Profile("benchmark")
+public class RechercheBenchmark implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(RechercheBenchmark.class);
+
+    private static final String[] REQUETES = {
+        "securite", "développement", "keycloak", "base de données", "intelligence artificielle",
+        "soutenance projet", "docker", "migration schéma"
+    };
+    private static final int AUTEURS = 500;
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final PostSearchIndex searchIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationContext context;
+
+    @Value("${benchmark.posts:100000}")
+    private int nombrePosts;
+    @Value("${benchmark.iterations:20}")
+    private int iterations;
+    @Value("${benchmark.warmup:3}")
+    private int warmup;
+
+    @Autowired
+    public RechercheBenchmark(PostRepository postRepository, PostService postService, PostSearchIndex searchIndex,
+            JdbcTemplate jdbcTemplate, ApplicationContext context) {
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.searchIndex = searchIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.context = context;
+    }
+
+    @Override
+    public void run(String... args) {
+        completerJeuDeDonnees();
+
+        long debut = System.currentTimeMillis();
+        searchIndex.reconstruire();
+        logger.info("Construction de l'index : {} articles en {} ms", searchIndex.taille(), System.currentTimeMillis() - debut);
+
+        logger.info(String.format("%-28s %12s %12s %12s %12s %8s", "Requête", "LIKE moy.", "LIKE p95", "Index moy.", "Index p95", "Hits"));
+        for (String requete : REQUETES) {
+            double[] like = mesurer(() -> postRepository.searchAllPosts(requete));
+            double[] index = mesurer(() -> postService.searchAllPosts(requete));
+            int hits = postService.searchAllPosts(requete).size();
+            logger.info(String.format("%-28s %10.2fms %10.2fms %10.2fms %10.2fms %8d", requete, like[0], like[1], index[0], index[1], hits));
+        }
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    /**
+     * Exécute une recherche plusieurs fois et renvoie sa durée moyenne et son
+     * 95e centile, en millisecondes.
+     */
+    private double[] mesurer(Supplier<?> recherche) {
+        for (int i = 0; i < warmup; i++) {
+            recherche.get();
+        }
+        double[] durees = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long debut = System.nanoTime();
+            recherche.get();
+            durees[i] = (System.nanoTime() - debut) / 1_000_000.0;
+        }
+        Arrays.sort(durees);
+        double moyenne = Arrays.stream(durees).average().orElse(0);
+        double p95 = durees[Math.min(durees.length - 1, (int) Math.ceil(durees.length * 0.95) - 1)];
+        return new double[]{moyenne, p95};
+    }
+
+    /**
+     * Insère des articles synthétiques (graine fixe, sans commentaires)
+     * jusqu'à atteindre le nombre d'articles demandé.
+     */
+    private void completerJeuDeDonnees() {
+        long existants = postRepository.count();
+        if (existants >= nombrePosts) {
+            logger.info("Jeu de données déjà présent : {} articles", existants);
+            return;
+        }
+        logger.info("Insertion de {} articles synthétiques...", nombrePosts - existants);
+        new GenerateurJeuDeDonnees(jdbcTemplate, 42, 1000, 1)
+                .generer(new GenerateurJeuDeDonnees.Volumes(AUTEURS, (int) (nombrePosts - existants), 0, 0));
+        logger.info("Jeu de données prêt : {} articles", postRepository.count());
+    }
+}
@@ -12,7 +12,7 @@ import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 
-import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.model.PostSummary;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
@@ -20,37 +20,39 @@ import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 public class BlogPostCard extends Div {
 
     // Constantes pour les textes et les classes CSS
-    private static final int MAX_EXCERPT_LENGTH = 200;
     private static final String UNKNOWN_TITLE = "Titre inconnu";
     private static final String UNKNOWN_DATE = "Date inconnue";
     private static final String READ_MORE = "Détails";
+    private static final String NO_COMMENTS = "Aucun commentaire";
 
     private static final String CARD_CLASS = "blog-post-card";
     private static final String DATE_CLASS = "blog-post-date";
     private static final String TITLE_CLASS = "blog-post-title";
     private static final String DESCRIPTION_CLASS = "blog-post-description";
+    private static final String ACTIVITY_CLASS = "blog-post-activity";
     private static final String BUTTON_CLASS = "blog-post-button";
 
     /**
      * Construit une carte d'aperçu d'un article de blog.
      *
-     * @param post L'article à afficher
+     * @param post Le résumé de l'article à afficher
      */
-    public BlogPostCard(Post post) {
+    public BlogPostCard(PostSummary post) {
         addClassName(CARD_CLASS);
         getElement().addEventListener("mouseenter", e -> getElement().getClassList().add("hover"));
         getElement().addEventListener("mouseleave", e -> getElement().getClassList().remove("hover"));
 
-        Span dateSpan = new Span(Optional.ofNullable(post.getDatePublication())
+        Span dateSpan = new Span(Optional.ofNullable(post.datePublication())
                 .map(d -> d.format(DateTimeFormatter.ofPattern("EEEE, d MMM yyyy")))
                 .orElse(UNKNOWN_DATE));
         dateSpan.addClassName(DATE_CLASS);
 
         H3 cardTitle = createTitle(post);
         Paragraph cardDescription = createDescription(post);
+        Span activitySpan = createActivity(post);
         Button detailButton = createDetailButton(post);
 
-        VerticalLayout contentLayout = new VerticalLayout(dateSpan, cardTitle, cardDescription);
+        VerticalLayout contentLayout = new VerticalLayout(dateSpan, cardTitle, cardDescription, activitySpan);
         contentLayout.setSpacing(false);
         contentLayout.setPadding(false);
         contentLayout.setAlignItems(FlexComponent.Alignment.START);
@@ -68,27 +70,40 @@ public class BlogPostCard extends Div {
     /**
      * Crée le titre de la carte à partir du titre du post.
      */
-    private H3 createTitle(Post post) {
-        H3 title = new H3(Optional.ofNullable(post.getTitre()).orElse(UNKNOWN_TITLE));
+    private H3 createTitle(PostSummary post) {
+        H3 title = new H3(Optional.ofNullable(post.titre()).orElse(UNKNOWN_TITLE));
         title.addClassName(TITLE_CLASS);
         return title;
     }
 
     /**
-     * Crée l'extrait du contenu de l'article (tronqué si nécessaire).
+     * Crée l'extrait du contenu de l'article (précalculé à l'enregistrement).
      */
-    private Paragraph createDescription(Post post) {
-        String contenu = Optional.ofNullable(post.getContenu()).orElse("");
-        String extrait = contenu.length() > MAX_EXCERPT_LENGTH ? contenu.substring(0, MAX_EXCERPT_LENGTH) + "..." : contenu;
-        Paragraph description = new Paragraph(extrait);
+    private Paragraph createDescription(PostSummary post) {
+        Paragraph description = new Paragraph(Optional.ofNullable(post.extrait()).orElse(""));
         description.addClassName(DESCRIPTION_CLASS);
         return description;
     }
 
+    /**
+     * Crée l'indication d'activité : nombre de commentaires et date du
+     * dernier (compteurs dénormalisés, lus avec le résumé).
+     */
+    private Span createActivity(PostSummary post) {
+        int nombre = post.nombreCommentaires();
+        String texte = nombre == 0 ? NO_COMMENTS : nombre + (nombre == 1 ? " commentaire" : " commentaires");
+        if (nombre > 0 && post.dateDernierCommentaire() != null) {
+            texte += " · dernier le " + post.dateDernierCommentaire().format(DateTimeFormatter.ofPattern("d MMM yyyy"));
+        }
+        Span activity = new Span(texte);
+        activity.addClassName(ACTIVITY_CLASS);
+        return activity;
+    }
+
     /**
      * Crée le bouton permettant d'accéder au détail de l'article.
      */
-    private Button createDetailButton(Post post) {
+    private Button createDetailButton(PostSummary post) {
         Button button = new Button(READ_MORE);
         button.addClickListener(e -> {
             button.setEnabled(false); // Désactive le bouton après clic
@@ -97,11 +112,11 @@ public class BlogPostCard extends Div {
             if (!isAuthenticated) {
                 getUI().ifPresent(ui -> ui.getPage().setLocation("/oauth2/authorization/keycloak"));
             } else {
-                getUI().ifPresent(ui -> ui.navigate("/user/article/" + post.getId()));
+                getUI().ifPresent(ui -> ui.navigate("/user/article/" + post.id()));
             }
         });
         button.addClassName(BUTTON_CLASS);
-        button.getElement().setAttribute("aria-label", READ_MORE + " sur " + post.getTitre());
+        button.getElement().setAttribute("aria-label", READ_MORE + " sur " + post.titre());
         return button;
     }
 }
@@ -1,10 +1,13 @@
 package app.project_fin_d_etude.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,9 +15,25 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 
+import app.project_fin_d_etude.utils.SemaphoreBoundedExecutor;
+
 /**
  * Configuration de l'exécution asynchrone dans l'application. Cette classe
- * configure le pool de threads pour gérer les opérations asynchrones.
+ * configure un exécuteur par type de charge (voir
+ * {@link app.project_fin_d_etude.utils.ExecutionAsynchrone}) : base de
+ * données, fournisseur d'identité (Keycloak), mises à jour de l'interface et
+ * traitements de fond.
+ *
+ * Deux modes sont proposés ({@code async.mode}) :
+ * <ul>
+ * <li>{@code platform} (par défaut) : pools de threads classiques, de petite
+ * taille ;</li>
+ * <li>{@code virtual} (Java 21) : un thread virtuel par tâche, le nombre de
+ * tâches simultanées étant borné par ressource (base de données, Keycloak)
+ * par un sémaphore plutôt que par la taille du pool.</li>
+ * </ul>
+ * Sur une JVM sans threads virtuels, le mode {@code virtual} retombe sur le
+ * mode {@code platform}.
  */
 @Configuration
 @EnableAsync // Active le support asynchrone dans Spring
@@ -22,6 +41,12 @@ public class AsyncConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
 
+    /**
+     * Nom de l'exécuteur des traitements de fond, pour
+     * {@code @Async(AsyncConfig.EXECUTEUR_ARRIERE_PLAN)}.
+     */
+    public static final String EXECUTEUR_ARRIERE_PLAN = "arrierePlanExecutor";
+
     @Value("${async.corePoolSize:2}")
     private int corePoolSize;
     @Value("${async.maxPoolSize:4}")
@@ -30,23 +55,146 @@ public class AsyncConfig {
     private int queueCapacity;
     @Value("${async.threadNamePrefix:AsyncThread-}")
     private String threadNamePrefix;
+    @Value("${async.mode:platform}")
+    private String mode;
+    @Value("${async.virtual.concurrence-max:10}")
+    private int virtuelConcurrenceMax;
+    @Value("${keycloak.client.concurrence-max:4}")
+    private int keycloakConcurrenceMax;
+    @Value("${keycloak.client.file-attente:20}")
+    private int keycloakFileAttente;
+    @Value("${async.interface.threads:2}")
+    private int interfaceThreads;
+    @Value("${async.interface.file-attente:1000}")
+    private int interfaceFileAttente;
+    @Value("${async.arriere-plan.threads:2}")
+    private int arrierePlanThreads;
+    @Value("${async.arriere-plan.file-attente:100}")
+    private int arrierePlanFileAttente;
+
+    /**
+     * Configure et crée le pool de threads des accès à la base de données et
+     * des traitements des services.
+     *
+     * @return Le pool de la charge base de données
+     */
+    @Bean(name = "baseExecutor", destroyMethod = "shutdown")
+    public ExecutorService baseExecutor() {
+        if (modeVirtuel()) {
+            logger.info("Initialisation de l'exécuteur asynchrone virtuel : concurrence={}, prefix={}", virtuelConcurrenceMax, threadNamePrefix);
+            return executeurVirtuel(threadNamePrefix, virtuelConcurrenceMax, -1);
+        }
+        logger.info("Initialisation du ThreadPoolTaskExecutor : core={}, max={}, queue={}, prefix={}", corePoolSize, maxPoolSize, queueCapacity, threadNamePrefix);
+        return executeurPlateforme(corePoolSize, maxPoolSize, queueCapacity, threadNamePrefix, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
 
     /**
-     * Configure et crée un pool de threads pour l'exécution des tâches
-     * asynchrones.
+     * Exécuteur des méthodes {@code @Async} : le pool {@link #baseExecutor()},
+     * avec le contexte de sécurité de l'appelant.
      *
      * @return Un Executor configuré pour gérer les tâches asynchrones
      */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(@Qualifier("baseExecutor") ExecutorService baseExecutor) {
+        return new DelegatingSecurityContextExecutorService(baseExecutor);
+    }
+
+    /**
+     * Pool dédié aux appels à l'API d'administration Keycloak (cloison) : un
+     * Keycloak lent n'occupe que ces threads, jamais ceux de
+     * {@link #baseExecutor()}. Au-delà de la file d'attente, les appels sont
+     * refusés immédiatement plutôt qu'exécutés par l'appelant.
+     *
+     * @return Le pool des appels Keycloak
+     */
+    @Bean(name = "identiteExecutor", destroyMethod = "shutdown")
+    public ExecutorService identiteExecutor() {
+        if (modeVirtuel()) {
+            logger.info("Initialisation de l'exécuteur Keycloak virtuel : concurrence={}, attente={}", keycloakConcurrenceMax, keycloakFileAttente);
+            return executeurVirtuel("Keycloak-", keycloakConcurrenceMax, keycloakFileAttente);
+        }
+        logger.info("Initialisation du pool Keycloak : threads={}, file={}", keycloakConcurrenceMax, keycloakFileAttente);
+        return executeurPlateforme(keycloakConcurrenceMax, keycloakConcurrenceMax, keycloakFileAttente, "Keycloak-",
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Pool des mises à jour poussées vers l'interface Vaadin : quelques
+     * threads suffisent, chaque tâche ne faisant qu'appliquer un résultat
+     * déjà calculé. File pleine, la mise à jour est faite par l'appelant.
+     *
+     * @return Le pool des mises à jour de l'interface
+     */
+    @Bean(name = "interfaceExecutor", destroyMethod = "shutdown")
+    public ExecutorService interfaceExecutor() {
+        if (modeVirtuel()) {
+            logger.info("Initialisation de l'exécuteur virtuel de l'interface : concurrence={}", interfaceThreads);
+            return executeurVirtuel("Interface-", interfaceThreads, -1);
+        }
+        logger.info("Initialisation du pool de l'interface : threads={}, file={}", interfaceThreads, interfaceFileAttente);
+        return executeurPlateforme(interfaceThreads, interfaceThreads, interfaceFileAttente, "Interface-",
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Pool des traitements de fond : migrations de données, reconstructions
+     * d'index, réconciliations et rattrapages lancés au démarrage. Ces
+     * traitements longs n'occupent jamais les threads de
+     * {@link #baseExecutor()}, qui servent les lectures de l'interface. File
+     * pleine, la tâche est exécutée par l'appelant.
+     *
+     * @return Le pool des traitements de fond
+     */
+    @Bean(name = EXECUTEUR_ARRIERE_PLAN, destroyMethod = "shutdown")
+    public ExecutorService arrierePlanExecutor() {
+        if (modeVirtuel()) {
+            logger.info("Initialisation de l'exécuteur virtuel des traitements de fond : concurrence={}", arrierePlanThreads);
+            return executeurVirtuel("ArrierePlan-", arrierePlanThreads, -1);
+        }
+        logger.info("Initialisation du pool des traitements de fond : threads={}, file={}", arrierePlanThreads, arrierePlanFileAttente);
+        return executeurPlateforme(arrierePlanThreads, arrierePlanThreads, arrierePlanFileAttente, "ArrierePlan-",
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Pool de threads plateforme classique.
+     *
+     * @param politique Traitement des tâches refusées, file d'attente pleine
+     */
+    public static ExecutorService executeurPlateforme(int core, int max, int file, String prefixe, RejectedExecutionHandler politique) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(corePoolSize);
-        executor.setMaxPoolSize(maxPoolSize);
-        executor.setQueueCapacity(queueCapacity);
-        executor.setThreadNamePrefix(threadNamePrefix);
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(max);
+        executor.setQueueCapacity(file);
+        executor.setThreadNamePrefix(prefixe);
+        executor.setRejectedExecutionHandler(politique);
         executor.initialize();
-        logger.info("Initialisation du ThreadPoolTaskExecutor : core={}, max={}, queue={}, prefix={}", corePoolSize, maxPoolSize, queueCapacity, threadNamePrefix);
-        return new DelegatingSecurityContextExecutorService(executor.getThreadPoolExecutor());
+        return executor.getThreadPoolExecutor();
+    }
+
+    /**
+     * Exécuteur à threads virtuels, borné par un sémaphore.
+     *
+     * @param concurrenceMax Nombre maximal de tâches simultanées
+     * @param attenteMax Nombre maximal de tâches en attente (négatif pour ne
+     * pas le borner)
+     */
+    public static ExecutorService executeurVirtuel(String prefixe, int concurrenceMax, int attenteMax) {
+        return new SemaphoreBoundedExecutor(SemaphoreBoundedExecutor.fabriqueVirtuelle(prefixe), concurrenceMax, attenteMax);
+    }
+
+    private boolean modeVirtuel() {
+        if ("platform".equalsIgnoreCase(mode)) {
+            return false;
+        }
+        if (!"virtual".equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException("Mode d'exécution asynchrone inconnu : " + mode + " (platform ou virtual)");
+        }
+        if (!SemaphoreBoundedExecutor.threadsVirtuelsDisponibles()) {
+            logger.warn("async.mode=virtual ignoré : threads virtuels indisponibles sur Java {}, pools classiques utilisés",
+                    Runtime.version().feature());
+            return false;
+        }
+        return true;
     }
 }
@@ -0,0 +1,196 @@
+package app.project_fin_d_etude.config;
+
+import java.net.URI;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import org.keycloak.representations.idm.UserRepresentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Faux serveur d'administration Keycloak, en mémoire, pour les tests de
+ * charge locaux (profil {@code fake-keycloak}).
+ *
+ * Seuls les endpoints utilisés par {@code KeycloakUserAdminService} sont
+ * simulés : jeton client, liste paginée, comptage, recherche et modification
+ * des utilisateurs. Une latence et un taux d'erreurs 503 configurables
+ * permettent d'observer la cloison, les délais et le disjoncteur. La
+ * connexion des utilisateurs (OIDC) passe toujours par le vrai Keycloak.
+ */
+@RestController
+@Profile("fake-keycloak")
+@RequestMapping("/fake-keycloak")
+public class FakeKeycloakAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeKeycloakAdminController.class);
+
+    private final Map<String, UserRepresentation> utilisateurs = new ConcurrentHashMap<>();
+    private final long latenceMs;
+    private final double tauxErreur;
+
+    public FakeKeycloakAdminController(
+            @Value("${fake-keycloak.utilisateurs:500}") int nombreUtilisateurs,
+            @Value("${fake-keycloak.latence-ms:0}") long latenceMs,
+            @Value("${fake-keycloak.taux-erreur:0.0}") double tauxErreur) {
+        this.latenceMs = latenceMs;
+        this.tauxErreur = tauxErreur;
+        for (int i = 1; i <= nombreUtilisateurs; i++) {
+            UserRepresentation utilisateur = new UserRepresentation();
+            utilisateur.setId(UUID.randomUUID().toString());
+            utilisateur.setUsername(String.format("utilisateur%05d", i));
+            utilisateur.setEmail(String.format("utilisateur%05d@exemple.fr", i));
+            utilisateur.setFirstName("Prénom" + i);
+            utilisateur.setLastName("Nom" + i);
+            utilisateur.setEnabled(true);
+            utilisateur.setEmailVerified(true);
+            utilisateurs.put(utilisateur.getId(), utilisateur);
+        }
+        logger.warn("Faux Keycloak actif : {} utilisateurs, latence {} ms, taux d'erreur {}", nombreUtilisateurs, latenceMs, tauxErreur);
+    }
+
+    @PostMapping("/realms/{realm}/protocol/openid-connect/token")
+    public Map<String, Object> token(@PathVariable String realm) {
+        simulerReseau();
+        return Map.of(
+                "access_token", "fake-token",
+                "expires_in", 3600,
+                "refresh_expires_in", 0,
+                "token_type", "Bearer",
+                "not-before-policy", 0,
+                "scope", "");
+    }
+
+    @GetMapping("/admin/realms/{realm}/users")
+    public List<UserRepresentation> lister(@PathVariable String realm,
+            @RequestParam(required = false) Integer first,
+            @RequestParam(required = false) Integer max,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) Boolean exact) {
+        simulerReseau();
+        boolean exacte = Boolean.TRUE.equals(exact);
+        Stream<UserRepresentation> resultat = utilisateurs.values().stream()
+                .sorted(Comparator.comparing(UserRepresentation::getUsername));
+        if (search != null) {
+            resultat = resultat.filter(u -> correspond(u.getUsername(), search, exacte) || correspond(u.getEmail(), search, exacte));
+        }
+        if (username != null) {
+            resultat = resultat.filter(u -> correspond(u.getUsername(), username, exacte));
+        }
+        if (email != null) {
+            resultat = resultat.filter(u -> correspond(u.getEmail(), email, exacte));
+        }
+        return resultat
+                .skip(first != null ? first : 0)
+                .limit(max != null ? max : 100)
+                .toList();
+    }
+
+    @GetMapping("/admin/realms/{realm}/users/count")
+    public int compter(@PathVariable String realm) {
+        simulerReseau();
+        return utilisateurs.size();
+    }
+
+    @GetMapping("/admin/realms/{realm}/users/{id}")
+    public UserRepresentation lire(@PathVariable String realm, @PathVariable String id) {
+        simulerReseau();
+        return trouver(id);
+    }
+
+    @PostMapping("/admin/realms/{realm}/users")
+    public ResponseEntity<Void> creer(@PathVariable String realm, @RequestBody UserRepresentation utilisateur) {
+        simulerReseau();
+        boolean existe = utilisateurs.values().stream()
+                .anyMatch(u -> u.getUsername().equalsIgnoreCase(utilisateur.getUsername()));
+        if (existe) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Utilisateur existant");
+        }
+        utilisateur.setId(UUID.randomUUID().toString());
+        utilisateur.setCredentials(null);
+        utilisateurs.put(utilisateur.getId(), utilisateur);
+        return ResponseEntity.created(URI.create("/fake-keycloak/admin/realms/" + realm + "/users/" + utilisateur.getId())).build();
+    }
+
+    @PutMapping("/admin/realms/{realm}/users/{id}")
+    public ResponseEntity<Void> modifier(@PathVariable String realm, @PathVariable String id,
+            @RequestBody UserRepresentation utilisateur) {
+        simulerReseau();
+        trouver(id);
+        utilisateur.setId(id);
+        utilisateurs.put(id, utilisateur);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/admin/realms/{realm}/users/{id}/reset-password")
+    public ResponseEntity<Void> changerMotDePasse(@PathVariable String realm, @PathVariable String id) {
+        simulerReseau();
+        trouver(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/admin/realms/{realm}/users/{id}")
+    public ResponseEntity<Void> supprimer(@PathVariable String realm, @PathVariable String id) {
+        simulerReseau();
+        if (utilisateurs.remove(id) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Utilisateur introuvable");
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private UserRepresentation trouver(String id) {
+        UserRepresentation utilisateur = utilisateurs.get(id);
+        if (utilisateur == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Utilisateur introuvable");
+        }
+        return utilisateur;
+    }
+
+    /**
+     * Applique la latence et le taux d'erreurs configurés.
+     */
+    private void simulerReseau() {
+        if (latenceMs > 0) {
+            try {
+                Thread.sleep(latenceMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (tauxErreur > 0 && ThreadLocalRandom.current().nextDouble() < tauxErreur) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Erreur simulée");
+        }
+    }
+
+    private static boolean correspond(String valeur, String recherche, boolean exacte) {
+        if (valeur == null) {
+            return false;
+        }
+        String v = valeur.toLowerCase(Locale.ROOT);
+        String r = Objects.requireNonNullElse(recherche, "").toLowerCase(Locale.ROOT);
+        return exacte ? v.equals(r) : v.contains(r);
+    }
+}
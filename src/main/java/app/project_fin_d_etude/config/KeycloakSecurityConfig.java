@@ -1,5 +1,6 @@
 package app.project_fin_d_etude.config;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
@@ -8,14 +9,19 @@ import java.util.Set;
 //import org.keycloak.adapters.springboot.KeycloakSpringBootConfigResolver;
 //import org.keycloak.adapters.springsecurity.authentication.KeycloakAuthenticationProvider;
 //import org.springframework.security.core.authority.mapping.SimpleAuthorityMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.session.SessionRegistryImpl;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,8 +31,13 @@ import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.session.RegisterSessionAuthenticationStrategy;
 import org.springframework.security.web.authentication.session.SessionAuthenticationStrategy;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import com.vaadin.flow.spring.security.VaadinWebSecurity;
 
@@ -43,11 +54,63 @@ public class KeycloakSecurityConfig extends VaadinWebSecurity {
     private static final String[] PUBLIC_ROUTES = {
         "/", "/articles", "/about", "/contact", "/login"
     };
+    // Endpoints techniques hors Vaadin : la santé est publique, les
+    // métriques réservées aux administrateurs et au collecteur Prometheus
+    private static final String[] PUBLIC_TECHNICAL_ENDPOINTS = {
+        "/actuator/health/**"
+    };
+    private static final String[] METRICS_ENDPOINTS = {
+        "/actuator/metrics/**", "/actuator/prometheus"
+    };
+    private static final String ROLE_METRIQUES = "METRIQUES";
+    // Faux Keycloak, ouvert seulement sous le profil qui l'active
+    private static final String FAKE_KEYCLOAK_PROFILE = "fake-keycloak";
+    private static final String FAKE_KEYCLOAK_ENDPOINTS = "/fake-keycloak/**";
     private static final String LOGIN_PAGE = "/login";
     private static final String DEFAULT_SUCCESS_URL = "/";
     private static final String LOGOUT_SUCCESS_URL = "/login?logout";
     private static final String COOKIE_JSESSIONID = "JSESSIONID";
 
+    private final Environment environment;
+
+    @Value("${metriques.collecte.utilisateur:prometheus}")
+    private String collecteUtilisateur;
+    @Value("${metriques.collecte.mot-de-passe:}")
+    private String collecteMotDePasse;
+
+    public KeycloakSecurityConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Chaîne de sécurité des métriques, évaluée avant celle de Vaadin : un
+     * collecteur (Prometheus) s'authentifie en HTTP Basic, sans redirection
+     * vers la page de connexion ni création de session. Les administrateurs
+     * déjà connectés y accèdent toujours par leur session. Sans mot de passe
+     * configuré ({@code metriques.collecte.mot-de-passe}), aucun compte de
+     * collecte n'existe.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metriquesFilterChain(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
+        InMemoryUserDetailsManager comptes = new InMemoryUserDetailsManager();
+        if (!collecteMotDePasse.isBlank()) {
+            comptes.createUser(User.withUsername(collecteUtilisateur)
+                    .password(passwordEncoder.encode(collecteMotDePasse))
+                    .roles(ROLE_METRIQUES)
+                    .build());
+        }
+        return http
+                .securityMatcher(new OrRequestMatcher(matchers(METRICS_ENDPOINTS)))
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasAnyRole("ADMIN", ROLE_METRIQUES))
+                .httpBasic(basic -> {
+                })
+                .userDetailsService(comptes)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.NEVER))
+                .csrf(csrf -> csrf.disable())
+                .build();
+    }
+
     /**
      * Fournit le provider d'authentification Keycloak avec un mapping simple
      * des rôles.
@@ -108,6 +171,12 @@ public class KeycloakSecurityConfig extends VaadinWebSecurity {
      */
     @Override
     protected void configure(HttpSecurity http) throws Exception {
+        http.authorizeHttpRequests(auth -> auth
+                .requestMatchers(matchers(PUBLIC_TECHNICAL_ENDPOINTS)).permitAll());
+        if (environment.acceptsProfiles(Profiles.of(FAKE_KEYCLOAK_PROFILE))) {
+            http.authorizeHttpRequests(auth -> auth
+                    .requestMatchers(matchers(FAKE_KEYCLOAK_ENDPOINTS)).permitAll());
+        }
         super.configure(http); // Vaadin config
 
         http
@@ -135,6 +204,12 @@ public class KeycloakSecurityConfig extends VaadinWebSecurity {
                 );
     }
 
+    private static RequestMatcher[] matchers(String... patterns) {
+        return Arrays.stream(patterns)
+                .map(PathPatternRequestMatcher.withDefaults()::matcher)
+                .toArray(RequestMatcher[]::new);
+    }
+
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
@@ -0,0 +1,29 @@
+package app.project_fin_d_etude.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Active la mesure des méthodes annotées {@code @Timed}, en particulier les
+ * méthodes publiques des services (métrique {@value #APPELS_SERVICES},
+ * étiquetée par classe et par méthode).
+ *
+ * Les métriques de l'application, des exécuteurs et du pool de connexions
+ * sont exposées par Actuator, dont {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetriquesConfig {
+
+    /**
+     * Nom de la métrique des appels aux services.
+     */
+    public static final String APPELS_SERVICES = "services.appels";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,14 @@
+package app.project_fin_d_etude.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active l'exécution des tâches planifiées ({@code @Scheduled}) :
+ * réconciliations et rafraîchissements périodiques.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
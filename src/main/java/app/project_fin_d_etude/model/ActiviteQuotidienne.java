@@ -0,0 +1,57 @@
+package app.project_fin_d_etude.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Agrégat quotidien de l'activité du blog, pour les graphiques du tableau de
+ * bord. Une ligne par jour depuis la première activité : une année
+ * d'historique tient en 365 lignes, sans relire les tables d'origine.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "activite_quotidienne")
+public class ActiviteQuotidienne implements Serializable {
+
+    /**
+     * Jour agrégé.
+     */
+    @Id
+    private LocalDate jour;
+
+    /**
+     * Nombre d'articles publiés ce jour-là.
+     */
+    @Column(nullable = false)
+    private long articlesPublies;
+
+    /**
+     * Nombre de commentaires créés ce jour-là.
+     */
+    @Column(nullable = false)
+    private long commentairesCrees;
+
+    /**
+     * Nombre de commentaires créés ce jour-là et signalés inappropriés.
+     */
+    @Column(nullable = false)
+    private long commentairesSignales;
+
+    /**
+     * Nombre de messages de contact reçus ce jour-là.
+     */
+    @Column(nullable = false)
+    private long messagesRecus;
+
+    public ActiviteQuotidienne(LocalDate jour) {
+        this.jour = jour;
+    }
+}
@@ -0,0 +1,51 @@
+package app.project_fin_d_etude.model;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Auteur d'articles et de commentaires, identifié par son identifiant
+ * Keycloak (sujet OIDC). Les articles et commentaires le référencent par
+ * {@code auteur_id} : renommer un auteur ou changer son email ne modifie
+ * qu'une ligne de cette table.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "auteur", indexes = {
+    @Index(name = "idx_auteur_email", columnList = "email")
+})
+public class Auteur implements Serializable {
+
+    /**
+     * Identifiant Keycloak de l'utilisateur (sujet OIDC).
+     */
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    /**
+     * Email courant de l'auteur.
+     */
+    @Column(nullable = false, length = 200)
+    private String email;
+
+    /**
+     * Nom complet courant de l'auteur.
+     */
+    @Column(nullable = false, length = 200)
+    private String nom;
+
+    public Auteur(String id, String email, String nom) {
+        this.id = id;
+        this.email = email;
+        this.nom = nom;
+    }
+}
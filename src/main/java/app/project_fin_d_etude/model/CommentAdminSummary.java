@@ -0,0 +1,35 @@
+package app.project_fin_d_etude.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'un commentaire pour la grille de modération : seul le début
+ * du contenu est lu, et l'article se réduit à son titre.
+ *
+ * @param id Identifiant du commentaire
+ * @param dateCreation Date de création du commentaire
+ * @param extrait Début du contenu (au plus {@link #LONGUEUR_EXTRAIT}
+ * caractères)
+ * @param auteurNom Nom complet de l'auteur
+ * @param auteurId Identifiant de l'auteur ({@link Auteur}), null pour un
+ * commentaire non rattaché
+ * @param postTitre Titre de l'article commenté
+ * @param inapproprie Indique si le commentaire a été signalé inapproprié
+ */
+public record CommentAdminSummary(Long id, LocalDateTime dateCreation, String extrait, String auteurNom, String auteurId,
+        String postTitre, boolean inapproprie) implements Serializable {
+
+    /**
+     * Nombre de caractères du contenu lus pour la grille (un de plus que
+     * l'affichage, pour savoir s'il faut tronquer).
+     */
+    public static final int LONGUEUR_EXTRAIT = 101;
+
+    /**
+     * Copie du résumé avec le nom d'auteur donné.
+     */
+    public CommentAdminSummary avecAuteurNom(String nom) {
+        return new CommentAdminSummary(id, dateCreation, extrait, nom, auteurId, postTitre, inapproprie);
+    }
+}
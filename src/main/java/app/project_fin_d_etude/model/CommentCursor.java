@@ -0,0 +1,24 @@
+package app.project_fin_d_etude.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Curseur de pagination par clé (keyset) sur le couple (dateCreation, id) des
+ * commentaires de premier niveau. Désigne le dernier commentaire affiché : la
+ * page suivante commence strictement après lui dans l'ordre chronologique
+ * (dateCreation ASC, id ASC).
+ *
+ * @param dateCreation Date de création du dernier commentaire de la page
+ * @param id Identifiant du dernier commentaire de la page (départage les
+ * dates égales)
+ */
+public record CommentCursor(LocalDateTime dateCreation, Long id) implements Serializable {
+
+    /**
+     * Construit le curseur désignant le résumé de commentaire donné.
+     */
+    public static CommentCursor of(CommentSummary commentaire) {
+        return new CommentCursor(commentaire.dateCreation(), commentaire.id());
+    }
+}
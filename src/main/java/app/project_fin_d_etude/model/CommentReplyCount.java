@@ -0,0 +1,13 @@
+package app.project_fin_d_etude.model;
+
+import java.io.Serializable;
+
+/**
+ * Nombre de réponses directes à un commentaire, lu par agrégation.
+ *
+ * @param parentId Identifiant du commentaire parent
+ * @param nombre Nombre de réponses directes
+ */
+public record CommentReplyCount(Long parentId, long nombre) implements Serializable {
+
+}
@@ -0,0 +1,30 @@
+package app.project_fin_d_etude.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'un commentaire pour l'affichage d'un fil de discussion. Ne
+ * charge ni l'article ni les relations parent / réponses : seul
+ * l'identifiant du parent est lu, depuis la clé étrangère.
+ *
+ * @param id Identifiant du commentaire
+ * @param parentId Identifiant du commentaire parent (null pour un
+ * commentaire de premier niveau)
+ * @param auteurNom Nom complet de l'auteur
+ * @param auteurId Identifiant de l'auteur ({@link Auteur}), null pour un
+ * commentaire non rattaché
+ * @param dateCreation Date de création du commentaire
+ * @param contenu Contenu textuel du commentaire
+ * @param inapproprie Indique si le commentaire a été signalé inapproprié
+ */
+public record CommentSummary(Long id, Long parentId, String auteurNom, String auteurId, LocalDateTime dateCreation,
+        String contenu, boolean inapproprie) implements Serializable {
+
+    /**
+     * Copie du résumé avec le nom d'auteur donné.
+     */
+    public CommentSummary avecAuteurNom(String nom) {
+        return new CommentSummary(id, parentId, nom, auteurId, dateCreation, contenu, inapproprie);
+    }
+}
@@ -11,6 +11,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -22,9 +23,33 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "commentaire")
+@Table(name = "commentaire", indexes = {
+    // Commentaires de premier niveau d'un post, paginés par (dateCreation, id)
+    @Index(name = "idx_commentaire_post_parent_date", columnList = "post_id, parent_id, date_creation, id"),
+    // Réponses d'un commentaire par la clé étrangère (suppression en cascade)
+    @Index(name = "idx_commentaire_parent_date", columnList = "parent_id, date_creation, id"),
+    // Sous-arbres d'un fil : lecture et suppression par plage sur le chemin matérialisé
+    @Index(name = "idx_commentaire_chemin", columnList = "chemin"),
+    // Nombre de réponses des commentaires d'une page, par plage de chemins dans l'article
+    @Index(name = "idx_commentaire_post_chemin", columnList = "post_id, chemin"),
+    // Agrégation quotidienne de l'activité
+    @Index(name = "idx_commentaire_date_creation", columnList = "date_creation"),
+    // Rattachement des anciens commentaires à leur auteur
+    @Index(name = "idx_commentaire_auteur", columnList = "auteur_id")
+})
 public class Commentaire implements Serializable {
 
+    /**
+     * Longueur d'un segment du chemin : l'identifiant sur 12 chiffres suivi
+     * d'un "/".
+     */
+    public static final int LONGUEUR_SEGMENT_CHEMIN = 13;
+
+    /**
+     * Longueur maximale du chemin (50 niveaux d'imbrication).
+     */
+    public static final int LONGUEUR_MAX_CHEMIN = 50 * LONGUEUR_SEGMENT_CHEMIN;
+
     /**
      * Identifiant unique du commentaire.
      */
@@ -52,13 +77,21 @@ public class Commentaire implements Serializable {
     }
 
     /**
-     * Email de l'auteur du commentaire (récupéré via Keycloak).
+     * Identifiant Keycloak de l'auteur ({@link Auteur}), null pour les
+     * commentaires antérieurs à la table auteur non encore rattachés.
+     */
+    @Column(name = "auteur_id", length = 36)
+    private String auteurId;
+
+    /**
+     * Email de l'auteur au moment du commentaire (récupéré via Keycloak).
      */
     @Column(nullable = false, length = 200)
     private String auteurEmail;
 
     /**
-     * Nom complet de l'auteur du commentaire (récupéré via Keycloak).
+     * Nom complet de l'auteur au moment du commentaire, affiché seulement
+     * pour les commentaires sans auteur rattaché.
      */
     @Column(nullable = false, length = 200)
     private String auteurNom;
@@ -79,6 +112,39 @@ public class Commentaire implements Serializable {
     @ManyToOne
     private Commentaire parent;
 
+    /**
+     * Chemin matérialisé du commentaire : identifiants de ses ancêtres puis
+     * le sien, chacun sur 12 chiffres suivi d'un "/"
+     * ("000000000012/000000000045/"). Les descendants d'un commentaire sont
+     * exactement les chemins qui commencent par le sien : un sous-arbre se lit
+     * ou se supprime par une seule requête sur une plage de l'index, et la
+     * profondeur d'un commentaire se déduit de la longueur de son chemin.
+     * Null tant que le chemin n'a pas été attribué (parent encore sans
+     * chemin, ou plus de 50 niveaux d'imbrication) : le commentaire n'est
+     * alors pas affiché dans le fil.
+     */
+    @Column(length = LONGUEUR_MAX_CHEMIN)
+    private String chemin;
+
     @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Commentaire> replies;
+
+    /**
+     * Chemin d'un commentaire à partir de celui de son parent.
+     *
+     * @param cheminParent Chemin du parent, ou chaîne vide pour un
+     * commentaire de premier niveau
+     * @param id Identifiant du commentaire
+     */
+    public static String cheminEnfant(String cheminParent, Long id) {
+        return cheminParent + String.format("%012d/", id);
+    }
+
+    /**
+     * Borne supérieure exclue de la plage des chemins d'un sous-arbre : le
+     * "/" final est remplacé par le caractère suivant.
+     */
+    public static String finSousArbre(String chemin) {
+        return chemin.substring(0, chemin.length() - 1) + (char) ('/' + 1);
+    }
 }
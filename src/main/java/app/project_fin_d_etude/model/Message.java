@@ -8,6 +8,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.Data;
@@ -16,7 +17,10 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "message")
+@Table(name = "message", indexes = {
+    // Agrégation quotidienne de l'activité
+    @Index(name = "idx_message_date_envoi", columnList = "date_envoi")
+})
 public class Message implements Serializable {
 
     /**
@@ -11,6 +11,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.Data;
@@ -19,9 +20,18 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "post")
+@Table(name = "post", indexes = {
+    @Index(name = "idx_post_date_publication_id", columnList = "date_publication, id"),
+    // Articles d'un auteur
+    @Index(name = "idx_post_auteur", columnList = "auteur_id, date_publication")
+})
 public class Post implements Serializable {
 
+    /**
+     * Longueur maximale de l'extrait affiché dans les listes d'articles.
+     */
+    public static final int LONGUEUR_EXTRAIT = 200;
+
     /**
      * Identifiant unique du post.
      */
@@ -41,6 +51,13 @@ public class Post implements Serializable {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String contenu;
 
+    /**
+     * Extrait du contenu, calculé une seule fois à l'enregistrement, pour
+     * éviter de lire la colonne TEXT dans les listes d'articles.
+     */
+    @Column(length = LONGUEUR_EXTRAIT + 10)
+    private String extrait;
+
     /**
      * Date de publication de l'article.
      */
@@ -48,17 +65,44 @@ public class Post implements Serializable {
     private LocalDateTime datePublication;
 
     /**
-     * Email de l'auteur de l'article (récupéré via Keycloak).
+     * Identifiant Keycloak de l'auteur ({@link Auteur}). Null pour les
+     * articles publiés avant l'introduction de la table auteur, tant que leur
+     * auteur ne s'est pas reconnecté.
+     */
+    @Column(name = "auteur_id", length = 36)
+    private String auteurId;
+
+    /**
+     * Email de l'auteur au moment de la publication (récupéré via Keycloak).
+     * N'est plus mis à jour : l'email courant est celui de {@link Auteur}.
      */
     @Column(nullable = false, length = 200)
     private String auteurEmail;
 
     /**
-     * Nom complet de l'auteur de l'article (récupéré via Keycloak).
+     * Nom complet de l'auteur au moment de la publication (récupéré via
+     * Keycloak). N'est plus mis à jour : le nom affiché est lu dans le cache
+     * des auteurs, celui-ci ne sert que pour les articles sans auteur.
      */
     @Column(nullable = false, length = 200)
     private String auteurNom;
 
+    /**
+     * Nombre de commentaires de l'article (réponses comprises), tenu à jour
+     * par des UPDATE atomiques à chaque ajout ou suppression de commentaire.
+     * Jamais écrit par l'enregistrement de l'article lui-même, pour ne pas
+     * écraser une valeur plus récente.
+     */
+    @Column(nullable = false, updatable = false)
+    private int nombreCommentaires;
+
+    /**
+     * Date du dernier commentaire de l'article, null s'il n'en a aucun. Tenue
+     * à jour comme {@link #nombreCommentaires}.
+     */
+    @Column(updatable = false)
+    private LocalDateTime dateDernierCommentaire;
+
     /**
      * Liste des commentaires liés à l'article.
      */
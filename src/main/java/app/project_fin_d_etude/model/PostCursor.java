@@ -0,0 +1,30 @@
+package app.project_fin_d_etude.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Curseur de pagination par clé (keyset) sur le couple (datePublication, id).
+ * Désigne le dernier article affiché : la page suivante commence strictement
+ * après lui dans l'ordre (datePublication DESC, id DESC).
+ *
+ * @param datePublication Date de publication du dernier article de la page
+ * @param id Identifiant du dernier article de la page (départage les dates
+ * égales)
+ */
+public record PostCursor(LocalDateTime datePublication, Long id) implements Serializable {
+
+    /**
+     * Construit le curseur désignant l'article donné.
+     */
+    public static PostCursor of(Post post) {
+        return new PostCursor(post.getDatePublication(), post.getId());
+    }
+
+    /**
+     * Construit le curseur désignant le résumé d'article donné.
+     */
+    public static PostCursor of(PostSummary post) {
+        return new PostCursor(post.datePublication(), post.id());
+    }
+}
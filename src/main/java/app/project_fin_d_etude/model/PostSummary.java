@@ -0,0 +1,47 @@
+package app.project_fin_d_etude.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Projection légère d'un article pour les écrans de liste (cartes, grilles).
+ * Ne contient ni le contenu complet ni les commentaires : seul l'extrait
+ * précalculé à l'enregistrement est chargé.
+ *
+ * @param id Identifiant de l'article
+ * @param titre Titre de l'article
+ * @param extrait Extrait du contenu (au plus {@link Post#LONGUEUR_EXTRAIT}
+ * caractères, suivi de "..." s'il est tronqué)
+ * @param datePublication Date de publication de l'article
+ * @param auteurNom Nom complet de l'auteur
+ * @param auteurId Identifiant de l'auteur ({@link Auteur}), null pour un
+ * article non rattaché
+ * @param nombreCommentaires Nombre de commentaires, réponses comprises
+ * @param dateDernierCommentaire Date du dernier commentaire, null s'il n'y en
+ * a aucun
+ */
+public record PostSummary(Long id, String titre, String extrait, LocalDateTime datePublication, String auteurNom,
+        String auteurId, int nombreCommentaires, LocalDateTime dateDernierCommentaire) implements Serializable {
+
+    /**
+     * Construit le résumé d'un article déjà chargé.
+     */
+    public static PostSummary of(Post post) {
+        return new PostSummary(post.getId(), post.getTitre(), post.getExtrait(), post.getDatePublication(), post.getAuteurNom(),
+                post.getAuteurId(), post.getNombreCommentaires(), post.getDateDernierCommentaire());
+    }
+
+    /**
+     * Copie du résumé avec le nom d'auteur donné.
+     */
+    public PostSummary avecAuteurNom(String nom) {
+        return new PostSummary(id, titre, extrait, datePublication, nom, auteurId, nombreCommentaires, dateDernierCommentaire);
+    }
+
+    /**
+     * Copie du résumé avec les compteurs de commentaires donnés.
+     */
+    public PostSummary avecCommentaires(int nombre, LocalDateTime dernierCommentaire) {
+        return new PostSummary(id, titre, extrait, datePublication, auteurNom, auteurId, nombre, dernierCommentaire);
+    }
+}
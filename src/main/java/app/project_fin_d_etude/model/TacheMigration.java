@@ -0,0 +1,135 @@
+package app.project_fin_d_etude.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tâche de migration de données exécutée en arrière-plan, par lots de plages
+ * d'identifiants. Le point de reprise ({@link #dernierId}) est enregistré
+ * dans la même transaction que chaque lot : une tâche interrompue (arrêt de
+ * l'application, erreur) reprend au lot suivant.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "tache_migration", indexes = {
+    @Index(name = "idx_tache_migration_etat", columnList = "etat, id"),
+    @Index(name = "idx_tache_migration_auteur", columnList = "auteur_id, etat")
+})
+public class TacheMigration implements Serializable {
+
+    /**
+     * Nature de la migration, et table parcourue.
+     */
+    public enum Type {
+        /**
+         * Rattachement à leur auteur des articles publiés sous son email.
+         */
+        RATTACHEMENT_AUTEUR_POSTS("post"),
+        /**
+         * Rattachement à leur auteur des commentaires écrits sous son email.
+         */
+        RATTACHEMENT_AUTEUR_COMMENTAIRES("commentaire");
+
+        private final String table;
+
+        Type(String table) {
+            this.table = table;
+        }
+
+        public String getTable() {
+            return table;
+        }
+    }
+
+    /**
+     * État d'avancement d'une tâche.
+     */
+    public enum Etat {
+        EN_ATTENTE, EN_COURS, TERMINEE, ECHOUEE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Etat etat = Etat.EN_ATTENTE;
+
+    /**
+     * Auteur concerné par la migration.
+     */
+    @Column(name = "auteur_id", nullable = false, length = 36)
+    private String auteurId;
+
+    /**
+     * Email sous lequel les lignes à migrer ont été écrites.
+     */
+    @Column(nullable = false, length = 200)
+    private String email;
+
+    /**
+     * Plus grand identifiant de la table à la création de la tâche : les
+     * lignes insérées ensuite n'ont pas besoin d'être migrées.
+     */
+    @Column(nullable = false)
+    private long idMax;
+
+    /**
+     * Dernier identifiant traité (point de reprise).
+     */
+    @Column(nullable = false)
+    private long dernierId;
+
+    /**
+     * Nombre de lignes modifiées jusqu'ici.
+     */
+    @Column(nullable = false)
+    private long lignesModifiees;
+
+    /**
+     * Cause de l'échec, pour une tâche {@link Etat#ECHOUEE}.
+     */
+    @Column(length = 500)
+    private String erreur;
+
+    @Column(nullable = false)
+    private LocalDateTime dateCreation;
+
+    private LocalDateTime dateMiseAJour;
+
+    public TacheMigration(Type type, String auteurId, String email, long idMax) {
+        this.type = type;
+        this.auteurId = auteurId;
+        this.email = email;
+        this.idMax = idMax;
+        this.dateCreation = LocalDateTime.now();
+    }
+
+    /**
+     * Avancement de la tâche, entre 0 et 1.
+     */
+    public double getAvancement() {
+        if (etat == Etat.TERMINEE || idMax <= 0) {
+            return 1.0;
+        }
+        return Math.min(1.0, (double) dernierId / idMax);
+    }
+}
@@ -1,22 +1,33 @@
 package app.project_fin_d_etude.presenter;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import com.vaadin.flow.component.UI;
 
+import app.project_fin_d_etude.model.CommentAdminSummary;
 import app.project_fin_d_etude.model.Commentaire;
 import app.project_fin_d_etude.model.Post;
 import app.project_fin_d_etude.service.CommentaireService;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone.Charge;
 import lombok.Setter;
 
 @Component
 public class CommentairePresenter {
 
+    private static final Logger logger = LoggerFactory.getLogger(CommentairePresenter.class);
+
     @Setter
     private CommentaireView view;
     private final CommentaireService commentaireService;
+    private final ExecutionAsynchrone execution;
 
     /**
      * Interface à implémenter par la vue pour lier le présentateur.
@@ -32,8 +43,9 @@ public class CommentairePresenter {
         void rafraichirListe();
     }
 
-    public CommentairePresenter(CommentaireService commentaireService) {
+    public CommentairePresenter(CommentaireService commentaireService, ExecutionAsynchrone execution) {
         this.commentaireService = commentaireService;
+        this.execution = execution;
     }
 
     /**
@@ -45,18 +57,12 @@ public class CommentairePresenter {
             return;
         }
         final CommentaireView currentView = this.view;
-        final UI ui = UI.getCurrent();
-
-        commentaireService.getCommentairesByPost(post)
-                .whenComplete((commentaires, ex) -> {
-                    ui.access(() -> {
-                        if (ex != null) {
-                            currentView.afficherErreur("Erreur lors du chargement des commentaires : " + ex.getMessage());
-                        } else {
-                            currentView.afficherCommentaires(commentaires);
-                        }
-                    });
-                });
+        handleAsyncOperation(
+                execution.soumettre(Charge.BASE, () -> commentaireService.getCommentairesByPost(post)),
+                "Erreur lors du chargement des commentaires",
+                "Erreur lors du chargement des commentaires.",
+                currentView::afficherCommentaires
+        );
     }
 
     /**
@@ -71,24 +77,17 @@ public class CommentairePresenter {
             return;
         }
         final CommentaireView currentView = this.view;
-        final UI ui = UI.getCurrent();
-        try {
-            commentaireService.save(commentaire);
-            ui.access(() -> {
-                currentView.afficherMessage("Commentaire ajouté avec succès");
-                currentView.rafraichirListe();
-            });
-        } catch (Exception ex) {
-            org.slf4j.LoggerFactory.getLogger(CommentairePresenter.class).error("Erreur lors de l'ajout du commentaire : {}", ex.getMessage(), ex);
-            ui.access(() -> {
-                currentView.afficherErreur("Une erreur est survenue lors de l'ajout du commentaire.");
-            });
-        }
+        handleAsyncOperation(
+                execution.soumettre(Charge.BASE, () -> commentaireService.save(commentaire)),
+                "Erreur lors de l'ajout du commentaire",
+                "Une erreur est survenue lors de l'ajout du commentaire.",
+                saved -> {
+                    currentView.afficherMessage("Commentaire ajouté avec succès");
+                    currentView.rafraichirListe();
+                }
+        );
     }
 
-    /*
-     * get all commentaires
-     */
     /**
      * Supprime un commentaire par son identifiant.
      */
@@ -97,19 +96,15 @@ public class CommentairePresenter {
             return;
         }
         final CommentaireView currentView = this.view;
-        final UI ui = UI.getCurrent();
-        try {
-            commentaireService.delete(commentaire.getId());
-            ui.access(() -> {
-                currentView.afficherMessage("Commentaire supprimé avec succès");
-                currentView.rafraichirListe();
-            });
-        } catch (Exception ex) {
-            org.slf4j.LoggerFactory.getLogger(CommentairePresenter.class).error("Erreur lors de la suppression du commentaire : {}", ex.getMessage(), ex);
-            ui.access(() -> {
-                currentView.afficherErreur("Une erreur est survenue lors de la suppression du commentaire.");
-            });
-        }
+        handleAsyncOperation(
+                execution.executer(Charge.BASE, () -> commentaireService.delete(commentaire.getId())),
+                "Erreur lors de la suppression du commentaire",
+                "Une erreur est survenue lors de la suppression du commentaire.",
+                unused -> {
+                    currentView.afficherMessage("Commentaire supprimé avec succès");
+                    currentView.rafraichirListe();
+                }
+        );
     }
 
     /**
@@ -124,37 +119,76 @@ public class CommentairePresenter {
             return;
         }
         final CommentaireView currentView = this.view;
-        final UI ui = UI.getCurrent();
-        try {
-            commentaireService.save(commentaire);
-            ui.access(() -> {
-                currentView.afficherMessage("Commentaire modifié avec succès");
-                currentView.rafraichirListe();
-            });
-        } catch (Exception ex) {
-            org.slf4j.LoggerFactory.getLogger(CommentairePresenter.class).error("Erreur lors de la modification du commentaire : {}", ex.getMessage(), ex);
-            ui.access(() -> {
-                currentView.afficherErreur("Une erreur est survenue lors de la modification du commentaire.");
-            });
-        }
+        handleAsyncOperation(
+                execution.soumettre(Charge.BASE, () -> commentaireService.save(commentaire)),
+                "Erreur lors de la modification du commentaire",
+                "Une erreur est survenue lors de la modification du commentaire.",
+                saved -> {
+                    currentView.afficherMessage("Commentaire modifié avec succès");
+                    currentView.rafraichirListe();
+                }
+        );
     }
 
-    public void chargerTousLesCommentaires() {
+    /**
+     * Récupère une fenêtre de commentaires pour la modération, de façon
+     * synchrone (bloquante). Appelé par la grille paresseuse.
+     *
+     * @param filtre Texte recherché (auteur ou titre de l'article), ou null
+     * @param pageable Fenêtre et tri demandés par la grille
+     */
+    public List<CommentAdminSummary> getCommentairesAdmin(String filtre, Pageable pageable) {
+        return commentaireService.getCommentairesAdmin(filtre, pageable);
+    }
+
+    /**
+     * Compte les commentaires correspondant au filtre de modération.
+     */
+    public long countCommentairesAdmin(String filtre) {
+        return commentaireService.countCommentairesAdmin(filtre);
+    }
+
+    /**
+     * Marque un commentaire comme inapproprié ou non et rafraîchit la vue.
+     */
+    public void definirInapproprie(Long commentaireId, boolean inapproprie) {
         if (view == null) {
             return;
         }
         final CommentaireView currentView = this.view;
-        final UI ui = UI.getCurrent();
-
-        commentaireService.getAllCommentaires()
-                .whenComplete((commentaires, ex) -> {
-                    ui.access(() -> {
-                        if (ex != null) {
-                            currentView.afficherErreur("Erreur lors du chargement des commentaires : " + ex.getMessage());
-                        } else {
-                            currentView.afficherCommentaires(commentaires);
-                        }
-                    });
-                });
+        handleAsyncOperation(
+                execution.executer(Charge.BASE, () -> commentaireService.definirInapproprie(commentaireId, inapproprie)),
+                "Erreur lors de la modération du commentaire",
+                "Une erreur est survenue lors de la modification du commentaire.",
+                unused -> {
+                    currentView.afficherMessage("Commentaire modifié avec succès");
+                    currentView.rafraichirListe();
+                }
+        );
+    }
+
+    /**
+     * Transmet à la vue le résultat d'une opération asynchrone, ou le
+     * message d'erreur donné après avoir journalisé la cause.
+     */
+    private <T> void handleAsyncOperation(
+            CompletableFuture<T> future,
+            String logMessage,
+            String errorMessage,
+            Consumer<T> onSuccess
+    ) {
+        CommentaireView currentView = this.view;
+        UI ui = UI.getCurrent();
+        if (currentView == null || ui == null) {
+            return;
+        }
+        execution.afficher(future, ui, (result, ex) -> {
+            if (ex != null) {
+                logger.error("{} : {}", logMessage, ex.getMessage(), ex);
+                currentView.afficherErreur(errorMessage);
+            } else {
+                onSuccess.accept(result);
+            }
+        });
     }
 }
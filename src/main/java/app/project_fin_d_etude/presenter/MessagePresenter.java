@@ -1,13 +1,18 @@
 package app.project_fin_d_etude.presenter;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import com.vaadin.flow.component.UI;
 
 import app.project_fin_d_etude.model.Message;
 import app.project_fin_d_etude.service.MessageService;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone.Charge;
 import lombok.Setter;
 
 @Component
@@ -16,21 +21,21 @@ public class MessagePresenter {
     @Setter
     private MessageView view;
     private final MessageService messageService;
+    private final ExecutionAsynchrone execution;
 
     /**
      * Interface à implémenter par la vue pour lier le présentateur.
      */
     public interface MessageView {
 
-        void afficherMessages(List<Message> messages);
-
         void afficherMessage(String message);
 
         void afficherErreur(String erreur);
     }
 
-    public MessagePresenter(MessageService messageService) {
+    public MessagePresenter(MessageService messageService, ExecutionAsynchrone execution) {
         this.messageService = messageService;
+        this.execution = execution;
     }
 
     /**
@@ -41,38 +46,29 @@ public class MessagePresenter {
             return;
         }
         final MessageView currentView = this.view;
-        final UI ui = UI.getCurrent();
-        try {
-            messageService.save(message);
-            ui.access(() -> {
-                currentView.afficherMessage("Message envoyé avec succès !");
-            });
-        } catch (Exception ex) {
-            ui.access(() -> {
-                currentView.afficherErreur("Erreur lors de l'envoi du message : " + ex.getMessage());
-            });
-        }
+        handleAsyncOperation(
+                execution.soumettre(Charge.BASE, () -> messageService.save(message)),
+                "Erreur lors de l'envoi du message",
+                saved -> currentView.afficherMessage("Message envoyé avec succès !")
+        );
     }
 
     /**
-     * Charge tous les messages et les transmet à la vue.
+     * Récupère une fenêtre de messages filtrés, de façon synchrone
+     * (bloquante). Appelé par la grille paresseuse.
+     *
+     * @param filtre Texte recherché (nom, email ou sujet), ou null
+     * @param pageable Fenêtre et tri demandés par la grille
      */
-    public void chargerMessages() {
-        if (view == null) {
-            return;
-        }
-        final MessageView currentView = this.view;
-        final UI ui = UI.getCurrent();
-        messageService.getAllMessages()
-                .whenComplete((messages, ex) -> {
-                    ui.access(() -> {
-                        if (ex != null) {
-                            currentView.afficherErreur("Erreur lors du chargement des messages : " + ex.getMessage());
-                        } else {
-                            currentView.afficherMessages(messages);
-                        }
-                    });
-                });
+    public List<Message> getMessages(String filtre, Pageable pageable) {
+        return messageService.getMessages(filtre, pageable);
+    }
+
+    /**
+     * Compte les messages correspondant au filtre.
+     */
+    public long countMessages(String filtre) {
+        return messageService.countMessages(filtre);
     }
 
     /**
@@ -83,17 +79,11 @@ public class MessagePresenter {
             return;
         }
         final MessageView currentView = this.view;
-        final UI ui = UI.getCurrent();
-        try {
-            messageService.markAsRead(messageId);
-            ui.access(() -> {
-                currentView.afficherMessage("Message marqué comme lu");
-            });
-        } catch (Exception ex) {
-            ui.access(() -> {
-                currentView.afficherErreur("Erreur lors du marquage du message : " + ex.getMessage());
-            });
-        }
+        handleAsyncOperation(
+                execution.executer(Charge.BASE, () -> messageService.markAsRead(messageId)),
+                "Erreur lors du marquage du message",
+                unused -> currentView.afficherMessage("Message marqué comme lu")
+        );
     }
 
     /**
@@ -104,16 +94,33 @@ public class MessagePresenter {
             return;
         }
         final MessageView currentView = this.view;
-        final UI ui = UI.getCurrent();
-        try {
-            messageService.delete(messageId);
-            ui.access(() -> {
-                currentView.afficherMessage("Message supprimé avec succès");
-            });
-        } catch (Exception ex) {
-            ui.access(() -> {
-                currentView.afficherErreur("Erreur lors de la suppression du message : " + ex.getMessage());
-            });
+        handleAsyncOperation(
+                execution.executer(Charge.BASE, () -> messageService.delete(messageId)),
+                "Erreur lors de la suppression du message",
+                unused -> currentView.afficherMessage("Message supprimé avec succès")
+        );
+    }
+
+    /**
+     * Transmet à la vue le résultat d'une opération asynchrone, ou l'erreur
+     * précédée du message donné.
+     */
+    private <T> void handleAsyncOperation(
+            CompletableFuture<T> future,
+            String errorMessage,
+            Consumer<T> onSuccess
+    ) {
+        MessageView currentView = this.view;
+        UI ui = UI.getCurrent();
+        if (currentView == null || ui == null) {
+            return;
         }
+        execution.afficher(future, ui, (result, ex) -> {
+            if (ex != null) {
+                currentView.afficherErreur(errorMessage + " : " + ex.getMessage());
+            } else {
+                onSuccess.accept(result);
+            }
+        });
     }
 }
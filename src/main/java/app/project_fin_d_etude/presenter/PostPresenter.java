@@ -7,13 +7,20 @@ import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import com.vaadin.flow.component.UI;
 
 import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.model.PostCursor;
+import app.project_fin_d_etude.model.PostSummary;
 import app.project_fin_d_etude.service.CommentaireService;
 import app.project_fin_d_etude.service.PostService;
+import app.project_fin_d_etude.service.TitreAutocompleteIndex;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone.Charge;
+import app.project_fin_d_etude.utils.KeysetPage;
 import lombok.Setter;
 
 /**
@@ -29,11 +36,13 @@ public class PostPresenter {
 
     private final PostService postService;
     private final CommentaireService commentaireService;
+    private final ExecutionAsynchrone execution;
 
     @Autowired
-    public PostPresenter(PostService postService, CommentaireService commentaireService) {
+    public PostPresenter(PostService postService, CommentaireService commentaireService, ExecutionAsynchrone execution) {
         this.postService = postService;
         this.commentaireService = commentaireService;
+        this.execution = execution;
     }
 
     /**
@@ -43,7 +52,7 @@ public class PostPresenter {
 
         void afficherPost(Post post);
 
-        void afficherPosts(List<Post> posts);
+        void afficherPosts(List<PostSummary> posts);
 
         void afficherMessage(String message);
 
@@ -55,13 +64,13 @@ public class PostPresenter {
     }
 
     /**
-     * Récupère tous les posts de façon synchrone (bloquante).
+     * Récupère les résumés de tous les posts de façon synchrone (bloquante).
      */
-    public List<Post> getAllPostsSync() {
+    public List<PostSummary> getAllPostsSync() {
         logger.info("Début de getAllPostsSync");
         try {
-            logger.info("Appel de postService.getAllPosts()");
-            List<Post> posts = postService.getAllPosts();
+            logger.info("Appel de postService.getAllPostSummaries()");
+            List<PostSummary> posts = postService.getAllPostSummaries();
             logger.info("Posts récupérés avec succès: {} articles", posts != null ? posts.size() : 0);
             return posts;
         } catch (Exception e) {
@@ -70,13 +79,83 @@ public class PostPresenter {
         }
     }
 
+    /**
+     * Récupère une page d'articles par pagination par clé, de façon synchrone
+     * (bloquante).
+     *
+     * @param cursor Curseur de la page précédente, ou null pour la première
+     * page
+     * @param size Nombre d'articles par page
+     */
+    public KeysetPage<PostSummary, PostCursor> getPostsPageSync(PostCursor cursor, int size) {
+        try {
+            KeysetPage<PostSummary, PostCursor> page = postService.getPostsPage(cursor, size);
+            logger.info("Page d'articles récupérée: {} articles, page suivante: {}", page.items().size(), page.hasNext());
+            return page;
+        } catch (Exception e) {
+            logger.error("Erreur lors de la récupération d'une page d'articles: {}", e.getMessage(), e);
+            throw new RuntimeException("Une erreur est survenue lors de la récupération des articles.");
+        }
+    }
+
+    /**
+     * Récupère une fenêtre de résumés d'articles filtrés sur le titre, de
+     * façon synchrone (bloquante). Appelé par les grilles paresseuses.
+     *
+     * @param filtre Texte recherché dans le titre, ou null
+     * @param pageable Fenêtre et tri demandés par la grille
+     */
+    public List<PostSummary> getPostSummariesSync(String filtre, Pageable pageable) {
+        try {
+            return postService.getPostSummaries(filtre, pageable);
+        } catch (Exception e) {
+            logger.error("Erreur lors de la récupération d'une fenêtre d'articles: {}", e.getMessage(), e);
+            throw new RuntimeException("Une erreur est survenue lors de la récupération des articles.");
+        }
+    }
+
+    /**
+     * Compte les articles dont le titre contient le filtre, de façon
+     * synchrone (bloquante).
+     */
+    public long countPostSummariesSync(String filtre) {
+        try {
+            return postService.countPostSummaries(filtre);
+        } catch (Exception e) {
+            logger.error("Erreur lors du comptage des articles: {}", e.getMessage(), e);
+            throw new RuntimeException("Une erreur est survenue lors de la récupération des articles.");
+        }
+    }
+
+    /**
+     * Indique si les articles les plus récents sont servis par l'instantané
+     * en mémoire : {@link #getRecentPostsSync} peut alors être appelé depuis
+     * le thread de l'interface.
+     */
+    public boolean isRecentPostsEnMemoire(int size) {
+        return postService.isRecentPostsEnMemoire(size);
+    }
+
+    /**
+     * Récupère les articles les plus récents, de façon synchrone (bloquante
+     * si l'instantané en mémoire ne suffit pas).
+     */
+    public List<PostSummary> getRecentPostsSync(int size) {
+        try {
+            return postService.getRecentPosts(size);
+        } catch (Exception e) {
+            logger.error("Erreur lors de la récupération des articles récents: {}", e.getMessage(), e);
+            throw new RuntimeException("Une erreur est survenue lors de la récupération des articles.");
+        }
+    }
+
     /**
      * Recherche des articles par mot-clé, de façon synchrone (bloquante).
      */
-    public List<Post> searchAllPosts(String keyword) {
+    public List<PostSummary> searchAllPosts(String keyword) {
         logger.info("[DIAG] Entrée dans PostPresenter.searchAllPosts avec keyword='{}'", keyword);
         try {
-            List<Post> result = postService.searchAllPosts(keyword);
+            List<PostSummary> result = postService.searchAllPosts(keyword);
             logger.info("[DIAG] Résultat de PostPresenter.searchAllPosts : {} articles trouvés", result != null ? result.size() : 0);
             return result;
         } catch (Exception e) {
@@ -86,7 +165,20 @@ public class PostPresenter {
     }
 
     /**
-     * Charge tous les articles de manière asynchrone.
+     * Propose des titres d'articles pour la saisie en cours (sans accès à la
+     * base, peut être appelé depuis le thread de l'interface).
+     */
+    public List<TitreAutocompleteIndex.Suggestion> suggererTitres(String saisie, int limite) {
+        try {
+            return postService.suggererTitres(saisie, limite);
+        } catch (Exception e) {
+            logger.error("Erreur lors de la suggestion de titres: {}", e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Charge les résumés de tous les articles de manière asynchrone.
      */
     public void chargerPosts() {
         if (view == null) {
@@ -95,7 +187,7 @@ public class PostPresenter {
         PostView currentView = this.view;
 
         handleAsyncOperation(
-                CompletableFuture.supplyAsync(postService::getAllPosts),
+                execution.soumettre(Charge.BASE, postService::getAllPostSummaries),
                 "Erreur lors du chargement des articles",
                 currentView::afficherPosts
         );
@@ -115,7 +207,7 @@ public class PostPresenter {
         logger.info("[DIAG] UI courante dans chargerPost: {}", UI.getCurrent());
 
         handleAsyncOperation(
-                CompletableFuture.supplyAsync(() -> {
+                execution.soumettre(Charge.BASE, () -> {
                     logger.info("[DIAG] Appel de postService.getPostById({})", postId);
                     var opt = postService.getPostById(postId);
                     logger.info("[DIAG] Résultat de getPostById: {}", opt.isPresent() ? "trouvé" : "non trouvé");
@@ -152,7 +244,7 @@ public class PostPresenter {
 
         if (validatePost(post, currentView)) {
             handleAsyncOperation(
-                    CompletableFuture.supplyAsync(() -> postService.savePost(post)),
+                    execution.soumettre(Charge.BASE, () -> postService.savePost(post)),
                     "Erreur lors de la publication",
                     savedPost -> {
                         currentView.afficherMessage("Article publié avec succès !");
@@ -174,7 +266,7 @@ public class PostPresenter {
 
         if (validatePost(post, currentView)) {
             handleAsyncOperation(
-                    CompletableFuture.supplyAsync(() -> postService.savePost(post)),
+                    execution.soumettre(Charge.BASE, () -> postService.savePost(post)),
                     "Erreur lors de la modification",
                     updatedPost -> {
                         currentView.afficherMessage("Article modifié avec succès !");
@@ -194,7 +286,7 @@ public class PostPresenter {
         PostView currentView = this.view;
 
         handleAsyncOperation(
-                CompletableFuture.runAsync(() -> postService.delete(postId)),
+                execution.executer(Charge.BASE, () -> postService.delete(postId)),
                 "Erreur lors de la suppression",
                 unused -> {
                     currentView.afficherMessage("Article supprimé avec succès");
@@ -213,7 +305,7 @@ public class PostPresenter {
         PostView currentView = this.view;
 
         handleAsyncOperation(
-                CompletableFuture.supplyAsync(() -> postService.searchAllPosts(keyword)),
+                execution.soumettre(Charge.BASE, () -> postService.searchAllPosts(keyword)),
                 "Erreur lors de la recherche",
                 currentView::afficherPosts
         );
@@ -250,18 +342,16 @@ public class PostPresenter {
             return;
         }
 
-        future.whenCompleteAsync((result, ex) -> {
-            ui.access(() -> {
-                if (ex != null) {
-                    currentView.afficherErreur(errorMessage + " : " + ex.getMessage());
-                } else {
-                    try {
-                        onSuccess.accept(result);
-                    } catch (Exception e) {
-                        currentView.afficherErreur("Erreur lors du traitement : " + e.getMessage());
-                    }
+        execution.afficher(future, ui, (result, ex) -> {
+            if (ex != null) {
+                currentView.afficherErreur(errorMessage + " : " + ex.getMessage());
+            } else {
+                try {
+                    onSuccess.accept(result);
+                } catch (Exception e) {
+                    currentView.afficherErreur("Erreur lors du traitement : " + e.getMessage());
                 }
-            });
+            }
         });
     }
 
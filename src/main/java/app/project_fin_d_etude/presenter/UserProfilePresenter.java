@@ -13,7 +13,10 @@ import org.springframework.stereotype.Component;
 
 import com.vaadin.flow.component.UI;
 
+import app.project_fin_d_etude.service.MoteurMigration;
 import app.project_fin_d_etude.service.UserProfileService;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone.Charge;
 import lombok.Setter;
 
 /**
@@ -29,10 +32,12 @@ public class UserProfilePresenter {
     private UserProfileView view;
 
     private final UserProfileService userProfileService;
+    private final ExecutionAsynchrone execution;
 
     @Autowired
-    public UserProfilePresenter(UserProfileService userProfileService) {
+    public UserProfilePresenter(UserProfileService userProfileService, ExecutionAsynchrone execution) {
         this.userProfileService = userProfileService;
+        this.execution = execution;
     }
 
     /**
@@ -61,7 +66,7 @@ public class UserProfilePresenter {
         UserProfileView currentView = this.view;
 
         handleAsyncOperation(
-                CompletableFuture.supplyAsync(userProfileService::getCurrentUserProfile),
+                execution.soumettre(Charge.BASE, userProfileService::getCurrentUserProfile),
                 "Erreur lors du chargement du profil",
                 profile -> {
                     if (profile.isEmpty()) {
@@ -100,7 +105,7 @@ public class UserProfilePresenter {
         }
 
         handleAsyncOperation(
-                CompletableFuture.supplyAsync(() -> {
+                execution.soumettre(Charge.BASE, () -> {
                     // Utilise l'auth capturée, pas celle du thread asynchrone
                     return Boolean.valueOf(userProfileService.updatePersonalInfo(firstName, lastName, email, auth));
                 }),
@@ -148,7 +153,7 @@ public class UserProfilePresenter {
         }
 
         handleAsyncOperation(
-                CompletableFuture.supplyAsync(() -> {
+                execution.soumettre(Charge.BASE, () -> {
                     // Utilise l'auth capturée, pas celle du thread asynchrone
                     return Boolean.valueOf(userProfileService.changePassword(currentPassword, newPassword, auth));
                 }),
@@ -220,24 +225,40 @@ public class UserProfilePresenter {
     }
 
     /**
-     * Méthode utilitaire pour gérer les opérations asynchrones.
+     * Avancement du rattachement des anciens articles et commentaires de
+     * l'utilisateur, interrogé périodiquement par la vue après une mise à jour
+     * du profil.
+     *
+     * @return L'avancement, ou null si l'utilisateur n'est pas connecté
+     */
+    public MoteurMigration.Progression getProgressionMigration() {
+        return userProfileService.getProgressionMigration(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * Méthode utilitaire pour gérer les opérations asynchrones. Les appels à
+     * Keycloak faits par le service passent par la charge identité : la
+     * tâche elle-même tourne dans la charge base de données, pour ne pas
+     * occuper un thread Keycloak en attendant un autre.
      */
     private <T> void handleAsyncOperation(
             CompletableFuture<T> future,
             String errorMessage,
             Consumer<T> onSuccess
     ) {
-        future.whenComplete((result, ex) -> {
-            UI.getCurrent().access(() -> {
-                if (ex != null) {
-                    logger.error("{}: {}", errorMessage, ex.getMessage(), ex);
-                    if (view != null) {
-                        view.afficherErreur("Une erreur est survenue lors de l'opération");
-                    }
-                } else {
-                    onSuccess.accept(result);
+        UI ui = UI.getCurrent();
+        if (ui == null) {
+            return;
+        }
+        execution.afficher(future, ui, (result, ex) -> {
+            if (ex != null) {
+                logger.error("{}: {}", errorMessage, ex.getMessage(), ex);
+                if (view != null) {
+                    view.afficherErreur("Une erreur est survenue lors de l'opération");
                 }
-            });
+            } else {
+                onSuccess.accept(result);
+            }
         });
     }
 }
@@ -0,0 +1,32 @@
+package app.project_fin_d_etude.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import app.project_fin_d_etude.model.ActiviteQuotidienne;
+
+@Repository
+public interface ActiviteQuotidienneRepository extends JpaRepository<ActiviteQuotidienne, LocalDate> {
+
+    /**
+     * Récupère les agrégats d'une période, du plus ancien au plus récent.
+     *
+     * @param debut Premier jour (inclus)
+     * @param fin Dernier jour (inclus)
+     * @return Les agrégats des jours ayant eu de l'activité
+     */
+    List<ActiviteQuotidienne> findByJourBetweenOrderByJourAsc(LocalDate debut, LocalDate fin);
+
+    /**
+     * Dernier jour agrégé, qui sert de point de reprise à l'agrégation
+     * incrémentale.
+     *
+     * @return Le dernier jour agrégé, ou null si la table est vide
+     */
+    @Query("SELECT MAX(a.jour) FROM ActiviteQuotidienne a")
+    LocalDate findDernierJour();
+}
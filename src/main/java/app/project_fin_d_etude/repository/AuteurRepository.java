@@ -0,0 +1,25 @@
+package app.project_fin_d_etude.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.project_fin_d_etude.model.Auteur;
+
+@Repository
+public interface AuteurRepository extends JpaRepository<Auteur, String> {
+
+    /**
+     * Met à jour l'email et le nom d'un auteur : une seule ligne, quel que
+     * soit le nombre de ses articles et commentaires.
+     *
+     * @return Le nombre d'auteurs mis à jour
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Auteur a SET a.email = :email, a.nom = :nom WHERE a.id = :id")
+    int renommer(@Param("id") String id, @Param("email") String email, @Param("nom") String nom);
+}
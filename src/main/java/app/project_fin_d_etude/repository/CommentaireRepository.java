@@ -1,7 +1,9 @@
 package app.project_fin_d_etude.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,12 +11,49 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import app.project_fin_d_etude.model.CommentAdminSummary;
+import app.project_fin_d_etude.model.CommentReplyCount;
+import app.project_fin_d_etude.model.CommentSummary;
 import app.project_fin_d_etude.model.Commentaire;
 import app.project_fin_d_etude.model.Post;
 
 @Repository
 public interface CommentaireRepository extends JpaRepository<Commentaire, Long> {
 
+    /**
+     * Projection des commentaires en résumés : ni le post ni les relations
+     * parent / réponses ne sont chargés.
+     */
+    String SELECT_SUMMARY = "SELECT new app.project_fin_d_etude.model.CommentSummary(c.id, p.id, c.auteurNom, c.auteurId, c.dateCreation, c.contenu, c.inapproprie) "
+            + "FROM Commentaire c LEFT JOIN c.parent p ";
+
+    /**
+     * Jointures des requêtes de modération : l'article, et l'auteur pour
+     * filtrer sur son nom courant.
+     */
+    String FROM_ADMIN = "FROM Commentaire c JOIN c.post po LEFT JOIN Auteur a ON a.id = c.auteurId ";
+
+    /**
+     * Projection des commentaires pour la modération : le début du contenu et
+     * le titre de l'article, sans charger ni l'article ni son contenu.
+     */
+    String SELECT_ADMIN = "SELECT new app.project_fin_d_etude.model.CommentAdminSummary(c.id, c.dateCreation, "
+            + "SUBSTRING(c.contenu, 1, " + CommentAdminSummary.LONGUEUR_EXTRAIT + "), c.auteurNom, c.auteurId, po.titre, c.inapproprie) "
+            + FROM_ADMIN;
+
+    /**
+     * Condition de filtre des commentaires en modération : nom de l'auteur
+     * (celui du commentaire s'il n'est rattaché à aucun auteur) ou titre de
+     * l'article.
+     */
+    String FILTRE_ADMIN = "WHERE :motif IS NULL OR LOWER(COALESCE(a.nom, c.auteurNom)) LIKE :motif OR LOWER(po.titre) LIKE :motif";
+
+    /**
+     * Expression de tri des commentaires en modération sur le nom courant de
+     * l'auteur, comme {@link #FILTRE_ADMIN}.
+     */
+    String TRI_AUTEUR_ADMIN = "COALESCE(a.nom, c.auteurNom)";
+
     /**
      * Récupère la liste des commentaires associés à un post donné.
      *
@@ -32,18 +71,151 @@ public interface CommentaireRepository extends JpaRepository<Commentaire, Long>
     List<Commentaire> findByParent(Commentaire parent);
 
     /**
-     * Met à jour l'email de l'auteur pour tous ses commentaires.
+     * Récupère la première page des commentaires de premier niveau d'un post,
+     * du plus ancien au plus récent.
+     *
+     * @param postId L'identifiant du post concerné
+     * @param limit Limite de lignes (seule la taille est utilisée, l'offset
+     * doit être 0)
+     * @return Les résumés des premiers commentaires
+     */
+    @Query(SELECT_SUMMARY + "WHERE c.post.id = :postId AND c.parent IS NULL "
+            + "ORDER BY c.dateCreation ASC, c.id ASC")
+    List<CommentSummary> findRootsFirstPage(@Param("postId") Long postId, Pageable limit);
+
+    /**
+     * Récupère la page de commentaires de premier niveau d'un post située
+     * strictement après le curseur (dateCreation, id).
+     *
+     * @param postId L'identifiant du post concerné
+     * @param dateCreation Date de création du dernier commentaire affiché
+     * @param id Identifiant du dernier commentaire affiché
+     * @param limit Limite de lignes (seule la taille est utilisée, l'offset
+     * doit être 0)
+     * @return Les résumés des commentaires suivants
+     */
+    @Query(SELECT_SUMMARY + "WHERE c.post.id = :postId AND c.parent IS NULL "
+            + "AND (c.dateCreation > :dateCreation OR (c.dateCreation = :dateCreation AND c.id > :id)) "
+            + "ORDER BY c.dateCreation ASC, c.id ASC")
+    List<CommentSummary> findRootsPageAfter(@Param("postId") Long postId,
+            @Param("dateCreation") LocalDateTime dateCreation, @Param("id") Long id, Pageable limit);
+
+    /**
+     * Récupère le chemin matérialisé d'un commentaire.
+     *
+     * @param id L'identifiant du commentaire
+     * @return Le chemin, ou null si le commentaire n'existe pas ou n'a pas
+     * encore de chemin
+     */
+    @Query("SELECT c.chemin FROM Commentaire c WHERE c.id = :id")
+    String findCheminById(@Param("id") Long id);
+
+    /**
+     * Récupère les résumés d'un sous-arbre de commentaires dans l'ordre du
+     * fil, par une seule lecture de plage sur le chemin. La profondeur se
+     * déduit de la longueur du chemin (un segment par niveau). Voir
+     * {@link Commentaire#finSousArbre(String)} pour les bornes.
+     *
+     * @param debut Chemin de la racine du sous-arbre (inclus)
+     * @param fin Borne supérieure des chemins (exclue)
+     * @param longueurMax Longueur maximale des chemins retenus, pour limiter
+     * la profondeur
+     * @return Les résumés, la racine en premier
+     */
+    @Query(SELECT_SUMMARY + "WHERE c.chemin >= :debut AND c.chemin < :fin AND LENGTH(c.chemin) <= :longueurMax "
+            + "ORDER BY c.chemin ASC")
+    List<CommentSummary> findSubtreeSummaries(@Param("debut") String debut, @Param("fin") String fin,
+            @Param("longueurMax") int longueurMax);
+
+    /**
+     * Compte, par une seule lecture de plage sur le chemin, les réponses
+     * directes des commentaires d'un article situés à une même profondeur
+     * dans la plage. Les commentaires sans réponse sont absents du résultat.
+     *
+     * @param postId L'identifiant de l'article
+     * @param debut Plus petit chemin de la plage (inclus)
+     * @param fin Borne supérieure des chemins (exclue)
+     * @param longueur Longueur du chemin des réponses comptées
+     * @return Le nombre de réponses par commentaire parent
+     */
+    @Query("SELECT new app.project_fin_d_etude.model.CommentReplyCount(c.parent.id, COUNT(c)) FROM Commentaire c "
+            + "WHERE c.post.id = :postId AND c.chemin >= :debut AND c.chemin < :fin AND LENGTH(c.chemin) = :longueur "
+            + "GROUP BY c.parent.id")
+    List<CommentReplyCount> countRepliesInRange(@Param("postId") Long postId, @Param("debut") String debut,
+            @Param("fin") String fin, @Param("longueur") int longueur);
+
+    /**
+     * Compte les réponses sans chemin (différées ou trop profondes) dont le
+     * parent appartient au sous-arbre. Tout descendant sans chemin a un tel
+     * ancêtre : s'il n'y en a aucun, la plage de chemins couvre tout le
+     * sous-arbre. Voir {@link Commentaire#finSousArbre(String)} pour les
+     * bornes.
+     *
+     * @param debut Chemin de la racine du sous-arbre (inclus)
+     * @param fin Borne supérieure des chemins (exclue)
+     */
+    @Query("SELECT COUNT(c) FROM Commentaire c JOIN c.parent p "
+            + "WHERE c.chemin IS NULL AND p.chemin >= :debut AND p.chemin < :fin")
+    long countReponsesSansChemin(@Param("debut") String debut, @Param("fin") String fin);
+
+    /**
+     * Supprime un sous-arbre de commentaires en une requête. Les chemins les
+     * plus longs d'abord : les réponses disparaissent avant leur parent, ce
+     * que la clé étrangère parent_id exige. Les réponses sans chemin ne sont
+     * pas couvertes : voir {@link #countReponsesSansChemin}.
+     *
+     * @return Le nombre de commentaires supprimés
      */
     @Transactional
     @Modifying
-    @Query("UPDATE Commentaire c SET c.auteurEmail = :newEmail WHERE c.auteurEmail = :oldEmail")
-    int updateAuteurEmail(@Param("oldEmail") String oldEmail, @Param("newEmail") String newEmail);
+    @Query(value = "DELETE FROM commentaire WHERE chemin >= :debut AND chemin < :fin ORDER BY chemin DESC",
+            nativeQuery = true)
+    int deleteSubtree(@Param("debut") String debut, @Param("fin") String fin);
+
+    /**
+     * Récupère une fenêtre de commentaires pour la modération, filtrée sur le
+     * nom de l'auteur ou le titre de l'article et triée selon la pagination.
+     *
+     * @param motif Motif LIKE en minuscules, ou null pour tous les
+     * commentaires
+     * @param pageable Fenêtre et tri (propriétés de {@link Commentaire})
+     * @return Les commentaires de la fenêtre demandée
+     */
+    @Query(SELECT_ADMIN + FILTRE_ADMIN)
+    List<CommentAdminSummary> findAdminSummaries(@Param("motif") String motif, Pageable pageable);
+
+    /**
+     * Compte les commentaires correspondant au filtre de modération.
+     *
+     * @param motif Motif LIKE en minuscules, ou null pour tous les
+     * commentaires
+     */
+    @Query("SELECT COUNT(c) " + FROM_ADMIN + FILTRE_ADMIN)
+    long countAdminSummaries(@Param("motif") String motif);
+
+    /**
+     * Lit l'identifiant du post d'un commentaire, sans charger le post.
+     *
+     * @return L'identifiant du post, ou null si le commentaire n'existe pas
+     */
+    @Query("SELECT c.post.id FROM Commentaire c WHERE c.id = :id")
+    Long findPostIdById(@Param("id") Long id);
 
     /**
-     * Met à jour le nom de l'auteur pour tous ses commentaires.
+     * Lit la date de création d'un commentaire, sans le charger.
+     *
+     * @return La date de création, ou null si le commentaire n'existe pas
+     */
+    @Query("SELECT c.dateCreation FROM Commentaire c WHERE c.id = :id")
+    LocalDateTime findDateCreationById(@Param("id") Long id);
+
+    /**
+     * Marque un commentaire comme inapproprié ou non, sans le charger.
+     *
+     * @return Le nombre de commentaires mis à jour
      */
     @Transactional
     @Modifying
-    @Query("UPDATE Commentaire c SET c.auteurNom = :newNom WHERE c.auteurEmail = :email")
-    int updateAuteurNom(@Param("email") String email, @Param("newNom") String newNom);
+    @Query("UPDATE Commentaire c SET c.inapproprie = :inapproprie WHERE c.id = :id")
+    int updateInapproprie(@Param("id") Long id, @Param("inapproprie") boolean inapproprie);
 }
@@ -2,7 +2,10 @@ package app.project_fin_d_etude.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import app.project_fin_d_etude.model.Message;
@@ -10,6 +13,11 @@ import app.project_fin_d_etude.model.Message;
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
+    /**
+     * Condition de filtre des messages : nom, email ou sujet.
+     */
+    String FILTRE = ":motif IS NULL OR LOWER(m.nom) LIKE :motif OR LOWER(m.email) LIKE :motif OR LOWER(m.sujet) LIKE :motif";
+
     /**
      * Récupère les messages selon leur statut de lecture, triés par date
      * d'envoi décroissante.
@@ -20,9 +28,21 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     List<Message> findByLuOrderByDateEnvoiDesc(boolean lu);
 
     /**
-     * Récupère tous les messages triés par date d'envoi décroissante.
+     * Récupère une fenêtre de messages filtrés sur le nom, l'email ou le
+     * sujet, triée selon la pagination.
+     *
+     * @param motif Motif LIKE en minuscules, ou null pour tous les messages
+     * @param pageable Fenêtre et tri
+     * @return Les messages de la fenêtre demandée
+     */
+    @Query("SELECT m FROM Message m WHERE " + FILTRE)
+    List<Message> rechercher(@Param("motif") String motif, Pageable pageable);
+
+    /**
+     * Compte les messages correspondant au filtre.
      *
-     * @return Liste de tous les messages triés
+     * @param motif Motif LIKE en minuscules, ou null pour tous les messages
      */
-    List<Message> findAllByOrderByDateEnvoiDesc();
+    @Query("SELECT COUNT(m) FROM Message m WHERE " + FILTRE)
+    long compter(@Param("motif") String motif);
 }
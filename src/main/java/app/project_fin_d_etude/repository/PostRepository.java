@@ -1,7 +1,7 @@
 package app.project_fin_d_etude.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,10 +13,20 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.model.PostSummary;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
+    /**
+     * Projection commune des requêtes de liste : ne lit pas la colonne TEXT du
+     * contenu. Les articles enregistrés avant l'ajout de l'extrait retombent
+     * sur les premiers caractères du contenu.
+     */
+    String SELECT_SUMMARY = "SELECT new app.project_fin_d_etude.model.PostSummary(p.id, p.titre, "
+            + "COALESCE(p.extrait, SUBSTRING(p.contenu, 1, " + Post.LONGUEUR_EXTRAIT + ")), "
+            + "p.datePublication, p.auteurNom, p.auteurId, p.nombreCommentaires, p.dateDernierCommentaire) FROM Post p ";
+
     /**
      * Recherche les posts dont le titre ou le contenu contient le mot-clé
      * (insensible à la casse).
@@ -29,9 +39,13 @@ public interface PostRepository extends JpaRepository<Post, Long> {
             + "OR LOWER(p.contenu) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Post> searchPosts(@Param("keyword") String keyword, Pageable pageable);
 
-    @Query("SELECT p FROM Post p WHERE LOWER(p.titre) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+    /**
+     * Recherche les résumés des posts dont le titre ou le contenu contient le
+     * mot-clé (insensible à la casse), du plus récent au plus ancien.
+     */
+    @Query(SELECT_SUMMARY + "WHERE LOWER(p.titre) LIKE LOWER(CONCAT('%', :keyword, '%')) "
             + "OR LOWER(p.contenu) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY p.datePublication DESC")
-    List<Post> searchAllPosts(@Param("keyword") String keyword);
+    List<PostSummary> searchAllPosts(@Param("keyword") String keyword);
 
     /**
      * Récupère tous les posts triés par date de publication décroissante
@@ -45,6 +59,67 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     List<Post> findAllByOrderByDatePublicationDesc();
 
+    /**
+     * Récupère les résumés de tous les posts, du plus récent au plus ancien.
+     */
+    @Query(SELECT_SUMMARY + "ORDER BY p.datePublication DESC, p.id DESC")
+    List<PostSummary> findAllSummaries();
+
+    /**
+     * Expression de tri sur le nom courant de l'auteur (celui de l'article
+     * s'il n'est rattaché à aucun auteur), pour {@link #findSummaries}.
+     */
+    String TRI_AUTEUR = "COALESCE(a.nom, p.auteurNom)";
+
+    /**
+     * Récupère une fenêtre de résumés de posts dont le titre correspond au
+     * motif, triée selon la pagination (grilles d'administration). L'auteur
+     * est joint pour permettre le tri {@link #TRI_AUTEUR}.
+     *
+     * @param motif Motif LIKE en minuscules, ou null pour tous les posts
+     * @param pageable Fenêtre et tri (propriétés de {@link Post})
+     * @return Les résumés de la fenêtre demandée
+     */
+    @Query(SELECT_SUMMARY + "LEFT JOIN Auteur a ON a.id = p.auteurId WHERE :motif IS NULL OR LOWER(p.titre) LIKE :motif")
+    List<PostSummary> findSummaries(@Param("motif") String motif, Pageable pageable);
+
+    /**
+     * Compte les posts dont le titre correspond au motif.
+     *
+     * @param motif Motif LIKE en minuscules, ou null pour tous les posts
+     */
+    @Query("SELECT COUNT(p) FROM Post p WHERE :motif IS NULL OR LOWER(p.titre) LIKE :motif")
+    long countSummaries(@Param("motif") String motif);
+
+    /**
+     * Récupère la première page de résumés de posts en pagination par clé, triée par
+     * (datePublication, id) décroissants.
+     *
+     * @param limit Limite de lignes (seule la taille est utilisée, l'offset
+     * doit être 0)
+     * @return Les résumés des posts les plus récents
+     */
+    @Query(SELECT_SUMMARY + "ORDER BY p.datePublication DESC, p.id DESC")
+    List<PostSummary> findFirstPage(Pageable limit);
+
+    /**
+     * Récupère la page de résumés de posts située strictement après le curseur
+     * (datePublication, id), en ordre décroissant. La requête est servie par
+     * l'index (date_publication, id) : son coût ne dépend pas de la position
+     * de la page.
+     *
+     * @param datePublication Date de publication du dernier post de la page
+     * précédente
+     * @param id Identifiant du dernier post de la page précédente
+     * @param limit Limite de lignes (seule la taille est utilisée, l'offset
+     * doit être 0)
+     * @return Les résumés des posts suivants
+     */
+    @Query(SELECT_SUMMARY + "WHERE p.datePublication < :datePublication "
+            + "OR (p.datePublication = :datePublication AND p.id < :id) "
+            + "ORDER BY p.datePublication DESC, p.id DESC")
+    List<PostSummary> findPageAfter(@Param("datePublication") LocalDateTime datePublication, @Param("id") Long id, Pageable limit);
+
     /**
      * Récupère tous les posts d'un auteur par son email.
      *
@@ -53,6 +128,18 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      */
     List<Post> findAllByAuteurEmailOrderByDatePublicationDesc(String auteurEmail);
 
+    /**
+     * Récupère les résumés des posts d'un auteur : ceux qui lui sont
+     * rattachés, et ceux qui ne le sont pas encore mais portent son email.
+     *
+     * @param auteurId Identifiant de l'auteur
+     * @param auteurEmail Email de l'auteur
+     * @return Résumés des posts de cet auteur, du plus récent au plus ancien
+     */
+    @Query(SELECT_SUMMARY + "WHERE p.auteurId = :auteurId OR (p.auteurId IS NULL AND p.auteurEmail = :auteurEmail) "
+            + "ORDER BY p.datePublication DESC, p.id DESC")
+    List<PostSummary> findSummariesByAuteur(@Param("auteurId") String auteurId, @Param("auteurEmail") String auteurEmail);
+
     /**
      * Récupère les posts par une liste d'ids, triés par date de publication
      * décroissante.
@@ -60,25 +147,69 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findByIdInOrderByDatePublicationDesc(List<Long> ids);
 
     /**
-     * Récupère tous les posts de façon asynchrone.
+     * Récupère les résumés des posts d'une liste d'ids (ordre non garanti).
+     */
+    @Query(SELECT_SUMMARY + "WHERE p.id IN :ids")
+    List<PostSummary> findSummariesByIdIn(@Param("ids") List<Long> ids);
+
+    /**
+     * Récupère un lot de posts d'identifiant strictement supérieur à celui
+     * donné, par identifiants croissants. Sert au parcours complet de la table
+     * par lots (reconstruction d'index).
+     *
+     * @param id Dernier identifiant du lot précédent (0 pour commencer)
+     * @param limit Taille du lot
+     */
+    List<Post> findByIdGreaterThanOrderByIdAsc(Long id, Pageable limit);
+
+    /**
+     * Variante de {@link #findByIdGreaterThanOrderByIdAsc} ne chargeant que
+     * les résumés (sans le contenu).
+     */
+    @Query(SELECT_SUMMARY + "WHERE p.id > :id ORDER BY p.id ASC")
+    List<PostSummary> findSummariesByIdGreaterThan(@Param("id") Long id, Pageable limit);
+
+    /**
+     * Compte un nouveau commentaire sur un post. L'incrément est fait par la
+     * base : deux commentaires simultanés ne peuvent pas s'écraser.
+     *
+     * @param id L'identifiant du post
+     * @param dateCommentaire Date de création du commentaire
+     * @return Le nombre de posts mis à jour
      */
-    default CompletableFuture<List<Post>> getAllPosts() {
-        return CompletableFuture.supplyAsync(this::findAllByOrderByDatePublicationDesc);
-    }
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE post SET nombre_commentaires = nombre_commentaires + 1, "
+            + "date_dernier_commentaire = GREATEST(COALESCE(date_dernier_commentaire, :date), :date) WHERE id = :id",
+            nativeQuery = true)
+    int incrementerCommentaires(@Param("id") Long id, @Param("date") LocalDateTime dateCommentaire);
 
     /**
-     * Met à jour l'email de l'auteur pour tous ses posts.
+     * Décompte des commentaires supprimés d'un post. La date du dernier
+     * commentaire est relue parmi les commentaires restants.
+     *
+     * @param id L'identifiant du post
+     * @param nombre Nombre de commentaires supprimés
+     * @return Le nombre de posts mis à jour
      */
     @Transactional
     @Modifying
-    @Query("UPDATE Post p SET p.auteurEmail = :newEmail WHERE p.auteurEmail = :oldEmail")
-    int updateAuteurEmail(@Param("oldEmail") String oldEmail, @Param("newEmail") String newEmail);
+    @Query(value = "UPDATE post SET nombre_commentaires = GREATEST(nombre_commentaires - :nombre, 0), "
+            + "date_dernier_commentaire = (SELECT MAX(c.date_creation) FROM commentaire c WHERE c.post_id = :id) WHERE id = :id",
+            nativeQuery = true)
+    int decrementerCommentaires(@Param("id") Long id, @Param("nombre") int nombre);
 
     /**
-     * Met à jour le nom de l'auteur pour tous ses posts.
+     * Recalcule exactement le nombre et la date du dernier commentaire d'un
+     * post à partir de la table commentaire.
+     *
+     * @param id L'identifiant du post
+     * @return Le nombre de posts mis à jour
      */
     @Transactional
     @Modifying
-    @Query("UPDATE Post p SET p.auteurNom = :newNom WHERE p.auteurEmail = :email")
-    int updateAuteurNom(@Param("email") String email, @Param("newNom") String newNom);
+    @Query(value = "UPDATE post SET nombre_commentaires = (SELECT COUNT(*) FROM commentaire c WHERE c.post_id = :id), "
+            + "date_dernier_commentaire = (SELECT MAX(c.date_creation) FROM commentaire c WHERE c.post_id = :id) WHERE id = :id",
+            nativeQuery = true)
+    int recalculerCommentaires(@Param("id") Long id);
 }
@@ -0,0 +1,24 @@
+package app.project_fin_d_etude.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import app.project_fin_d_etude.model.TacheMigration;
+
+@Repository
+public interface TacheMigrationRepository extends JpaRepository<TacheMigration, Long> {
+
+    /**
+     * Récupère la plus ancienne tâche dans l'un des états donnés.
+     */
+    Optional<TacheMigration> findFirstByEtatInOrderByIdAsc(Collection<TacheMigration.Etat> etats);
+
+    /**
+     * Récupère les tâches d'un auteur dans l'un des états donnés.
+     */
+    List<TacheMigration> findByAuteurIdAndEtatIn(String auteurId, Collection<TacheMigration.Etat> etats);
+}
@@ -0,0 +1,183 @@
+package app.project_fin_d_etude.service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import app.project_fin_d_etude.config.AsyncConfig;
+import app.project_fin_d_etude.model.ActiviteQuotidienne;
+import app.project_fin_d_etude.repository.ActiviteQuotidienneRepository;
+
+/**
+ * Tenue à jour et lecture des agrégats quotidiens d'activité
+ * ({@link ActiviteQuotidienne}).
+ *
+ * L'agrégation est incrémentale : le dernier jour agrégé sert de point de
+ * reprise, et seules les lignes créées depuis la veille de ce jour sont
+ * relues (la veille couvre les insertions tardives autour de minuit). Les
+ * jours relus sont recalculés entièrement, ce qui rend l'agrégation
+ * idempotente. Un signalement posé sur un commentaire plus ancien que la
+ * fenêtre est répercuté par {@link #recalculerJour(LocalDate)}, appelé à
+ * chaque modération.
+ */
+@Service
+public class ActiviteQuotidienneService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiviteQuotidienneService.class);
+
+    private final ActiviteQuotidienneRepository activiteRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ActiviteQuotidienneService(ActiviteQuotidienneRepository activiteRepository, JdbcTemplate jdbcTemplate) {
+        this.activiteRepository = activiteRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Récupère l'activité d'une période, un élément par jour (jours sans
+     * agrégat à zéro).
+     *
+     * @param debut Premier jour (inclus)
+     * @param fin Dernier jour (inclus)
+     * @return L'activité jour par jour, du plus ancien au plus récent
+     */
+    public List<ActiviteQuotidienne> getActivite(LocalDate debut, LocalDate fin) {
+        if (debut == null || fin == null || debut.isAfter(fin)) {
+            throw new IllegalArgumentException("Période d'activité invalide");
+        }
+        Map<LocalDate, ActiviteQuotidienne> parJour = new HashMap<>();
+        activiteRepository.findByJourBetweenOrderByJourAsc(debut, fin).forEach(a -> parJour.put(a.getJour(), a));
+        return debut.datesUntil(fin.plusDays(1))
+                .map(jour -> parJour.getOrDefault(jour, new ActiviteQuotidienne(jour)))
+                .toList();
+    }
+
+    /**
+     * Agrégation au démarrage de l'application, en arrière-plan.
+     */
+    @Async(AsyncConfig.EXECUTEUR_ARRIERE_PLAN)
+    @EventListener(ApplicationReadyEvent.class)
+    public void agregerAuDemarrage() {
+        agregerPlanifie();
+    }
+
+    /**
+     * Agrégation incrémentale périodique (par défaut toutes les 15 minutes).
+     */
+    @Scheduled(cron = "${activite.agregation-cron:0 */15 * * * *}")
+    public void agregerPlanifie() {
+        try {
+            agreger();
+        } catch (Exception e) {
+            logger.error("Erreur lors de l'agrégation de l'activité quotidienne : {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Agrège l'activité depuis le point de reprise.
+     *
+     * @return Le nombre de jours recalculés
+     */
+    public int agreger() {
+        LocalDate dernierJour = activiteRepository.findDernierJour();
+        LocalDate depuis = dernierJour != null ? dernierJour.minusDays(1) : premierJourActivite();
+        return depuis == null ? 0 : agreger(depuis, LocalDate.now());
+    }
+
+    /**
+     * Recalcule l'agrégat d'un jour déjà agrégé, par exemple après le
+     * signalement d'un commentaire créé ce jour-là. Un jour postérieur au
+     * point de reprise est laissé à l'agrégation incrémentale : le recalculer
+     * seul avancerait le point de reprise par-dessus les jours intermédiaires.
+     * Une erreur est journalisée sans être propagée.
+     *
+     * @param jour Le jour à recalculer
+     */
+    public void recalculerJour(LocalDate jour) {
+        try {
+            LocalDate dernierJour = activiteRepository.findDernierJour();
+            if (jour != null && dernierJour != null && !jour.isAfter(dernierJour)) {
+                agreger(jour, jour);
+            }
+        } catch (Exception e) {
+            logger.error("Erreur lors du recalcul de l'activité du {} : {}", jour, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recalcule les agrégats de chaque jour de la période : une requête
+     * GROUP BY par table source, limitée aux lignes de la période.
+     *
+     * @param depuis Premier jour (inclus)
+     * @param jusqua Dernier jour (inclus)
+     */
+    private int agreger(LocalDate depuis, LocalDate jusqua) {
+        long debut = System.currentTimeMillis();
+        if (depuis.isAfter(jusqua)) {
+            return 0;
+        }
+        Map<LocalDate, ActiviteQuotidienne> parJour = new HashMap<>();
+        depuis.datesUntil(jusqua.plusDays(1)).forEach(jour -> parJour.put(jour, new ActiviteQuotidienne(jour)));
+
+        Date borne = Date.valueOf(depuis);
+        Date fin = Date.valueOf(jusqua.plusDays(1));
+        compter("SELECT DATE(date_publication), COUNT(*) FROM post WHERE date_publication >= ? AND date_publication < ? "
+                + "GROUP BY DATE(date_publication)", borne, fin, parJour, ActiviteQuotidienne::setArticlesPublies);
+        compter("SELECT DATE(date_creation), COUNT(*) FROM commentaire WHERE date_creation >= ? AND date_creation < ? "
+                + "GROUP BY DATE(date_creation)", borne, fin, parJour, ActiviteQuotidienne::setCommentairesCrees);
+        compter("SELECT DATE(date_creation), COUNT(*) FROM commentaire WHERE date_creation >= ? AND date_creation < ? "
+                + "AND inapproprie = TRUE GROUP BY DATE(date_creation)", borne, fin, parJour, ActiviteQuotidienne::setCommentairesSignales);
+        compter("SELECT DATE(date_envoi), COUNT(*) FROM message WHERE date_envoi >= ? AND date_envoi < ? "
+                + "GROUP BY DATE(date_envoi)", borne, fin, parJour, ActiviteQuotidienne::setMessagesRecus);
+
+        activiteRepository.saveAll(new ArrayList<>(parJour.values()));
+        logger.info("Activité quotidienne agrégée du {} au {} : {} jours en {} ms",
+                depuis, jusqua, parJour.size(), System.currentTimeMillis() - debut);
+        return parJour.size();
+    }
+
+    /**
+     * Exécute une requête (jour, nombre) sur une période et reporte chaque
+     * nombre sur l'agrégat du jour.
+     */
+    private void compter(String sql, Date depuis, Date fin, Map<LocalDate, ActiviteQuotidienne> parJour,
+            BiConsumer<ActiviteQuotidienne, Long> affecter) {
+        jdbcTemplate.query(sql, rs -> {
+            ActiviteQuotidienne activite = parJour.get(rs.getDate(1).toLocalDate());
+            if (activite != null) {
+                affecter.accept(activite, rs.getLong(2));
+            }
+        }, depuis, fin);
+    }
+
+    /**
+     * Premier jour ayant eu de l'activité, toutes tables confondues.
+     */
+    private LocalDate premierJourActivite() {
+        return Stream.of(
+                "SELECT MIN(date_publication) FROM post",
+                "SELECT MIN(date_creation) FROM commentaire",
+                "SELECT MIN(date_envoi) FROM message")
+                .map(sql -> jdbcTemplate.queryForObject(sql, Timestamp.class))
+                .filter(Objects::nonNull)
+                .map(t -> t.toLocalDateTime().toLocalDate())
+                .min(LocalDate::compareTo)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,132 @@
+package app.project_fin_d_etude.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import app.project_fin_d_etude.model.Auteur;
+import app.project_fin_d_etude.repository.AuteurRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache en mémoire des auteurs, par identifiant. Les écrans de liste y lisent
+ * le nom courant des auteurs : les projections ne renvoient que
+ * l'identifiant, et tous les auteurs absents d'une page sont chargés en une
+ * seule requête.
+ *
+ * Les auteurs sont peu nombreux et rarement modifiés : le cache est tenu à
+ * jour par {@link AuteurService} à chaque écriture, l'expiration ne servant
+ * qu'à rattraper les modifications faites par une autre instance.
+ */
+@Component
+public class AuteurCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuteurCache.class);
+
+    private final LoadingCache<String, Optional<Auteur>> auteurs;
+
+    public AuteurCache(AuteurRepository auteurRepository, MeterRegistry meterRegistry,
+            @Value("${auteurs.cache.taille-max:5000}") long tailleMax,
+            @Value("${auteurs.cache.expiration-minutes:30}") long expirationMinutes) {
+        this.auteurs = Caffeine.newBuilder()
+                .maximumSize(tailleMax)
+                .expireAfterWrite(Duration.ofMinutes(expirationMinutes))
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Optional<Auteur> load(String id) {
+                        return auteurRepository.findById(id);
+                    }
+
+                    @Override
+                    public Map<String, Optional<Auteur>> loadAll(Set<? extends String> ids) {
+                        Map<String, Optional<Auteur>> lus = new HashMap<>();
+                        ids.forEach(id -> lus.put(id, Optional.empty()));
+                        auteurRepository.findAllById(List.copyOf(ids))
+                                .forEach(auteur -> lus.put(auteur.getId(), Optional.of(auteur)));
+                        return lus;
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, auteurs, "auteurs");
+        logger.info("Cache des auteurs : {} entrées max, expiration {} min", tailleMax, expirationMinutes);
+    }
+
+    /**
+     * Renvoie un auteur par son identifiant.
+     */
+    public Optional<Auteur> trouver(String id) {
+        return id == null ? Optional.empty() : auteurs.get(id);
+    }
+
+    /**
+     * Nom courant d'un auteur.
+     *
+     * @param id Identifiant de l'auteur, ou null
+     * @param nomEnregistre Nom enregistré avec l'article ou le commentaire,
+     * renvoyé si l'auteur est inconnu
+     */
+    public String nom(String id, String nomEnregistre) {
+        return trouver(id).map(Auteur::getNom).orElse(nomEnregistre);
+    }
+
+    /**
+     * Remplace, dans une liste de projections, les noms enregistrés par les
+     * noms courants des auteurs. Les auteurs absents du cache sont lus en une
+     * seule requête.
+     *
+     * @param lignes Projections à compléter
+     * @param auteurId Identifiant de l'auteur d'une projection
+     * @param avecNom Copie d'une projection avec un autre nom
+     * @return Les projections, dans le même ordre
+     */
+    public <T> List<T> resoudre(List<T> lignes, Function<T, String> auteurId, BiFunction<T, String, T> avecNom) {
+        Set<String> ids = lignes.stream()
+                .map(auteurId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return lignes;
+        }
+        Map<String, Optional<Auteur>> connus = auteurs.getAll(ids);
+        return lignes.stream()
+                .map(ligne -> {
+                    String id = auteurId.apply(ligne);
+                    Optional<Auteur> auteur = id != null ? connus.get(id) : Optional.empty();
+                    return auteur.map(a -> avecNom.apply(ligne, a.getNom())).orElse(ligne);
+                })
+                .toList();
+    }
+
+    /**
+     * Enregistre la version courante d'un auteur.
+     */
+    public void mettreAJour(Auteur auteur) {
+        auteurs.put(auteur.getId(), Optional.of(auteur));
+    }
+
+    /**
+     * Retire un auteur du cache.
+     */
+    public void invalider(String id) {
+        if (id != null) {
+            auteurs.invalidate(id);
+        }
+    }
+}
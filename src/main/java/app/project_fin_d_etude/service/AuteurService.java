@@ -0,0 +1,116 @@
+package app.project_fin_d_etude.service;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.stereotype.Service;
+
+import app.project_fin_d_etude.model.Auteur;
+import app.project_fin_d_etude.repository.AuteurRepository;
+
+/**
+ * Gestion des auteurs d'articles et de commentaires.
+ *
+ * Un auteur est créé la première fois qu'un utilisateur publie ou modifie son
+ * profil ; ses articles et commentaires antérieurs, retrouvés par son email,
+ * lui sont alors rattachés une fois pour toutes, en arrière-plan par le
+ * {@link MoteurMigration}. Ensuite, un changement de nom ou d'email ne met à
+ * jour que la ligne de l'auteur.
+ */
+@Service
+public class AuteurService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuteurService.class);
+
+    private final AuteurRepository auteurRepository;
+    private final AuteurCache auteurCache;
+    private final MoteurMigration moteurMigration;
+
+    public AuteurService(AuteurRepository auteurRepository, AuteurCache auteurCache, MoteurMigration moteurMigration) {
+        this.auteurRepository = auteurRepository;
+        this.auteurCache = auteurCache;
+        this.moteurMigration = moteurMigration;
+    }
+
+    /**
+     * Renvoie l'identifiant de l'auteur connecté, en créant l'auteur s'il
+     * n'existe pas encore.
+     *
+     * @return L'identifiant, ou vide si aucun utilisateur OIDC n'est connecté
+     */
+    public Optional<String> auteurCourant() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof OidcUser oidcUser)) {
+            return Optional.empty();
+        }
+        return Optional.of(enregistrer(oidcUser.getSubject(), oidcUser.getEmail(), nomAffiche(oidcUser)));
+    }
+
+    /**
+     * Crée l'auteur s'il n'existe pas encore et planifie le rattachement de
+     * ses articles et commentaires antérieurs. Un auteur existant n'est pas
+     * modifié : les informations du jeton peuvent être plus anciennes que
+     * celles de la base.
+     *
+     * @return L'identifiant de l'auteur
+     */
+    public String enregistrer(String id, String email, String nom) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("L'identifiant de l'auteur ne peut pas être vide");
+        }
+        if (auteurCache.trouver(id).isPresent()) {
+            return id;
+        }
+        Auteur auteur = auteurRepository.save(new Auteur(id, email, nom != null && !nom.isBlank() ? nom : email));
+        auteurCache.mettreAJour(auteur);
+        logger.info("Nouvel auteur enregistré : {} ({})", id, email);
+        if (email != null && !email.isBlank()) {
+            moteurMigration.rattacherAuteur(id, email);
+        }
+        return id;
+    }
+
+    /**
+     * Change le nom et l'email d'un auteur : une seule ligne mise à jour.
+     *
+     * @param id Identifiant Keycloak de l'auteur
+     * @param ancienEmail Email sous lequel ses anciens articles ont été
+     * publiés, s'il faut créer l'auteur
+     * @param email Nouvel email
+     * @param nom Nouveau nom complet, ou null (ou vide) pour le conserver
+     */
+    public void renommer(String id, String ancienEmail, String email, String nom) {
+        if (email == null || email.isBlank()) {
+            throw new IllegalArgumentException("L'email de l'auteur ne peut pas être vide");
+        }
+        enregistrer(id, ancienEmail, nom);
+        String nouveauNom = nom != null && !nom.isBlank() ? nom
+                : auteurCache.trouver(id).map(Auteur::getNom).orElse(email);
+        auteurRepository.renommer(id, email, nouveauNom);
+        auteurCache.mettreAJour(new Auteur(id, email, nouveauNom));
+        logger.info("Auteur {} renommé : {} ({})", id, nouveauNom, email);
+    }
+
+    /**
+     * Avancement du rattachement des anciens articles et commentaires d'un
+     * auteur.
+     */
+    public MoteurMigration.Progression getProgressionRattachement(String id) {
+        return moteurMigration.getProgression(id);
+    }
+
+    /**
+     * Nom affiché d'un utilisateur OIDC : prénom et nom, sinon nom complet,
+     * sinon email.
+     */
+    private static String nomAffiche(OidcUser oidcUser) {
+        if (oidcUser.getGivenName() != null && oidcUser.getFamilyName() != null) {
+            return oidcUser.getGivenName() + " " + oidcUser.getFamilyName();
+        }
+        return oidcUser.getFullName() != null ? oidcUser.getFullName() : oidcUser.getEmail();
+    }
+}
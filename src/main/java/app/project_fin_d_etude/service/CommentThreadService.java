@@ -0,0 +1,166 @@
+package app.project_fin_d_etude.service;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import app.project_fin_d_etude.model.CommentReplyCount;
+import app.project_fin_d_etude.model.CommentSummary;
+import app.project_fin_d_etude.model.Commentaire;
+import app.project_fin_d_etude.repository.CommentaireRepository;
+
+/**
+ * Construit les branches d'un fil de discussion sous un commentaire : le
+ * sous-arbre est lu en une seule requête de plage sur le chemin matérialisé,
+ * limitée en profondeur, puis regroupé en arbre en temps linéaire grâce à un
+ * index des réponses par identifiant de parent.
+ *
+ * Le fil renvoyé est immuable et ne contient aucune entité JPA : la vue peut
+ * le parcourir sans déclencher de chargement paresseux. Le fil complet d'un
+ * article n'est jamais chargé : la page de détail lit les commentaires de
+ * premier niveau par pages ({@link CommentaireService#getCommentairesPage}),
+ * puis une branche à chaque dépliage.
+ */
+@Service
+public class CommentThreadService {
+
+    /**
+     * Commentaire du fil avec ses réponses, dans l'ordre du fil.
+     *
+     * @param commentaire Le commentaire
+     * @param reponses Les réponses directes chargées (vide au dernier niveau
+     * lu)
+     * @param nombreReponses Nombre de réponses directes, chargées ou non
+     */
+    public record Noeud(CommentSummary commentaire, List<Noeud> reponses, long nombreReponses) implements Serializable {
+
+    }
+
+    /**
+     * Fil de discussion, ou branche d'un fil.
+     *
+     * @param racines Les commentaires de premier niveau du fil, dans l'ordre
+     * du fil
+     * @param nombreCommentaires Nombre de commentaires chargés, réponses
+     * comprises
+     */
+    public record Fil(List<Noeud> racines, int nombreCommentaires) implements Serializable {
+
+        public boolean isVide() {
+            return racines.isEmpty();
+        }
+    }
+
+    private final CommentaireRepository commentaireRepository;
+    private final AuteurCache auteurCache;
+
+    public CommentThreadService(CommentaireRepository commentaireRepository, AuteurCache auteurCache) {
+        this.commentaireRepository = commentaireRepository;
+        this.auteurCache = auteurCache;
+    }
+
+    /**
+     * Charge le sous-arbre d'un commentaire, limité en profondeur, par une
+     * seule lecture de plage sur le chemin matérialisé. Les réponses du
+     * niveau suivant le dernier lu sont seulement comptées, par une seconde
+     * lecture de la même plage.
+     *
+     * @param postId L'identifiant de l'article du commentaire
+     * @param commentaireId L'identifiant du commentaire racine
+     * @param profondeurMax Nombre de niveaux de réponses à inclure (0 pour le
+     * commentaire seul)
+     * @return Le fil dont l'unique racine est le commentaire, vide s'il
+     * n'existe pas ou n'a pas encore de chemin
+     */
+    public Fil getSousFil(Long postId, Long commentaireId, int profondeurMax) {
+        if (postId == null || commentaireId == null) {
+            throw new IllegalArgumentException("Les ID du post et du commentaire ne peuvent pas être null");
+        }
+        if (profondeurMax < 0) {
+            throw new IllegalArgumentException("La profondeur ne peut pas être négative");
+        }
+        String chemin = commentaireRepository.findCheminById(commentaireId);
+        if (chemin == null) {
+            return new Fil(List.of(), 0);
+        }
+        String fin = Commentaire.finSousArbre(chemin);
+        int longueurMax = (int) Math.min(Commentaire.LONGUEUR_MAX_CHEMIN,
+                chemin.length() + (long) profondeurMax * Commentaire.LONGUEUR_SEGMENT_CHEMIN);
+        List<CommentSummary> commentaires = auteurCache.resoudre(
+                commentaireRepository.findSubtreeSummaries(chemin, fin, longueurMax),
+                CommentSummary::auteurId, CommentSummary::avecAuteurNom);
+        Map<Long, Long> reponsesNonChargees = longueurMax >= Commentaire.LONGUEUR_MAX_CHEMIN ? Map.of()
+                : commentaireRepository.countRepliesInRange(postId, chemin, fin, longueurMax + Commentaire.LONGUEUR_SEGMENT_CHEMIN)
+                        .stream().collect(Collectors.toMap(CommentReplyCount::parentId, CommentReplyCount::nombre));
+        return construire(commentaires, reponsesNonChargees);
+    }
+
+    /**
+     * Regroupe des commentaires triés (chronologiquement, ou dans l'ordre des
+     * chemins) en arbre, toutes les réponses étant chargées.
+     */
+    static Fil construire(List<CommentSummary> commentaires) {
+        return construire(commentaires, Map.of());
+    }
+
+    /**
+     * Regroupe des commentaires triés (chronologiquement, ou dans l'ordre des
+     * chemins) en arbre. Un commentaire dont le parent est absent de la liste
+     * est rattaché au premier niveau plutôt que perdu.
+     *
+     * @param reponsesNonChargees Nombre de réponses des commentaires dont les
+     * réponses ne figurent pas dans la liste
+     */
+    static Fil construire(List<CommentSummary> commentaires, Map<Long, Long> reponsesNonChargees) {
+        Set<Long> ids = new HashSet<>(commentaires.size() * 2);
+        commentaires.forEach(c -> ids.add(c.id()));
+
+        // parent -> réponses directes, dans l'ordre de la liste
+        Map<Long, List<CommentSummary>> reponsesParParent = new HashMap<>();
+        List<CommentSummary> racines = new ArrayList<>();
+        for (CommentSummary commentaire : commentaires) {
+            Long parentId = commentaire.parentId();
+            if (parentId == null || !ids.contains(parentId) || parentId.equals(commentaire.id())) {
+                racines.add(commentaire);
+            } else {
+                reponsesParParent.computeIfAbsent(parentId, id -> new ArrayList<>(2)).add(commentaire);
+            }
+        }
+
+        // Parcours en profondeur itératif : un nœud est construit après ses
+        // réponses, sans récursion (les fils très profonds ne débordent pas
+        // la pile)
+        Map<Long, Noeud> construits = new HashMap<>(commentaires.size() * 2);
+        Set<Long> visites = new HashSet<>(commentaires.size() * 2);
+        Deque<CommentSummary> pile = new ArrayDeque<>();
+        racines.forEach(pile::push);
+        while (!pile.isEmpty()) {
+            CommentSummary courant = pile.peek();
+            List<CommentSummary> reponses = reponsesParParent.getOrDefault(courant.id(), List.of());
+            if (visites.add(courant.id())) {
+                reponses.forEach(pile::push);
+                continue;
+            }
+            pile.pop();
+            List<Noeud> enfants = new ArrayList<>(reponses.size());
+            for (CommentSummary reponse : reponses) {
+                enfants.add(construits.remove(reponse.id()));
+            }
+            long nombreReponses = enfants.isEmpty() ? reponsesNonChargees.getOrDefault(courant.id(), 0L) : enfants.size();
+            construits.put(courant.id(), new Noeud(courant, List.copyOf(enfants), nombreReponses));
+        }
+
+        List<Noeud> arbre = new ArrayList<>(racines.size());
+        racines.forEach(racine -> arbre.add(construits.get(racine.id())));
+        return new Fil(List.copyOf(arbre), commentaires.size());
+    }
+}
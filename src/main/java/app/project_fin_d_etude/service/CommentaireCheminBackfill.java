@@ -0,0 +1,102 @@
+package app.project_fin_d_etude.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import app.project_fin_d_etude.config.AsyncConfig;
+import app.project_fin_d_etude.model.Commentaire;
+
+/**
+ * Attribue leur chemin matérialisé aux commentaires qui n'en ont pas encore
+ * (commentaires antérieurs à la colonne, ou dont le parent n'avait pas de
+ * chemin à l'insertion).
+ *
+ * Exécuté en arrière-plan au démarrage ; sans effet une fois tous les chemins
+ * attribués. Les commentaires sont parcourus par identifiants croissants : un
+ * parent, toujours plus ancien que ses réponses, est traité avant elles.
+ */
+@Component
+public class CommentaireCheminBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentaireCheminBackfill.class);
+    private static final int TAILLE_LOT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommentaireCheminBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Complète les chemins manquants au démarrage de l'application.
+     */
+    @Async(AsyncConfig.EXECUTEUR_ARRIERE_PLAN)
+    @EventListener(ApplicationReadyEvent.class)
+    public void completerAuDemarrage() {
+        try {
+            completer();
+        } catch (Exception e) {
+            logger.error("Erreur lors de l'attribution des chemins de commentaires : {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Attribue leur chemin à tous les commentaires qui n'en ont pas.
+     *
+     * @return Le nombre de commentaires mis à jour
+     */
+    public int completer() {
+        long debut = System.currentTimeMillis();
+        int misAJour = 0;
+        int ignores = 0;
+        long dernierId = 0L;
+        List<Ligne> lot;
+        do {
+            lot = jdbcTemplate.query("SELECT c.id, c.parent_id, p.chemin FROM commentaire c "
+                    + "LEFT JOIN commentaire p ON p.id = c.parent_id "
+                    + "WHERE c.chemin IS NULL AND c.id > ? ORDER BY c.id LIMIT ?",
+                    (rs, i) -> new Ligne(rs.getLong(1), rs.getObject(2, Long.class), rs.getString(3)),
+                    dernierId, TAILLE_LOT);
+            // Chemins attribués dans ce lot, pour les réponses du même lot
+            Map<Long, String> cheminsDuLot = new HashMap<>();
+            List<Object[]> miseAJour = new ArrayList<>(lot.size());
+            for (Ligne ligne : lot) {
+                String cheminParent = ligne.parentId() == null ? ""
+                        : ligne.cheminParent() != null ? ligne.cheminParent() : cheminsDuLot.get(ligne.parentId());
+                String chemin = cheminParent == null ? null : Commentaire.cheminEnfant(cheminParent, ligne.id());
+                if (chemin == null || chemin.length() > Commentaire.LONGUEUR_MAX_CHEMIN) {
+                    ignores++;
+                    continue;
+                }
+                cheminsDuLot.put(ligne.id(), chemin);
+                miseAJour.add(new Object[]{chemin, ligne.id()});
+            }
+            if (!miseAJour.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE commentaire SET chemin = ? WHERE id = ?", miseAJour);
+                misAJour += miseAJour.size();
+            }
+            if (!lot.isEmpty()) {
+                dernierId = lot.get(lot.size() - 1).id();
+            }
+        } while (lot.size() == TAILLE_LOT);
+        if (misAJour > 0 || ignores > 0) {
+            logger.info("Chemins de commentaires attribués : {} ({} ignorés) en {} ms",
+                    misAJour, ignores, System.currentTimeMillis() - debut);
+        }
+        return misAJour;
+    }
+
+    private record Ligne(long id, Long parentId, String cheminParent) {
+
+    }
+}
@@ -1,62 +1,145 @@
 package app.project_fin_d_etude.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import app.project_fin_d_etude.config.MetriquesConfig;
+import app.project_fin_d_etude.model.CommentAdminSummary;
+import app.project_fin_d_etude.model.CommentCursor;
+import app.project_fin_d_etude.model.CommentReplyCount;
+import app.project_fin_d_etude.model.CommentSummary;
 import app.project_fin_d_etude.model.Commentaire;
 import app.project_fin_d_etude.model.Post;
 import app.project_fin_d_etude.repository.CommentaireRepository;
 import app.project_fin_d_etude.repository.PostRepository;
 import app.project_fin_d_etude.utils.EntityValidator;
+import app.project_fin_d_etude.utils.KeysetPage;
+import app.project_fin_d_etude.utils.TextUtils;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = MetriquesConfig.APPELS_SERVICES, histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class CommentaireService {
 
     private static final Logger logger = LoggerFactory.getLogger(CommentaireService.class);
 
     private final CommentaireRepository commentaireRepository;
     private final PostRepository postRepository;
+    private final PostCache postCache;
+    private final RecentPostsSnapshot recentPosts;
+    private final AuteurService auteurService;
+    private final AuteurCache auteurCache;
+    private final ActiviteQuotidienneService activiteService;
 
-    public CommentaireService(CommentaireRepository commentaireRepository, PostRepository postRepository) {
+    public CommentaireService(CommentaireRepository commentaireRepository, PostRepository postRepository, PostCache postCache,
+            RecentPostsSnapshot recentPosts, AuteurService auteurService, AuteurCache auteurCache,
+            ActiviteQuotidienneService activiteService) {
         this.commentaireRepository = commentaireRepository;
         this.postRepository = postRepository;
+        this.postCache = postCache;
+        this.recentPosts = recentPosts;
+        this.auteurService = auteurService;
+        this.auteurCache = auteurCache;
+        this.activiteService = activiteService;
     }
 
     /**
-     * Récupère les commentaires associés à un post de façon asynchrone.
+     * Récupère les commentaires associés à un post, de façon synchrone.
      */
-    @Async
-    public CompletableFuture<List<Commentaire>> getCommentairesByPost(Post post) {
+    public List<Commentaire> getCommentairesByPost(Post post) {
         if (post == null) {
-            logger.error("Tentative de récupération des commentaires avec un post null");
-            return CompletableFuture.failedFuture(new IllegalArgumentException("Le post ne peut pas être null"));
+            throw new IllegalArgumentException("Le post ne peut pas être null");
         }
+        List<Commentaire> commentaires = commentaireRepository.findByPost(post);
+        logger.debug("Récupération de {} commentaires pour le post {}", commentaires.size(), post.getId());
+        return commentaires;
+    }
 
-        try {
-            List<Commentaire> commentaires = commentaireRepository.findByPost(post);
-            logger.debug("Récupération asynchrone de {} commentaires pour le post {}", commentaires.size(), post.getId());
-            return CompletableFuture.completedFuture(commentaires);
-        } catch (Exception e) {
-            logger.error("Erreur lors de la récupération asynchrone des commentaires pour le post {}: {}", post.getId(), e.getMessage(), e);
-            return CompletableFuture.failedFuture(e);
+    /**
+     * Récupère une page de commentaires de premier niveau d'un post par
+     * pagination par clé sur (dateCreation, id), du plus ancien au plus
+     * récent. Les réponses ne sont pas incluses : voir
+     * {@link CommentThreadService#getSousFil}.
+     *
+     * @param postId L'identifiant du post
+     * @param cursor Curseur de la page précédente, ou null pour la première
+     * page
+     * @param size Nombre de commentaires par page
+     * @return La page de résumés et le curseur de la page suivante
+     */
+    public KeysetPage<CommentSummary, CommentCursor> getCommentairesPage(Long postId, CommentCursor cursor, int size) {
+        if (postId == null) {
+            throw new IllegalArgumentException("L'ID du post ne peut pas être null");
         }
+        if (size <= 0) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<CommentSummary> rows = cursor == null
+                ? commentaireRepository.findRootsFirstPage(postId, limit)
+                : commentaireRepository.findRootsPageAfter(postId, cursor.dateCreation(), cursor.id(), limit);
+        return KeysetPage.of(avecAuteurs(rows), size, CommentCursor::of);
+    }
+
+    /**
+     * Compte en une lecture de plage sur le chemin les réponses directes de
+     * commentaires de premier niveau d'un article (une page du fil). La plage
+     * va du premier chemin au sous-arbre du dernier.
+     *
+     * @return Le nombre de réponses par identifiant de commentaire (absent si
+     * aucune réponse)
+     */
+    public Map<Long, Long> compterReponsesRacines(Long postId, Collection<Long> racineIds) {
+        if (postId == null || racineIds == null || racineIds.isEmpty()) {
+            return Map.of();
+        }
+        long premier = racineIds.stream().mapToLong(Long::longValue).min().getAsLong();
+        long dernier = racineIds.stream().mapToLong(Long::longValue).max().getAsLong();
+        return commentaireRepository.countRepliesInRange(postId, Commentaire.cheminEnfant("", premier),
+                Commentaire.finSousArbre(Commentaire.cheminEnfant("", dernier)), 2 * Commentaire.LONGUEUR_SEGMENT_CHEMIN).stream()
+                // La plage peut couvrir d'autres commentaires de l'article que ceux de la page
+                .filter(nombre -> racineIds.contains(nombre.parentId()))
+                .collect(Collectors.toMap(CommentReplyCount::parentId, CommentReplyCount::nombre));
     }
 
     /**
      * Sauvegarde un commentaire après validation, de façon synchrone.
      */
+    @Transactional
     public Commentaire save(Commentaire commentaire) {
         EntityValidator.ValidationResult validationResult = EntityValidator.validateCommentaire(commentaire);
         if (!validationResult.isValid()) {
             throw new IllegalArgumentException("Commentaire invalide: " + validationResult.getAllErrorsAsString());
         }
-        return commentaireRepository.save(commentaire);
+        boolean nouveau = commentaire.getId() == null;
+        if (nouveau && commentaire.getAuteurId() == null) {
+            auteurService.auteurCourant().ifPresent(commentaire::setAuteurId);
+        }
+        Commentaire saved = commentaireRepository.save(commentaire);
+        attribuerChemin(saved);
+        Long postId = saved.getPost() != null ? saved.getPost().getId() : null;
+        if (nouveau && postId != null) {
+            postRepository.incrementerCommentaires(postId, saved.getDateCreation());
+            apresCommit(() -> recentPosts.ajouterCommentaire(postId, saved.getDateCreation()));
+        }
+        apresCommit(() -> postCache.invalider(postId));
+        return saved;
     }
 
     /**
@@ -64,6 +147,7 @@ public class CommentaireService {
      * l'auteur du commentaire ou un administrateur peuvent supprimer un
      * commentaire.
      */
+    @Transactional
     public void delete(Long id) {
         if (id == null) {
             throw new IllegalArgumentException("L'ID du commentaire ne peut pas être null");
@@ -77,7 +161,9 @@ public class CommentaireService {
                 = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof org.springframework.security.oauth2.core.oidc.user.OidcUser oidcUser) {
             String userEmail = oidcUser.getEmail();
-            boolean isAuthor = userEmail != null && userEmail.equals(commentaire.getAuteurEmail());
+            boolean isAuthor = commentaire.getAuteurId() != null
+                    ? commentaire.getAuteurId().equals(oidcUser.getSubject())
+                    : userEmail != null && userEmail.equals(commentaire.getAuteurEmail());
             boolean isAdmin = authentication.getAuthorities().stream()
                     .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
 
@@ -92,21 +178,108 @@ public class CommentaireService {
 
         logger.info("Suppression du commentaire {} par l'utilisateur {}", id,
                 authentication.getPrincipal() instanceof org.springframework.security.oauth2.core.oidc.user.OidcUser user ? user.getEmail() : "unknown");
-        commentaireRepository.deleteById(id);
+        Long postId = commentaire.getPost() != null ? commentaire.getPost().getId() : null;
+        String chemin = commentaire.getChemin();
+        if (chemin != null && commentaireRepository.countReponsesSansChemin(chemin, Commentaire.finSousArbre(chemin)) == 0) {
+            // Le commentaire et toutes ses réponses en une seule requête
+            int nombre = commentaireRepository.deleteSubtree(chemin, Commentaire.finSousArbre(chemin));
+            logger.debug("Sous-arbre du commentaire {} supprimé : {} commentaires", id, nombre);
+            if (postId != null) {
+                postRepository.decrementerCommentaires(postId, nombre);
+            }
+        } else {
+            // Réponses sans chemin dans le sous-arbre : suppression en cascade
+            // par parent_id, que la plage de chemins ne couvrirait pas
+            commentaireRepository.deleteById(id);
+            if (postId != null) {
+                // Nombre de réponses supprimées en cascade inconnu : recalcul exact
+                postRepository.recalculerCommentaires(postId);
+            }
+        }
+        apresCommit(() -> {
+            if (postId != null) {
+                actualiserCompteursRecents(postId);
+            }
+            postCache.invalider(postId);
+        });
     }
 
-    @Async
-    public CompletableFuture<List<Commentaire>> getAllCommentaires() {
-        try {
-            List<Commentaire> commentaires = commentaireRepository.findAll();
-            logger.debug("Récupération asynchrone de {} commentaires", commentaires.size());
-            return CompletableFuture.completedFuture(commentaires);
-        } catch (Exception e) {
-            logger.error("Erreur lors de la récupération asynchrone de tous les commentaires: {}", e.getMessage(), e);
-            return CompletableFuture.failedFuture(e);
+    /**
+     * Reporte dans l'instantané des articles récents les compteurs de
+     * commentaires recalculés par la base après une suppression. Seul
+     * l'article concerné est relu, et seulement s'il figure dans
+     * l'instantané.
+     */
+    private void actualiserCompteursRecents(Long postId) {
+        if (!recentPosts.contient(postId)) {
+            return;
         }
+        postRepository.findSummariesByIdIn(List.of(postId)).forEach(
+                p -> recentPosts.remplacerCommentaires(postId, p.nombreCommentaires(), p.dateDernierCommentaire()));
     }
 
+    /**
+     * Récupère une fenêtre de commentaires pour la modération, filtrés sur le
+     * nom de l'auteur ou le titre de l'article. Sans tri demandé, les
+     * commentaires sont renvoyés du plus récent au plus ancien. Le tri sur
+     * "auteurNom" porte sur le nom courant de l'auteur, celui affiché.
+     *
+     * @param filtre Texte recherché, ou null
+     * @param pageable Fenêtre et tri demandés par la grille
+     */
+    public List<CommentAdminSummary> getCommentairesAdmin(String filtre, Pageable pageable) {
+        Sort tri = pageable.getSort().isSorted() ? avecTriAuteur(pageable.getSort()) : Sort.by(Sort.Direction.DESC, "dateCreation");
+        Pageable fenetre = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                tri.and(Sort.by(Sort.Direction.DESC, "id")));
+        return auteurCache.resoudre(commentaireRepository.findAdminSummaries(TextUtils.motifRecherche(filtre), fenetre),
+                CommentAdminSummary::auteurId, CommentAdminSummary::avecAuteurNom);
+    }
+
+    /**
+     * Remplace le tri sur le nom d'auteur enregistré dans le commentaire par
+     * le tri sur le nom courant ({@link CommentaireRepository#TRI_AUTEUR_ADMIN}).
+     */
+    private static Sort avecTriAuteur(Sort tri) {
+        Sort resultat = Sort.unsorted();
+        for (Sort.Order ordre : tri) {
+            resultat = resultat.and("auteurNom".equals(ordre.getProperty())
+                    ? JpaSort.unsafe(ordre.getDirection(), CommentaireRepository.TRI_AUTEUR_ADMIN)
+                    : Sort.by(ordre));
+        }
+        return resultat;
+    }
+
+    /**
+     * Compte les commentaires correspondant au filtre de modération.
+     *
+     * @param filtre Texte recherché, ou null
+     */
+    public long countCommentairesAdmin(String filtre) {
+        return commentaireRepository.countAdminSummaries(TextUtils.motifRecherche(filtre));
+    }
+
+    /**
+     * Marque un commentaire comme inapproprié ou non (modération), sans
+     * charger l'entité. L'activité du jour de création du commentaire est
+     * ensuite recalculée : l'agrégation incrémentale ne relit que les
+     * derniers jours.
+     */
+    public void definirInapproprie(Long id, boolean inapproprie) {
+        if (id == null) {
+            throw new IllegalArgumentException("L'ID du commentaire ne peut pas être null");
+        }
+        if (commentaireRepository.updateInapproprie(id, inapproprie) == 0) {
+            throw new IllegalArgumentException("Commentaire non trouvé avec l'ID: " + id);
+        }
+        logger.info("Commentaire {} marqué {}", id, inapproprie ? "inapproprié" : "approprié");
+        postCache.invalider(commentaireRepository.findPostIdById(id));
+        LocalDateTime dateCreation = commentaireRepository.findDateCreationById(id);
+        if (dateCreation != null) {
+            apresCommit(() -> activiteService.recalculerJour(dateCreation.toLocalDate()));
+        }
+    }
+
+    @Transactional
     public Commentaire repondreAuCommentaire(Long postId, Long parentCommentaireId, String contenu, String auteurNom, String auteurEmail) {
         logger.info("Création d'une réponse au commentaire - postId: {}, parentId: {}, auteur: {}", postId, parentCommentaireId, auteurNom);
         Post post = postRepository.findById(postId).orElseThrow();
@@ -118,32 +291,75 @@ public class CommentaireService {
         reponse.setContenu(contenu);
         reponse.setAuteurNom(auteurNom);
         reponse.setAuteurEmail(auteurEmail);
+        auteurService.auteurCourant().ifPresent(reponse::setAuteurId);
         reponse.setDateCreation(LocalDateTime.now());
 
+        EntityValidator.ValidationResult validationResult = EntityValidator.validateCommentaire(reponse);
+        if (!validationResult.isValid()) {
+            throw new IllegalArgumentException("Réponse invalide: " + validationResult.getAllErrorsAsString());
+        }
         Commentaire savedReponse = commentaireRepository.save(reponse);
+        attribuerChemin(savedReponse);
+        postRepository.incrementerCommentaires(postId, savedReponse.getDateCreation());
+        apresCommit(() -> {
+            recentPosts.ajouterCommentaire(postId, savedReponse.getDateCreation());
+            postCache.invalider(postId);
+        });
         logger.info("Réponse sauvegardée avec succès - id: {}, auteur: {}", savedReponse.getId(), savedReponse.getAuteurNom());
         return savedReponse;
     }
 
     /**
-     * Met à jour l'email de l'auteur pour tous ses commentaires.
+     * Attribue son chemin matérialisé à un commentaire qui vient d'être
+     * inséré (l'identifiant n'est connu qu'après l'insertion). Si le chemin
+     * du parent n'est pas encore connu, le commentaire est laissé sans chemin
+     * pour {@link CommentaireCheminBackfill}.
      */
-    public int migrerEmailAuteur(String ancienEmail, String nouvelEmail) {
-        if (ancienEmail == null || nouvelEmail == null || ancienEmail.equals(nouvelEmail)) {
-            return 0;
+    private void attribuerChemin(Commentaire commentaire) {
+        if (commentaire.getChemin() != null) {
+            return;
+        }
+        String cheminParent = "";
+        if (commentaire.getParent() != null) {
+            cheminParent = commentaireRepository.findCheminById(commentaire.getParent().getId());
+            if (cheminParent == null) {
+                logger.warn("Chemin du commentaire parent {} inconnu, chemin du commentaire {} différé",
+                        commentaire.getParent().getId(), commentaire.getId());
+                return;
+            }
         }
-        logger.info("Migration des commentaires de {} vers {}", ancienEmail, nouvelEmail);
-        return commentaireRepository.updateAuteurEmail(ancienEmail, nouvelEmail);
+        String chemin = Commentaire.cheminEnfant(cheminParent, commentaire.getId());
+        if (chemin.length() > Commentaire.LONGUEUR_MAX_CHEMIN) {
+            logger.warn("Commentaire {} trop profondément imbriqué, aucun chemin attribué", commentaire.getId());
+            return;
+        }
+        // Entité gérée : le chemin est écrit par une seule mise à jour au flush
+        commentaire.setChemin(chemin);
     }
 
     /**
-     * Met à jour le nom de l'auteur pour tous ses commentaires.
+     * Exécute une mise à jour des caches mémoire une fois la transaction
+     * courante validée : une écriture annulée ne laisse ni compteur faux dans
+     * l'instantané ni article relu avant le commit. Sans transaction, la mise
+     * à jour est immédiate.
      */
-    public int migrerNomAuteur(String email, String nouveauNom) {
-        if (email == null || nouveauNom == null || email.isBlank() || nouveauNom.isBlank()) {
-            return 0;
+    private static void apresCommit(Runnable miseAJour) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            miseAJour.run();
+            return;
         }
-        logger.info("Migration du nom d'auteur des commentaires pour {} vers {}", email, nouveauNom);
-        return commentaireRepository.updateAuteurNom(email, nouveauNom);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                miseAJour.run();
+            }
+        });
+    }
+
+    /**
+     * Remplace les noms d'auteur enregistrés par les noms courants.
+     */
+    private List<CommentSummary> avecAuteurs(List<CommentSummary> commentaires) {
+        return auteurCache.resoudre(commentaires, CommentSummary::auteurId, CommentSummary::avecAuteurNom);
     }
 }
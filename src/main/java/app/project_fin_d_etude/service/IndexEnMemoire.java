@@ -0,0 +1,207 @@
+package app.project_fin_d_etude.service;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+
+import app.project_fin_d_etude.config.AsyncConfig;
+
+/**
+ * Base des index d'articles tenus en mémoire (recherche plein texte, titres
+ * approchés, autocomplétion).
+ *
+ * Gère le verrou lecture/écriture, la mise à jour incrémentale et la
+ * reconstruction complète au démarrage par lots d'identifiants croissants.
+ * Les enregistrements et suppressions qui surviennent pendant une
+ * reconstruction restent pris en compte. Tant qu'une reconstruction n'est pas
+ * terminée, {@link #isPret()} renvoie false et les appelants doivent se
+ * rabattre sur la base de données.
+ *
+ * @param <T> Type des documents indexés
+ * @param <P> Forme préparée d'un document, calculée hors verrou
+ */
+public abstract class IndexEnMemoire<T, P> {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexEnMemoire.class);
+    private static final int TAILLE_LOT_RECONSTRUCTION = 500;
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Documents supprimés pendant une reconstruction, à ne pas réindexer
+    private final Set<Long> supprimesPendantReconstruction = new HashSet<>();
+    private boolean reconstructionEnCours;
+    private volatile boolean pret;
+
+    /**
+     * Identifiant d'un document.
+     */
+    protected abstract Long idOf(T document);
+
+    /**
+     * Prépare un document pour l'index (découpage, normalisation). Appelé
+     * hors verrou.
+     */
+    protected abstract P preparer(T document);
+
+    /**
+     * Ajoute un document préparé. Appelé sous le verrou d'écriture.
+     */
+    protected abstract void ajouter(Long id, P prepare);
+
+    /**
+     * Retire un document s'il est présent. Appelé sous le verrou d'écriture.
+     */
+    protected abstract void retirer(Long id);
+
+    /**
+     * Indique si un document est présent. Appelé sous le verrou.
+     */
+    protected abstract boolean contient(Long id);
+
+    /**
+     * Vide entièrement l'index. Appelé sous le verrou d'écriture.
+     */
+    protected abstract void vider();
+
+    /**
+     * Nombre de documents présents. Appelé sous le verrou.
+     */
+    protected abstract int nombreDocuments();
+
+    /**
+     * Charge le lot de documents d'identifiant strictement supérieur à
+     * celui donné, par identifiants croissants.
+     */
+    protected abstract List<T> lotSuivant(long dernierId, int taille);
+
+    /**
+     * Indique si l'index est complet et peut servir les recherches.
+     */
+    public boolean isPret() {
+        return pret;
+    }
+
+    /**
+     * Nombre de documents présents dans l'index.
+     */
+    public int taille() {
+        lock.readLock().lock();
+        try {
+            return nombreDocuments();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute ou remplace un document dans l'index.
+     *
+     * @param document Le document enregistré (doit avoir un identifiant)
+     */
+    public void indexer(T document) {
+        if (document == null || idOf(document) == null) {
+            return;
+        }
+        P prepare = preparer(document);
+        lock.writeLock().lock();
+        try {
+            retirer(idOf(document));
+            ajouter(idOf(document), prepare);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un document de l'index.
+     *
+     * @param id Identifiant du document supprimé
+     */
+    public void supprimer(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            retirer(id);
+            if (reconstructionEnCours) {
+                supprimesPendantReconstruction.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstruit l'index au démarrage de l'application, en arrière-plan.
+     */
+    @Async(AsyncConfig.EXECUTEUR_ARRIERE_PLAN)
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruireAuDemarrage() {
+        reconstruire();
+    }
+
+    /**
+     * Reconstruit entièrement l'index en parcourant les documents par lots
+     * d'identifiants croissants.
+     */
+    public void reconstruire() {
+        long debut = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pret = false;
+            reconstructionEnCours = true;
+            supprimesPendantReconstruction.clear();
+            vider();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            long dernierId = 0L;
+            List<T> lot;
+            do {
+                lot = lotSuivant(dernierId, TAILLE_LOT_RECONSTRUCTION);
+                Map<Long, P> prepares = new LinkedHashMap<>();
+                for (T document : lot) {
+                    prepares.put(idOf(document), preparer(document));
+                    dernierId = idOf(document);
+                }
+                lock.writeLock().lock();
+                try {
+                    prepares.forEach((id, prepare) -> {
+                        // Un document déjà présent a été indexé entre-temps dans une version plus récente
+                        if (!contient(id) && !supprimesPendantReconstruction.contains(id)) {
+                            ajouter(id, prepare);
+                        }
+                    });
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } while (lot.size() == TAILLE_LOT_RECONSTRUCTION);
+
+            pret = true;
+            logger.info("{} reconstruit : {} articles en {} ms", getClass().getSimpleName(), taille(),
+                    System.currentTimeMillis() - debut);
+        } catch (Exception e) {
+            logger.error("Erreur lors de la reconstruction de {} : {}", getClass().getSimpleName(), e.getMessage(), e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                reconstructionEnCours = false;
+                supprimesPendantReconstruction.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package app.project_fin_d_etude.service;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 
 import org.keycloak.OAuth2Constants;
@@ -12,16 +19,41 @@ import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.KeycloakBuilder;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.representations.idm.CredentialRepresentation;
+import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import app.project_fin_d_etude.config.MetriquesConfig;
+import app.project_fin_d_etude.utils.CircuitBreaker;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 
+/**
+ * Accès à l'API d'administration Keycloak.
+ *
+ * Chaque appel est exécuté dans l'exécuteur dédié et borné de la charge
+ * {@link ExecutionAsynchrone.Charge#IDENTITE}, avec un délai maximal au-delà
+ * duquel il est interrompu, et passe par
+ * un disjoncteur : après plusieurs échecs consécutifs, les appels échouent
+ * immédiatement le temps que Keycloak se rétablisse. Les lectures fréquentes
+ * passent par {@link KeycloakUserDirectory} et {@link KeycloakUserEmailCache},
+ * qui continuent de servir leurs données pendant une panne.
+ *
+ * Métriques exportées : {@code keycloak.admin.appels} (durée par opération et
+ * par résultat), {@code keycloak.admin.circuit.etat} (0 fermé, 1 semi-ouvert,
+ * 2 ouvert), les métriques de l'exécuteur {@code identite} et, comme pour
+ * les autres services, {@code services.appels} par méthode publique.
+ */
 @Service
+@Timed(value = MetriquesConfig.APPELS_SERVICES, histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class KeycloakUserAdminService {
 
     private static final Logger logger = LoggerFactory.getLogger(KeycloakUserAdminService.class);
@@ -37,6 +69,43 @@ public class KeycloakUserAdminService {
 
     private Keycloak keycloak;
 
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutionAsynchrone execution;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreaker circuit;
+    private final long delaiMaxMs;
+    private final int concurrenceMax;
+
+    /**
+     * Événement publié après une création, une modification ou une
+     * suppression d'utilisateur (voir {@link KeycloakUserDirectory}).
+     *
+     * @param userId Identifiant Keycloak de l'utilisateur
+     * @param utilisateur Nouvelle représentation de l'utilisateur, ou null
+     * s'il a été supprimé
+     */
+    public record UtilisateurModifie(String userId, UserRepresentation utilisateur) {
+
+    }
+
+    public KeycloakUserAdminService(ApplicationEventPublisher eventPublisher,
+            ExecutionAsynchrone execution,
+            MeterRegistry meterRegistry,
+            @Value("${keycloak.client.delai-max-ms:3000}") long delaiMaxMs,
+            @Value("${keycloak.client.concurrence-max:4}") int concurrenceMax,
+            @Value("${keycloak.client.circuit.seuil-echecs:5}") int seuilEchecs,
+            @Value("${keycloak.client.circuit.ouverture-secondes:30}") long ouvertureSecondes) {
+        this.eventPublisher = eventPublisher;
+        this.execution = execution;
+        this.meterRegistry = meterRegistry;
+        this.circuit = new CircuitBreaker(seuilEchecs, Duration.ofSeconds(ouvertureSecondes));
+        this.delaiMaxMs = delaiMaxMs;
+        this.concurrenceMax = concurrenceMax;
+        Gauge.builder("keycloak.admin.circuit.etat", circuit, c -> c.getEtat().ordinal())
+                .description("État du disjoncteur Keycloak (0 fermé, 1 semi-ouvert, 2 ouvert)")
+                .register(meterRegistry);
+    }
+
     @PostConstruct
     public void init() {
         try {
@@ -46,6 +115,12 @@ public class KeycloakUserAdminService {
                     .clientId(clientId)
                     .clientSecret(clientSecret)
                     .grantType(OAuth2Constants.CLIENT_CREDENTIALS)
+                    // Délais réseau : un appel abandonné ne garde pas son thread indéfiniment
+                    .resteasyClient(new ResteasyClientBuilderImpl()
+                            .connectTimeout(delaiMaxMs, TimeUnit.MILLISECONDS)
+                            .readTimeout(delaiMaxMs, TimeUnit.MILLISECONDS)
+                            .connectionPoolSize(concurrenceMax)
+                            .build())
                     .build();
             logger.info("Client Keycloak initialisé avec succès pour le realm: {}", realm);
         } catch (Exception e) {
@@ -58,6 +133,88 @@ public class KeycloakUserAdminService {
         return keycloak.realm(realm);
     }
 
+    /**
+     * État courant du disjoncteur des appels Keycloak.
+     */
+    public CircuitBreaker.Etat getEtatCircuit() {
+        return circuit.getEtat();
+    }
+
+    /**
+     * Exécute un appel à Keycloak dans l'exécuteur dédié, borné par le délai
+     * maximal et protégé par le disjoncteur. Le futur échoue avec une
+     * {@link IllegalStateException} si Keycloak est indisponible (disjoncteur
+     * ouvert, pool saturé ou délai dépassé). Les erreurs 4xx (utilisateur
+     * introuvable, conflit...) ne comptent pas comme des pannes.
+     *
+     * @param operation Nom de l'opération (étiquette des métriques)
+     * @param appel L'appel à exécuter
+     */
+    private <T> CompletableFuture<T> appelerAsync(String operation, Supplier<T> appel) {
+        Optional<CircuitBreaker.Appel> autorisation = circuit.autoriser();
+        if (autorisation.isEmpty()) {
+            enregistrer(operation, "circuit_ouvert", 0);
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Keycloak indisponible : appels suspendus après des échecs répétés"));
+        }
+        CircuitBreaker.Appel appelAutorise = autorisation.get();
+        long debut = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = execution.soumettre(ExecutionAsynchrone.Charge.IDENTITE, appel, Duration.ofMillis(delaiMaxMs));
+        } catch (RejectedExecutionException e) {
+            appelAutorise.echec();
+            enregistrer(operation, "rejete", 0);
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Keycloak surchargé : trop d'appels en attente"));
+        }
+        return future.handle((resultat, erreur) -> {
+            Throwable cause = ExecutionAsynchrone.cause(erreur);
+            String issue;
+            if (cause == null) {
+                appelAutorise.succes();
+                issue = "succes";
+            } else if (cause instanceof WebApplicationException w && w.getResponse() != null && w.getResponse().getStatus() < 500) {
+                appelAutorise.succes();
+                issue = "erreur_client";
+            } else {
+                appelAutorise.echec();
+                issue = cause instanceof TimeoutException ? "delai_depasse" : "echec";
+            }
+            enregistrer(operation, issue, System.nanoTime() - debut);
+            if (cause == null) {
+                return resultat;
+            }
+            if (cause instanceof TimeoutException) {
+                throw new CompletionException(new IllegalStateException(
+                        "Keycloak n'a pas répondu dans le délai de " + delaiMaxMs + " ms"));
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
+    /**
+     * Variante synchrone de {@link #appelerAsync}.
+     */
+    private <T> T appeler(String operation, Supplier<T> appel) {
+        try {
+            return appelerAsync(operation, appel).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void enregistrer(String operation, String issue, long dureeNanos) {
+        Timer.builder("keycloak.admin.appels")
+                .tag("operation", operation)
+                .tag("resultat", issue)
+                .register(meterRegistry)
+                .record(dureeNanos, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Vérifie que l'utilisateur connecté a le rôle ADMIN.
      *
@@ -85,11 +242,21 @@ public class KeycloakUserAdminService {
     }
 
     /**
-     * Liste tous les utilisateurs Keycloak du realm.
+     * Liste une page d'utilisateurs Keycloak du realm, de façon synchrone.
+     *
+     * @param first Position du premier utilisateur
+     * @param max Nombre maximal d'utilisateurs renvoyés
      */
-    @Async
-    public CompletableFuture<List<UserRepresentation>> listAllUsers() {
-        return CompletableFuture.supplyAsync(() -> realmResource().users().list());
+    public List<UserRepresentation> listUsers(int first, int max) {
+        return appeler("lister", () -> realmResource().users().list(first, max));
+    }
+
+    /**
+     * Compte les utilisateurs du realm sans les charger (endpoint
+     * users/count de l'API d'administration).
+     */
+    public int countUsers() {
+        return appeler("compter", () -> realmResource().users().count());
     }
 
     /**
@@ -121,10 +288,13 @@ public class KeycloakUserAdminService {
             cred.setValue(password);
             user.setCredentials(List.of(cred));
 
-            Response response = realmResource().users().create(user);
+            Response response = appeler("creer", () -> realmResource().users().create(user));
             if (response.getStatus() == 201) {
                 String userId = CreatedResponseUtil.getCreatedId(response);
                 logger.info("Utilisateur créé avec succès - username: {}, email: {}, id: {}", username, email, userId);
+                user.setId(userId);
+                user.setCredentials(null);
+                eventPublisher.publishEvent(new UtilisateurModifie(userId, user));
                 return userId;
             } else {
                 String errorMsg = "Erreur lors de la création de l'utilisateur: " + response.getStatusInfo().getReasonPhrase();
@@ -143,12 +313,16 @@ public class KeycloakUserAdminService {
      */
     public void updateUser(String userId, String username, String email, boolean enabled) {
         try {
-            UserRepresentation user = realmResource().users().get(userId).toRepresentation();
-            user.setUsername(username);
-            user.setEmail(email);
-            user.setEnabled(enabled);
-            realmResource().users().get(userId).update(user);
+            UserRepresentation user = appeler("modifier", () -> {
+                UserRepresentation representation = realmResource().users().get(userId).toRepresentation();
+                representation.setUsername(username);
+                representation.setEmail(email);
+                representation.setEnabled(enabled);
+                realmResource().users().get(userId).update(representation);
+                return representation;
+            });
             logger.info("Utilisateur mis à jour avec succès - id: {}, username: {}, email: {}", userId, username, email);
+            eventPublisher.publishEvent(new UtilisateurModifie(userId, user));
         } catch (Exception e) {
             logger.error("Erreur lors de la mise à jour de l'utilisateur {}: {}", userId, e.getMessage(), e);
             throw new RuntimeException("Erreur lors de la mise à jour de l'utilisateur: " + e.getMessage(), e);
@@ -168,7 +342,10 @@ public class KeycloakUserAdminService {
             cred.setTemporary(false);
             cred.setType(CredentialRepresentation.PASSWORD);
             cred.setValue(newPassword);
-            realmResource().users().get(userId).resetPassword(cred);
+            appeler("mot_de_passe", () -> {
+                realmResource().users().get(userId).resetPassword(cred);
+                return null;
+            });
             logger.info("Mot de passe mis à jour avec succès pour l'utilisateur: {}", userId);
         } catch (Exception e) {
             logger.error("Erreur lors de la mise à jour du mot de passe pour l'utilisateur {}: {}", userId, e.getMessage(), e);
@@ -183,8 +360,12 @@ public class KeycloakUserAdminService {
         // checkAdminRights(); // Suppression de la vérification des droits utilisateur connecté
 
         try {
-            realmResource().users().get(userId).remove();
+            appeler("supprimer", () -> {
+                realmResource().users().get(userId).remove();
+                return null;
+            });
             logger.info("Utilisateur supprimé avec succès: {}", userId);
+            eventPublisher.publishEvent(new UtilisateurModifie(userId, null));
         } catch (Exception e) {
             logger.error("Erreur lors de la suppression de l'utilisateur {}: {}", userId, e.getMessage(), e);
             throw new RuntimeException("Erreur lors de la suppression de l'utilisateur: " + e.getMessage(), e);
@@ -194,10 +375,18 @@ public class KeycloakUserAdminService {
     /**
      * Recherche un utilisateur par email.
      */
-    @Async
     public CompletableFuture<Optional<UserRepresentation>> findByEmail(String email) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<UserRepresentation> users = realmResource().users().search(email, true);
+        return rechercherParEmailAsync(email);
+    }
+
+    /**
+     * Recherche un utilisateur par email (recherche exacte sur le champ
+     * email), dans le pool Keycloak. Préférer {@link KeycloakUserEmailCache}
+     * pour les recherches répétées.
+     */
+    public CompletableFuture<Optional<UserRepresentation>> rechercherParEmailAsync(String email) {
+        return appelerAsync("rechercher_email", () -> {
+            List<UserRepresentation> users = realmResource().users().searchByEmail(email, true);
             return users.stream().filter(u -> email.equalsIgnoreCase(u.getEmail())).findFirst();
         });
     }
@@ -205,9 +394,8 @@ public class KeycloakUserAdminService {
     /**
      * Recherche un utilisateur par username.
      */
-    @Async
     public CompletableFuture<Optional<UserRepresentation>> findByUsername(String username) {
-        return CompletableFuture.supplyAsync(() -> {
+        return appelerAsync("rechercher_username", () -> {
             List<UserRepresentation> users = realmResource().users().search(username, true);
             return users.stream().filter(u -> username.equalsIgnoreCase(u.getUsername())).findFirst();
         });
@@ -0,0 +1,230 @@
+package app.project_fin_d_etude.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.keycloak.representations.idm.UserRepresentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import app.project_fin_d_etude.config.AsyncConfig;
+
+/**
+ * Annuaire local des utilisateurs Keycloak, servi aux écrans
+ * d'administration sans appel distant.
+ *
+ * L'annuaire est relu en arrière-plan par pages
+ * ({@code users().list(first, max)}) : au démarrage puis périodiquement. Entre
+ * deux relectures, les créations, modifications et suppressions faites par
+ * l'application y sont reportées immédiatement
+ * ({@link KeycloakUserAdminService.UtilisateurModifie}). Comme
+ * {@link RecentPostsSnapshot}, la liste est immuable et remplacée en bloc à
+ * chaque écriture : les lectures ne prennent aucun verrou.
+ *
+ * Une relecture interroge Keycloak hors du verrou ; les modifications reçues
+ * pendant ce temps sont mémorisées puis rejouées sur la liste relue, qui ne
+ * les connaît pas forcément. Tant que le premier chargement n'a pas abouti,
+ * l'annuaire est vide ({@link #isCharge()} à false) : les grilles ne
+ * déclenchent jamais d'appel à Keycloak.
+ */
+@Component
+public class KeycloakUserDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeycloakUserDirectory.class);
+    private static final Comparator<Entree> PAR_NOM_UTILISATEUR = Comparator
+            .comparing((Entree e) -> Objects.requireNonNullElse(e.utilisateur().getUsername(), ""), String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(e -> e.utilisateur().getId());
+
+    /**
+     * Utilisateur de l'annuaire et sa clé de recherche (nom d'utilisateur,
+     * email, prénom et nom en minuscules).
+     */
+    private record Entree(UserRepresentation utilisateur, String cle) {
+
+        static Entree of(UserRepresentation utilisateur) {
+            String cle = String.join(" ",
+                    Objects.requireNonNullElse(utilisateur.getUsername(), ""),
+                    Objects.requireNonNullElse(utilisateur.getEmail(), ""),
+                    Objects.requireNonNullElse(utilisateur.getFirstName(), ""),
+                    Objects.requireNonNullElse(utilisateur.getLastName(), ""))
+                    .toLowerCase(Locale.ROOT);
+            return new Entree(utilisateur, cle);
+        }
+    }
+
+    private final KeycloakUserAdminService keycloakUserAdminService;
+    private final int taillePage;
+
+    // Une seule relecture à la fois
+    private final Object verrouRelecture = new Object();
+
+    private volatile List<Entree> utilisateurs;
+    // Modifications reçues pendant la relecture en cours, null hors relecture
+    private List<KeycloakUserAdminService.UtilisateurModifie> modificationsPendantRelecture;
+
+    public KeycloakUserDirectory(KeycloakUserAdminService keycloakUserAdminService,
+            @Value("${keycloak.annuaire.taille-page:100}") int taillePage) {
+        this.keycloakUserAdminService = keycloakUserAdminService;
+        this.taillePage = taillePage;
+    }
+
+    /**
+     * Indique si l'annuaire a déjà été chargé au moins une fois.
+     */
+    public boolean isCharge() {
+        return utilisateurs != null;
+    }
+
+    /**
+     * Nombre d'utilisateurs de l'annuaire (0 tant qu'il n'est pas chargé).
+     */
+    public int getNombreUtilisateurs() {
+        return entrees().size();
+    }
+
+    /**
+     * Renvoie une fenêtre des utilisateurs correspondant au filtre, triés par
+     * nom d'utilisateur. Vide tant que l'annuaire n'est pas chargé.
+     *
+     * @param filtre Texte recherché dans le nom d'utilisateur, l'email, le
+     * prénom ou le nom (null ou vide pour tous)
+     * @param offset Position du premier utilisateur renvoyé
+     * @param limit Nombre maximal d'utilisateurs renvoyés
+     */
+    public List<UserRepresentation> rechercher(String filtre, int offset, int limit) {
+        return entrees().stream()
+                .filter(correspond(filtre))
+                .skip(offset)
+                .limit(limit)
+                .map(Entree::utilisateur)
+                .toList();
+    }
+
+    /**
+     * Compte les utilisateurs correspondant au filtre.
+     */
+    public int compter(String filtre) {
+        if (filtre == null || filtre.isBlank()) {
+            return entrees().size();
+        }
+        return (int) entrees().stream().filter(correspond(filtre)).count();
+    }
+
+    /**
+     * Charge l'annuaire au démarrage de l'application.
+     */
+    @Async(AsyncConfig.EXECUTEUR_ARRIERE_PLAN)
+    @EventListener(ApplicationReadyEvent.class)
+    public void chargerAuDemarrage() {
+        rechargerPlanifie();
+    }
+
+    /**
+     * Relecture périodique de l'annuaire.
+     */
+    @Scheduled(fixedDelayString = "${keycloak.annuaire.rafraichissement-ms:300000}",
+            initialDelayString = "${keycloak.annuaire.rafraichissement-ms:300000}")
+    public void rechargerPlanifie() {
+        try {
+            recharger();
+        } catch (Exception e) {
+            // Keycloak indisponible : l'annuaire précédent reste servi
+            logger.error("Erreur lors du chargement de l'annuaire Keycloak : {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Relit tout le realm, page par page, et remplace l'annuaire. Les
+     * modifications reçues pendant la relecture sont rejouées sur le
+     * résultat.
+     */
+    public List<UserRepresentation> recharger() {
+        synchronized (verrouRelecture) {
+            long debut = System.currentTimeMillis();
+            synchronized (this) {
+                modificationsPendantRelecture = new ArrayList<>();
+            }
+            List<Entree> lus = new ArrayList<>();
+            try {
+                List<UserRepresentation> page;
+                do {
+                    page = keycloakUserAdminService.listUsers(lus.size(), taillePage);
+                    page.forEach(utilisateur -> lus.add(Entree.of(utilisateur)));
+                } while (page.size() == taillePage);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    modificationsPendantRelecture = null;
+                }
+                throw e;
+            }
+            List<Entree> resultat;
+            synchronized (this) {
+                resultat = lus;
+                for (KeycloakUserAdminService.UtilisateurModifie modification : modificationsPendantRelecture) {
+                    resultat = appliquer(resultat, modification);
+                }
+                resultat.sort(PAR_NOM_UTILISATEUR);
+                utilisateurs = List.copyOf(resultat);
+                modificationsPendantRelecture = null;
+            }
+            logger.info("Annuaire Keycloak rechargé : {} utilisateurs en {} ms", resultat.size(), System.currentTimeMillis() - debut);
+            return resultat.stream().map(Entree::utilisateur).toList();
+        }
+    }
+
+    /**
+     * Reporte dans l'annuaire une création, une modification ou une
+     * suppression faite par l'application.
+     */
+    @EventListener
+    public synchronized void surModification(KeycloakUserAdminService.UtilisateurModifie modification) {
+        if (modificationsPendantRelecture != null) {
+            // La page qui contient l'utilisateur a peut-être déjà été lue
+            modificationsPendantRelecture.add(modification);
+        }
+        if (utilisateurs == null) {
+            return;
+        }
+        List<Entree> nouveaux = appliquer(utilisateurs, modification);
+        nouveaux.sort(PAR_NOM_UTILISATEUR);
+        utilisateurs = List.copyOf(nouveaux);
+    }
+
+    /**
+     * Copie des entrées où l'utilisateur modifié remplace l'ancien (ou en est
+     * retiré s'il a été supprimé). La copie n'est pas triée.
+     */
+    private static List<Entree> appliquer(List<Entree> entrees, KeycloakUserAdminService.UtilisateurModifie modification) {
+        List<Entree> nouveaux = new ArrayList<>(entrees.size() + 1);
+        entrees.stream()
+                .filter(e -> !modification.userId().equals(e.utilisateur().getId()))
+                .forEach(nouveaux::add);
+        if (modification.utilisateur() != null) {
+            nouveaux.add(Entree.of(modification.utilisateur()));
+        }
+        return nouveaux;
+    }
+
+    private List<Entree> entrees() {
+        List<Entree> courant = utilisateurs;
+        return courant != null ? courant : List.of();
+    }
+
+    private static Predicate<Entree> correspond(String filtre) {
+        if (filtre == null || filtre.isBlank()) {
+            return e -> true;
+        }
+        String motif = filtre.trim().toLowerCase(Locale.ROOT);
+        return e -> e.cle().contains(motif);
+    }
+}
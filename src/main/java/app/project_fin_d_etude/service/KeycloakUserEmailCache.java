@@ -0,0 +1,131 @@
+package app.project_fin_d_etude.service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.keycloak.representations.idm.UserRepresentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache des utilisateurs Keycloak par email, pour les opérations de profil.
+ *
+ * La clé est l'email normalisé (sans espaces, en minuscules). Les recherches
+ * simultanées d'un même email partagent un seul appel à Keycloak, exécuté
+ * dans le pool borné de {@link KeycloakUserAdminService}. Une absence
+ * d'utilisateur est aussi mise en cache, pour la même durée.
+ *
+ * Passé la durée de vie, une entrée est relue en arrière-plan à sa prochaine
+ * lecture, l'ancienne valeur restant servie en attendant. Si Keycloak est
+ * indisponible, la relecture échoue et l'ancienne valeur continue d'être
+ * servie, jusqu'à l'expiration définitive de l'entrée.
+ *
+ * Les entrées sont invalidées à chaque modification d'utilisateur faite par
+ * l'application ({@link KeycloakUserAdminService.UtilisateurModifie}), y
+ * compris sous l'ancien email en cas de changement d'email. Les
+ * représentations mises en cache sont partagées : elles ne doivent pas être
+ * modifiées sans invalider l'entrée.
+ */
+@Component
+public class KeycloakUserEmailCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeycloakUserEmailCache.class);
+
+    private final AsyncLoadingCache<String, Optional<UserRepresentation>> utilisateurs;
+
+    public KeycloakUserEmailCache(KeycloakUserAdminService keycloakUserAdminService, MeterRegistry meterRegistry,
+            @Value("${keycloak.cache-email.ttl-secondes:300}") long ttlSecondes,
+            @Value("${keycloak.cache-email.expiration-max-minutes:60}") long expirationMaxMinutes,
+            @Value("${keycloak.cache-email.taille-max:10000}") long tailleMax) {
+        this.utilisateurs = Caffeine.newBuilder()
+                .maximumSize(tailleMax)
+                .refreshAfterWrite(Duration.ofSeconds(ttlSecondes))
+                .expireAfterWrite(Duration.ofMinutes(expirationMaxMinutes))
+                // Les recherches s'exécutent dans le pool Keycloak : seules les
+                // suites légères tournent dans le thread qui les complète
+                .executor(Runnable::run)
+                .recordStats()
+                .buildAsync((email, executor) -> keycloakUserAdminService.rechercherParEmailAsync(email));
+        CaffeineCacheMetrics.monitor(meterRegistry, utilisateurs.synchronous(), "keycloak.utilisateurs.email");
+        logger.info("Cache des utilisateurs Keycloak par email : {} entrées max, relecture après {} s, expiration {} min",
+                tailleMax, ttlSecondes, expirationMaxMinutes);
+    }
+
+    /**
+     * Recherche un utilisateur par email (insensible à la casse).
+     *
+     * @return L'utilisateur, ou vide s'il n'existe pas dans Keycloak
+     */
+    public Optional<UserRepresentation> trouver(String email) {
+        try {
+            return trouverAsync(email).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Variante non bloquante de {@link #trouver}.
+     */
+    public CompletableFuture<Optional<UserRepresentation>> trouverAsync(String email) {
+        String cle = normaliser(email);
+        if (cle == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return utilisateurs.get(cle);
+    }
+
+    /**
+     * Invalide l'entrée d'un email.
+     */
+    public void invalider(String email) {
+        String cle = normaliser(email);
+        if (cle != null) {
+            utilisateurs.synchronous().invalidate(cle);
+        }
+    }
+
+    /**
+     * Invalide les entrées d'un utilisateur modifié ou supprimé : celle de son
+     * nouvel email, et toute entrée portant son identifiant (ancien email).
+     */
+    @EventListener
+    public void surModification(KeycloakUserAdminService.UtilisateurModifie modification) {
+        if (modification.utilisateur() != null) {
+            invalider(modification.utilisateur().getEmail());
+        }
+        utilisateurs.synchronous().asMap().values().removeIf(utilisateur -> utilisateur
+                .map(u -> modification.userId().equals(u.getId()))
+                .orElse(false));
+    }
+
+    /**
+     * Statistiques du cache (succès, échecs, chargements).
+     */
+    public CacheStats getStatistiques() {
+        return utilisateurs.synchronous().stats();
+    }
+
+    private static String normaliser(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
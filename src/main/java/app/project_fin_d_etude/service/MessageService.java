@@ -5,14 +5,22 @@ import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import app.project_fin_d_etude.config.MetriquesConfig;
 import app.project_fin_d_etude.model.Message;
 import app.project_fin_d_etude.repository.MessageRepository;
 import app.project_fin_d_etude.utils.EntityValidator;
+import app.project_fin_d_etude.utils.TextUtils;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = MetriquesConfig.APPELS_SERVICES, histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class MessageService {
 
     private static final Logger logger = LoggerFactory.getLogger(MessageService.class);
@@ -37,19 +45,27 @@ public class MessageService {
     }
 
     /**
-     * Récupère tous les messages triés par date d'envoi décroissante, de façon
-     * asynchrone.
+     * Récupère une fenêtre de messages filtrés sur le nom, l'email ou le
+     * sujet, pour la grille paresseuse de l'administration. Sans tri demandé,
+     * les messages sont renvoyés du plus récent au plus ancien.
+     *
+     * @param filtre Texte recherché, ou null
+     * @param pageable Fenêtre et tri demandés par la grille
      */
-    @Async
-    public CompletableFuture<List<Message>> getAllMessages() {
-        try {
-            List<Message> messages = messageRepository.findAllByOrderByDateEnvoiDesc();
-            logger.debug("Récupération asynchrone de {} messages", messages.size());
-            return CompletableFuture.completedFuture(messages);
-        } catch (Exception e) {
-            logger.error("Erreur lors de la récupération asynchrone de tous les messages: {}", e.getMessage(), e);
-            return CompletableFuture.failedFuture(e);
-        }
+    public List<Message> getMessages(String filtre, Pageable pageable) {
+        Sort tri = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(Sort.Direction.DESC, "dateEnvoi");
+        Pageable fenetre = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                tri.and(Sort.by(Sort.Direction.DESC, "id")));
+        return messageRepository.rechercher(TextUtils.motifRecherche(filtre), fenetre);
+    }
+
+    /**
+     * Compte les messages correspondant au filtre.
+     *
+     * @param filtre Texte recherché, ou null
+     */
+    public long countMessages(String filtre) {
+        return messageRepository.compter(TextUtils.motifRecherche(filtre));
     }
 
     /**
@@ -0,0 +1,243 @@
+package app.project_fin_d_etude.service;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.project_fin_d_etude.model.TacheMigration;
+import app.project_fin_d_etude.repository.TacheMigrationRepository;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone;
+
+/**
+ * Moteur d'exécution des migrations de données en arrière-plan.
+ *
+ * Une tâche parcourt sa table par plages d'identifiants de
+ * {@code migrations.taille-lot} lignes. Chaque lot est modifié dans sa propre
+ * transaction, avec l'enregistrement du point de reprise : les verrous ne
+ * sont tenus que le temps d'un lot, et une pause sépare deux lots pour
+ * laisser passer le trafic normal. Les tâches sont exécutées l'une après
+ * l'autre, par un seul thread de la charge des traitements de fond, sans
+ * délai maximal ; celles qui restent inachevées (arrêt de l'application)
+ * sont reprises au démarrage puis périodiquement.
+ */
+@Component
+public class MoteurMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(MoteurMigration.class);
+    private static final Set<TacheMigration.Etat> ACTIVES = EnumSet.of(TacheMigration.Etat.EN_ATTENTE, TacheMigration.Etat.EN_COURS);
+
+    /**
+     * Avancement des migrations d'un auteur.
+     *
+     * @param tachesActives Nombre de tâches en attente ou en cours
+     * @param lignesModifiees Lignes déjà modifiées par ces tâches
+     * @param avancement Avancement moyen de ces tâches, entre 0 et 1 (1 s'il
+     * n'y en a aucune)
+     */
+    public record Progression(int tachesActives, long lignesModifiees, double avancement) implements Serializable {
+
+        public boolean isTerminee() {
+            return tachesActives == 0;
+        }
+    }
+
+    private final TacheMigrationRepository tacheMigrationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PostCache postCache;
+    private final RecentPostsSnapshot recentPosts;
+    private final ExecutionAsynchrone execution;
+    private final int tailleLot;
+    private final long pauseMs;
+    private final AtomicBoolean actif = new AtomicBoolean();
+
+    public MoteurMigration(TacheMigrationRepository tacheMigrationRepository, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, PostCache postCache, RecentPostsSnapshot recentPosts,
+            ExecutionAsynchrone execution,
+            @Value("${migrations.taille-lot:1000}") int tailleLot,
+            @Value("${migrations.pause-ms:100}") long pauseMs) {
+        if (tailleLot <= 0) {
+            throw new IllegalArgumentException("La taille des lots de migration doit être positive");
+        }
+        this.tacheMigrationRepository = tacheMigrationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.postCache = postCache;
+        this.recentPosts = recentPosts;
+        this.execution = execution;
+        this.tailleLot = tailleLot;
+        this.pauseMs = pauseMs;
+    }
+
+    /**
+     * Planifie le rattachement à un auteur de ses articles et commentaires
+     * écrits sous son email. Rend la main immédiatement.
+     */
+    public void rattacherAuteur(String auteurId, String email) {
+        soumettre(List.of(
+                new TacheMigration(TacheMigration.Type.RATTACHEMENT_AUTEUR_POSTS, auteurId, email,
+                        idMax(TacheMigration.Type.RATTACHEMENT_AUTEUR_POSTS)),
+                new TacheMigration(TacheMigration.Type.RATTACHEMENT_AUTEUR_COMMENTAIRES, auteurId, email,
+                        idMax(TacheMigration.Type.RATTACHEMENT_AUTEUR_COMMENTAIRES))));
+    }
+
+    /**
+     * Avancement des migrations en attente ou en cours d'un auteur.
+     */
+    public Progression getProgression(String auteurId) {
+        List<TacheMigration> taches = tacheMigrationRepository.findByAuteurIdAndEtatIn(auteurId, ACTIVES);
+        if (taches.isEmpty()) {
+            return new Progression(0, 0, 1.0);
+        }
+        long lignes = taches.stream().mapToLong(TacheMigration::getLignesModifiees).sum();
+        double avancement = taches.stream().mapToDouble(TacheMigration::getAvancement).average().orElse(1.0);
+        return new Progression(taches.size(), lignes, avancement);
+    }
+
+    /**
+     * Reprend les tâches inachevées au démarrage de l'application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reprendreAuDemarrage() {
+        demarrer();
+    }
+
+    /**
+     * Reprise périodique, au cas où une tâche aurait été soumise pendant
+     * l'indisponibilité du pool.
+     */
+    @Scheduled(fixedDelayString = "${migrations.reprise-ms:60000}", initialDelayString = "${migrations.reprise-ms:60000}")
+    public void reprendre() {
+        demarrer();
+    }
+
+    private void soumettre(List<TacheMigration> taches) {
+        List<TacheMigration> enregistrees = tacheMigrationRepository.saveAll(taches);
+        enregistrees.forEach(t -> logger.info("Tâche de migration {} planifiée : {} pour {} (jusqu'à l'id {})",
+                t.getId(), t.getType(), t.getAuteurId(), t.getIdMax()));
+        demarrer();
+    }
+
+    private void demarrer() {
+        if (!actif.get()) {
+            execution.executer(ExecutionAsynchrone.Charge.ARRIERE_PLAN, this::executer);
+        }
+    }
+
+    /**
+     * Exécute les tâches actives l'une après l'autre. Un seul thread à la
+     * fois : les appels concurrents rendent la main aussitôt.
+     */
+    private void executer() {
+        do {
+            if (!actif.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                Optional<TacheMigration> tache;
+                while ((tache = tacheMigrationRepository.findFirstByEtatInOrderByIdAsc(ACTIVES)).isPresent()) {
+                    if (!executer(tache.get())) {
+                        return;
+                    }
+                }
+            } catch (Exception e) {
+                logger.error("Erreur du moteur de migration : {}", e.getMessage(), e);
+                return;
+            } finally {
+                actif.set(false);
+            }
+            // Une tâche soumise pendant la fin de la boucle ne doit pas attendre la reprise périodique
+        } while (tacheMigrationRepository.findFirstByEtatInOrderByIdAsc(ACTIVES).isPresent());
+    }
+
+    /**
+     * Exécute une tâche lot par lot depuis son point de reprise.
+     *
+     * @return false si le thread a été interrompu (la tâche reste en cours)
+     */
+    private boolean executer(TacheMigration tache) {
+        long debut = System.currentTimeMillis();
+        tache.setEtat(TacheMigration.Etat.EN_COURS);
+        tache.setDateMiseAJour(LocalDateTime.now());
+        tache = tacheMigrationRepository.save(tache);
+        try {
+            while (tache.getDernierId() < tache.getIdMax()) {
+                tache = executerLot(tache);
+                if (tache.getDernierId() < tache.getIdMax() && pauseMs > 0) {
+                    Thread.sleep(pauseMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Tâche de migration {} interrompue à l'id {}", tache.getId(), tache.getDernierId());
+            return false;
+        } catch (Exception e) {
+            logger.error("Échec de la tâche de migration {} à l'id {} : {}", tache.getId(), tache.getDernierId(), e.getMessage(), e);
+            tache.setEtat(TacheMigration.Etat.ECHOUEE);
+            tache.setErreur(e.getMessage() != null && e.getMessage().length() > 500 ? e.getMessage().substring(0, 500) : e.getMessage());
+            tache.setDateMiseAJour(LocalDateTime.now());
+            tacheMigrationRepository.save(tache);
+            return true;
+        }
+        tache.setEtat(TacheMigration.Etat.TERMINEE);
+        tache.setDateMiseAJour(LocalDateTime.now());
+        tacheMigrationRepository.save(tache);
+        terminer(tache);
+        logger.info("Tâche de migration {} terminée : {} lignes modifiées en {} ms",
+                tache.getId(), tache.getLignesModifiees(), System.currentTimeMillis() - debut);
+        return true;
+    }
+
+    /**
+     * Traite le lot suivant d'une tâche et enregistre son point de reprise,
+     * dans une même transaction courte.
+     */
+    private TacheMigration executerLot(TacheMigration tache) {
+        long debutLot = tache.getDernierId();
+        long finLot = Math.min(debutLot + tailleLot, tache.getIdMax());
+        return transactionTemplate.execute(statut -> {
+            int modifiees = switch (tache.getType()) {
+                case RATTACHEMENT_AUTEUR_POSTS, RATTACHEMENT_AUTEUR_COMMENTAIRES -> jdbcTemplate.update(
+                        "UPDATE " + tache.getType().getTable() + " SET auteur_id = ? "
+                        + "WHERE id > ? AND id <= ? AND auteur_id IS NULL AND auteur_email = ?",
+                        tache.getAuteurId(), debutLot, finLot, tache.getEmail());
+            };
+            tache.setDernierId(finLot);
+            tache.setLignesModifiees(tache.getLignesModifiees() + modifiees);
+            tache.setDateMiseAJour(LocalDateTime.now());
+            return tacheMigrationRepository.save(tache);
+        });
+    }
+
+    /**
+     * Effets d'une tâche terminée sur les caches.
+     */
+    private void terminer(TacheMigration tache) {
+        if (tache.getLignesModifiees() == 0) {
+            return;
+        }
+        postCache.invaliderAuteur(tache.getEmail());
+        if (tache.getType() == TacheMigration.Type.RATTACHEMENT_AUTEUR_POSTS) {
+            recentPosts.recharger();
+        }
+    }
+
+    private long idMax(TacheMigration.Type type) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + type.getTable(), Long.class);
+        return max != null ? max : 0L;
+    }
+}
@@ -0,0 +1,117 @@
+package app.project_fin_d_etude.service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import app.project_fin_d_etude.model.Post;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache mémoire des articles lus par la page de détail
+ * ({@link PostService#getPostById}). Les commentaires ne sont pas mis en
+ * cache : la page de détail les lit par pages.
+ *
+ * Le poids d'une entrée est la taille de son texte, ce qui borne la mémoire
+ * occupée plutôt que le nombre d'articles. Les entrées sont invalidées par
+ * les services à chaque écriture sur l'article ou ses commentaires.
+ *
+ * L'entité en cache n'est jamais remise aux appelants : chacun reçoit sa
+ * propre copie, qu'une vue peut modifier sans effet sur les autres sessions.
+ */
+@Component
+public class PostCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCache.class);
+
+    private final Cache<Long, Post> articles;
+
+    public PostCache(
+            @Value("${cache.posts.poids-max:20000000}") long poidsMax,
+            @Value("${cache.posts.ttl-minutes:10}") long ttlMinutes,
+            MeterRegistry meterRegistry) {
+        this.articles = Caffeine.newBuilder()
+                .maximumWeight(poidsMax)
+                .weigher((Long id, Post post) -> poids(post))
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, articles, "articles");
+        logger.info("Cache des articles : poids max {} caractères, expiration {} min", poidsMax, ttlMinutes);
+    }
+
+    /**
+     * Renvoie une copie de l'article en cache, ou le charge avec le chargeur
+     * donné.
+     */
+    public Optional<Post> getArticle(Long id, Function<Long, Optional<Post>> chargeur) {
+        return Optional.ofNullable(articles.get(id, cle -> chargeur.apply(cle).orElse(null))).map(PostCache::copie);
+    }
+
+    /**
+     * Invalide un article après modification de l'article ou de ses
+     * commentaires.
+     */
+    public void invalider(Long postId) {
+        if (postId == null) {
+            return;
+        }
+        articles.invalidate(postId);
+    }
+
+    /**
+     * Invalide les articles dont l'auteur a l'email donné (migration du nom
+     * ou de l'email d'un utilisateur).
+     */
+    public void invaliderAuteur(String email) {
+        if (email == null) {
+            return;
+        }
+        articles.asMap().values().removeIf(post -> email.equals(post.getAuteurEmail()));
+    }
+
+    /**
+     * Statistiques du cache des articles (succès, échecs, évictions).
+     */
+    public CacheStats getStatistiquesArticles() {
+        return articles.stats();
+    }
+
+    /**
+     * Copie des colonnes de l'article, sans ses commentaires (collection
+     * paresseuse non initialisée dans l'entité en cache).
+     */
+    private static Post copie(Post post) {
+        Post copie = new Post(post.getTitre(), post.getContenu(), post.getDatePublication(), post.getAuteurEmail(),
+                post.getAuteurNom());
+        copie.setId(post.getId());
+        copie.setExtrait(post.getExtrait());
+        copie.setAuteurId(post.getAuteurId());
+        copie.setNombreCommentaires(post.getNombreCommentaires());
+        copie.setDateDernierCommentaire(post.getDateDernierCommentaire());
+        return copie;
+    }
+
+    /**
+     * Poids d'une entrée : nombre de caractères de texte qu'elle retient.
+     */
+    private static int poids(Post post) {
+        long poids = (long) longueur(post.getTitre()) + longueur(post.getContenu());
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, poids));
+    }
+
+    private static int longueur(String texte) {
+        return Objects.requireNonNullElse(texte, "").length();
+    }
+}
@@ -0,0 +1,85 @@
+package app.project_fin_d_etude.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import app.project_fin_d_etude.config.AsyncConfig;
+
+/**
+ * Réconciliation des compteurs de commentaires dénormalisés sur les articles
+ * ({@code nombreCommentaires}, {@code dateDernierCommentaire}).
+ *
+ * Les compteurs sont tenus à jour à chaque écriture par
+ * {@link CommentaireService} ; cette tâche les recalcule depuis la table
+ * commentaire pour corriger toute dérive (écritures directes en base,
+ * suppressions en cascade, articles antérieurs aux colonnes). Chaque lot
+ * d'identifiants d'articles est recalculé par une seule requête avec
+ * {@code GROUP BY}.
+ */
+@Component
+public class PostCompteursReconciliation {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCompteursReconciliation.class);
+    private static final int TAILLE_LOT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RecentPostsSnapshot recentPosts;
+
+    public PostCompteursReconciliation(JdbcTemplate jdbcTemplate, RecentPostsSnapshot recentPosts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recentPosts = recentPosts;
+    }
+
+    /**
+     * Réconcilie les compteurs au démarrage, en arrière-plan.
+     */
+    @Async(AsyncConfig.EXECUTEUR_ARRIERE_PLAN)
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcilierAuDemarrage() {
+        reconcilierPlanifie();
+    }
+
+    /**
+     * Réconciliation périodique (par défaut chaque nuit).
+     */
+    @Scheduled(cron = "${posts.compteurs.reconciliation-cron:0 30 3 * * *}")
+    public void reconcilierPlanifie() {
+        try {
+            reconcilier();
+        } catch (Exception e) {
+            logger.error("Erreur lors de la réconciliation des compteurs de commentaires : {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recalcule les compteurs de tous les articles, par plages
+     * d'identifiants.
+     *
+     * @return Le nombre d'articles parcourus
+     */
+    public int reconcilier() {
+        long debut = System.currentTimeMillis();
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM post", Long.class);
+        if (max == null) {
+            return 0;
+        }
+        int parcourus = 0;
+        for (long premier = 1; premier <= max; premier += TAILLE_LOT) {
+            long dernier = premier + TAILLE_LOT - 1;
+            parcourus += jdbcTemplate.update("UPDATE post p LEFT JOIN ("
+                    + "SELECT post_id, COUNT(*) AS nombre, MAX(date_creation) AS derniere FROM commentaire "
+                    + "WHERE post_id BETWEEN ? AND ? GROUP BY post_id) c ON c.post_id = p.id "
+                    + "SET p.nombre_commentaires = COALESCE(c.nombre, 0), p.date_dernier_commentaire = c.derniere "
+                    + "WHERE p.id BETWEEN ? AND ?", premier, dernier, premier, dernier);
+        }
+        recentPosts.recharger();
+        logger.info("Compteurs de commentaires réconciliés : {} articles en {} ms", parcourus, System.currentTimeMillis() - debut);
+        return parcourus;
+    }
+}
@@ -0,0 +1,206 @@
+package app.project_fin_d_etude.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.repository.PostRepository;
+import app.project_fin_d_etude.utils.TextUtils;
+
+/**
+ * Index inversé en mémoire sur le titre et le contenu des articles, classé par
+ * BM25. Remplace les requêtes LIKE '%mot%' qu'aucun index MySQL ne peut
+ * servir.
+ *
+ * L'index est reconstruit au démarrage puis tenu à jour par
+ * {@link PostService} à chaque enregistrement ou suppression.
+ */
+@Component
+public class PostSearchIndex extends IndexEnMemoire<Post, Map<String, Integer>> {
+
+    // Paramètres BM25 usuels
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Une occurrence dans le titre compte autant que plusieurs dans le contenu
+    private static final int POIDS_TITRE = 3;
+    private static final int LONGUEUR_MIN_TERME = 2;
+    private static final Set<String> MOTS_VIDES = Set.of(
+            "le", "la", "les", "de", "des", "du", "un", "une", "et", "en", "au", "aux",
+            "est", "pour", "par", "sur", "dans", "que", "qui", "ce", "ces", "il", "elle",
+            "on", "ne", "pas", "se", "sa", "son", "ses", "avec", "ou", "nous", "vous");
+
+    private final PostRepository postRepository;
+
+    // terme -> (id du post -> fréquence pondérée du terme)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // id du post -> termes distincts indexés, pour pouvoir le retirer
+    private final Map<Long, String[]> termesParPost = new HashMap<>();
+    // id du post -> nombre de termes (pondéré) du document
+    private final Map<Long, Integer> longueurs = new HashMap<>();
+    private long longueurTotale;
+
+    @Autowired
+    public PostSearchIndex(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * Découpe un texte en termes normalisés (sans accents, en minuscules),
+     * sans les mots vides ni les termes trop courts.
+     *
+     * @param texte Le texte à découper
+     * @return Les termes dans l'ordre du texte (avec répétitions)
+     */
+    public static List<String> tokeniser(String texte) {
+        List<String> termes = new ArrayList<>();
+        String normalise = TextUtils.normaliser(texte);
+        int debut = -1;
+        for (int i = 0; i <= normalise.length(); i++) {
+            boolean lettre = i < normalise.length() && Character.isLetterOrDigit(normalise.charAt(i));
+            if (lettre && debut < 0) {
+                debut = i;
+            } else if (!lettre && debut >= 0) {
+                String terme = normalise.substring(debut, i);
+                if (terme.length() >= LONGUEUR_MIN_TERME && !MOTS_VIDES.contains(terme)) {
+                    termes.add(terme);
+                }
+                debut = -1;
+            }
+        }
+        return termes;
+    }
+
+    /**
+     * Recherche les articles correspondant à la requête, classés par score
+     * BM25 décroissant (puis du plus récent au plus ancien à score égal).
+     *
+     * @param requete Les mots recherchés
+     * @param limite Nombre maximal d'identifiants retournés
+     * @return Les identifiants des articles, du plus pertinent au moins
+     * pertinent
+     */
+    public List<Long> rechercher(String requete, int limite) {
+        Set<String> termes = new LinkedHashSet<>(tokeniser(requete));
+        if (termes.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int nombreDocuments = longueurs.size();
+            if (nombreDocuments == 0) {
+                return List.of();
+            }
+            double longueurMoyenne = (double) longueurTotale / nombreDocuments;
+            for (String terme : termes) {
+                Map<Long, Integer> documents = postings.get(terme);
+                if (documents == null) {
+                    continue;
+                }
+                int df = documents.size();
+                double idf = Math.log(1 + (nombreDocuments - df + 0.5) / (df + 0.5));
+                for (Map.Entry<Long, Integer> entree : documents.entrySet()) {
+                    int tf = entree.getValue();
+                    double normalisation = K1 * (1 - B + B * longueurs.get(entree.getKey()) / longueurMoyenne);
+                    scores.merge(entree.getKey(), idf * tf * (K1 + 1) / (tf + normalisation), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+                .limit(limite)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @Override
+    protected Long idOf(Post post) {
+        return post.getId();
+    }
+
+    @Override
+    protected Map<String, Integer> preparer(Post post) {
+        return frequences(post);
+    }
+
+    @Override
+    protected boolean contient(Long postId) {
+        return termesParPost.containsKey(postId);
+    }
+
+    @Override
+    protected int nombreDocuments() {
+        return longueurs.size();
+    }
+
+    @Override
+    protected void vider() {
+        postings.clear();
+        termesParPost.clear();
+        longueurs.clear();
+        longueurTotale = 0;
+    }
+
+    @Override
+    protected List<Post> lotSuivant(long dernierId, int taille) {
+        return postRepository.findByIdGreaterThanOrderByIdAsc(dernierId, PageRequest.of(0, taille));
+    }
+
+    /**
+     * Calcule la fréquence pondérée de chaque terme d'un article.
+     */
+    private static Map<String, Integer> frequences(Post post) {
+        Map<String, Integer> frequences = new HashMap<>();
+        for (String terme : tokeniser(post.getTitre())) {
+            frequences.merge(terme, POIDS_TITRE, Integer::sum);
+        }
+        for (String terme : tokeniser(post.getContenu())) {
+            frequences.merge(terme, 1, Integer::sum);
+        }
+        return frequences;
+    }
+
+    @Override
+    protected void ajouter(Long postId, Map<String, Integer> frequences) {
+        int longueur = 0;
+        for (Map.Entry<String, Integer> entree : frequences.entrySet()) {
+            postings.computeIfAbsent(entree.getKey(), t -> new HashMap<>()).put(postId, entree.getValue());
+            longueur += entree.getValue();
+        }
+        termesParPost.put(postId, frequences.keySet().toArray(String[]::new));
+        longueurs.put(postId, longueur);
+        longueurTotale += longueur;
+    }
+
+    @Override
+    protected void retirer(Long postId) {
+        String[] termes = termesParPost.remove(postId);
+        if (termes == null) {
+            return;
+        }
+        for (String terme : termes) {
+            Map<Long, Integer> documents = postings.get(terme);
+            if (documents != null) {
+                documents.remove(postId);
+                if (documents.isEmpty()) {
+                    postings.remove(terme);
+                }
+            }
+        }
+        Integer longueur = longueurs.remove(postId);
+        if (longueur != null) {
+            longueurTotale -= longueur;
+        }
+    }
+}
@@ -1,34 +1,68 @@
 package app.project_fin_d_etude.service;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import app.project_fin_d_etude.config.MetriquesConfig;
 import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.model.PostCursor;
+import app.project_fin_d_etude.model.PostSummary;
 import app.project_fin_d_etude.repository.PostRepository;
 import app.project_fin_d_etude.utils.EntityValidator;
+import app.project_fin_d_etude.utils.KeysetPage;
+import app.project_fin_d_etude.utils.TextUtils;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = MetriquesConfig.APPELS_SERVICES, histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class PostService {
 
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
 
+    // Nombre maximal de résultats renvoyés par une recherche
+    private static final int MAX_RESULTATS_RECHERCHE = 200;
+
     private final PostRepository postRepository;
+    private final PostSearchIndex searchIndex;
+    private final TitreTrigrammeIndex titreIndex;
+    private final TitreAutocompleteIndex autocompleteIndex;
+    private final PostCache postCache;
+    private final RecentPostsSnapshot recentPosts;
+    private final AuteurService auteurService;
+    private final AuteurCache auteurCache;
 
     @Autowired
-    public PostService(PostRepository postRepository) {
+    public PostService(PostRepository postRepository, PostSearchIndex searchIndex, TitreTrigrammeIndex titreIndex,
+            TitreAutocompleteIndex autocompleteIndex, PostCache postCache, RecentPostsSnapshot recentPosts,
+            AuteurService auteurService, AuteurCache auteurCache) {
         this.postRepository = postRepository;
+        this.searchIndex = searchIndex;
+        this.titreIndex = titreIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.postCache = postCache;
+        this.recentPosts = recentPosts;
+        this.auteurService = auteurService;
+        this.auteurCache = auteurCache;
     }
 
     /**
@@ -48,24 +82,42 @@ public class PostService {
     }
 
     /**
-     * Récupère un post par son identifiant.
+     * Récupère les résumés de tous les posts, du plus récent au plus ancien.
+     * Le contenu complet n'est pas chargé.
+     */
+    public List<PostSummary> getAllPostSummaries() {
+        return avecAuteurs(postRepository.findAllSummaries());
+    }
+
+    /**
+     * Récupère un post par son identifiant (servi par le cache si possible).
      */
     public Optional<Post> getPostById(Long id) {
         if (id == null) {
             throw new IllegalArgumentException("L'ID du post ne peut pas être null");
         }
-        return postRepository.findById(id);
+        return postCache.getArticle(id, postRepository::findById);
     }
 
     /**
-     * Recherche des posts par mot-clé avec pagination.
+     * Recherche des posts par mot-clé avec pagination, classés par
+     * pertinence.
      */
     public Page<Post> searchPosts(String keyword, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         if (keyword == null || keyword.trim().isEmpty()) {
             return postRepository.findAllOrderByDatePublicationDesc(pageable);
         }
-        return postRepository.searchPosts(keyword.trim(), pageable);
+        if (!searchIndex.isPret()) {
+            logger.info("Index de recherche en cours de construction, recherche en base pour '{}'", keyword);
+            return postRepository.searchPosts(keyword.trim(), pageable);
+        }
+        List<Long> ids = rechercherIds(keyword);
+        int debut = Math.min((int) pageable.getOffset(), ids.size());
+        List<Long> idsPage = ids.subList(debut, Math.min(debut + size, ids.size()));
+        List<Post> posts = idsPage.isEmpty() ? List.of()
+                : trierSelonRang(postRepository.findByIdInOrderByDatePublicationDesc(idsPage), idsPage, Post::getId);
+        return new PageImpl<>(posts, pageable, ids.size());
     }
 
     /**
@@ -79,11 +131,98 @@ public class PostService {
     }
 
     /**
-     * Sauvegarde un post après validation.
+     * Récupère une page de posts par pagination par clé sur (datePublication,
+     * id). Le coût d'une page est constant quelle que soit sa position dans le
+     * fil, contrairement à un offset.
+     *
+     * @param cursor Curseur de la page précédente, ou null pour la première
+     * page
+     * @param size Nombre de posts par page
+     * @return La page de résumés et le curseur de la page suivante
      */
+    public KeysetPage<PostSummary, PostCursor> getPostsPage(PostCursor cursor, int size) {
+        validatePaginationParameters(0, size);
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<PostSummary> rows = cursor == null
+                ? postRepository.findFirstPage(limit)
+                : postRepository.findPageAfter(cursor.datePublication(), cursor.id(), limit);
+        return KeysetPage.of(avecAuteurs(rows), size, PostCursor::of);
+    }
+
+    /**
+     * Récupère une fenêtre de résumés de posts filtrés sur le titre, pour les
+     * grilles paresseuses de l'administration. Sans tri demandé, les posts
+     * sont renvoyés du plus récent au plus ancien ; l'identifiant départage
+     * toujours les égalités pour que les fenêtres successives ne se
+     * recouvrent pas. Le tri sur "auteurNom" porte sur le nom courant de
+     * l'auteur, celui affiché.
+     *
+     * @param filtre Texte recherché dans le titre, ou null
+     * @param pageable Fenêtre et tri demandés par la grille
+     */
+    public List<PostSummary> getPostSummaries(String filtre, Pageable pageable) {
+        Sort tri = pageable.getSort().isSorted() ? avecTriAuteur(pageable.getSort()) : Sort.by(Sort.Direction.DESC, "datePublication");
+        Pageable fenetre = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                tri.and(Sort.by(Sort.Direction.DESC, "id")));
+        return avecAuteurs(postRepository.findSummaries(TextUtils.motifRecherche(filtre), fenetre));
+    }
+
+    /**
+     * Remplace le tri sur le nom d'auteur enregistré dans l'article par le
+     * tri sur le nom courant ({@link PostRepository#TRI_AUTEUR}).
+     */
+    private static Sort avecTriAuteur(Sort tri) {
+        Sort resultat = Sort.unsorted();
+        for (Sort.Order ordre : tri) {
+            resultat = resultat.and("auteurNom".equals(ordre.getProperty())
+                    ? JpaSort.unsafe(ordre.getDirection(), PostRepository.TRI_AUTEUR)
+                    : Sort.by(ordre));
+        }
+        return resultat;
+    }
+
+    /**
+     * Compte les posts dont le titre contient le filtre.
+     *
+     * @param filtre Texte recherché dans le titre, ou null
+     */
+    public long countPostSummaries(String filtre) {
+        return postRepository.countSummaries(TextUtils.motifRecherche(filtre));
+    }
+
+    /**
+     * Indique si {@link #getRecentPosts} sert ce nombre d'articles depuis
+     * l'instantané en mémoire, sans lire les articles en base.
+     */
+    public boolean isRecentPostsEnMemoire(int size) {
+        return size <= recentPosts.getCapacite() && recentPosts.isCharge();
+    }
+
+    /**
+     * Récupère les posts les plus récents (première page du fil), servis par
+     * l'instantané en mémoire quand il en contient assez.
+     */
+    public List<PostSummary> getRecentPosts(int size) {
+        if (size <= recentPosts.getCapacite()) {
+            return avecAuteurs(recentPosts.getArticles(size));
+        }
+        return getPostsPage(null, size).items();
+    }
+
+    /**
+     * Sauvegarde un post après validation. Pour un post existant, seuls le
+     * titre et le contenu sont reportés sur l'entité relue en base : le post
+     * reçu peut être une copie détachée (voir {@link PostCache}), dont la
+     * fusion effacerait les commentaires et écraserait les compteurs.
+     */
+    @Transactional
     public Post savePost(Post post) {
         if (post.getId() == null) {
             post.setDatePublication(java.time.LocalDateTime.now());
+            if (post.getAuteurId() == null) {
+                auteurService.auteurCourant().ifPresent(post::setAuteurId);
+            }
         }
         // Injection automatique de l'auteur connecté si non renseigné
         if (post.getAuteurNom() == null || post.getAuteurNom().isBlank() || post.getAuteurEmail() == null || post.getAuteurEmail().isBlank()) {
@@ -106,7 +245,22 @@ public class PostService {
             }
         }
         validatePost(post);
-        return postRepository.save(post);
+        Post aEnregistrer = post;
+        if (post.getId() != null) {
+            aEnregistrer = postRepository.findById(post.getId())
+                    .orElseThrow(() -> new IllegalArgumentException("Post non trouvé avec l'ID: " + post.getId()));
+            aEnregistrer.setTitre(post.getTitre());
+            aEnregistrer.setContenu(post.getContenu());
+        }
+        aEnregistrer.setExtrait(TextUtils.resume(aEnregistrer.getContenu(), Post.LONGUEUR_EXTRAIT));
+        Post saved = postRepository.save(aEnregistrer);
+        postCache.invalider(saved.getId());
+        searchIndex.indexer(saved);
+        PostSummary summary = PostSummary.of(saved);
+        titreIndex.indexer(summary);
+        autocompleteIndex.indexer(summary);
+        recentPosts.publier(summary);
+        return saved;
     }
 
     /**
@@ -125,7 +279,9 @@ public class PostService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof OidcUser oidcUser) {
             String userEmail = oidcUser.getEmail();
-            boolean isAuthor = userEmail != null && userEmail.equals(post.getAuteurEmail());
+            boolean isAuthor = post.getAuteurId() != null
+                    ? post.getAuteurId().equals(oidcUser.getSubject())
+                    : userEmail != null && userEmail.equals(post.getAuteurEmail());
             boolean isAdmin = authentication.getAuthorities().stream()
                     .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
 
@@ -141,90 +297,125 @@ public class PostService {
         logger.info("Suppression du post {} par l'utilisateur {}", id,
                 authentication.getPrincipal() instanceof OidcUser user ? user.getEmail() : "unknown");
         postRepository.deleteById(id);
+        postCache.invalider(id);
+        searchIndex.supprimer(id);
+        titreIndex.supprimer(id);
+        autocompleteIndex.supprimer(id);
+        recentPosts.supprimer(id);
     }
 
     /**
-     * Recherche des posts par mot-clé sans pagination.
+     * Recherche des posts par mot-clé sans pagination, classés par pertinence
+     * (au plus {@value #MAX_RESULTATS_RECHERCHE} résultats).
      */
-    public List<Post> searchAllPosts(String keyword) {
+    public List<PostSummary> searchAllPosts(String keyword) {
         logger.info("[DIAG] Entrée dans PostService.searchAllPosts avec keyword='{}'", keyword);
         if (keyword == null || keyword.trim().isEmpty()) {
-            logger.info("[DIAG] Keyword vide, appel de getAllPosts()");
-            List<Post> all = getAllPosts();
-            logger.info("[DIAG] getAllPosts() retourne {} articles", all != null ? all.size() : 0);
+            logger.info("[DIAG] Keyword vide, appel de getAllPostSummaries()");
+            List<PostSummary> all = getAllPostSummaries();
+            logger.info("[DIAG] getAllPostSummaries() retourne {} articles", all.size());
             return all;
         }
-        List<Post> result = postRepository.searchAllPosts(keyword.trim());
-        logger.info("[DIAG] Résultat de searchAllPosts (repository) : {} articles", result != null ? result.size() : 0);
+        if (!searchIndex.isPret()) {
+            logger.info("Index de recherche en cours de construction, recherche en base pour '{}'", keyword);
+            return avecAuteurs(postRepository.searchAllPosts(keyword.trim()));
+        }
+        List<Long> ids = rechercherIds(keyword);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<PostSummary> result = avecAuteurs(trierSelonRang(postRepository.findSummariesByIdIn(ids), ids, PostSummary::id));
+        logger.info("[DIAG] Résultat de searchAllPosts (index) : {} articles", result.size());
         return result;
     }
 
     /**
-     * Récupère tous les posts d'un auteur par son email.
+     * Propose des titres d'articles pour la saisie en cours. Servi uniquement
+     * par l'index en mémoire : tant qu'il n'est pas prêt, aucune suggestion
+     * n'est faite plutôt que d'interroger la base à chaque frappe.
      */
-    public List<Post> getPostsByAuteurEmail(String auteurEmail) {
-        if (auteurEmail == null || auteurEmail.trim().isEmpty()) {
-            throw new IllegalArgumentException("L'email de l'auteur ne peut pas être vide");
+    public List<TitreAutocompleteIndex.Suggestion> suggererTitres(String saisie, int limite) {
+        if (!autocompleteIndex.isPret()) {
+            return List.of();
         }
-        return postRepository.findAllByAuteurEmailOrderByDatePublicationDesc(auteurEmail);
+        return autocompleteIndex.suggerer(saisie, limite);
     }
 
     /**
-     * Valide les champs obligatoires d'un post.
+     * Récupère les résumés de tous les posts d'un auteur.
+     *
+     * @param auteurId Identifiant Keycloak de l'auteur
+     * @param auteurEmail Email de l'auteur, pour les posts pas encore
+     * rattachés
      */
-    private void validatePost(Post post) {
-        EntityValidator.ValidationResult validation = EntityValidator.validatePost(post);
-        if (!validation.isValid()) {
-            throw new IllegalArgumentException("Post invalide: " + validation.getAllErrorsAsString());
+    public List<PostSummary> getPostsByAuteur(String auteurId, String auteurEmail) {
+        if (auteurId == null || auteurId.isBlank()) {
+            throw new IllegalArgumentException("L'identifiant de l'auteur ne peut pas être vide");
         }
+        return avecAuteurs(postRepository.findSummariesByAuteur(auteurId, auteurEmail));
     }
 
     /**
-     * Valide les paramètres de pagination.
+     * Nom courant de l'auteur d'un post, lu dans le cache des auteurs.
      */
-    private void validatePaginationParameters(int page, int size) {
-        if (page < 0) {
-            throw new IllegalArgumentException("Le numéro de page ne peut pas être négatif");
-        }
-        if (size <= 0) {
-            throw new IllegalArgumentException("La taille de page doit être positive");
+    public String getNomAuteur(Post post) {
+        return auteurCache.nom(post.getAuteurId(), post.getAuteurNom());
+    }
+
+    /**
+     * Remplace les noms d'auteur enregistrés par les noms courants.
+     */
+    private List<PostSummary> avecAuteurs(List<PostSummary> posts) {
+        return auteurCache.resoudre(posts, PostSummary::auteurId, PostSummary::avecAuteurNom);
+    }
+
+    /**
+     * Résout une recherche en identifiants classés : recherche exacte dans
+     * l'index plein texte, puis, faute de résultat, recherche approchée sur
+     * les mots des titres (fautes de frappe, accents oubliés).
+     */
+    private List<Long> rechercherIds(String keyword) {
+        List<Long> ids = searchIndex.rechercher(keyword, MAX_RESULTATS_RECHERCHE);
+        if (ids.isEmpty() && titreIndex.isPret()) {
+            ids = titreIndex.rechercher(keyword, MAX_RESULTATS_RECHERCHE);
+            logger.info("Aucun résultat exact pour '{}', {} résultats approchés", keyword, ids.size());
         }
+        return ids;
     }
 
     /**
-     * Récupère un post par son identifiant et force le chargement des
-     * commentaires.
+     * Remet des articles chargés en base dans l'ordre de pertinence donné par
+     * l'index de recherche.
      */
-    @Transactional
-    public Optional<Post> getPostWithCommentaires(Long id) {
-        Optional<Post> postOpt = postRepository.findById(id);
-        postOpt.ifPresent(post -> {
-            if (post.getCommentaires() != null) {
-                post.getCommentaires().size(); // Force le chargement
-            }
-        });
-        return postOpt;
+    private static <T> List<T> trierSelonRang(List<T> articles, List<Long> idsClasses, Function<T, Long> idOf) {
+        Map<Long, Integer> rangs = new HashMap<>();
+        for (int i = 0; i < idsClasses.size(); i++) {
+            rangs.put(idsClasses.get(i), i);
+        }
+        return articles.stream()
+                .sorted(Comparator.comparing(article -> rangs.get(idOf.apply(article))))
+                .toList();
     }
 
     /**
-     * Met à jour l'email de l'auteur pour tous ses articles.
+     * Valide les champs obligatoires d'un post.
      */
-    public int migrerEmailAuteur(String ancienEmail, String nouvelEmail) {
-        if (ancienEmail == null || nouvelEmail == null || ancienEmail.equals(nouvelEmail)) {
-            return 0;
+    private void validatePost(Post post) {
+        EntityValidator.ValidationResult validation = EntityValidator.validatePost(post);
+        if (!validation.isValid()) {
+            throw new IllegalArgumentException("Post invalide: " + validation.getAllErrorsAsString());
         }
-        logger.info("Migration des articles de {} vers {}", ancienEmail, nouvelEmail);
-        return postRepository.updateAuteurEmail(ancienEmail, nouvelEmail);
     }
 
     /**
-     * Met à jour le nom de l'auteur pour tous ses articles.
+     * Valide les paramètres de pagination.
      */
-    public int migrerNomAuteur(String email, String nouveauNom) {
-        if (email == null || nouveauNom == null || email.isBlank() || nouveauNom.isBlank()) {
-            return 0;
+    private void validatePaginationParameters(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Le numéro de page ne peut pas être négatif");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
         }
-        logger.info("Migration du nom d'auteur des articles pour {} vers {}", email, nouveauNom);
-        return postRepository.updateAuteurNom(email, nouveauNom);
     }
 }
@@ -0,0 +1,172 @@
+package app.project_fin_d_etude.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import app.project_fin_d_etude.model.PostSummary;
+import app.project_fin_d_etude.repository.PostRepository;
+
+/**
+ * Instantané en mémoire des articles les plus récents, servi à la page
+ * d'accueil sans accès à la base.
+ *
+ * L'instantané est une liste immuable remplacée en bloc à chaque écriture
+ * (copie sur écriture) : les lectures, très fréquentes, ne prennent aucun
+ * verrou. Publication, modification et nouveaux commentaires l'ajustent sans
+ * requête ; seule la suppression d'un article présent oblige à relire la
+ * première page du fil.
+ */
+@Component
+public class RecentPostsSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentPostsSnapshot.class);
+    private static final Comparator<PostSummary> PLUS_RECENT_D_ABORD = Comparator
+            .comparing(PostSummary::datePublication, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(PostSummary::id, Comparator.reverseOrder());
+
+    private final PostRepository postRepository;
+    private final int capacite;
+
+    private volatile List<PostSummary> articles;
+
+    public RecentPostsSnapshot(PostRepository postRepository,
+            @Value("${accueil.articles-recents:12}") int capacite) {
+        this.postRepository = postRepository;
+        this.capacite = capacite;
+    }
+
+    /**
+     * Nombre maximal d'articles conservés dans l'instantané.
+     */
+    public int getCapacite() {
+        return capacite;
+    }
+
+    /**
+     * Indique si l'instantané est chargé : {@link #getArticles} ne lit alors
+     * pas la base.
+     */
+    public boolean isCharge() {
+        return articles != null;
+    }
+
+    /**
+     * Indique si l'article figure dans l'instantané.
+     */
+    public boolean contient(Long postId) {
+        List<PostSummary> courant = articles;
+        return courant != null && courant.stream().anyMatch(p -> p.id().equals(postId));
+    }
+
+    /**
+     * Renvoie les articles les plus récents, du plus récent au plus ancien.
+     *
+     * @param nombre Nombre d'articles voulus (au plus {@link #getCapacite()})
+     */
+    public List<PostSummary> getArticles(int nombre) {
+        List<PostSummary> courant = articles;
+        if (courant == null) {
+            courant = recharger();
+        }
+        return courant.size() <= nombre ? courant : courant.subList(0, nombre);
+    }
+
+    /**
+     * Charge l'instantané au démarrage de l'application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void chargerAuDemarrage() {
+        try {
+            recharger();
+        } catch (Exception e) {
+            logger.error("Erreur lors du chargement des articles récents : {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Relit la première page du fil depuis la base.
+     */
+    public synchronized List<PostSummary> recharger() {
+        articles = List.copyOf(postRepository.findFirstPage(PageRequest.of(0, capacite)));
+        logger.info("Instantané des articles récents rechargé : {} articles", articles.size());
+        return articles;
+    }
+
+    /**
+     * Intègre un article publié ou modifié.
+     */
+    public synchronized void publier(PostSummary post) {
+        if (articles == null) {
+            return;
+        }
+        List<PostSummary> nouveaux = new ArrayList<>(articles.size() + 1);
+        articles.stream().filter(p -> !p.id().equals(post.id())).forEach(nouveaux::add);
+        boolean etaitPresent = nouveaux.size() < articles.size();
+        boolean plein = articles.size() >= capacite;
+        // Un article plus ancien que tout l'instantané plein n'y a pas sa place
+        if (etaitPresent || !plein || PLUS_RECENT_D_ABORD.compare(post, articles.get(articles.size() - 1)) < 0) {
+            nouveaux.add(post);
+            nouveaux.sort(PLUS_RECENT_D_ABORD);
+        }
+        articles = List.copyOf(nouveaux.subList(0, Math.min(capacite, nouveaux.size())));
+    }
+
+    /**
+     * Retire un article supprimé. S'il figurait dans l'instantané, celui-ci
+     * est relu pour combler la place libérée.
+     */
+    public synchronized void supprimer(Long postId) {
+        actualiser(postId);
+    }
+
+    /**
+     * Relit l'instantané si l'article y figure.
+     */
+    public synchronized void actualiser(Long postId) {
+        if (contient(postId)) {
+            recharger();
+        }
+    }
+
+    /**
+     * Compte un nouveau commentaire sur un article de l'instantané, sans
+     * relire la base.
+     */
+    public synchronized void ajouterCommentaire(Long postId, LocalDateTime dateCommentaire) {
+        modifier(postId, p -> p.avecCommentaires(p.nombreCommentaires() + 1,
+                p.dateDernierCommentaire() == null || p.dateDernierCommentaire().isBefore(dateCommentaire)
+                ? dateCommentaire : p.dateDernierCommentaire()));
+    }
+
+    /**
+     * Remplace les compteurs de commentaires d'un article de l'instantané
+     * (relus après une suppression de commentaires).
+     */
+    public synchronized void remplacerCommentaires(Long postId, int nombre, LocalDateTime dernierCommentaire) {
+        modifier(postId, p -> p.avecCommentaires(nombre, dernierCommentaire));
+    }
+
+    /**
+     * Remplace un article de l'instantané par sa copie modifiée ; sans effet
+     * s'il n'y figure pas.
+     */
+    private void modifier(Long postId, UnaryOperator<PostSummary> modification) {
+        if (!contient(postId)) {
+            return;
+        }
+        articles = articles.stream()
+                .map(p -> p.id().equals(postId) ? modification.apply(p) : p)
+                .toList();
+    }
+}
@@ -0,0 +1,105 @@
+package app.project_fin_d_etude.service;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import app.project_fin_d_etude.repository.CommentaireRepository;
+import app.project_fin_d_etude.repository.MessageRepository;
+import app.project_fin_d_etude.repository.PostRepository;
+
+/**
+ * Statistiques globales du tableau de bord d'administration.
+ *
+ * Les totaux sont obtenus par des requêtes COUNT et par l'annuaire local
+ * des utilisateurs Keycloak (ou, tant qu'il n'est pas chargé, l'endpoint de
+ * comptage), sans jamais charger les tables ni le realm. Le résultat est
+ * conservé dans un instantané immuable, rafraîchi périodiquement et remplacé
+ * atomiquement : l'affichage du tableau de bord ne coûte aucune requête.
+ */
+@Service
+public class StatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
+
+    /**
+     * Instantané des totaux.
+     *
+     * @param utilisateurs Nombre d'utilisateurs Keycloak, -1 si Keycloak n'a
+     * jamais pu être joint
+     * @param articles Nombre d'articles
+     * @param commentaires Nombre de commentaires
+     * @param messages Nombre de messages de contact
+     * @param calculeLe Date du calcul
+     */
+    public record Statistiques(long utilisateurs, long articles, long commentaires, long messages,
+            LocalDateTime calculeLe) implements Serializable {
+
+    }
+
+    private final PostRepository postRepository;
+    private final CommentaireRepository commentaireRepository;
+    private final MessageRepository messageRepository;
+    private final KeycloakUserAdminService keycloakUserAdminService;
+    private final KeycloakUserDirectory keycloakUserDirectory;
+
+    private final AtomicReference<Statistiques> instantane = new AtomicReference<>();
+
+    public StatisticsService(PostRepository postRepository, CommentaireRepository commentaireRepository,
+            MessageRepository messageRepository, KeycloakUserAdminService keycloakUserAdminService,
+            KeycloakUserDirectory keycloakUserDirectory) {
+        this.postRepository = postRepository;
+        this.commentaireRepository = commentaireRepository;
+        this.messageRepository = messageRepository;
+        this.keycloakUserAdminService = keycloakUserAdminService;
+        this.keycloakUserDirectory = keycloakUserDirectory;
+    }
+
+    /**
+     * Renvoie le dernier instantané, calculé à la demande s'il n'existe pas
+     * encore.
+     */
+    public Statistiques getStatistiques() {
+        Statistiques courant = instantane.get();
+        return courant != null ? courant : rafraichir();
+    }
+
+    /**
+     * Rafraîchissement périodique de l'instantané.
+     */
+    @Scheduled(fixedDelayString = "${statistiques.rafraichissement-ms:60000}")
+    public void rafraichirPlanifie() {
+        try {
+            rafraichir();
+        } catch (Exception e) {
+            logger.error("Erreur lors du rafraîchissement des statistiques : {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recalcule les totaux et remplace l'instantané.
+     */
+    public Statistiques rafraichir() {
+        Statistiques precedent = instantane.get();
+        long utilisateurs;
+        try {
+            // L'annuaire local, une fois chargé, évite un appel distant
+            utilisateurs = keycloakUserDirectory.isCharge() ? keycloakUserDirectory.getNombreUtilisateurs()
+                    : keycloakUserAdminService.countUsers();
+        } catch (Exception e) {
+            // Keycloak indisponible : la dernière valeur connue est conservée
+            logger.warn("Comptage des utilisateurs Keycloak impossible : {}", e.getMessage());
+            utilisateurs = precedent != null ? precedent.utilisateurs() : -1;
+        }
+        Statistiques statistiques = new Statistiques(utilisateurs, postRepository.count(),
+                commentaireRepository.count(), messageRepository.count(), LocalDateTime.now());
+        instantane.set(statistiques);
+        logger.debug("Statistiques rafraîchies : {}", statistiques);
+        return statistiques;
+    }
+}
@@ -0,0 +1,273 @@
+package app.project_fin_d_etude.service;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import app.project_fin_d_etude.model.PostSummary;
+import app.project_fin_d_etude.repository.PostRepository;
+import app.project_fin_d_etude.utils.TextUtils;
+
+/**
+ * Arbre de préfixes (trie) des titres normalisés, pour l'autocomplétion de la
+ * barre de recherche. Chaque titre est inséré sous sa forme complète et sous
+ * chacun de ses mots, de sorte que "secu" propose aussi bien "Sécurité
+ * réseau" que "La sécurité des applications".
+ *
+ * Chaque nœud conserve les {@value #TOP_K} meilleures suggestions de son
+ * sous-arbre (les plus récentes) : une frappe ne coûte qu'une descente dans
+ * l'arbre, sans aucun accès à la base.
+ */
+@Component
+public class TitreAutocompleteIndex extends IndexEnMemoire<PostSummary, TitreAutocompleteIndex.Entree> {
+
+    private static final int TOP_K = 10;
+    // Au-delà, un préfixe est assez discriminant : les clés sont tronquées
+    private static final int PROFONDEUR_MAX = 30;
+    private static final Comparator<Suggestion> PLUS_RECENT_D_ABORD = Comparator
+            .comparing(Suggestion::datePublication, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Suggestion::id, Comparator.reverseOrder());
+
+    /**
+     * Titre proposé à l'utilisateur.
+     *
+     * @param id Identifiant de l'article
+     * @param titre Titre d'origine (non normalisé)
+     * @param datePublication Date de publication, pour le classement
+     */
+    public record Suggestion(Long id, String titre, LocalDateTime datePublication) implements Serializable {
+
+    }
+
+    /**
+     * Article préparé pour l'insertion : sa suggestion et ses clés
+     * normalisées.
+     */
+    protected record Entree(Suggestion suggestion, Set<String> cles) {
+
+    }
+
+    private static final class Noeud {
+
+        private final Map<Character, Noeud> enfants = new HashMap<>(4);
+        // Articles dont une clé se termine sur ce nœud
+        private Set<Long> terminaux;
+        // Meilleures suggestions du sous-arbre, triées
+        private List<Suggestion> top = List.of();
+    }
+
+    private final PostRepository postRepository;
+
+    private final Noeud racine = new Noeud();
+    private final Map<Long, Entree> entrees = new HashMap<>();
+
+    @Autowired
+    public TitreAutocompleteIndex(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * Propose des titres commençant par la saisie, ou dont un mot commence
+     * par le dernier mot saisi.
+     *
+     * @param saisie Texte tapé par l'utilisateur
+     * @param limite Nombre maximal de suggestions (au plus {@value #TOP_K})
+     * @return Les suggestions, des plus récentes aux plus anciennes
+     */
+    public List<Suggestion> suggerer(String saisie, int limite) {
+        String prefixe = cle(saisie);
+        if (prefixe.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        Map<Long, Suggestion> resultats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            Noeud noeud = descendre(prefixe);
+            if (noeud != null) {
+                noeud.top.forEach(s -> resultats.putIfAbsent(s.id(), s));
+            }
+            int dernierEspace = prefixe.lastIndexOf(' ');
+            if (resultats.size() < limite && dernierEspace > 0) {
+                // Plusieurs mots : le dernier sert de préfixe, les autres doivent figurer dans le titre
+                List<String> autresMots = PostSearchIndex.tokeniser(prefixe.substring(0, dernierEspace));
+                Noeud dernierMot = descendre(prefixe.substring(dernierEspace + 1));
+                if (dernierMot != null) {
+                    for (Suggestion s : dernierMot.top) {
+                        String titre = cle(s.titre());
+                        if (autresMots.stream().allMatch(titre::contains)) {
+                            resultats.putIfAbsent(s.id(), s);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resultats.values().stream().limit(limite).toList();
+    }
+
+    /**
+     * Normalise un texte en clé de l'arbre : sans accents, en minuscules,
+     * séparateurs réduits à une espace, tronqué à {@value #PROFONDEUR_MAX}
+     * caractères.
+     */
+    private static String cle(String texte) {
+        String normalise = TextUtils.normaliser(texte);
+        StringBuilder sb = new StringBuilder(Math.min(normalise.length(), PROFONDEUR_MAX));
+        for (int i = 0; i < normalise.length() && sb.length() < PROFONDEUR_MAX; i++) {
+            char c = normalise.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            } else if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+                sb.append(' ');
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Nœud correspondant exactement au préfixe, ou null. Appelé sous le
+     * verrou.
+     */
+    private Noeud descendre(String prefixe) {
+        Noeud noeud = racine;
+        for (int i = 0; i < prefixe.length() && noeud != null; i++) {
+            noeud = noeud.enfants.get(prefixe.charAt(i));
+        }
+        return noeud;
+    }
+
+    @Override
+    protected Long idOf(PostSummary post) {
+        return post.id();
+    }
+
+    @Override
+    protected Entree preparer(PostSummary post) {
+        Set<String> cles = new LinkedHashSet<>();
+        String titre = cle(post.titre());
+        if (!titre.isEmpty()) {
+            cles.add(titre);
+        }
+        PostSearchIndex.tokeniser(post.titre()).forEach(mot -> cles.add(cle(mot)));
+        return new Entree(new Suggestion(post.id(), post.titre(), post.datePublication()), cles);
+    }
+
+    @Override
+    protected void ajouter(Long postId, Entree entree) {
+        entrees.put(postId, entree);
+        for (String cle : entree.cles()) {
+            Noeud noeud = racine;
+            ajouterAuTop(noeud, entree.suggestion());
+            for (int i = 0; i < cle.length(); i++) {
+                noeud = noeud.enfants.computeIfAbsent(cle.charAt(i), c -> new Noeud());
+                ajouterAuTop(noeud, entree.suggestion());
+            }
+            if (noeud.terminaux == null) {
+                noeud.terminaux = new HashSet<>(2);
+            }
+            noeud.terminaux.add(postId);
+        }
+    }
+
+    @Override
+    protected void retirer(Long postId) {
+        Entree entree = entrees.remove(postId);
+        if (entree == null) {
+            return;
+        }
+        // Retrait des terminaux d'abord : les recalculs voient alors l'état final
+        for (String cle : entree.cles()) {
+            Noeud noeud = descendre(cle);
+            if (noeud != null && noeud.terminaux != null) {
+                noeud.terminaux.remove(postId);
+            }
+        }
+        for (String cle : entree.cles()) {
+            List<Noeud> chemin = new ArrayList<>(cle.length() + 1);
+            Noeud noeud = racine;
+            chemin.add(noeud);
+            for (int i = 0; i < cle.length() && noeud != null; i++) {
+                noeud = noeud.enfants.get(cle.charAt(i));
+                if (noeud != null) {
+                    chemin.add(noeud);
+                }
+            }
+            // Recalcul des meilleurs de bas en haut, élagage des branches mortes
+            for (int i = chemin.size() - 1; i >= 0; i--) {
+                Noeud courant = chemin.get(i);
+                if (courant.top.stream().anyMatch(s -> s.id().equals(postId))) {
+                    recalculerTop(courant);
+                }
+                if (i > 0 && courant.enfants.isEmpty() && (courant.terminaux == null || courant.terminaux.isEmpty())) {
+                    chemin.get(i - 1).enfants.remove(cle.charAt(i - 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Insère une suggestion parmi les meilleures d'un nœud si elle y a sa
+     * place.
+     */
+    private static void ajouterAuTop(Noeud noeud, Suggestion suggestion) {
+        if (noeud.top.stream().anyMatch(s -> s.id().equals(suggestion.id()))) {
+            return;
+        }
+        if (noeud.top.size() >= TOP_K && PLUS_RECENT_D_ABORD.compare(suggestion, noeud.top.get(TOP_K - 1)) > 0) {
+            return;
+        }
+        List<Suggestion> top = new ArrayList<>(noeud.top);
+        top.add(suggestion);
+        top.sort(PLUS_RECENT_D_ABORD);
+        noeud.top = List.copyOf(top.subList(0, Math.min(TOP_K, top.size())));
+    }
+
+    /**
+     * Recalcule les meilleures suggestions d'un nœud à partir de celles de ses
+     * enfants et des articles qui s'y terminent.
+     */
+    private void recalculerTop(Noeud noeud) {
+        Map<Long, Suggestion> candidats = new HashMap<>();
+        noeud.enfants.values().forEach(enfant -> enfant.top.forEach(s -> candidats.putIfAbsent(s.id(), s)));
+        if (noeud.terminaux != null) {
+            noeud.terminaux.forEach(id -> candidats.putIfAbsent(id, entrees.get(id).suggestion()));
+        }
+        noeud.top = candidats.values().stream().sorted(PLUS_RECENT_D_ABORD).limit(TOP_K).toList();
+    }
+
+    @Override
+    protected boolean contient(Long postId) {
+        return entrees.containsKey(postId);
+    }
+
+    @Override
+    protected void vider() {
+        racine.enfants.clear();
+        racine.terminaux = null;
+        racine.top = List.of();
+        entrees.clear();
+    }
+
+    @Override
+    protected int nombreDocuments() {
+        return entrees.size();
+    }
+
+    @Override
+    protected List<PostSummary> lotSuivant(long dernierId, int taille) {
+        return postRepository.findSummariesByIdGreaterThan(dernierId, PageRequest.of(0, taille));
+    }
+}
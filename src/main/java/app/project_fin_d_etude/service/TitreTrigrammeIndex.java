@@ -0,0 +1,206 @@
+package app.project_fin_d_etude.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import app.project_fin_d_etude.model.PostSummary;
+import app.project_fin_d_etude.repository.PostRepository;
+import app.project_fin_d_etude.utils.TextUtils;
+
+/**
+ * Index de trigrammes sur les mots des titres d'articles, pour la recherche
+ * tolérante aux fautes de frappe ("developement", "securiter").
+ *
+ * Les mots candidats sont ceux qui partagent assez de trigrammes avec le mot
+ * recherché (similarité de Jaccard), puis sont départagés par distance de
+ * Levenshtein. Seuls les mots distincts des titres sont comparés, jamais
+ * l'ensemble des titres.
+ */
+@Component
+public class TitreTrigrammeIndex extends IndexEnMemoire<PostSummary, Set<String>> {
+
+    // Proportion minimale de trigrammes communs pour qu'un mot soit candidat
+    private static final double JACCARD_MIN = 0.3;
+
+    private final PostRepository postRepository;
+
+    // trigramme -> mots des titres qui le contiennent
+    private final Map<String, Set<String>> motsParTrigramme = new HashMap<>();
+    // mot -> articles dont le titre le contient
+    private final Map<String, Set<Long>> postsParMot = new HashMap<>();
+    // article -> mots distincts de son titre
+    private final Map<Long, Set<String>> motsParPost = new HashMap<>();
+
+    @Autowired
+    public TitreTrigrammeIndex(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * Recherche les articles dont le titre contient des mots proches de ceux
+     * de la requête.
+     *
+     * @param requete Les mots recherchés, éventuellement mal orthographiés
+     * @param limite Nombre maximal d'identifiants retournés
+     * @return Les identifiants des articles, du plus proche au moins proche
+     */
+    public List<Long> rechercher(String requete, int limite) {
+        Set<String> termes = new LinkedHashSet<>(PostSearchIndex.tokeniser(requete));
+        if (termes.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String terme : termes) {
+                // Meilleure similarité du terme avec un mot du titre, par article
+                Map<Long, Double> meilleurs = new HashMap<>();
+                motsProches(terme).forEach((mot, similarite) -> {
+                    for (Long postId : postsParMot.get(mot)) {
+                        meilleurs.merge(postId, similarite, Math::max);
+                    }
+                });
+                meilleurs.forEach((postId, similarite) -> scores.merge(postId, similarite, Double::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+                .limit(limite)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Mots de l'index proches du terme, avec leur similarité (1 = identique).
+     * Appelé sous le verrou de lecture.
+     */
+    private Map<String, Double> motsProches(String terme) {
+        Set<String> trigrammesTerme = trigrammes(terme);
+        Map<String, Integer> communs = new HashMap<>();
+        for (String trigramme : trigrammesTerme) {
+            Set<String> mots = motsParTrigramme.get(trigramme);
+            if (mots != null) {
+                mots.forEach(mot -> communs.merge(mot, 1, Integer::sum));
+            }
+        }
+        int distanceMax = distanceMax(terme);
+        Map<String, Double> proches = new HashMap<>();
+        communs.forEach((mot, nombre) -> {
+            double jaccard = (double) nombre / (trigrammesTerme.size() + trigrammes(mot).size() - nombre);
+            if (jaccard < JACCARD_MIN || Math.abs(mot.length() - terme.length()) > distanceMax) {
+                return;
+            }
+            int distance = TextUtils.distanceLevenshtein(terme, mot);
+            if (distance <= distanceMax) {
+                proches.put(mot, 1.0 - (double) distance / Math.max(terme.length(), mot.length()));
+            }
+        });
+        return proches;
+    }
+
+    /**
+     * Nombre de fautes tolérées selon la longueur du mot.
+     */
+    private static int distanceMax(String terme) {
+        if (terme.length() <= 4) {
+            return 1;
+        }
+        return terme.length() <= 8 ? 2 : 3;
+    }
+
+    /**
+     * Trigrammes d'un mot, bornés par des marqueurs de début et de fin pour
+     * donner du poids aux extrémités.
+     */
+    private static Set<String> trigrammes(String mot) {
+        String borne = "$" + mot + "$";
+        Set<String> trigrammes = new HashSet<>();
+        for (int i = 0; i + 3 <= borne.length(); i++) {
+            trigrammes.add(borne.substring(i, i + 3));
+        }
+        return trigrammes;
+    }
+
+    @Override
+    protected Long idOf(PostSummary post) {
+        return post.id();
+    }
+
+    @Override
+    protected Set<String> preparer(PostSummary post) {
+        return new HashSet<>(PostSearchIndex.tokeniser(post.titre()));
+    }
+
+    @Override
+    protected void ajouter(Long postId, Set<String> mots) {
+        motsParPost.put(postId, mots);
+        for (String mot : mots) {
+            Set<Long> posts = postsParMot.computeIfAbsent(mot, m -> new HashSet<>());
+            if (posts.isEmpty()) {
+                trigrammes(mot).forEach(t -> motsParTrigramme.computeIfAbsent(t, k -> new HashSet<>()).add(mot));
+            }
+            posts.add(postId);
+        }
+    }
+
+    @Override
+    protected void retirer(Long postId) {
+        Set<String> mots = motsParPost.remove(postId);
+        if (mots == null) {
+            return;
+        }
+        for (String mot : mots) {
+            Set<Long> posts = postsParMot.get(mot);
+            if (posts == null) {
+                continue;
+            }
+            posts.remove(postId);
+            if (posts.isEmpty()) {
+                // Dernier titre contenant ce mot : il sort du vocabulaire
+                postsParMot.remove(mot);
+                for (String trigramme : trigrammes(mot)) {
+                    Set<String> motsDuTrigramme = motsParTrigramme.get(trigramme);
+                    if (motsDuTrigramme != null) {
+                        motsDuTrigramme.remove(mot);
+                        if (motsDuTrigramme.isEmpty()) {
+                            motsParTrigramme.remove(trigramme);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    protected boolean contient(Long postId) {
+        return motsParPost.containsKey(postId);
+    }
+
+    @Override
+    protected void vider() {
+        motsParTrigramme.clear();
+        postsParMot.clear();
+        motsParPost.clear();
+    }
+
+    @Override
+    protected int nombreDocuments() {
+        return motsParPost.size();
+    }
+
+    @Override
+    protected List<PostSummary> lotSuivant(long dernierId, int taille) {
+        return postRepository.findSummariesByIdGreaterThan(dernierId, PageRequest.of(0, taille));
+    }
+}
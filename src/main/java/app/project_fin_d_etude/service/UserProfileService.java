@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Service;
 
 /**
@@ -20,14 +21,15 @@ public class UserProfileService {
     private static final Logger logger = LoggerFactory.getLogger(UserProfileService.class);
 
     private final KeycloakUserAdminService keycloakUserAdminService;
-    private final PostService postService;
-    private final CommentaireService commentaireService;
+    private final KeycloakUserEmailCache keycloakUserEmailCache;
+    private final AuteurService auteurService;
 
     @Autowired
-    public UserProfileService(KeycloakUserAdminService keycloakUserAdminService, PostService postService, CommentaireService commentaireService) {
+    public UserProfileService(KeycloakUserAdminService keycloakUserAdminService, KeycloakUserEmailCache keycloakUserEmailCache,
+            AuteurService auteurService) {
         this.keycloakUserAdminService = keycloakUserAdminService;
-        this.postService = postService;
-        this.commentaireService = commentaireService;
+        this.keycloakUserEmailCache = keycloakUserEmailCache;
+        this.auteurService = auteurService;
     }
 
     /**
@@ -53,21 +55,23 @@ public class UserProfileService {
             }
 
             // Récupérer l'utilisateur Keycloak
-            var userOpt = keycloakUserAdminService.findByEmail(currentUserEmail).get();
+            var userOpt = keycloakUserEmailCache.trouver(currentUserEmail);
             if (userOpt.isEmpty()) {
                 logger.error("Utilisateur non trouvé dans Keycloak: {}", currentUserEmail);
                 return false;
             }
 
+            // La représentation en cache est partagée : l'entrée est retirée avant modification
+            keycloakUserEmailCache.invalider(currentUserEmail);
             UserRepresentation user = userOpt.get();
+            // Nom courant dans Keycloak, conservé si le formulaire ne fournit ni prénom ni nom
+            String nomActuel = nomComplet(user.getFirstName(), user.getLastName());
             user.setFirstName(firstName);
             user.setLastName(lastName);
 
-            boolean emailChanged = false;
             // Mettre à jour l'email seulement s'il a changé
             if (email != null && !email.equals(currentUserEmail)) {
                 user.setEmail(email);
-                emailChanged = true;
             }
 
             // Mettre à jour les attributs personnalisés
@@ -86,17 +90,10 @@ public class UserProfileService {
 
             keycloakUserAdminService.updateUser(user.getId(), user.getUsername(), user.getEmail(), user.isEnabled());
 
-            // Migration des articles et commentaires si l'email a changé
-            if (emailChanged) {
-                int nbPosts = postService.migrerEmailAuteur(currentUserEmail, email);
-                int nbCommentaires = commentaireService.migrerEmailAuteur(currentUserEmail, email);
-                logger.info("{} articles et {} commentaires migrés de {} vers {}", nbPosts, nbCommentaires, currentUserEmail, email);
-            }
-            // Migration du nom d'auteur des articles et commentaires si le nom ou prénom a changé
-            String newNomComplet = firstName + " " + lastName;
-            int nbNom = postService.migrerNomAuteur(emailChanged ? email : currentUserEmail, newNomComplet);
-            int nbNomCommentaires = commentaireService.migrerNomAuteur(emailChanged ? email : currentUserEmail, newNomComplet);
-            logger.info("Nom d'auteur mis à jour pour {} articles et {} commentaires ({} -> {})", nbNom, nbNomCommentaires, currentUserEmail, newNomComplet);
+            // Articles et commentaires référencent l'auteur : seule sa ligne est mise à jour
+            String newNomComplet = nomComplet(firstName, lastName);
+            auteurService.renommer(user.getId(), currentUserEmail, user.getEmail(),
+                    newNomComplet.isEmpty() ? nomActuel : newNomComplet);
 
             logger.info("Profil mis à jour avec succès pour l'utilisateur: {}", currentUserEmail);
             return true;
@@ -135,7 +132,7 @@ public class UserProfileService {
             }
 
             // Récupérer l'utilisateur Keycloak
-            var userOpt = keycloakUserAdminService.findByEmail(currentUserEmail).get();
+            var userOpt = keycloakUserEmailCache.trouver(currentUserEmail);
             if (userOpt.isEmpty()) {
                 logger.error("Utilisateur non trouvé dans Keycloak: {}", currentUserEmail);
                 return false;
@@ -168,7 +165,7 @@ public class UserProfileService {
                 return profile;
             }
 
-            var userOpt = keycloakUserAdminService.findByEmail(currentUserEmail).get();
+            var userOpt = keycloakUserEmailCache.trouver(currentUserEmail);
             if (userOpt.isPresent()) {
                 UserRepresentation user = userOpt.get();
                 profile.put("email", user.getEmail());
@@ -193,6 +190,27 @@ public class UserProfileService {
         return profile;
     }
 
+    /**
+     * Avancement du rattachement des anciens articles et commentaires de
+     * l'utilisateur connecté, planifié à la mise à jour de son profil.
+     *
+     * @return L'avancement, ou null si l'utilisateur n'est pas connecté via
+     * OIDC
+     */
+    public MoteurMigration.Progression getProgressionMigration(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof OidcUser oidcUser)) {
+            return null;
+        }
+        return auteurService.getProgressionRattachement(oidcUser.getSubject());
+    }
+
+    /**
+     * Prénom et nom séparés par une espace, chaîne vide si les deux manquent.
+     */
+    private static String nomComplet(String prenom, String nom) {
+        return ((prenom != null ? prenom : "") + " " + (nom != null ? nom : "")).trim();
+    }
+
     /**
      * Valide un mot de passe selon les règles de sécurité de l'entreprise.
      */
@@ -1,13 +1,11 @@
 package app.project_fin_d_etude.utils;
 
-import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import com.vaadin.flow.component.HasComponents;
@@ -26,11 +24,11 @@ public class AsyncDataLoader {
     private static final String ERROR_UI_NULL = "Erreur interne : impossible d'accéder à l'interface utilisateur.";
     private static final String ERROR_LOADING = "Erreur lors du chargement des données : ";
 
-    private final Executor taskExecutor;
+    private final ExecutionAsynchrone execution;
 
     @Autowired
-    public AsyncDataLoader(@Qualifier("taskExecutor") Executor taskExecutor) {
-        this.taskExecutor = taskExecutor;
+    public AsyncDataLoader(ExecutionAsynchrone execution) {
+        this.execution = execution;
     }
 
     /**
@@ -105,10 +103,10 @@ public class AsyncDataLoader {
         parent.add(loaderDiv);
 
         // Lance la tâche en arrière-plan
-        taskExecutor.execute(() -> {
+        execution.executer(ExecutionAsynchrone.Charge.BASE, () -> {
             try {
                 T data = dataSupplier.get();
-                ui.access(() -> {
+                execution.pousser(ui, () -> {
                     try {
                         parent.removeAll();
                         onDataReady.accept(data);
@@ -119,7 +117,7 @@ public class AsyncDataLoader {
                 });
             } catch (Exception e) {
                 logger.error("Erreur lors du chargement asynchrone : {}", e.getMessage(), e);
-                ui.access(() -> {
+                execution.pousser(ui, () -> {
                     try {
                         parent.removeAll();
                         String errorMessage = ExceptionHandler.getUserFriendlyMessage(e);
@@ -0,0 +1,140 @@
+package app.project_fin_d_etude.utils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Disjoncteur protégeant les appels à un service distant.
+ *
+ * Fermé, il laisse passer tous les appels. Après {@code seuilEchecs} échecs
+ * consécutifs, il s'ouvre : les appels sont refusés immédiatement pendant
+ * {@code dureeOuverture}. Il passe ensuite en semi-ouvert et laisse passer un
+ * seul appel d'essai : un succès le referme, un échec le rouvre.
+ *
+ * Chaque appel autorisé reçoit un {@link Appel} sur lequel son résultat est
+ * enregistré. Le résultat n'est pris en compte que si l'état n'a pas changé
+ * depuis l'autorisation : un appel lent admis disjoncteur fermé, qui se
+ * termine pendant l'essai, ne referme ni ne rouvre le disjoncteur à la
+ * place de l'appel d'essai.
+ */
+public class CircuitBreaker {
+
+    /**
+     * État du disjoncteur.
+     */
+    public enum Etat {
+        FERME, SEMI_OUVERT, OUVERT
+    }
+
+    /**
+     * Appel autorisé par le disjoncteur, dont le résultat doit être
+     * enregistré une fois, par {@link #succes()} ou {@link #echec()}.
+     */
+    public final class Appel {
+
+        private final long generationAutorisation;
+
+        private Appel(long generationAutorisation) {
+            this.generationAutorisation = generationAutorisation;
+        }
+
+        /**
+         * Enregistre le succès de l'appel.
+         */
+        public void succes() {
+            enregistrerSucces(generationAutorisation);
+        }
+
+        /**
+         * Enregistre l'échec de l'appel.
+         */
+        public void echec() {
+            enregistrerEchec(generationAutorisation);
+        }
+    }
+
+    private final int seuilEchecs;
+    private final long dureeOuvertureNanos;
+
+    private Etat etat = Etat.FERME;
+    private int echecsConsecutifs;
+    private long ouvertDepuis;
+    private boolean essaiEnCours;
+    // Incrémentée à chaque changement d'état et à chaque essai autorisé : un
+    // appel dont la génération n'est plus la courante est ignoré
+    private long generation;
+
+    /**
+     * @param seuilEchecs Nombre d'échecs consécutifs qui ouvrent le
+     * disjoncteur
+     * @param dureeOuverture Durée pendant laquelle les appels sont refusés
+     */
+    public CircuitBreaker(int seuilEchecs, Duration dureeOuverture) {
+        if (seuilEchecs <= 0) {
+            throw new IllegalArgumentException("Le seuil d'échecs doit être positif");
+        }
+        this.seuilEchecs = seuilEchecs;
+        this.dureeOuvertureNanos = dureeOuverture.toNanos();
+    }
+
+    /**
+     * Autorise un appel s'il peut être tenté. En semi-ouvert, un seul appel
+     * d'essai est autorisé à la fois.
+     *
+     * @return L'appel autorisé, ou vide si l'appel est refusé
+     */
+    public synchronized Optional<Appel> autoriser() {
+        if (etat == Etat.OUVERT && System.nanoTime() - ouvertDepuis >= dureeOuvertureNanos) {
+            changerEtat(Etat.SEMI_OUVERT);
+            essaiEnCours = false;
+        }
+        if (etat == Etat.FERME) {
+            return Optional.of(new Appel(generation));
+        }
+        if (etat == Etat.OUVERT || essaiEnCours) {
+            return Optional.empty();
+        }
+        essaiEnCours = true;
+        generation++;
+        return Optional.of(new Appel(generation));
+    }
+
+    private synchronized void enregistrerSucces(long generationAppel) {
+        if (generationAppel != generation) {
+            return;
+        }
+        echecsConsecutifs = 0;
+        if (etat == Etat.SEMI_OUVERT) {
+            essaiEnCours = false;
+            changerEtat(Etat.FERME);
+        }
+    }
+
+    private synchronized void enregistrerEchec(long generationAppel) {
+        if (generationAppel != generation) {
+            return;
+        }
+        echecsConsecutifs++;
+        if (etat == Etat.SEMI_OUVERT || echecsConsecutifs >= seuilEchecs) {
+            essaiEnCours = false;
+            changerEtat(Etat.OUVERT);
+            ouvertDepuis = System.nanoTime();
+        }
+    }
+
+    private void changerEtat(Etat nouvelEtat) {
+        etat = nouvelEtat;
+        generation++;
+        if (nouvelEtat == Etat.FERME) {
+            echecsConsecutifs = 0;
+        }
+    }
+
+    /**
+     * État courant (un disjoncteur ouvert dont la durée est écoulée est
+     * rapporté ouvert jusqu'au prochain appel).
+     */
+    public synchronized Etat getEtat() {
+        return etat;
+    }
+}
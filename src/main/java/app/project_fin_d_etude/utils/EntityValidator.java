@@ -42,7 +42,7 @@ public final class EntityValidator {
 
         // Validation du titre
         if (!ValidationUtils.isValidTitle(post.getTitre())) {
-            if (post.getTitre() == null || post.getTitre().trim().isEmpty()) {
+            if (MoteurTexte.estVide(post.getTitre())) {
                 errors.add("Le titre de l'article est obligatoire");
             } else {
                 errors.add(ValidationUtils.ERROR_TITLE_INVALID);
@@ -51,9 +51,9 @@ public final class EntityValidator {
 
         // Validation du contenu
         if (!ValidationUtils.isValidContent(post.getContenu())) {
-            if (post.getContenu() == null || post.getContenu().trim().isEmpty()) {
+            if (MoteurTexte.estVide(post.getContenu())) {
                 errors.add("Le contenu de l'article est obligatoire");
-            } else if (post.getContenu().trim().length() < ValidationUtils.MIN_CONTENT_LENGTH) {
+            } else if (MoteurTexte.longueurUtile(post.getContenu()) < ValidationUtils.MIN_CONTENT_LENGTH) {
                 errors.add(ValidationUtils.ERROR_CONTENT_TOO_SHORT);
             } else {
                 errors.add(ValidationUtils.ERROR_CONTENT_TOO_LONG);
@@ -62,7 +62,7 @@ public final class EntityValidator {
 
         // Validation de l'auteur
         if (!ValidationUtils.isValidEmail(post.getAuteurEmail())) {
-            if (post.getAuteurEmail() == null || post.getAuteurEmail().trim().isEmpty()) {
+            if (MoteurTexte.estVide(post.getAuteurEmail())) {
                 errors.add(ERROR_AUTHOR_EMAIL_REQUIRED);
             } else {
                 errors.add(ValidationUtils.ERROR_EMAIL_INVALID);
@@ -70,7 +70,7 @@ public final class EntityValidator {
         }
 
         if (!ValidationUtils.isValidName(post.getAuteurNom())) {
-            if (post.getAuteurNom() == null || post.getAuteurNom().trim().isEmpty()) {
+            if (MoteurTexte.estVide(post.getAuteurNom())) {
                 errors.add(ERROR_AUTHOR_NAME_REQUIRED);
             } else {
                 errors.add(ValidationUtils.ERROR_NAME_INVALID);
@@ -96,7 +96,7 @@ public final class EntityValidator {
 
         // Validation du nom
         if (!ValidationUtils.isValidName(message.getNom())) {
-            if (message.getNom() == null || message.getNom().trim().isEmpty()) {
+            if (MoteurTexte.estVide(message.getNom())) {
                 errors.add("Le nom est obligatoire");
             } else {
                 errors.add(ValidationUtils.ERROR_NAME_INVALID);
@@ -105,7 +105,7 @@ public final class EntityValidator {
 
         // Validation de l'email
         if (!ValidationUtils.isValidEmail(message.getEmail())) {
-            if (message.getEmail() == null || message.getEmail().trim().isEmpty()) {
+            if (MoteurTexte.estVide(message.getEmail())) {
                 errors.add("L'email est obligatoire");
             } else {
                 errors.add(ValidationUtils.ERROR_EMAIL_INVALID);
@@ -114,7 +114,7 @@ public final class EntityValidator {
 
         // Validation du sujet
         if (!ValidationUtils.isValidSubject(message.getSujet())) {
-            if (message.getSujet() == null || message.getSujet().trim().isEmpty()) {
+            if (MoteurTexte.estVide(message.getSujet())) {
                 errors.add("Le sujet est obligatoire");
             } else {
                 errors.add(ValidationUtils.ERROR_SUBJECT_INVALID);
@@ -123,9 +123,9 @@ public final class EntityValidator {
 
         // Validation du contenu
         if (!ValidationUtils.isValidContent(message.getContenu())) {
-            if (message.getContenu() == null || message.getContenu().trim().isEmpty()) {
+            if (MoteurTexte.estVide(message.getContenu())) {
                 errors.add("Le contenu du message est obligatoire");
-            } else if (message.getContenu().trim().length() < ValidationUtils.MIN_CONTENT_LENGTH) {
+            } else if (MoteurTexte.longueurUtile(message.getContenu()) < ValidationUtils.MIN_CONTENT_LENGTH) {
                 errors.add(ValidationUtils.ERROR_CONTENT_TOO_SHORT);
             } else {
                 errors.add(ValidationUtils.ERROR_CONTENT_TOO_LONG);
@@ -151,9 +151,9 @@ public final class EntityValidator {
 
         // Validation du contenu
         if (!ValidationUtils.isValidContent(commentaire.getContenu())) {
-            if (commentaire.getContenu() == null || commentaire.getContenu().trim().isEmpty()) {
+            if (MoteurTexte.estVide(commentaire.getContenu())) {
                 errors.add("Le contenu du commentaire est obligatoire");
-            } else if (commentaire.getContenu().trim().length() < ValidationUtils.MIN_CONTENT_LENGTH) {
+            } else if (MoteurTexte.longueurUtile(commentaire.getContenu()) < ValidationUtils.MIN_CONTENT_LENGTH) {
                 errors.add(ValidationUtils.ERROR_CONTENT_TOO_SHORT);
             } else {
                 errors.add(ValidationUtils.ERROR_CONTENT_TOO_LONG);
@@ -167,7 +167,7 @@ public final class EntityValidator {
 
         // Validation de l'auteur
         if (!ValidationUtils.isValidEmail(commentaire.getAuteurEmail())) {
-            if (commentaire.getAuteurEmail() == null || commentaire.getAuteurEmail().trim().isEmpty()) {
+            if (MoteurTexte.estVide(commentaire.getAuteurEmail())) {
                 errors.add(ERROR_AUTHOR_EMAIL_REQUIRED);
             } else {
                 errors.add(ValidationUtils.ERROR_EMAIL_INVALID);
@@ -175,7 +175,7 @@ public final class EntityValidator {
         }
 
         if (!ValidationUtils.isValidName(commentaire.getAuteurNom())) {
-            if (commentaire.getAuteurNom() == null || commentaire.getAuteurNom().trim().isEmpty()) {
+            if (MoteurTexte.estVide(commentaire.getAuteurNom())) {
                 errors.add(ERROR_AUTHOR_NAME_REQUIRED);
             } else {
                 errors.add(ValidationUtils.ERROR_NAME_INVALID);
@@ -0,0 +1,286 @@
+package app.project_fin_d_etude.utils;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.server.Command;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Point d'entrée unique des traitements asynchrones de l'application
+ * (présentateurs, services et vues).
+ *
+ * Chaque type de charge ({@link Charge}) dispose de son propre exécuteur,
+ * dimensionné séparément dans {@code AsyncConfig} : un Keycloak lent ou une
+ * rafale de requêtes en base n'occupent que les threads de leur charge, et
+ * les mises à jour de l'interface continuent d'être poussées. Les tâches
+ * soumises s'exécutent avec le contexte de sécurité de l'appelant. Le futur
+ * renvoyé peut être annulé, et un délai maximal peut être fixé : dans les
+ * deux cas, la tâche en cours est interrompue.
+ *
+ * Métriques exportées : {@code async.taches} (durée par charge et par
+ * résultat) et, pour chaque exécuteur (étiquette {@code name} : base,
+ * identite, interface ou arriere-plan), les métriques {@code executor.*} : threads actifs,
+ * tâches en file, durées, et {@code executor.rejets}, les tâches refusées
+ * file pleine (étiquette {@code politique} : {@code caller_runs} quand la
+ * tâche est alors exécutée par l'appelant, {@code abort} quand elle est
+ * refusée).
+ */
+@Component
+public class ExecutionAsynchrone {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionAsynchrone.class);
+
+    /**
+     * Types de charge, chacun servi par son propre exécuteur.
+     */
+    public enum Charge {
+        /**
+         * Accès à la base de données et traitements des services.
+         */
+        BASE("base"),
+        /**
+         * Appels au fournisseur d'identité (API d'administration Keycloak).
+         */
+        IDENTITE("identite"),
+        /**
+         * Mises à jour poussées vers l'interface Vaadin.
+         */
+        INTERFACE("interface"),
+        /**
+         * Traitements de fond (migrations, rattrapages), sans délai par
+         * défaut.
+         */
+        ARRIERE_PLAN("arriere-plan");
+
+        private final String nom;
+
+        Charge(String nom) {
+            this.nom = nom;
+        }
+
+        public String getNom() {
+            return nom;
+        }
+    }
+
+    private final Map<Charge, ExecutorService> executeurs = new EnumMap<>(Charge.class);
+    private final MeterRegistry meterRegistry;
+    private final Duration delaiBase;
+
+    public ExecutionAsynchrone(@Qualifier("baseExecutor") ExecutorService baseExecutor,
+            @Qualifier("identiteExecutor") ExecutorService identiteExecutor,
+            @Qualifier("interfaceExecutor") ExecutorService interfaceExecutor,
+            @Qualifier("arrierePlanExecutor") ExecutorService arrierePlanExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${async.base.delai-max-ms:30000}") long delaiBaseMs) {
+        this.meterRegistry = meterRegistry;
+        this.delaiBase = delaiBaseMs > 0 ? Duration.ofMillis(delaiBaseMs) : null;
+        executeurs.put(Charge.BASE, instrumenter(Charge.BASE, baseExecutor));
+        executeurs.put(Charge.IDENTITE, instrumenter(Charge.IDENTITE, identiteExecutor));
+        executeurs.put(Charge.INTERFACE, instrumenter(Charge.INTERFACE, interfaceExecutor));
+        executeurs.put(Charge.ARRIERE_PLAN, instrumenter(Charge.ARRIERE_PLAN, arrierePlanExecutor));
+    }
+
+    /**
+     * Enregistre les métriques d'un exécuteur. Les tâches qui lui sont
+     * soumises directement (méthodes {@code @Async}) sont aussi comptées dans
+     * ses jauges et ses refus.
+     */
+    private ExecutorService instrumenter(Charge charge, ExecutorService executeur) {
+        String nom = charge.getNom();
+        if (executeur instanceof ThreadPoolExecutor pool) {
+            pool.setRejectedExecutionHandler(new PolitiqueComptee(pool.getRejectedExecutionHandler(), meterRegistry, nom));
+        } else if (executeur instanceof SemaphoreBoundedExecutor borne) {
+            // Jauges équivalentes à celles qu'ExecutorServiceMetrics fournit pour un pool
+            Gauge.builder("executor.active", borne, SemaphoreBoundedExecutor::getTachesEnCours)
+                    .tag("name", nom)
+                    .description("Nombre de tâches en cours d'exécution")
+                    .register(meterRegistry);
+            Gauge.builder("executor.queued", borne, SemaphoreBoundedExecutor::getTachesEnAttente)
+                    .tag("name", nom)
+                    .description("Nombre de tâches en attente d'un permis")
+                    .register(meterRegistry);
+            FunctionCounter.builder("executor.rejets", borne, SemaphoreBoundedExecutor::getTachesRefusees)
+                    .tag("name", nom)
+                    .tag("politique", "abort")
+                    .description("Tâches refusées, file d'attente pleine")
+                    .register(meterRegistry);
+        }
+        return ExecutorServiceMetrics.monitor(meterRegistry, executeur, nom);
+    }
+
+    /**
+     * Politique de refus d'un pool, qui compte les refus avant de les
+     * traiter.
+     */
+    private static final class PolitiqueComptee implements RejectedExecutionHandler {
+
+        private final RejectedExecutionHandler politique;
+        private final Counter refus;
+
+        PolitiqueComptee(RejectedExecutionHandler politique, MeterRegistry meterRegistry, String nom) {
+            this.politique = politique;
+            this.refus = Counter.builder("executor.rejets")
+                    .tag("name", nom)
+                    .tag("politique", politique instanceof ThreadPoolExecutor.CallerRunsPolicy ? "caller_runs" : "abort")
+                    .description("Tâches refusées, file d'attente pleine")
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void rejectedExecution(Runnable tache, ThreadPoolExecutor pool) {
+            refus.increment();
+            politique.rejectedExecution(tache, pool);
+        }
+    }
+
+    /**
+     * Exécute une tâche avec le délai par défaut de sa charge
+     * ({@code async.base.delai-max-ms} pour la base, aucun pour les autres).
+     *
+     * @throws RejectedExecutionException si l'exécuteur de la charge est saturé
+     */
+    public <T> CompletableFuture<T> soumettre(Charge charge, Supplier<T> tache) {
+        return soumettre(charge, tache, charge == Charge.BASE ? delaiBase : null);
+    }
+
+    /**
+     * Exécute une tâche dans l'exécuteur de sa charge.
+     *
+     * @param delai Délai maximal, ou null pour ne pas en fixer : une fois
+     * dépassé, le futur échoue avec une {@link TimeoutException} et la tâche
+     * est interrompue
+     * @return Le résultat de la tâche. L'annuler interrompt la tâche.
+     * @throws RejectedExecutionException si l'exécuteur de la charge est saturé
+     */
+    public <T> CompletableFuture<T> soumettre(Charge charge, Supplier<T> tache, Duration delai) {
+        CompletableFuture<T> resultat = new CompletableFuture<>();
+        long debut = System.nanoTime();
+        Future<?> execution;
+        try {
+            execution = executeurs.get(charge).submit(new DelegatingSecurityContextCallable<Void>(() -> {
+                // Annulée ou délai dépassé pendant l'attente : rien à exécuter
+                if (!resultat.isDone()) {
+                    try {
+                        resultat.complete(tache.get());
+                    } catch (Throwable e) {
+                        resultat.completeExceptionally(e);
+                    }
+                }
+                return null;
+            }));
+        } catch (RejectedExecutionException e) {
+            enregistrer(charge, "rejete", 0);
+            throw e;
+        }
+        if (delai != null) {
+            resultat.orTimeout(delai.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        resultat.whenComplete((valeur, erreur) -> {
+            String issue = "succes";
+            if (erreur instanceof CancellationException) {
+                issue = "annule";
+            } else if (erreur instanceof TimeoutException) {
+                issue = "delai_depasse";
+            } else if (erreur != null) {
+                issue = "echec";
+            }
+            if (erreur instanceof CancellationException || erreur instanceof TimeoutException) {
+                execution.cancel(true);
+            }
+            enregistrer(charge, issue, System.nanoTime() - debut);
+        });
+        return resultat;
+    }
+
+    /**
+     * Exécute une tâche sans résultat, avec le délai par défaut de sa charge.
+     *
+     * @throws RejectedExecutionException si l'exécuteur de la charge est saturé
+     */
+    public CompletableFuture<Void> executer(Charge charge, Runnable tache) {
+        return executer(charge, tache, charge == Charge.BASE ? delaiBase : null);
+    }
+
+    /**
+     * Exécute une tâche sans résultat.
+     *
+     * @param delai Délai maximal, ou null pour ne pas en fixer
+     * @throws RejectedExecutionException si l'exécuteur de la charge est saturé
+     */
+    public CompletableFuture<Void> executer(Charge charge, Runnable tache, Duration delai) {
+        return soumettre(charge, () -> {
+            tache.run();
+            return null;
+        }, delai);
+    }
+
+    /**
+     * Applique une mise à jour à l'interface d'un utilisateur, depuis
+     * l'exécuteur {@link Charge#INTERFACE} : le thread appelant n'attend ni le
+     * verrou de la session Vaadin ni l'envoi au navigateur. Sans effet si
+     * l'interface a été fermée.
+     */
+    public void pousser(UI ui, Command commande) {
+        executer(Charge.INTERFACE, () -> {
+            try {
+                ui.access(commande);
+            } catch (UIDetachedException e) {
+                logger.debug("Mise à jour ignorée : interface fermée");
+            }
+        });
+    }
+
+    /**
+     * Une fois le futur terminé, transmet son résultat ou son erreur à
+     * l'interface (voir {@link #pousser}). L'erreur transmise est la cause
+     * d'origine, sans enveloppe {@link CompletionException}.
+     */
+    public <T> void afficher(CompletableFuture<T> future, UI ui, BiConsumer<T, Throwable> rappel) {
+        future.whenComplete((valeur, erreur) -> pousser(ui, () -> rappel.accept(valeur, cause(erreur))));
+    }
+
+    /**
+     * Cause d'origine d'une erreur remontée par un futur.
+     */
+    public static Throwable cause(Throwable erreur) {
+        return erreur instanceof CompletionException && erreur.getCause() != null ? erreur.getCause() : erreur;
+    }
+
+    private void enregistrer(Charge charge, String issue, long dureeNanos) {
+        Timer.builder("async.taches")
+                .tag("charge", charge.getNom())
+                .tag("resultat", issue)
+                .register(meterRegistry)
+                .record(dureeNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,44 @@
+package app.project_fin_d_etude.utils;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page de résultats obtenue par pagination par clé (keyset / seek). Contrairement
+ * à une pagination par offset, le coût de la page N ne dépend pas de N : la
+ * requête reprend directement après le curseur de la page précédente.
+ *
+ * @param items Éléments de la page
+ * @param nextCursor Curseur à passer pour obtenir la page suivante, ou null s'il
+ * n'y en a pas
+ * @param <T> Type des éléments
+ * @param <C> Type du curseur
+ */
+public record KeysetPage<T, C>(List<T> items, C nextCursor) implements Serializable {
+
+    /**
+     * Construit une page à partir de lignes lues avec une limite de
+     * {@code size + 1} : la ligne supplémentaire, si présente, indique
+     * qu'une page suivante existe et n'est pas renvoyée.
+     *
+     * @param rows Lignes lues (au plus size + 1)
+     * @param size Taille de page demandée
+     * @param cursorOf Fonction extrayant le curseur d'un élément
+     * @return La page construite
+     */
+    public static <T, C> KeysetPage<T, C> of(List<T> rows, int size, Function<T, C> cursorOf) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(List.copyOf(rows), null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, size));
+        return new KeysetPage<>(items, cursorOf.apply(items.get(items.size() - 1)));
+    }
+
+    /**
+     * Indique s'il existe une page suivante.
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,350 @@
+package app.project_fin_d_etude.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation et validation de texte en un seul parcours, sans chaîne
+ * intermédiaire.
+ *
+ * Chaque méthode reproduit exactement le comportement de l'implémentation
+ * par expressions régulières qu'elle remplace (voir {@link ValidationUtils}
+ * et {@link TextUtils}) : mêmes caractères acceptés, même découpage des
+ * blancs ({@link String#trim()}), même longueur. La suppression des accents
+ * passe par une table calculée une fois au chargement à partir de
+ * {@link Normalizer} ; les rares caractères que la table ne couvre pas (au-delà
+ * de U+20FF, marques combinantes hors du bloc U+0300-U+036F) font reprendre
+ * le texte par l'implémentation d'origine.
+ */
+public final class MoteurTexte {
+
+    private static final Pattern DIACRITIQUES = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    // Classes de caractères des caractères Latin-1 (< U+0100)
+    private static final byte LETTRE = 1;        // a-z, A-Z, U+00C0-U+00FF
+    private static final byte CHIFFRE = 2;       // 0-9
+    private static final byte APOSTROPHE = 4;    // ' et -
+    private static final byte LOCAL_EMAIL = 8;   // a-z, A-Z, 0-9, . _ % + -
+    private static final byte DOMAINE = 16;      // a-z, A-Z, 0-9, . -
+    private static final byte[] CLASSES = new byte[256];
+
+    // Table de suppression des accents, pour les caractères < LIMITE_TABLE
+    private static final int LIMITE_TABLE = 0x2100;
+    private static final char SUPPRIME = '\uFFFF';
+    private static final char LENT = '\uFFFE';
+    private static final char[] SANS_ACCENT = new char[LIMITE_TABLE];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] |= LETTRE | LOCAL_EMAIL | DOMAINE;
+            CLASSES[Character.toUpperCase(c)] |= LETTRE | LOCAL_EMAIL | DOMAINE;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            CLASSES[c] |= CHIFFRE | LOCAL_EMAIL | DOMAINE;
+        }
+        for (char c = 'À'; c <= 'ÿ'; c++) {
+            CLASSES[c] |= LETTRE;
+        }
+        CLASSES['\''] |= APOSTROPHE;
+        CLASSES['-'] |= APOSTROPHE | LOCAL_EMAIL | DOMAINE;
+        CLASSES['.'] |= LOCAL_EMAIL | DOMAINE;
+        CLASSES['_'] |= LOCAL_EMAIL;
+        CLASSES['%'] |= LOCAL_EMAIL;
+        CLASSES['+'] |= LOCAL_EMAIL;
+
+        for (int c = 0; c < LIMITE_TABLE; c++) {
+            SANS_ACCENT[c] = calculerSansAccent((char) c);
+        }
+    }
+
+    private MoteurTexte() {
+        // Classe utilitaire, constructeur privé
+    }
+
+    /**
+     * Forme sans accent d'un caractère isolé, telle que la produit
+     * l'implémentation d'origine.
+     */
+    private static char calculerSansAccent(char c) {
+        if (c < 0x80) {
+            return c;
+        }
+        if (c >= '\u0300' && c <= '\u036F') {
+            return SUPPRIME;
+        }
+        int type = Character.getType(c);
+        if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK
+                || type == Character.COMBINING_SPACING_MARK) {
+            // Marque hors du bloc supprimé : la décomposition peut la réordonner
+            return LENT;
+        }
+        String resultat = sansAccentsLent(String.valueOf(c));
+        return resultat.length() == 1 ? resultat.charAt(0) : LENT;
+    }
+
+    private static String sansAccentsLent(String texte) {
+        String normalized = Normalizer.normalize(texte, Normalizer.Form.NFD);
+        return DIACRITIQUES.matcher(normalized).replaceAll("");
+    }
+
+    /**
+     * Indice du premier caractère conservé par {@link String#trim()}.
+     */
+    private static int debut(CharSequence texte) {
+        int debut = 0;
+        int fin = texte.length();
+        while (debut < fin && texte.charAt(debut) <= ' ') {
+            debut++;
+        }
+        return debut;
+    }
+
+    /**
+     * Indice qui suit le dernier caractère conservé par
+     * {@link String#trim()}.
+     */
+    private static int fin(CharSequence texte, int debut) {
+        int fin = texte.length();
+        while (fin > debut && texte.charAt(fin - 1) <= ' ') {
+            fin--;
+        }
+        return fin;
+    }
+
+    /**
+     * Équivalent de {@code texte.trim().length()}.
+     *
+     * @return La longueur, 0 si le texte est null
+     */
+    public static int longueurUtile(CharSequence texte) {
+        if (texte == null) {
+            return 0;
+        }
+        int debut = debut(texte);
+        return fin(texte, debut) - debut;
+    }
+
+    /**
+     * Équivalent de {@code texte == null || texte.trim().isEmpty()}.
+     */
+    public static boolean estVide(CharSequence texte) {
+        return texte == null || debut(texte) == texte.length();
+    }
+
+    /**
+     * Blanc au sens de {@code \s} avec {@link Pattern#UNICODE_CHARACTER_CLASS}
+     * (propriété Unicode White_Space).
+     */
+    private static boolean estBlancUnicode(char c) {
+        return (c >= '\t' && c <= '\r') || c == '\u0085'
+                || ((((1 << Character.SPACE_SEPARATOR) | (1 << Character.LINE_SEPARATOR)
+                | (1 << Character.PARAGRAPH_SEPARATOR)) >> Character.getType(c)) & 1) != 0;
+    }
+
+    /**
+     * Vérifie que le texte, débarrassé de ses blancs de début et de fin, ne
+     * contient que des caractères des classes données (ou des blancs), et que
+     * sa longueur est dans l'intervalle.
+     */
+    private static boolean verifier(CharSequence texte, int classes, int min, int max) {
+        if (texte == null) {
+            return false;
+        }
+        int debut = debut(texte);
+        int fin = fin(texte, debut);
+        int longueur = fin - debut;
+        if (longueur < min || longueur > max) {
+            return false;
+        }
+        for (int i = debut; i < fin; i++) {
+            char c = texte.charAt(i);
+            if (c < 256 ? (CLASSES[c] & classes) == 0 && !estBlancUnicode(c) : !estBlancUnicode(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Valide un nom : 2 à 50 lettres (dont U+00C0-U+00FF), blancs,
+     * apostrophes ou tirets, comme {@code ^[a-zA-ZÀ-ÿ\s'-]{2,50}$} appliquée
+     * au texte sans ses blancs de début et de fin.
+     */
+    public static boolean estNom(CharSequence texte) {
+        return verifier(texte, LETTRE | APOSTROPHE, 2, 50);
+    }
+
+    /**
+     * Valide un titre : 3 à 300 lettres, chiffres, blancs, apostrophes ou
+     * tirets, comme {@code ^[a-zA-ZÀ-ÿ0-9\s'-]{3,300}$} appliquée au texte
+     * sans ses blancs de début et de fin.
+     */
+    public static boolean estTitre(CharSequence texte) {
+        return verifier(texte, LETTRE | CHIFFRE | APOSTROPHE, 3, 300);
+    }
+
+    /**
+     * Valide une adresse email, comme
+     * {@code ^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,}$} appliquée au
+     * texte sans ses blancs de début et de fin : partie locale non vide, un
+     * seul @, domaine dont le dernier point est précédé d'au moins un
+     * caractère et suivi d'au moins deux lettres.
+     */
+    public static boolean estEmail(CharSequence texte) {
+        if (texte == null) {
+            return false;
+        }
+        int debut = debut(texte);
+        int fin = fin(texte, debut);
+        int arobase = -1;
+        int dernierPoint = -1;
+        boolean suffixeEnLettres = true;
+        for (int i = debut; i < fin; i++) {
+            char c = texte.charAt(i);
+            if (c >= 256) {
+                return false;
+            }
+            if (arobase < 0) {
+                if (c == '@') {
+                    if (i == debut) {
+                        return false;
+                    }
+                    arobase = i;
+                } else if ((CLASSES[c] & LOCAL_EMAIL) == 0) {
+                    return false;
+                }
+            } else if ((CLASSES[c] & DOMAINE) == 0) {
+                return false;
+            } else if (c == '.') {
+                dernierPoint = i;
+                suffixeEnLettres = true;
+            } else if ((CLASSES[c] & LETTRE) == 0 || c >= 0x80) {
+                suffixeEnLettres = false;
+            }
+        }
+        return arobase >= 0 && dernierPoint > arobase + 1 && fin - dernierPoint - 1 >= 2 && suffixeEnLettres;
+    }
+
+    /**
+     * Équivalent de {@code texte.replaceAll("\\s+", " ").trim()} : chaque
+     * suite d'espaces, tabulations ou sauts de ligne devient une espace, et
+     * les caractères de contrôle de début et de fin sont retirés.
+     *
+     * @return Le texte nettoyé ({@code texte} lui-même s'il n'y a rien à
+     * changer), ou une chaîne vide si le texte est null
+     */
+    public static String nettoyer(CharSequence texte) {
+        if (texte == null) {
+            return "";
+        }
+        int debut = debut(texte);
+        int fin = fin(texte, debut);
+        // Premier caractère à modifier : blanc autre qu'une espace, ou second blanc d'une suite
+        int premier = -1;
+        for (int i = debut; i < fin && premier < 0; i++) {
+            char c = texte.charAt(i);
+            if (estBlancAscii(c) && (c != ' ' || estBlancAscii(texte.charAt(i + 1)))) {
+                premier = i;
+            }
+        }
+        if (premier < 0) {
+            return texte.subSequence(debut, fin).toString();
+        }
+        char[] resultat = new char[fin - debut];
+        int longueur = 0;
+        for (int i = debut; i < premier; i++) {
+            resultat[longueur++] = texte.charAt(i);
+        }
+        boolean dansBlanc = false;
+        for (int i = premier; i < fin; i++) {
+            char c = texte.charAt(i);
+            if (estBlancAscii(c)) {
+                if (!dansBlanc) {
+                    resultat[longueur++] = ' ';
+                    dansBlanc = true;
+                }
+            } else {
+                resultat[longueur++] = c;
+                dansBlanc = false;
+            }
+        }
+        return new String(resultat, 0, longueur);
+    }
+
+    /**
+     * Blanc au sens de {@code \s} sans option : espace, tabulations, sauts
+     * de ligne et de page.
+     */
+    private static boolean estBlancAscii(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * Supprime les accents, comme la décomposition {@link Normalizer} suivie
+     * de la suppression des marques U+0300-U+036F.
+     *
+     * @return Le texte sans accents ({@code texte} lui-même s'il n'en a pas),
+     * ou une chaîne vide si le texte est null
+     */
+    public static String sansAccents(CharSequence texte) {
+        return convertir(texte, false);
+    }
+
+    /**
+     * Supprime les accents et met en minuscules ({@link Locale#ROOT}), en un
+     * seul parcours.
+     *
+     * @return Le texte normalisé, ou une chaîne vide si le texte est null
+     */
+    public static String normaliser(CharSequence texte) {
+        return convertir(texte, true);
+    }
+
+    private static String convertir(CharSequence texte, boolean minuscules) {
+        if (texte == null) {
+            return "";
+        }
+        int n = texte.length();
+        char[] resultat = null;
+        int longueur = 0;
+        for (int i = 0; i < n; i++) {
+            char c = texte.charAt(i);
+            char converti;
+            if (c < 0x80) {
+                converti = minuscules && c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+            } else if (c >= LIMITE_TABLE || SANS_ACCENT[c] == LENT) {
+                return convertirLent(texte, minuscules);
+            } else {
+                converti = SANS_ACCENT[c];
+                if (minuscules && converti != SUPPRIME) {
+                    // Le sigma final dépend du contexte : seul String#toLowerCase le traite
+                    if (converti == '\u03A3') {
+                        return convertirLent(texte, true);
+                    }
+                    converti = Character.toLowerCase(converti);
+                }
+            }
+            if (resultat == null) {
+                if (converti == c) {
+                    continue;
+                }
+                // Premier changement : copie de ce qui précède, inchangé
+                resultat = new char[n];
+                for (int j = 0; j < i; j++) {
+                    resultat[j] = texte.charAt(j);
+                }
+                longueur = i;
+            }
+            if (converti != SUPPRIME) {
+                resultat[longueur++] = converti;
+            }
+        }
+        return resultat == null ? texte.toString() : new String(resultat, 0, longueur);
+    }
+
+    private static String convertirLent(CharSequence texte, boolean minuscules) {
+        String resultat = sansAccentsLent(texte.toString());
+        return minuscules ? resultat.toLowerCase(Locale.ROOT) : resultat;
+    }
+}
@@ -0,0 +1,177 @@
+package app.project_fin_d_etude.utils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exécuteur qui lance un thread par tâche (destiné aux threads virtuels) et
+ * borne le nombre de tâches exécutées simultanément par un sémaphore.
+ *
+ * Une tâche au-delà de la limite attend son tour dans son propre thread : avec
+ * des threads virtuels, cette attente ne coûte presque rien. Le nombre de
+ * tâches en attente peut lui-même être borné : au-delà, la soumission est
+ * refusée ({@link RejectedExecutionException}), comme avec une file pleine.
+ */
+public class SemaphoreBoundedExecutor extends AbstractExecutorService {
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore permis;
+    private final int concurrenceMax;
+    private final int attenteMax;
+    private final AtomicInteger soumises = new AtomicInteger();
+    private final LongAdder refusees = new LongAdder();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private volatile boolean arrete;
+
+    /**
+     * @param threadFactory Fabrique des threads, un par tâche
+     * @param concurrenceMax Nombre maximal de tâches exécutées simultanément
+     * @param attenteMax Nombre maximal de tâches en attente d'un permis, ou
+     * une valeur négative pour ne pas le borner
+     */
+    public SemaphoreBoundedExecutor(ThreadFactory threadFactory, int concurrenceMax, int attenteMax) {
+        if (concurrenceMax <= 0) {
+            throw new IllegalArgumentException("La concurrence maximale doit être positive");
+        }
+        this.threadFactory = threadFactory;
+        this.permis = new Semaphore(concurrenceMax, true);
+        this.concurrenceMax = concurrenceMax;
+        this.attenteMax = attenteMax;
+    }
+
+    /**
+     * Fabrique de threads virtuels nommés {@code prefixe0}, {@code prefixe1}...
+     * Les threads virtuels n'existent qu'à partir de Java 21 : la fabrique est
+     * obtenue par réflexion pour que l'application compile aussi en Java 17.
+     *
+     * @throws IllegalStateException si la JVM ne fournit pas de threads
+     * virtuels
+     */
+    public static ThreadFactory fabriqueVirtuelle(String prefixe) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefixe, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Threads virtuels indisponibles (Java 21 requis, JVM "
+                    + Runtime.version().feature() + ")", e);
+        }
+    }
+
+    /**
+     * Indique si la JVM fournit des threads virtuels.
+     */
+    public static boolean threadsVirtuelsDisponibles() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    @Override
+    public void execute(Runnable tache) {
+        if (arrete) {
+            throw new RejectedExecutionException("Exécuteur arrêté");
+        }
+        int enCours = soumises.incrementAndGet();
+        if (attenteMax >= 0 && enCours > concurrenceMax + attenteMax) {
+            soumises.decrementAndGet();
+            refusees.increment();
+            throw new RejectedExecutionException("Trop de tâches en attente (" + attenteMax + " max)");
+        }
+        Thread thread = threadFactory.newThread(() -> {
+            try {
+                permis.acquire();
+                try {
+                    tache.run();
+                } finally {
+                    permis.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                threads.remove(Thread.currentThread());
+                terminer();
+            }
+        });
+        threads.add(thread);
+        thread.start();
+    }
+
+    /**
+     * Nombre de tâches soumises et non terminées (en cours ou en attente).
+     */
+    public int getTachesActives() {
+        return soumises.get();
+    }
+
+    /**
+     * Nombre de tâches en cours d'exécution.
+     */
+    public int getTachesEnCours() {
+        return concurrenceMax - permis.availablePermits();
+    }
+
+    /**
+     * Nombre de tâches en attente d'un permis.
+     */
+    public int getTachesEnAttente() {
+        return Math.max(0, soumises.get() - getTachesEnCours());
+    }
+
+    /**
+     * Nombre de tâches refusées depuis la création de l'exécuteur.
+     */
+    public long getTachesRefusees() {
+        return refusees.sum();
+    }
+
+    private void terminer() {
+        if (soumises.decrementAndGet() == 0 && arrete) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        arrete = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        arrete = true;
+        threads.forEach(Thread::interrupt);
+        return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return arrete;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return arrete && soumises.get() == 0;
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long limite = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            long restant = limite - System.nanoTime();
+            if (restant <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, restant);
+        }
+        return true;
+    }
+}
@@ -1,7 +1,6 @@
 package app.project_fin_d_etude.utils;
 
-import java.text.Normalizer;
-import java.util.regex.Pattern;
+import java.util.Locale;
 
 /**
  * Utilitaires pour le traitement de texte (troncature, nettoyage, suppression
@@ -37,7 +36,7 @@ public class TextUtils {
      * @return Le texte nettoyé
      */
     public static String clean(String texte) {
-        return texte == null ? "" : texte.replaceAll("\\s+", " ").trim();
+        return MoteurTexte.nettoyer(texte);
     }
 
     /**
@@ -47,11 +46,62 @@ public class TextUtils {
      * @return Le texte sans accents
      */
     public static String removeAccents(String texte) {
-        if (texte == null) {
-            return "";
+        return MoteurTexte.sansAccents(texte);
+    }
+
+    /**
+     * Normalise un texte pour la recherche : suppression des accents et mise
+     * en minuscules.
+     *
+     * @param texte Le texte à normaliser
+     * @return Le texte normalisé
+     */
+    public static String normaliser(String texte) {
+        return MoteurTexte.normaliser(texte);
+    }
+
+    /**
+     * Construit le motif LIKE d'un filtre saisi par l'utilisateur : mis en
+     * minuscules, caractères spéciaux de LIKE échappés, entouré de "%".
+     *
+     * @param filtre Le texte du filtre
+     * @return Le motif, ou null si le filtre est vide (aucun filtrage)
+     */
+    public static String motifRecherche(String filtre) {
+        if (filtre == null || filtre.isBlank()) {
+            return null;
+        }
+        String echappe = filtre.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + echappe + "%";
+    }
+
+    /**
+     * Calcule la distance de Levenshtein (insertions, suppressions,
+     * substitutions) entre deux chaînes.
+     *
+     * @param a Première chaîne
+     * @param b Seconde chaîne
+     * @return Le nombre minimal de modifications pour passer de a à b
+     */
+    public static int distanceLevenshtein(String a, String b) {
+        int[] precedente = new int[b.length() + 1];
+        int[] courante = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            precedente[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            courante[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cout = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                courante[j] = Math.min(Math.min(courante[j - 1] + 1, precedente[j] + 1), precedente[j - 1] + cout);
+            }
+            int[] echange = precedente;
+            precedente = courante;
+            courante = echange;
         }
-        String normalized = Normalizer.normalize(texte, Normalizer.Form.NFD);
-        Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
-        return pattern.matcher(normalized).replaceAll("");
+        return precedente[b.length()];
     }
 }
@@ -17,18 +17,7 @@ public final class ValidationUtils {
     private static final Logger logger = LoggerFactory.getLogger(ValidationUtils.class);
 
     // Patterns de validation optimisés
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-            "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$",
-            Pattern.CASE_INSENSITIVE
-    );
-    private static final Pattern NAME_PATTERN = Pattern.compile(
-            "^[a-zA-ZÀ-ÿ\\s'-]{2,50}$",
-            Pattern.UNICODE_CHARACTER_CLASS
-    );
-    private static final Pattern TITLE_PATTERN = Pattern.compile(
-            "^[a-zA-ZÀ-ÿ0-9\\s'-]{3,300}$",
-            Pattern.UNICODE_CHARACTER_CLASS
-    );
+    // Email, nom et titre : voir MoteurTexte (un seul parcours, sans expression régulière)
     private static final Pattern PHONE_PATTERN = Pattern.compile(
             "^[+]?[0-9\\s()-]{10,15}$"
     );
@@ -68,49 +57,49 @@ public final class ValidationUtils {
      * Valide qu'un champ TextField n'est pas vide.
      */
     public static boolean isFieldNotEmpty(TextField field) {
-        return field != null && field.getValue() != null && !field.getValue().trim().isEmpty();
+        return field != null && !MoteurTexte.estVide(field.getValue());
     }
 
     /**
      * Valide qu'un champ TextArea n'est pas vide.
      */
     public static boolean isFieldNotEmpty(TextArea field) {
-        return field != null && field.getValue() != null && !field.getValue().trim().isEmpty();
+        return field != null && !MoteurTexte.estVide(field.getValue());
     }
 
     /**
      * Valide qu'une chaîne n'est pas vide.
      */
     public static boolean isStringNotEmpty(String value) {
-        return value != null && !value.trim().isEmpty();
+        return !MoteurTexte.estVide(value);
     }
 
     /**
      * Valide qu'une chaîne n'est pas null et a une longueur minimale.
      */
     public static boolean isStringNotEmpty(String value, int minLength) {
-        return value != null && value.trim().length() >= minLength;
+        return value != null && MoteurTexte.longueurUtile(value) >= minLength;
     }
 
     /**
      * Valide une adresse email.
      */
     public static boolean isValidEmail(String email) {
-        return email != null && EMAIL_PATTERN.matcher(email.trim()).matches();
+        return MoteurTexte.estEmail(email);
     }
 
     /**
      * Valide un nom (prénom, nom de famille).
      */
     public static boolean isValidName(String name) {
-        return name != null && NAME_PATTERN.matcher(name.trim()).matches();
+        return MoteurTexte.estNom(name);
     }
 
     /**
      * Valide un titre d'article.
      */
     public static boolean isValidTitle(String title) {
-        return title != null && TITLE_PATTERN.matcher(title.trim()).matches();
+        return MoteurTexte.estTitre(title);
     }
 
     /**
@@ -120,8 +109,8 @@ public final class ValidationUtils {
         if (content == null) {
             return false;
         }
-        String trimmed = content.trim();
-        return trimmed.length() >= MIN_CONTENT_LENGTH && trimmed.length() <= MAX_CONTENT_LENGTH;
+        int length = MoteurTexte.longueurUtile(content);
+        return length >= MIN_CONTENT_LENGTH && length <= MAX_CONTENT_LENGTH;
     }
 
     /**
@@ -131,8 +120,8 @@ public final class ValidationUtils {
         if (subject == null) {
             return false;
         }
-        String trimmed = subject.trim();
-        return trimmed.length() >= MIN_SUBJECT_LENGTH && trimmed.length() <= MAX_SUBJECT_LENGTH;
+        int length = MoteurTexte.longueurUtile(subject);
+        return length >= MIN_SUBJECT_LENGTH && length <= MAX_SUBJECT_LENGTH;
     }
 
     /**
@@ -156,7 +145,7 @@ public final class ValidationUtils {
         if (value == null) {
             return false;
         }
-        int length = value.trim().length();
+        int length = MoteurTexte.longueurUtile(value);
         return length >= minLength && length <= maxLength;
     }
 
@@ -164,14 +153,14 @@ public final class ValidationUtils {
      * Valide qu'une chaîne ne dépasse pas une longueur maximale.
      */
     public static boolean isNotTooLong(String value, int maxLength) {
-        return value == null || value.trim().length() <= maxLength;
+        return MoteurTexte.longueurUtile(value) <= maxLength;
     }
 
     /**
      * Valide qu'une chaîne a au moins une longueur minimale.
      */
     public static boolean isNotTooShort(String value, int minLength) {
-        return value != null && value.trim().length() >= minLength;
+        return value != null && MoteurTexte.longueurUtile(value) >= minLength;
     }
 
     /**
@@ -241,7 +230,7 @@ public final class ValidationUtils {
             return ValidationResult.error(ERROR_FIELD_REQUIRED);
         }
         if (!isValidContent(contentField.getValue())) {
-            if (contentField.getValue().trim().length() < MIN_CONTENT_LENGTH) {
+            if (MoteurTexte.longueurUtile(contentField.getValue()) < MIN_CONTENT_LENGTH) {
                 return ValidationResult.error(ERROR_CONTENT_TOO_SHORT);
             } else {
                 return ValidationResult.error(ERROR_CONTENT_TOO_LONG);
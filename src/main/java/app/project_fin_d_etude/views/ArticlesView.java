@@ -1,8 +1,6 @@
 package app.project_fin_d_etude.views;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Paragraph;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
@@ -18,6 +17,7 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.progressbar.ProgressBar;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
@@ -26,13 +26,20 @@ import com.vaadin.flow.theme.lumo.LumoUtility;
 import app.project_fin_d_etude.components.BlogPostCard;
 import app.project_fin_d_etude.layout.MainLayout;
 import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.model.PostSummary;
+import app.project_fin_d_etude.model.PostCursor;
 import app.project_fin_d_etude.presenter.PostPresenter;
+import app.project_fin_d_etude.service.TitreAutocompleteIndex;
 import app.project_fin_d_etude.utils.AsyncDataLoader;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone;
+import app.project_fin_d_etude.utils.KeysetPage;
+import app.project_fin_d_etude.utils.SecurityUtils;
 import app.project_fin_d_etude.utils.VaadinUtils;
 
 /**
  * Vue affichant la liste des articles (posts) avec pagination. Les posts sont
- * affichés automatiquement après chargement.
+ * affichés automatiquement après chargement, page par page : la page suivante
+ * n'est lue qu'à la demande, à partir du curseur de la page précédente.
  */
 @Route(value = "articles", layout = MainLayout.class)
 @PageTitle("Articles")
@@ -43,14 +50,22 @@ public class ArticlesView extends VerticalLayout implements PostPresenter.PostVi
     private static final String NO_ARTICLES = "Aucun article trouvé.";
     private static final String LOADING_ARTICLES = "Chargement des articles...";
     private static final String SEARCH_PLACEHOLDER = "Titre de l'article";
+    private static final String LOAD_MORE = "Charger plus d'articles";
+    private static final int ARTICLES_PAR_PAGE = 12;
+    private static final int NB_SUGGESTIONS = 8;
+    // Délai sans frappe avant de proposer des titres
+    private static final int DELAI_SUGGESTIONS_MS = 250;
 
     private final PostPresenter postPresenter;
     private final FlexLayout gridContainer = new FlexLayout();
     private final AsyncDataLoader asyncDataLoader;
     private String currentKeyword = null;
     private VerticalLayout loader;
+    private final Button loadMoreButton = new Button(LOAD_MORE);
+    private final VerticalLayout suggestionsBox = new VerticalLayout();
+    private PostCursor nextCursor;
     @Autowired
-    private Executor taskExecutor;
+    private ExecutionAsynchrone execution;
 
     /**
      * Constructeur de la vue Articles. Les posts sont chargés et affichés
@@ -66,7 +81,7 @@ public class ArticlesView extends VerticalLayout implements PostPresenter.PostVi
         add(createMainSection());
 
         // Barre de recherche centrée dans un conteneur
-        VerticalLayout searchBarContainer = new VerticalLayout(createSearchBar());
+        VerticalLayout searchBarContainer = new VerticalLayout(createSearchBar(), createSuggestionsBox());
         searchBarContainer.setWidthFull();
         searchBarContainer.setAlignItems(Alignment.CENTER);
         searchBarContainer.addClassName("articles-search-bar-container");
@@ -90,6 +105,13 @@ public class ArticlesView extends VerticalLayout implements PostPresenter.PostVi
                 .set("justify-content", "center");
         gridContainer.getStyle().set("box-sizing", "border-box");
         add(gridContainer);
+
+        loadMoreButton.setVisible(false);
+        loadMoreButton.addClickListener(e -> chargerPageSuivante());
+        VerticalLayout loadMoreContainer = new VerticalLayout(loadMoreButton);
+        loadMoreContainer.setWidthFull();
+        loadMoreContainer.setAlignItems(Alignment.CENTER);
+        add(loadMoreContainer);
     }
 
     @Override
@@ -97,68 +119,46 @@ public class ArticlesView extends VerticalLayout implements PostPresenter.PostVi
         super.onAttach(attachEvent);
         logger.info("onAttach appelé, initialAttach: {}", attachEvent.isInitialAttach());
         if (attachEvent.isInitialAttach()) {
-            logger.info("Début du chargement des articles");
-            Paragraph loadingMessage = new Paragraph(LOADING_ARTICLES);
-            loadingMessage.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.TextAlignment.CENTER, LumoUtility.FontSize.LARGE);
-            gridContainer.add(loadingMessage);
-            // Affichage de données fictives d'abord
-            logger.info("Test avec des données fictives");
-            List<Post> testPosts = createTestPosts();
-            getUI().ifPresent(ui -> ui.access(() -> {
-                gridContainer.removeAll();
-                gridContainer.getElement().getChildren().forEach(child -> child.removeFromParent());
-                afficherPosts(testPosts);
-            }));
-            // Chargement réel en asynchrone
-            taskExecutor.execute(() -> {
-                try {
-                    List<Post> posts = postPresenter.getAllPostsSync();
-                    logger.info("Chargement asynchrone réussi: {} posts", posts != null ? posts.size() : 0);
-                    getUI().ifPresent(ui -> ui.access(() -> {
-                        gridContainer.removeAll();
-                        gridContainer.getElement().getChildren().forEach(child -> child.removeFromParent());
-                        afficherPosts(posts);
-                    }));
-                } catch (Exception e) {
-                    logger.error("Erreur lors du chargement asynchrone: {}", e.getMessage(), e);
-                    getUI().ifPresent(ui -> ui.access(() -> {
-                        gridContainer.removeAll();
-                        gridContainer.getElement().getChildren().forEach(child -> child.removeFromParent());
-                        Paragraph errorMsg = new Paragraph("Erreur lors du chargement des articles depuis la base de données. Affichage des données de test.");
-                        errorMsg.getStyle().set("color", "orange").set("font-weight", "bold").set("font-size", "1.2em");
-                        gridContainer.add(errorMsg);
-                        afficherPosts(testPosts);
-                        Button retryButton = new Button("Réessayer", event -> {
-                            gridContainer.removeAll();
-                            gridContainer.getElement().getChildren().forEach(child -> child.removeFromParent());
-                            onAttach(attachEvent);
-                        });
-                        gridContainer.add(retryButton);
-                    }));
-                }
-            });
+            chargerPremierePage();
         }
     }
 
-    private List<Post> createTestPosts() {
-        List<Post> testPosts = new ArrayList<>();
-        Post testPost1 = new Post();
-        testPost1.setId(1L);
-        testPost1.setTitre("Article de test 1");
-        testPost1.setContenu("Ceci est le contenu du premier article de test. Il contient du texte pour tester l'affichage des articles.");
-        testPost1.setAuteurNom("Admin Test");
-        testPost1.setAuteurEmail("admin@test.com");
-        testPost1.setDatePublication(java.time.LocalDateTime.now().minusDays(1));
-        Post testPost2 = new Post();
-        testPost2.setId(2L);
-        testPost2.setTitre("Article de test 2");
-        testPost2.setContenu("Ceci est le contenu du deuxième article de test. Il permet de vérifier que plusieurs articles s'affichent correctement.");
-        testPost2.setAuteurNom("Utilisateur Test");
-        testPost2.setAuteurEmail("user@test.com");
-        testPost2.setDatePublication(java.time.LocalDateTime.now().minusHours(6));
-        testPosts.add(testPost1);
-        testPosts.add(testPost2);
-        return testPosts;
+    /**
+     * Affiche un message de chargement puis la première page d'articles, lue
+     * hors du thread de l'interface. En cas d'échec, un message d'erreur et
+     * un bouton pour réessayer remplacent la liste.
+     */
+    private void chargerPremierePage() {
+        logger.info("Début du chargement des articles");
+        viderListe();
+        Paragraph loadingMessage = new Paragraph(LOADING_ARTICLES);
+        loadingMessage.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.TextAlignment.CENTER, LumoUtility.FontSize.LARGE);
+        gridContainer.add(loadingMessage);
+        execution.executer(ExecutionAsynchrone.Charge.BASE, () -> {
+            try {
+                KeysetPage<PostSummary, PostCursor> page = postPresenter.getPostsPageSync(null, ARTICLES_PAR_PAGE);
+                logger.info("Chargement asynchrone réussi: {} posts", page.items().size());
+                getUI().ifPresent(ui -> execution.pousser(ui, () -> {
+                    viderListe();
+                    afficherPosts(page.items());
+                    majPagination(page.nextCursor());
+                }));
+            } catch (Exception e) {
+                logger.error("Erreur lors du chargement asynchrone: {}", e.getMessage(), e);
+                getUI().ifPresent(ui -> execution.pousser(ui, () -> {
+                    viderListe();
+                    Paragraph errorMsg = new Paragraph("Erreur lors du chargement des articles depuis la base de données.");
+                    errorMsg.getStyle().set("color", "red").set("font-weight", "bold").set("font-size", "1.2em");
+                    gridContainer.add(errorMsg);
+                    gridContainer.add(new Button("Réessayer", event -> chargerPremierePage()));
+                }));
+            }
+        });
+    }
+
+    private void viderListe() {
+        gridContainer.removeAll();
+        gridContainer.getElement().getChildren().forEach(child -> child.removeFromParent());
     }
 
     private VerticalLayout createMainSection() {
@@ -204,13 +204,31 @@ public class ArticlesView extends VerticalLayout implements PostPresenter.PostVi
         searchField.setWidth("350px");
         searchField.getStyle().set("border-radius", "10px").set("padding", "8px");
         searchField.setClearButtonVisible(true);
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.setValueChangeTimeout(DELAI_SUGGESTIONS_MS);
+        searchField.addValueChangeListener(e -> {
+            if (e.isFromClient()) {
+                afficherSuggestions(postPresenter.suggererTitres(e.getValue(), NB_SUGGESTIONS));
+            }
+        });
 
         Button searchButton = new Button("RECHERCHER", e -> {
             String keyword = searchField.getValue();
-            taskExecutor.execute(() -> {
-                List<Post> result = postPresenter.searchAllPosts(keyword);
-                getUI().ifPresent(ui -> ui.access(() -> {
+            afficherSuggestions(List.of());
+            execution.executer(ExecutionAsynchrone.Charge.BASE, () -> {
+                if (keyword == null || keyword.isBlank()) {
+                    // Recherche vide : retour au fil paginé plutôt qu'une lecture de toute la table
+                    KeysetPage<PostSummary, PostCursor> page = postPresenter.getPostsPageSync(null, ARTICLES_PAR_PAGE);
+                    getUI().ifPresent(ui -> execution.pousser(ui, () -> {
+                        afficherPosts(page.items());
+                        majPagination(page.nextCursor());
+                    }));
+                    return;
+                }
+                List<PostSummary> result = postPresenter.searchAllPosts(keyword);
+                getUI().ifPresent(ui -> execution.pousser(ui, () -> {
                     afficherPosts(result);
+                    majPagination(null);
                 }));
             });
         });
@@ -222,12 +240,52 @@ public class ArticlesView extends VerticalLayout implements PostPresenter.PostVi
         return searchBar;
     }
 
+    /**
+     * Crée la liste de suggestions affichée sous la barre de recherche.
+     */
+    private VerticalLayout createSuggestionsBox() {
+        suggestionsBox.setPadding(false);
+        suggestionsBox.setSpacing(false);
+        suggestionsBox.setWidth("350px");
+        suggestionsBox.addClassNames(LumoUtility.Background.BASE, LumoUtility.BorderRadius.MEDIUM, LumoUtility.BoxShadow.SMALL);
+        suggestionsBox.addClassName("articles-search-suggestions");
+        suggestionsBox.setVisible(false);
+        return suggestionsBox;
+    }
+
+    /**
+     * Remplace les suggestions de titres affichées. Un clic sur une
+     * suggestion ouvre l'article.
+     */
+    private void afficherSuggestions(List<TitreAutocompleteIndex.Suggestion> suggestions) {
+        suggestionsBox.removeAll();
+        suggestions.forEach(suggestion -> {
+            Button item = new Button(suggestion.titre(), e -> ouvrirArticle(suggestion.id()));
+            item.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
+            item.setWidthFull();
+            item.getStyle().set("justify-content", "flex-start");
+            suggestionsBox.add(item);
+        });
+        suggestionsBox.setVisible(!suggestions.isEmpty());
+    }
+
+    /**
+     * Ouvre le détail d'un article, en passant par la connexion si besoin.
+     */
+    private void ouvrirArticle(Long postId) {
+        if (!SecurityUtils.isUserAuthenticated()) {
+            getUI().ifPresent(ui -> ui.getPage().setLocation("/oauth2/authorization/keycloak"));
+        } else {
+            getUI().ifPresent(ui -> ui.navigate("/user/article/" + postId));
+        }
+    }
+
     /**
      * Affiche la liste des posts dans le conteneur principal. Appelée
      * automatiquement après chargement des posts.
      */
     @Override
-    public void afficherPosts(List<Post> posts) {
+    public void afficherPosts(List<PostSummary> posts) {
         getUI().ifPresent(ui -> ui.access(() -> {
             // Suppression explicite de tous les overlays/loaders enfants
             gridContainer.getElement().getChildren()
@@ -253,6 +311,43 @@ public class ArticlesView extends VerticalLayout implements PostPresenter.PostVi
         }));
     }
 
+    /**
+     * Charge la page suivante à partir du curseur courant et ajoute ses
+     * articles à la suite de ceux déjà affichés.
+     */
+    private void chargerPageSuivante() {
+        final PostCursor cursor = nextCursor;
+        if (cursor == null) {
+            return;
+        }
+        loadMoreButton.setEnabled(false);
+        execution.executer(ExecutionAsynchrone.Charge.BASE, () -> {
+            try {
+                KeysetPage<PostSummary, PostCursor> page = postPresenter.getPostsPageSync(cursor, ARTICLES_PAR_PAGE);
+                getUI().ifPresent(ui -> execution.pousser(ui, () -> {
+                    page.items().forEach(post -> gridContainer.add(new BlogPostCard(post)));
+                    majPagination(page.nextCursor());
+                }));
+            } catch (Exception ex) {
+                logger.error("Erreur lors du chargement de la page suivante: {}", ex.getMessage(), ex);
+                getUI().ifPresent(ui -> execution.pousser(ui, () -> {
+                    loadMoreButton.setEnabled(true);
+                    VaadinUtils.showErrorNotification("Erreur lors du chargement des articles suivants.");
+                }));
+            }
+        });
+    }
+
+    /**
+     * Mémorise le curseur de la page suivante et affiche le bouton de
+     * chargement s'il reste des articles.
+     */
+    private void majPagination(PostCursor cursor) {
+        nextCursor = cursor;
+        loadMoreButton.setEnabled(true);
+        loadMoreButton.setVisible(cursor != null);
+    }
+
     private void showLoader() {
         if (loader == null) {
             loader = new VerticalLayout();
@@ -190,9 +190,4 @@ public class ContactView extends VerticalLayout implements MessagePresenter.Mess
     public void afficherErreur(String erreur) {
         VaadinUtils.showErrorNotification(erreur);
     }
-
-    @Override
-    public void afficherMessages(java.util.List<app.project_fin_d_etude.model.Message> messages) {
-        // Non utilisé dans ContactView
-    }
 }
@@ -22,6 +22,7 @@ import com.vaadin.flow.theme.lumo.LumoUtility;
 
 import app.project_fin_d_etude.layout.MainLayout;
 import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.model.PostSummary;
 import app.project_fin_d_etude.presenter.PostPresenter;
 import app.project_fin_d_etude.utils.VaadinUtils;
 import app.project_fin_d_etude.utils.ValidationUtils;
@@ -231,7 +232,7 @@ public class CreatePostView extends VerticalLayout implements PostPresenter.Post
     }
 
     @Override
-    public void afficherPosts(List<Post> posts) {
+    public void afficherPosts(List<PostSummary> posts) {
         // Non utilisé dans cette vue.
 
     }
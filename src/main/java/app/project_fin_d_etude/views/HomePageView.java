@@ -2,9 +2,7 @@
 package app.project_fin_d_etude.views;
 
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +12,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 
 import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Paragraph;
@@ -29,6 +28,7 @@ import com.vaadin.flow.server.VaadinSession;
 import app.project_fin_d_etude.components.BlogPostCard;
 import app.project_fin_d_etude.layout.MainLayout;
 import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.model.PostSummary;
 import app.project_fin_d_etude.presenter.PostPresenter;
 import app.project_fin_d_etude.utils.AsyncDataLoader;
 import app.project_fin_d_etude.utils.VaadinUtils;
@@ -48,8 +48,6 @@ public class HomePageView extends VerticalLayout implements PostPresenter.PostVi
     private VerticalLayout postsContainer;
     private final PostPresenter postPresenter;
     private final AsyncDataLoader asyncDataLoader;
-    @Autowired
-    private Executor taskExecutor;
 
     @Autowired
     public HomePageView(final PostPresenter postPresenter, final AsyncDataLoader asyncDataLoader) {
@@ -82,47 +80,50 @@ public class HomePageView extends VerticalLayout implements PostPresenter.PostVi
         super.onAttach(attachEvent);
         logger.info("onAttach appelé, initialAttach: {}", attachEvent.isInitialAttach());
         if (attachEvent.isInitialAttach()) {
-            logger.info("Début du chargement des posts");
-            // Affichage immédiat d'un message de chargement
-            Paragraph loadingMessage = new Paragraph("Chargement des articles en cours...");
-            loadingMessage.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.TextAlignment.CENTER, LumoUtility.FontSize.LARGE);
-            postsContainer.add(loadingMessage);
-            // Test avec des données fictives d'abord
-            logger.info("Test avec des données fictives");
-            List<Post> testPosts = createTestPosts();
-            getUI().ifPresent(ui -> ui.access(() -> {
+            chargerArticlesRecents();
+        }
+    }
+
+    /**
+     * Affiche les articles récents : immédiatement s'ils sont servis par
+     * l'instantané en mémoire, sinon après lecture en base hors du thread de
+     * l'interface.
+     */
+    private void chargerArticlesRecents() {
+        logger.info("Début du chargement des posts");
+        if (postPresenter.isRecentPostsEnMemoire(MAX_ARTICLES)) {
+            try {
+                List<PostSummary> posts = postPresenter.getRecentPostsSync(MAX_ARTICLES);
+                logger.info("Articles récents affichés depuis l'instantané: {} posts", posts.size());
                 postsContainer.removeAll();
                 postsContainer.add(recentPostsGrid);
-                afficherArticlesRecents(testPosts);
-            }));
-            // Chargement réel en asynchrone
-            taskExecutor.execute(() -> {
-                try {
-                    List<Post> posts = postPresenter.getAllPostsSync();
-                    logger.info("Chargement asynchrone réussi: {} posts", posts != null ? posts.size() : 0);
-                    getUI().ifPresent(ui -> ui.access(() -> {
-                        postsContainer.removeAll();
-                        postsContainer.add(recentPostsGrid);
-                        afficherArticlesRecents(posts);
-                    }));
-                } catch (Exception e) {
-                    logger.error("Erreur lors du chargement asynchrone: {}", e.getMessage(), e);
-                    getUI().ifPresent(ui -> ui.access(() -> {
-                        postsContainer.removeAll();
-                        Paragraph errorMsg = new Paragraph("Erreur lors du chargement des articles depuis la base de données. Affichage des données de test.");
-                        errorMsg.getStyle().set("color", "orange").set("font-weight", "bold").set("font-size", "1.2em");
-                        postsContainer.add(errorMsg);
-                        postsContainer.add(recentPostsGrid);
-                        afficherArticlesRecents(testPosts);
-                        Button retryButton = new Button("Réessayer", event -> {
-                            postsContainer.removeAll();
-                            onAttach(attachEvent);
-                        });
-                        postsContainer.add(retryButton);
-                    }));
-                }
-            });
+                afficherArticlesRecents(posts);
+            } catch (Exception e) {
+                logger.error("Erreur lors du chargement des articles récents: {}", e.getMessage(), e);
+                afficherErreurChargement();
+            }
+            return;
         }
+        asyncDataLoader.loadData(
+                postsContainer,
+                () -> postPresenter.getRecentPostsSync(MAX_ARTICLES),
+                posts -> {
+                    postsContainer.add(recentPostsGrid);
+                    afficherArticlesRecents(posts);
+                },
+                erreur -> afficherErreurChargement(),
+                "Chargement des articles en cours...",
+                UI.getCurrent()
+        );
+    }
+
+    private void afficherErreurChargement() {
+        postsContainer.removeAll();
+        Paragraph errorMsg = new Paragraph("Erreur lors du chargement des articles depuis la base de données.");
+        errorMsg.getStyle().set("color", "red").set("font-weight", "bold").set("font-size", "1.2em");
+        postsContainer.add(errorMsg);
+        Button retryButton = new Button("Réessayer", event -> chargerArticlesRecents());
+        postsContainer.add(retryButton);
     }
 
     private void setupRecentPostsGrid() {
@@ -180,7 +181,7 @@ public class HomePageView extends VerticalLayout implements PostPresenter.PostVi
     }
 
     @Override
-    public void afficherPosts(final List<Post> posts) {
+    public void afficherPosts(final List<PostSummary> posts) {
         getUI().ifPresent(ui -> ui.access(() -> {
             postsContainer.removeAll();
             postsContainer.add(recentPostsGrid);
@@ -222,7 +223,7 @@ public class HomePageView extends VerticalLayout implements PostPresenter.PostVi
     public void afficherPost(Post post) {
     }
 
-    private void afficherArticlesRecents(final List<Post> articles) {
+    private void afficherArticlesRecents(final List<PostSummary> articles) {
         recentPostsGrid.removeAll();
         if (articles == null || articles.isEmpty()) {
             final Paragraph noArticles = new Paragraph("Aucun article récent à afficher.");
@@ -236,32 +237,7 @@ public class HomePageView extends VerticalLayout implements PostPresenter.PostVi
                 .forEach(recentPostsGrid::add);
     }
 
-    private BlogPostCard createPostCard(final Post post) {
+    private BlogPostCard createPostCard(final PostSummary post) {
         return new BlogPostCard(post);
     }
-
-    private List<Post> createTestPosts() {
-        List<Post> testPosts = new ArrayList<>();
-
-        Post testPost1 = new Post();
-        testPost1.setId(1L);
-        testPost1.setTitre("Article de test 1");
-        testPost1.setContenu("Ceci est le contenu du premier article de test. Il contient du texte pour tester l'affichage des articles sur la page d'accueil.");
-        testPost1.setAuteurNom("Admin Test");
-        testPost1.setAuteurEmail("admin@test.com");
-        testPost1.setDatePublication(java.time.LocalDateTime.now().minusDays(1));
-
-        Post testPost2 = new Post();
-        testPost2.setId(2L);
-        testPost2.setTitre("Article de test 2");
-        testPost2.setContenu("Ceci est le contenu du deuxième article de test. Il permet de vérifier que plusieurs articles s'affichent correctement.");
-        testPost2.setAuteurNom("Utilisateur Test");
-        testPost2.setAuteurEmail("user@test.com");
-        testPost2.setDatePublication(java.time.LocalDateTime.now().minusHours(6));
-
-        testPosts.add(testPost1);
-        testPosts.add(testPost2);
-
-        return testPosts;
-    }
 }
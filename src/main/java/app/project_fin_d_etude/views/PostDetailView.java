@@ -2,6 +2,7 @@ package app.project_fin_d_etude.views;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.security.RolesAllowed;
 
@@ -10,6 +11,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 
+import com.vaadin.flow.component.HasComponents;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
@@ -31,31 +33,56 @@ import com.vaadin.flow.theme.lumo.LumoUtility;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
 
 import app.project_fin_d_etude.layout.MainLayout;
+import app.project_fin_d_etude.model.CommentCursor;
+import app.project_fin_d_etude.model.CommentSummary;
 import app.project_fin_d_etude.model.Commentaire;
 import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.service.CommentThreadService;
+import app.project_fin_d_etude.service.CommentThreadService.Fil;
+import app.project_fin_d_etude.service.CommentThreadService.Noeud;
 import app.project_fin_d_etude.service.CommentaireService;
 import app.project_fin_d_etude.service.PostService;
+import app.project_fin_d_etude.utils.KeysetPage;
 import app.project_fin_d_etude.utils.VaadinUtils;
 
 /**
  * Vue de détail d'un article : affiche le contenu de l'article et ses
  * commentaires. L'affichage est automatique dès le chargement de la page.
+ *
+ * Les commentaires de premier niveau sont chargés page par page au fil du
+ * défilement ; les réponses d'un commentaire ne sont lues qu'au clic sur
+ * "Afficher les réponses", par branche de quelques niveaux
+ * ({@link CommentThreadService#getSousFil}). Branches et nombres de réponses
+ * sont lus par plage sur le chemin matérialisé des commentaires.
  */
 @Route(value = "user/article", layout = MainLayout.class)
 @PageTitle("Détail de l'article")
 @AnonymousAllowed
 public class PostDetailView extends VerticalLayout implements HasUrlParameter<Long> {
 
+    private static final int COMMENTAIRES_PAR_PAGE = 20;
+    // Distance au bas du conteneur à partir de laquelle la page suivante est chargée
+    private static final int MARGE_DEFILEMENT_PX = 80;
+    private static final int DELAI_DEFILEMENT_MS = 200;
+    // Niveaux de réponses lus, et affichés dépliés, à chaque dépliage d'une branche
+    private static final int PROFONDEUR_BRANCHE = 3;
+
     private final PostService postService;
     private final CommentaireService commentaireService;
+    private final CommentThreadService commentThreadService;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd MMMM yyyy");
     private Post currentPost;
     private VerticalLayout champReponseOuvert = null;
+    private Div listeCommentaires;
+    private Button chargerPlusCommentairesBtn;
+    private CommentCursor curseurCommentaires;
 
     @Autowired
-    public PostDetailView(PostService postService, CommentaireService commentaireService) {
+    public PostDetailView(PostService postService, CommentaireService commentaireService,
+            CommentThreadService commentThreadService) {
         this.postService = postService;
         this.commentaireService = commentaireService;
+        this.commentThreadService = commentThreadService;
         add(createMainSection());
     }
 
@@ -94,7 +121,7 @@ public class PostDetailView extends VerticalLayout implements HasUrlParameter<Lo
         removeAll();
         Post post = null;
         try {
-            post = postService.getPostWithCommentaires(postId).orElse(null);
+            post = postService.getPostById(postId).orElse(null);
         } catch (Exception e) {
             add(new Paragraph("Erreur lors de la récupération du post : " + e.getMessage()));
         }
@@ -112,7 +139,8 @@ public class PostDetailView extends VerticalLayout implements HasUrlParameter<Lo
             titre.addClassName("post-detail-title");
 
             // Affichage de l'auteur et de la date de publication
-            String auteur = post.getAuteurNom() != null ? post.getAuteurNom() : "Auteur inconnu";
+            String nomAuteur = postService.getNomAuteur(post);
+            String auteur = nomAuteur != null ? nomAuteur : "Auteur inconnu";
             String date = post.getDatePublication() != null ? post.getDatePublication().format(dateFormatter) : "";
             Paragraph meta = new Paragraph(auteur + (date.isEmpty() ? "" : " • " + date));
             meta.addClassName("post-detail-meta-author");
@@ -179,13 +207,13 @@ public class PostDetailView extends VerticalLayout implements HasUrlParameter<Lo
             formLayout.setFlexGrow(1, commentField);
             add(formLayout);
 
-            afficherCommentaires(post.getCommentaires());
+            afficherCommentaires();
         } else {
             add(new Paragraph("Aucun article trouvé pour l'ID : " + postId));
         }
     }
 
-    private void afficherCommentaires(List<Commentaire> commentaires) {
+    private void afficherCommentaires() {
         // Titre centré au-dessus du conteneur scrollable
         H2 titreCommentaires = new H2("Commentaires");
         titreCommentaires.getStyle()
@@ -205,17 +233,92 @@ public class PostDetailView extends VerticalLayout implements HasUrlParameter<Lo
                 .set("box-shadow", "0 2px 8px rgba(44,62,80,0.07)")
                 .set("padding", "16px");
 
-        if (commentaires != null && !commentaires.isEmpty()) {
-            commentaires.stream()
-                    .filter(c -> c.getParent() == null)
-                    .forEach(commentaire -> scrollableContainer.add(creerBulleCommentaire(commentaire, commentaires, 0)));
-        } else {
-            scrollableContainer.add(new Paragraph("Aucun commentaire pour cet article."));
-        }
+        listeCommentaires = new Div();
+        chargerPlusCommentairesBtn = new Button("Charger plus de commentaires", e -> chargerPageSuivante());
+        chargerPlusCommentairesBtn.setVisible(false);
+        scrollableContainer.add(listeCommentaires, chargerPlusCommentairesBtn);
+
+        // Page suivante chargée à l'approche du bas du conteneur
+        scrollableContainer.getElement().addEventListener("scroll", e -> {
+            double bas = e.getEventData().getNumber("element.scrollTop") + e.getEventData().getNumber("element.clientHeight");
+            if (bas >= e.getEventData().getNumber("element.scrollHeight") - MARGE_DEFILEMENT_PX) {
+                chargerPageSuivante();
+            }
+        }).addEventData("element.scrollTop")
+                .addEventData("element.clientHeight")
+                .addEventData("element.scrollHeight")
+                .debounce(DELAI_DEFILEMENT_MS);
         add(scrollableContainer);
+
+        chargerPageCommentaires(null);
+    }
+
+    /**
+     * Charge la page suivante de commentaires de premier niveau, s'il en
+     * reste.
+     */
+    private void chargerPageSuivante() {
+        if (curseurCommentaires != null) {
+            chargerPageCommentaires(curseurCommentaires);
+        }
     }
 
-    private VerticalLayout creerBulleCommentaire(Commentaire commentaire, List<Commentaire> tous, int niveau) {
+    /**
+     * Charge une page de commentaires de premier niveau et l'ajoute à la
+     * suite de ceux déjà affichés.
+     *
+     * @param cursor Curseur de la page précédente, ou null pour la première
+     * page
+     */
+    private void chargerPageCommentaires(CommentCursor cursor) {
+        try {
+            KeysetPage<CommentSummary, CommentCursor> page
+                    = commentaireService.getCommentairesPage(currentPost.getId(), cursor, COMMENTAIRES_PAR_PAGE);
+            if (cursor == null && page.items().isEmpty()) {
+                listeCommentaires.add(new Paragraph("Aucun commentaire pour cet article."));
+            }
+            Map<Long, Long> nombresReponses = commentaireService.compterReponsesRacines(currentPost.getId(),
+                    page.items().stream().map(CommentSummary::id).toList());
+            ajouterBulles(listeCommentaires, page.items().stream()
+                    .map(c -> new Noeud(c, List.of(), nombresReponses.getOrDefault(c.id(), 0L)))
+                    .toList(), 0);
+            curseurCommentaires = page.nextCursor();
+            chargerPlusCommentairesBtn.setVisible(page.hasNext());
+        } catch (Exception e) {
+            curseurCommentaires = null;
+            chargerPlusCommentairesBtn.setVisible(false);
+            listeCommentaires.add(new Paragraph("Erreur lors de la récupération des commentaires : " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Ajoute au conteneur une bulle par commentaire, réponses déjà chargées
+     * comprises.
+     */
+    private void ajouterBulles(HasComponents conteneur, List<Noeud> noeuds, int niveau) {
+        noeuds.forEach(noeud -> conteneur.add(creerBulleCommentaire(noeud, niveau)));
+    }
+
+    /**
+     * Recharge et affiche la branche d'un commentaire sur
+     * {@link #PROFONDEUR_BRANCHE} niveaux, avec le nombre de réponses des
+     * commentaires du dernier niveau.
+     */
+    private void chargerReponses(CommentSummary commentaire, VerticalLayout conteneur, int niveau) {
+        Fil branche = commentThreadService.getSousFil(currentPost.getId(), commentaire.id(), PROFONDEUR_BRANCHE);
+        conteneur.removeAll();
+        if (!branche.isVide()) {
+            ajouterBulles(conteneur, branche.racines().get(0).reponses(), niveau);
+        }
+    }
+
+    private static String libelleReponses(long nombre) {
+        return nombre == 1 ? "Afficher la réponse" : "Afficher les " + nombre + " réponses";
+    }
+
+    private VerticalLayout creerBulleCommentaire(Noeud noeud, int niveau) {
+        CommentSummary commentaire = noeud.commentaire();
+        long nombreReponses = noeud.nombreReponses();
         VerticalLayout bulle = new VerticalLayout();
         bulle.setSpacing(false);
         bulle.setPadding(false);
@@ -226,8 +329,8 @@ public class PostDetailView extends VerticalLayout implements HasUrlParameter<Lo
         Icon userIcon = VaadinIcon.USER.create();
         userIcon.setSize("18px");
         userIcon.getStyle().set("color", "#1976d2");
-        String auteur = commentaire.getAuteurNom() != null ? commentaire.getAuteurNom() : "Auteur inconnu";
-        String date = commentaire.getDateCreation() != null ? commentaire.getDateCreation().format(dateFormatter) : "";
+        String auteur = commentaire.auteurNom() != null ? commentaire.auteurNom() : "Auteur inconnu";
+        String date = commentaire.dateCreation() != null ? commentaire.dateCreation().format(dateFormatter) : "";
         Span auteurSpan = new Span(auteur);
         auteurSpan.getStyle().set("font-weight", "bold").set("color", "#1976d2");
         Span dateSpan = new Span(date);
@@ -238,7 +341,7 @@ public class PostDetailView extends VerticalLayout implements HasUrlParameter<Lo
         auteurDate.setAlignItems(Alignment.CENTER);
 
         // Badge inapproprié si besoin
-        if (commentaire.isInapproprie()) {
+        if (commentaire.inapproprie()) {
             Span badge = new Span("Inapproprié");
             badge.getStyle()
                     .set("background", "#ffebee")
@@ -251,13 +354,42 @@ public class PostDetailView extends VerticalLayout implements HasUrlParameter<Lo
             auteurDate.add(badge);
         }
 
-        Paragraph contenu = new Paragraph(commentaire.getContenu());
+        Paragraph contenu = new Paragraph(commentaire.contenu());
         contenu.addClassName("post-detail-comment-content");
 
         Button repondreBtn = new Button("Répondre");
         repondreBtn.addClassName("comment-action");
 
-        HorizontalLayout btnLayout = new HorizontalLayout(repondreBtn);
+        // Branche des réponses : dépliée si elle a été lue avec le commentaire,
+        // sinon lue au premier dépliage seulement
+        VerticalLayout reponsesLayout = new VerticalLayout();
+        reponsesLayout.setPadding(false);
+        reponsesLayout.setSpacing(false);
+        reponsesLayout.setWidthFull();
+        ajouterBulles(reponsesLayout, noeud.reponses(), niveau + 1);
+        reponsesLayout.setVisible(!noeud.reponses().isEmpty());
+
+        Button reponsesBtn = new Button(reponsesLayout.isVisible() ? "Masquer les réponses" : libelleReponses(nombreReponses));
+        reponsesBtn.addClassName("comment-action");
+        reponsesBtn.setVisible(nombreReponses > 0);
+        reponsesBtn.addClickListener(e -> {
+            if (reponsesLayout.isVisible()) {
+                reponsesLayout.setVisible(false);
+                reponsesBtn.setText(libelleReponses(nombreReponsesAffichees(reponsesLayout, nombreReponses)));
+                return;
+            }
+            try {
+                if (reponsesLayout.getComponentCount() == 0) {
+                    chargerReponses(commentaire, reponsesLayout, niveau + 1);
+                }
+                reponsesLayout.setVisible(true);
+                reponsesBtn.setText("Masquer les réponses");
+            } catch (Exception ex) {
+                Notification.show("Erreur lors du chargement des réponses : " + ex.getMessage(), 4000, Notification.Position.MIDDLE);
+            }
+        });
+
+        HorizontalLayout btnLayout = new HorizontalLayout(reponsesBtn, repondreBtn);
         btnLayout.setWidthFull();
         btnLayout.setJustifyContentMode(JustifyContentMode.END);
         btnLayout.setPadding(false);
@@ -322,42 +454,47 @@ public class PostDetailView extends VerticalLayout implements HasUrlParameter<Lo
             }
 
             OidcUser oidcUser = (OidcUser) authentication.getPrincipal();
-            Commentaire reponse = new Commentaire();
-            reponse.setContenu(contenuReponse.trim());
-            reponse.setPost(currentPost);
-            reponse.setParent(commentaire);
-            reponse.setAuteurEmail(oidcUser.getEmail());
+            String auteurNom;
             String givenName = oidcUser.getGivenName();
             String familyName = oidcUser.getFamilyName();
             if (givenName != null && familyName != null) {
-                reponse.setAuteurNom(givenName + " " + familyName);
+                auteurNom = givenName + " " + familyName;
             } else if (oidcUser.getFullName() != null) {
-                reponse.setAuteurNom(oidcUser.getFullName());
+                auteurNom = oidcUser.getFullName();
             } else {
-                reponse.setAuteurNom(oidcUser.getEmail());
+                auteurNom = oidcUser.getEmail();
             }
 
             try {
-                commentaireService.save(reponse);
+                // Le fil ne contient que des projections : le parent est relu par son identifiant
+                commentaireService.repondreAuCommentaire(currentPost.getId(), commentaire.id(),
+                        contenuReponse.trim(), auteurNom, oidcUser.getEmail());
                 Notification.show("Réponse publiée !", 3000, Notification.Position.MIDDLE);
                 reponseField.clear();
                 reponseLayout.setVisible(false);
                 btnLayout.setVisible(true);
                 champReponseOuvert = null;
-                removeAll();
-                setParameter(null, currentPost.getId());
+                // Seule la branche du commentaire est relue, dépliée
+                chargerReponses(commentaire, reponsesLayout, niveau + 1);
+                reponsesLayout.setVisible(true);
+                reponsesBtn.setText("Masquer les réponses");
+                reponsesBtn.setVisible(true);
             } catch (Exception ex) {
                 Notification.show("Erreur lors de la publication de la réponse : " + ex.getMessage(), 4000, Notification.Position.MIDDLE);
             }
         });
 
-        bulle.add(auteurDate, contenu, btnLayout, reponseLayout);
-
-        tous.stream()
-                .filter(rep -> rep.getParent() != null && rep.getParent().getId().equals(commentaire.getId()))
-                .forEach(rep -> bulle.add(creerBulleCommentaire(rep, tous, niveau + 1)));
+        bulle.add(auteurDate, contenu, btnLayout, reponseLayout, reponsesLayout);
 
         return bulle;
     }
 
+    /**
+     * Nombre de réponses d'une branche : celles affichées si elle a été
+     * chargée, sinon le nombre lu avec le commentaire.
+     */
+    private static long nombreReponsesAffichees(VerticalLayout reponsesLayout, long nombreInitial) {
+        return reponsesLayout.getComponentCount() > 0 ? reponsesLayout.getComponentCount() : nombreInitial;
+    }
+
 }
@@ -2,29 +2,31 @@ package app.project_fin_d_etude.views;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
 
 import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.ComponentEventListener;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.formlayout.FormLayout;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.orderedlayout.FlexLayout;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.progressbar.ProgressBar;
 import com.vaadin.flow.component.tabs.Tab;
 import com.vaadin.flow.component.tabs.Tabs;
 import com.vaadin.flow.component.textfield.EmailField;
@@ -37,10 +39,12 @@ import com.vaadin.flow.theme.lumo.LumoUtility;
 
 import app.project_fin_d_etude.components.BlogPostCard;
 import app.project_fin_d_etude.layout.MainLayout;
-import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.model.PostSummary;
 import app.project_fin_d_etude.presenter.UserProfilePresenter;
+import app.project_fin_d_etude.service.MoteurMigration;
 import app.project_fin_d_etude.service.PostService;
 import app.project_fin_d_etude.utils.AsyncDataLoader;
+import app.project_fin_d_etude.utils.ExecutionAsynchrone;
 import app.project_fin_d_etude.utils.VaadinUtils;
 
 /**
@@ -56,6 +60,7 @@ public class ProfileView extends VerticalLayout implements UserProfilePresenter.
     private static final String NO_PROFILE_INFO = "Aucune information de profil disponible. Veuillez vous reconnecter.";
     private static final String NO_ARTICLES = "Vous n'avez publié aucun article.";
     private static final String ERROR_LOADING = "Erreur lors du chargement de vos articles.";
+    private static final int INTERVALLE_SUIVI_MS = 1000;
 
     private final PostService postService;
     private final AsyncDataLoader asyncDataLoader;
@@ -77,6 +82,12 @@ public class ProfileView extends VerticalLayout implements UserProfilePresenter.
     private TextField officeLocationField;
     private Button updateProfileButton;
 
+    // Suivi de la mise à jour des anciens articles après modification du profil
+    private VerticalLayout migrationLayout;
+    private ProgressBar migrationProgress;
+    private Span migrationStatut;
+    private Registration suiviMigration;
+
     // Champs pour le changement de mot de passe
     private PasswordField currentPasswordField;
     private PasswordField newPasswordField;
@@ -84,7 +95,7 @@ public class ProfileView extends VerticalLayout implements UserProfilePresenter.
     private Button changePasswordButton;
 
     @Autowired
-    private Executor taskExecutor;
+    private ExecutionAsynchrone execution;
 
     @Autowired
     public ProfileView(PostService postService, AsyncDataLoader asyncDataLoader, UserProfilePresenter userProfilePresenter) {
@@ -265,6 +276,15 @@ public class ProfileView extends VerticalLayout implements UserProfilePresenter.
         form.add(updateProfileButton);
 
         section.add(form);
+
+        migrationProgress = new ProgressBar(0, 1);
+        migrationStatut = new Span();
+        migrationStatut.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.FontSize.SMALL);
+        migrationLayout = new VerticalLayout(migrationStatut, migrationProgress);
+        migrationLayout.setPadding(false);
+        migrationLayout.setSpacing(false);
+        migrationLayout.setVisible(false);
+        section.add(migrationLayout);
         content.add(section);
 
         // Charger les informations actuelles
@@ -331,6 +351,7 @@ public class ProfileView extends VerticalLayout implements UserProfilePresenter.
             afficherMessage("Profil mis à jour avec succès");
             viderFormulaire();
             rafraichirProfil();
+            suivreMigration();
         } else {
             afficherErreur("Impossible de mettre à jour le profil");
         }
@@ -358,6 +379,56 @@ public class ProfileView extends VerticalLayout implements UserProfilePresenter.
         if (attachEvent.isInitialAttach()) {
             loadUserArticles();
         }
+        // Une mise à jour des anciens articles peut être encore en cours
+        suivreMigration();
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        arreterSuiviMigration(detachEvent.getUI());
+        super.onDetach(detachEvent);
+    }
+
+    /**
+     * Affiche l'avancement du rattachement des anciens articles et
+     * commentaires, relu par scrutation jusqu'à la fin des tâches.
+     */
+    private void suivreMigration() {
+        if (suiviMigration != null) {
+            return;
+        }
+        getUI().ifPresent(ui -> {
+            suiviMigration = ui.addPollListener(e -> actualiserMigration(ui));
+            ui.setPollInterval(INTERVALLE_SUIVI_MS);
+            actualiserMigration(ui);
+        });
+    }
+
+    private void actualiserMigration(UI ui) {
+        MoteurMigration.Progression progression;
+        try {
+            progression = userProfilePresenter.getProgressionMigration();
+        } catch (Exception e) {
+            logger.warn("Avancement de la mise à jour des articles indisponible : {}", e.getMessage());
+            progression = null;
+        }
+        if (progression == null || progression.isTerminee()) {
+            migrationLayout.setVisible(false);
+            arreterSuiviMigration(ui);
+            return;
+        }
+        migrationProgress.setValue(progression.avancement());
+        migrationStatut.setText(String.format("Mise à jour de vos articles et commentaires : %d %%",
+                Math.round(progression.avancement() * 100)));
+        migrationLayout.setVisible(true);
+    }
+
+    private void arreterSuiviMigration(UI ui) {
+        if (suiviMigration != null) {
+            suiviMigration.remove();
+            suiviMigration = null;
+            ui.setPollInterval(-1);
+        }
     }
 
     private void loadUserArticles() {
@@ -367,10 +438,9 @@ public class ProfileView extends VerticalLayout implements UserProfilePresenter.
         loadingMessage.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.TextAlignment.CENTER, LumoUtility.FontSize.LARGE);
         postsContainer.add(loadingMessage);
 
-        SecurityContext context = SecurityContextHolder.getContext();
-        taskExecutor.execute(() -> {
+        // Le contexte de sécurité est transmis à la tâche par ExecutionAsynchrone
+        execution.executer(ExecutionAsynchrone.Charge.BASE, () -> {
             logger.info("[ASYNC] Thread démarré pour chargement articles profil");
-            SecurityContextHolder.setContext(context);
             try {
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
                 logger.info("[ASYNC] Authentication récupérée: {}", authentication != null ? authentication.getName() : "null");
@@ -378,9 +448,9 @@ public class ProfileView extends VerticalLayout implements UserProfilePresenter.
                     OidcUser oidcUser = (OidcUser) authentication.getPrincipal();
                     String email = oidcUser.getEmail();
                     logger.info("[ASYNC] Email utilisateur: {}", email);
-                    List<Post> posts = postService.getPostsByAuteurEmail(email);
+                    List<PostSummary> posts = postService.getPostsByAuteur(oidcUser.getSubject(), email);
                     logger.info("[ASYNC] Articles récupérés: {}", posts != null ? posts.size() : 0);
-                    getUI().ifPresent(ui -> ui.access(() -> {
+                    getUI().ifPresent(ui -> execution.pousser(ui, () -> {
                         logger.info("[ASYNC] Accès UI pour mise à jour du DOM");
                         postsContainer.removeAll();
                         if (posts == null || posts.isEmpty()) {
@@ -406,7 +476,7 @@ public class ProfileView extends VerticalLayout implements UserProfilePresenter.
                     }));
                 } else {
                     logger.warn("[ASYNC] Utilisateur non authentifié dans le thread");
-                    getUI().ifPresent(ui -> ui.access(() -> {
+                    getUI().ifPresent(ui -> execution.pousser(ui, () -> {
                         postsContainer.removeAll();
                         postsContainer.add(new Paragraph(NO_PROFILE_INFO));
                         ui.push();
@@ -414,7 +484,7 @@ public class ProfileView extends VerticalLayout implements UserProfilePresenter.
                 }
             } catch (Exception e) {
                 logger.error("Erreur lors du chargement asynchrone des articles utilisateur", e);
-                getUI().ifPresent(ui -> ui.access(() -> {
+                getUI().ifPresent(ui -> execution.pousser(ui, () -> {
                     postsContainer.removeAll();
                     Paragraph errorMsg = new Paragraph(ERROR_LOADING + " (" + e.getMessage() + ")");
                     errorMsg.getStyle().set("color", "orange").set("font-weight", "bold").set("font-size", "1.2em");
@@ -12,12 +12,16 @@ import com.vaadin.flow.component.html.Paragraph;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
 import app.project_fin_d_etude.layout.AdminLayout;
+import app.project_fin_d_etude.model.CommentAdminSummary;
 import app.project_fin_d_etude.model.Commentaire;
 import app.project_fin_d_etude.presenter.CommentairePresenter;
 import app.project_fin_d_etude.utils.VaadinUtils;
@@ -32,8 +36,9 @@ import org.springframework.security.access.annotation.Secured;
 public class AdminCommentairesView extends VerticalLayout implements CommentairePresenter.CommentaireView {
 
     private final CommentairePresenter commentairePresenter;
-    private final Grid<Commentaire> grid = new Grid<>(Commentaire.class);
+    private final Grid<CommentAdminSummary> grid = new Grid<>(CommentAdminSummary.class, false);
     private final Paragraph noCommentsMessage = new Paragraph("Aucun commentaire à afficher.");
+    private String filtre;
 
     @Autowired
     public AdminCommentairesView(CommentairePresenter commentairePresenter) {
@@ -47,10 +52,6 @@ public class AdminCommentairesView extends VerticalLayout implements Commentaire
 
         add(createMainContent());
         configureGrid();
-
-        // Affichage automatique des commentaires dès le chargement
-        VaadinUtils.showLoading(this);
-        commentairePresenter.chargerTousLesCommentaires();
     }
 
     /**
@@ -95,7 +96,7 @@ public class AdminCommentairesView extends VerticalLayout implements Commentaire
         contentSection.setHeight("600px");
         contentSection.addClassName("admin-commentaires-content-section");
 
-        contentSection.add(grid);
+        contentSection.add(createFilterField(), grid);
         noCommentsMessage.addClassName("admin-commentaires-empty-message");
         noCommentsMessage.setVisible(false);
         contentSection.add(noCommentsMessage);
@@ -103,15 +104,33 @@ public class AdminCommentairesView extends VerticalLayout implements Commentaire
     }
 
     /**
-     * Configure la grille d'affichage des commentaires.
+     * Crée le champ de filtre sur l'auteur ou le titre de l'article.
+     */
+    private TextField createFilterField() {
+        TextField filterField = new TextField();
+        filterField.setPlaceholder("Filtrer par auteur ou article...");
+        filterField.setWidth("350px");
+        filterField.setClearButtonVisible(true);
+        filterField.setValueChangeMode(ValueChangeMode.LAZY);
+        filterField.addValueChangeListener(e -> {
+            filtre = e.getValue();
+            grid.getDataProvider().refreshAll();
+        });
+        return filterField;
+    }
+
+    /**
+     * Configure la grille d'affichage des commentaires : ils sont lus par
+     * fenêtres à mesure du défilement, triés et filtrés par la base.
      */
     private void configureGrid() {
         grid.addClassName("admin-commentaires-grid");
-        grid.setColumns("id", "dateCreation");
+        grid.addColumn(CommentAdminSummary::id).setHeader("Id").setSortProperty("id");
+        grid.addColumn(CommentAdminSummary::dateCreation).setHeader("Date Creation").setSortProperty("dateCreation");
 
         // Colonne contenu multi-ligne, tronquée à 100 caractères
         grid.addComponentColumn(commentaire -> {
-            String contenu = commentaire.getContenu();
+            String contenu = commentaire.extrait();
             String contenuAffiche = contenu != null && contenu.length() > 100 ? contenu.substring(0, 100) + "…" : contenu;
             Span contenuSpan = new Span(contenuAffiche);
             contenuSpan.addClassName("admin-commentaires-contenu");
@@ -120,25 +139,26 @@ public class AdminCommentairesView extends VerticalLayout implements Commentaire
 
         // Colonne pour l'auteur (nom de l'utilisateur)
         grid.addColumn(commentaire -> {
-            if (commentaire.getAuteurNom() != null) {
-                return commentaire.getAuteurNom();
+            if (commentaire.auteurNom() != null) {
+                return commentaire.auteurNom();
             }
             return "Auteur inconnu";
-        }).setHeader("Auteur");
+        }).setHeader("Auteur").setSortProperty("auteurNom");
 
         // Colonne pour l'article (titre du post) avec style personnalisé sans méthode dépréciée
         grid.addComponentColumn(commentaire -> {
-            String titre = (commentaire.getPost() != null) ? commentaire.getPost().getTitre() : "Article inconnu";
+            String titre = (commentaire.postTitre() != null) ? commentaire.postTitre() : "Article inconnu";
             Span titreSpan = new Span(titre);
             titreSpan.addClassName("admin-commentaires-article");
             return titreSpan;
         })
                 .setHeader("Titre de l'article")
+                .setSortProperty("post.titre")
                 .setWidth("50px")
                 .setFlexGrow(0);
 
         grid.addComponentColumn(commentaire -> {
-            boolean inapproprie = commentaire.isInapproprie();
+            boolean inapproprie = commentaire.inapproprie();
             Span badge = new Span(String.valueOf(inapproprie));
             if (inapproprie) {
                 badge.getStyle().set("background", "#e6f4ea")
@@ -154,41 +174,35 @@ public class AdminCommentairesView extends VerticalLayout implements Commentaire
                         .set("font-weight", "bold");
             }
             return badge;
-        }).setHeader("Inapproprié");
+        }).setHeader("Inapproprié").setSortProperty("inapproprie");
 
         grid.addComponentColumn(commentaire -> {
             Button actionBtn = new Button(
-                    commentaire.isInapproprie() ? "Rendre approprié" : "Marquer inapproprié",
-                    e -> {
-                        commentaire.setInapproprie(!commentaire.isInapproprie());
-                        commentairePresenter.modifier(commentaire);
-                        grid.getDataProvider().refreshItem(commentaire);
-                        grid.getDataProvider().refreshAll();
-                    }
+                    commentaire.inapproprie() ? "Rendre approprié" : "Marquer inapproprié",
+                    e -> commentairePresenter.definirInapproprie(commentaire.id(), !commentaire.inapproprie())
             );
             actionBtn.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
             return actionBtn;
         }).setHeader("Modération");
 
         grid.getColumns().forEach(col -> col.setAutoWidth(true));
+
+        grid.setItems(
+                query -> commentairePresenter.getCommentairesAdmin(filtre, VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> {
+                    int total = (int) commentairePresenter.countCommentairesAdmin(filtre);
+                    noCommentsMessage.setVisible(total == 0);
+                    return total;
+                });
     }
 
     /**
-     * Affiche les commentaires dans la grille, ou un message si aucun
-     * commentaire.
+     * La grille lit elle-même ses fenêtres : la liste reçue déclenche
+     * seulement une relecture.
      */
     @Override
     public void afficherCommentaires(List<Commentaire> commentaires) {
-        getUI().ifPresent(ui -> ui.access(() -> {
-            VaadinUtils.hideLoading(this);
-            if (commentaires == null || commentaires.isEmpty()) {
-                grid.setItems(List.of());
-                noCommentsMessage.setVisible(true);
-            } else {
-                grid.setItems(commentaires);
-                noCommentsMessage.setVisible(false);
-            }
-        }));
+        rafraichirListe();
     }
 
     /**
@@ -208,10 +222,10 @@ public class AdminCommentairesView extends VerticalLayout implements Commentaire
     }
 
     /**
-     * Rafraîchit la liste des commentaires (optionnel).
+     * Relit la fenêtre visible de la grille (après une modération).
      */
     @Override
     public void rafraichirListe() {
-        // Optionnel : recharger les commentaires si besoin
+        grid.getDataProvider().refreshAll();
     }
 }
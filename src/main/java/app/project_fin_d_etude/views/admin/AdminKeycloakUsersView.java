@@ -1,11 +1,9 @@
 package app.project_fin_d_etude.views.admin;
 
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
-
 import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.dialog.Dialog;
@@ -19,14 +17,16 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.EmailField;
 import com.vaadin.flow.component.textfield.PasswordField;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
+import com.vaadin.flow.shared.Registration;
 
 import app.project_fin_d_etude.layout.AdminLayout;
 import app.project_fin_d_etude.service.KeycloakUserAdminService;
-import app.project_fin_d_etude.utils.VaadinUtils;
+import app.project_fin_d_etude.service.KeycloakUserDirectory;
 import org.springframework.security.access.annotation.Secured;
 
 @Route(value = "admin/keycloak-users", layout = AdminLayout.class)
@@ -34,13 +34,21 @@ import org.springframework.security.access.annotation.Secured;
 @AnonymousAllowed
 public class AdminKeycloakUsersView extends VerticalLayout {
 
+    private static final String MESSAGE_AUCUN_UTILISATEUR = "Aucun utilisateur Keycloak à afficher.";
+    private static final String MESSAGE_CHARGEMENT = "Chargement de l'annuaire Keycloak en cours...";
+    private static final int INTERVALLE_SUIVI_MS = 2000;
+
     private final KeycloakUserAdminService keycloakUserAdminService;
+    private final KeycloakUserDirectory keycloakUserDirectory;
     private final Grid<UserRepresentation> grid = new Grid<>(UserRepresentation.class, false);
-    private final Paragraph noUsersMessage = new Paragraph("Aucun utilisateur Keycloak à afficher.");
+    private final Paragraph noUsersMessage = new Paragraph(MESSAGE_AUCUN_UTILISATEUR);
+    private String filtre;
+    private Registration suiviChargement;
 
     @Autowired
-    public AdminKeycloakUsersView(KeycloakUserAdminService keycloakUserAdminService) {
+    public AdminKeycloakUsersView(KeycloakUserAdminService keycloakUserAdminService, KeycloakUserDirectory keycloakUserDirectory) {
         this.keycloakUserAdminService = keycloakUserAdminService;
+        this.keycloakUserDirectory = keycloakUserDirectory;
         setSpacing(false);
         setPadding(false);
         setSizeFull();
@@ -97,13 +105,29 @@ public class AdminKeycloakUsersView extends VerticalLayout {
                 LumoUtility.BorderRadius.LARGE,
                 LumoUtility.BoxShadow.MEDIUM
         );
-        contentSection.add(grid);
+        contentSection.add(createFilterField(), grid);
         noUsersMessage.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.TextAlignment.CENTER);
         noUsersMessage.setVisible(false);
         contentSection.add(noUsersMessage);
         return contentSection;
     }
 
+    /**
+     * Crée le champ de recherche (nom d'utilisateur, email, prénom ou nom).
+     */
+    private TextField createFilterField() {
+        TextField filterField = new TextField();
+        filterField.setPlaceholder("Rechercher un utilisateur...");
+        filterField.setWidth("350px");
+        filterField.setClearButtonVisible(true);
+        filterField.setValueChangeMode(ValueChangeMode.LAZY);
+        filterField.addValueChangeListener(e -> {
+            filtre = e.getValue();
+            loadUsers();
+        });
+        return filterField;
+    }
+
     /**
      * Configure la grille d'affichage des utilisateurs Keycloak.
      */
@@ -115,30 +139,64 @@ public class AdminKeycloakUsersView extends VerticalLayout {
         grid.addComponentColumn(this::createActionsColumn).setHeader("Actions");
     }
 
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        arreterSuiviChargement(detachEvent.getUI());
+        super.onDetach(detachEvent);
+    }
+
     /**
-     * Charge et affiche les utilisateurs Keycloak.
+     * Affiche les utilisateurs Keycloak depuis l'annuaire local : la grille
+     * n'en lit que la fenêtre visible, sans appel à Keycloak. Tant que
+     * l'annuaire n'est pas chargé, la grille est vide et la vue le relit par
+     * scrutation.
      */
     private void loadUsers() {
-        VaadinUtils.showLoading(this);
-        final UI ui = UI.getCurrent();
-        keycloakUserAdminService.listAllUsers().whenComplete((users, ex) -> {
-            ui.access(() -> {
-                VaadinUtils.hideLoading(this);
-                if (ex != null) {
-                    Notification.show("Erreur lors du chargement des utilisateurs : " + ex.getMessage(), 4000, Notification.Position.MIDDLE);
-                    grid.setItems(List.of());
-                    noUsersMessage.setVisible(true);
-                } else {
-                    if (users == null || users.isEmpty()) {
-                        grid.setItems(List.of());
-                        noUsersMessage.setVisible(true);
-                    } else {
-                        grid.setItems(users);
-                        noUsersMessage.setVisible(false);
+        if (!keycloakUserDirectory.isCharge()) {
+            suivreChargement();
+        }
+        grid.setItems(
+                query -> keycloakUserDirectory.rechercher(filtre, query.getOffset(), query.getLimit()).stream(),
+                query -> {
+                    int total;
+                    try {
+                        total = keycloakUserDirectory.compter(filtre);
+                    } catch (Exception ex) {
+                        Notification.show("Erreur lors du chargement des utilisateurs : " + ex.getMessage(), 4000, Notification.Position.MIDDLE);
+                        total = 0;
                     }
-                }
-            });
+                    noUsersMessage.setText(keycloakUserDirectory.isCharge() ? MESSAGE_AUCUN_UTILISATEUR : MESSAGE_CHARGEMENT);
+                    noUsersMessage.setVisible(total == 0);
+                    return total;
+                });
+    }
+
+    /**
+     * Relit la grille dès que l'annuaire a fini son premier chargement.
+     */
+    private void suivreChargement() {
+        if (suiviChargement != null) {
+            return;
+        }
+        UI ui = UI.getCurrent();
+        if (ui == null) {
+            return;
+        }
+        suiviChargement = ui.addPollListener(e -> {
+            if (keycloakUserDirectory.isCharge()) {
+                arreterSuiviChargement(ui);
+                loadUsers();
+            }
         });
+        ui.setPollInterval(INTERVALLE_SUIVI_MS);
+    }
+
+    private void arreterSuiviChargement(UI ui) {
+        if (suiviChargement != null) {
+            suiviChargement.remove();
+            suiviChargement = null;
+            ui.setPollInterval(-1);
+        }
     }
 
     /**
@@ -1,7 +1,5 @@
 package app.project_fin_d_etude.views.admin;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.vaadin.flow.component.grid.Grid;
@@ -10,8 +8,11 @@ import com.vaadin.flow.component.html.Paragraph;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
@@ -29,6 +30,7 @@ public class AdminMessagesView extends VerticalLayout implements MessagePresente
     private final MessagePresenter messagePresenter;
     private Grid<Message> grid;
     private final Paragraph noMessagesMessage = new Paragraph("Aucun message à afficher.");
+    private String filtre;
 
     @Autowired
     public AdminMessagesView(MessagePresenter messagePresenter) {
@@ -40,10 +42,6 @@ public class AdminMessagesView extends VerticalLayout implements MessagePresente
 
         // Ajouter le contenu principal à la vue
         add(createMainContent());
-
-        // Charger les données après que l'UI est construite
-        VaadinUtils.showLoading(this);
-        messagePresenter.chargerMessages();
     }
 
     /**
@@ -96,19 +94,39 @@ public class AdminMessagesView extends VerticalLayout implements MessagePresente
                 LumoUtility.BoxShadow.MEDIUM
         );
 
-        contentSection.add(grid);
+        contentSection.add(createFilterField(), grid);
         noMessagesMessage.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.TextAlignment.CENTER);
         noMessagesMessage.setVisible(false);
         contentSection.add(noMessagesMessage);
         return contentSection;
     }
 
+    /**
+     * Crée le champ de filtre sur le nom, l'email ou le sujet.
+     */
+    private TextField createFilterField() {
+        TextField filterField = new TextField();
+        filterField.setPlaceholder("Filtrer par nom, email ou sujet...");
+        filterField.setWidth("350px");
+        filterField.setClearButtonVisible(true);
+        filterField.setValueChangeMode(ValueChangeMode.LAZY);
+        filterField.addValueChangeListener(e -> {
+            filtre = e.getValue();
+            grid.getDataProvider().refreshAll();
+        });
+        return filterField;
+    }
+
+    /**
+     * Configure la grille : les messages sont lus par fenêtres à mesure du
+     * défilement, triés et filtrés par la base.
+     */
     private void configureGrid() {
         grid = new Grid<>(Message.class, false);
-        grid.addColumn(Message::getId).setHeader("Id");
-        grid.addColumn(Message::getNom).setHeader("Nom");
-        grid.addColumn(Message::getEmail).setHeader("Email");
-        grid.addColumn(Message::getSujet).setHeader("Sujet");
+        grid.addColumn(Message::getId).setHeader("Id").setSortProperty("id");
+        grid.addColumn(Message::getNom).setHeader("Nom").setSortProperty("nom");
+        grid.addColumn(Message::getEmail).setHeader("Email").setSortProperty("email");
+        grid.addColumn(Message::getSujet).setHeader("Sujet").setSortProperty("sujet");
         grid.addComponentColumn(message -> {
             String contenu = message.getContenu();
             String contenuAffiche = contenu != null && contenu.length() > 100 ? contenu.substring(0, 100) + "…" : contenu;
@@ -116,27 +134,18 @@ public class AdminMessagesView extends VerticalLayout implements MessagePresente
             contenuSpan.addClassName("admin-messages-contenu");
             return contenuSpan;
         }).setHeader("Contenu").setWidth("120px").setFlexGrow(0);
-        grid.addColumn(Message::getDateEnvoi).setHeader("Date Envoi");
-        grid.addColumn(Message::isLu).setHeader("Lu");
+        grid.addColumn(Message::getDateEnvoi).setHeader("Date Envoi").setSortProperty("dateEnvoi");
+        grid.addColumn(Message::isLu).setHeader("Lu").setSortProperty("lu");
 
         grid.getColumns().forEach(col -> col.setAutoWidth(true));
-    }
 
-    /**
-     * Affiche les messages dans la grille, ou un message si aucun message.
-     */
-    @Override
-    public void afficherMessages(List<Message> messages) {
-        getUI().ifPresent(ui -> ui.access(() -> {
-            VaadinUtils.hideLoading(this);
-            if (messages == null || messages.isEmpty()) {
-                grid.setItems(List.of());
-                noMessagesMessage.setVisible(true);
-            } else {
-                grid.setItems(messages);
-                noMessagesMessage.setVisible(false);
-            }
-        }));
+        grid.setItems(
+                query -> messagePresenter.getMessages(filtre, VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> {
+                    int total = (int) messagePresenter.countMessages(filtre);
+                    noMessagesMessage.setVisible(total == 0);
+                    return total;
+                });
     }
 
     /**
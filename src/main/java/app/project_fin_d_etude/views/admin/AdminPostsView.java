@@ -14,12 +14,16 @@ import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 
 import app.project_fin_d_etude.layout.AdminLayout;
 import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.model.PostSummary;
 import app.project_fin_d_etude.presenter.PostPresenter;
 import app.project_fin_d_etude.utils.VaadinUtils;
 import org.springframework.security.access.annotation.Secured;
@@ -32,8 +36,9 @@ import com.vaadin.flow.server.auth.AnonymousAllowed;
 public class AdminPostsView extends VerticalLayout implements PostPresenter.PostView {
 
     private final PostPresenter postPresenter;
-    private final Grid<Post> grid = new Grid<>(Post.class);
+    private final Grid<PostSummary> grid = new Grid<>(PostSummary.class, false);
     private final Paragraph noPostsMessage = new Paragraph("Aucun article à afficher.");
+    private String filtre;
 
     @Autowired
     public AdminPostsView(PostPresenter postPresenter) {
@@ -47,8 +52,6 @@ public class AdminPostsView extends VerticalLayout implements PostPresenter.Post
 
         add(createMainContent());
         configureGrid();
-        VaadinUtils.showLoading(this);
-        postPresenter.chargerPosts();
 
         System.out.println("Authorities: " + SecurityContextHolder.getContext().getAuthentication().getAuthorities());
     }
@@ -94,26 +97,49 @@ public class AdminPostsView extends VerticalLayout implements PostPresenter.Post
                 LumoUtility.BoxShadow.MEDIUM
         );
 
-        contentSection.add(grid);
+        contentSection.add(createFilterField(), grid);
         noPostsMessage.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.TextAlignment.CENTER);
         noPostsMessage.setVisible(false);
         contentSection.add(noPostsMessage);
         return contentSection;
     }
 
+    /**
+     * Crée le champ de filtre sur le titre : chaque saisie relit la première
+     * fenêtre de la grille depuis la base.
+     */
+    private TextField createFilterField() {
+        TextField filterField = new TextField();
+        filterField.setPlaceholder("Filtrer par titre...");
+        filterField.setWidth("350px");
+        filterField.setClearButtonVisible(true);
+        filterField.setValueChangeMode(ValueChangeMode.LAZY);
+        filterField.addValueChangeListener(e -> {
+            filtre = e.getValue();
+            grid.getDataProvider().refreshAll();
+        });
+        return filterField;
+    }
+
+    /**
+     * Configure la grille : les articles sont lus par fenêtres à mesure du
+     * défilement, triés et filtrés par la base.
+     */
     private void configureGrid() {
         grid.addClassNames("contact-grid");
-        grid.setColumns("id", "titre", "datePublication");
+        grid.addColumn(PostSummary::id).setHeader("Id").setSortProperty("id");
+        grid.addColumn(PostSummary::titre).setHeader("Titre").setSortProperty("titre");
+        grid.addColumn(PostSummary::datePublication).setHeader("Date Publication").setSortProperty("datePublication");
 
         grid.addColumn(post -> {
-            if (post.getAuteurNom() != null) {
-                return post.getAuteurNom();
+            if (post.auteurNom() != null) {
+                return post.auteurNom();
             }
             return "Auteur inconnu";
-        }).setHeader("Auteur");
+        }).setHeader("Auteur").setSortProperty("auteurNom");
 
         grid.addComponentColumn(post -> {
-            String contenu = post.getContenu();
+            String contenu = post.extrait();
             String contenuAffiche = contenu != null && contenu.length() > 100 ? contenu.substring(0, 100) + "…" : contenu;
             Span contenuSpan = new Span(contenuAffiche);
             contenuSpan.addClassName("admin-posts-contenu");
@@ -123,28 +149,31 @@ public class AdminPostsView extends VerticalLayout implements PostPresenter.Post
         grid.getColumns().forEach(col -> col.setAutoWidth(true));
         //un grid colum pour action où il y'aura de bouton qui vont permettre de lire plus de détails post
         grid.addComponentColumn(this::createActionsColumn).setHeader("Actions");
+
+        grid.setItems(
+                query -> postPresenter.getPostSummariesSync(filtre, VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> {
+                    int total = (int) postPresenter.countPostSummariesSync(filtre);
+                    noPostsMessage.setVisible(total == 0);
+                    return total;
+                });
     }
 
-    private HorizontalLayout createActionsColumn(Post post) {
+    private HorizontalLayout createActionsColumn(PostSummary post) {
         Button voirDetails = new Button("Détails", e
-                -> getUI().ifPresent(ui -> ui.navigate("user/article/" + post.getId()))
+                -> getUI().ifPresent(ui -> ui.navigate("user/article/" + post.id()))
         );
         voirDetails.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
         return new HorizontalLayout(voirDetails);
     }
 
+    /**
+     * La grille lit elle-même ses fenêtres : la liste reçue (après une
+     * suppression par exemple) déclenche seulement une relecture.
+     */
     @Override
-    public void afficherPosts(List<Post> posts) {
-        getUI().ifPresent(ui -> ui.access(() -> {
-            VaadinUtils.hideLoading(this);
-            if (posts == null || posts.isEmpty()) {
-                grid.setItems(List.of());
-                noPostsMessage.setVisible(true);
-            } else {
-                grid.setItems(posts);
-                noPostsMessage.setVisible(false);
-            }
-        }));
+    public void afficherPosts(List<PostSummary> posts) {
+        getUI().ifPresent(ui -> ui.access(() -> grid.getDataProvider().refreshAll()));
     }
 
     @Override
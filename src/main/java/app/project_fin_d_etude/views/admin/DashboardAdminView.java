@@ -1,20 +1,33 @@
 package app.project_fin_d_etude.views.admin;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import com.vaadin.flow.component.charts.Chart;
+import com.vaadin.flow.component.charts.model.AxisType;
+import com.vaadin.flow.component.charts.model.ChartType;
+import com.vaadin.flow.component.charts.model.Configuration;
+import com.vaadin.flow.component.charts.model.DataSeries;
+import com.vaadin.flow.component.charts.model.DataSeriesItem;
 import com.vaadin.flow.component.html.H1;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import app.project_fin_d_etude.layout.AdminLayout;
-import app.project_fin_d_etude.service.KeycloakUserAdminService;
-import app.project_fin_d_etude.service.PostService;
-import app.project_fin_d_etude.service.CommentaireService;
-import app.project_fin_d_etude.service.MessageService;
+import app.project_fin_d_etude.model.ActiviteQuotidienne;
+import app.project_fin_d_etude.service.ActiviteQuotidienneService;
+import app.project_fin_d_etude.service.StatisticsService;
+import app.project_fin_d_etude.utils.AsyncDataLoader;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.select.Select;
 import org.springframework.security.access.annotation.Secured;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
 
@@ -23,8 +36,21 @@ import com.vaadin.flow.server.auth.AnonymousAllowed;
 @AnonymousAllowed
 public class DashboardAdminView extends VerticalLayout {
 
+    private static final List<Integer> PERIODES_JOURS = List.of(30, 90, 365);
+
+    private final StatisticsService statisticsService;
+    private final ActiviteQuotidienneService activiteService;
+    private final AsyncDataLoader asyncDataLoader;
+    private final Div statsContainer = new Div();
+    private final Div activiteContainer = new Div();
+    private final Select<Integer> periodeSelect = new Select<>();
+
     @Autowired
-    public DashboardAdminView(KeycloakUserAdminService userService, PostService postService, CommentaireService commentaireService, MessageService messageService) {
+    public DashboardAdminView(StatisticsService statisticsService, ActiviteQuotidienneService activiteService,
+            AsyncDataLoader asyncDataLoader) {
+        this.statisticsService = statisticsService;
+        this.activiteService = activiteService;
+        this.asyncDataLoader = asyncDataLoader;
         setSizeFull();
         setPadding(true);
         setSpacing(true);
@@ -41,24 +67,19 @@ public class DashboardAdminView extends VerticalLayout {
         );
         add(title);
 
-        // Section statistiques
-        Div statsContainer = new Div();
+        // Section statistiques, remplie après l'affichage de la page
         statsContainer.getStyle().set("display", "flex").set("gap", "32px").set("margin-top", "32px");
-
-        // Utilisateurs
-        int userCount = userService.listAllUsers().join().size();
-        statsContainer.add(createStatCard("Utilisateurs", userCount, "#1976d2"));
-        // Articles
-        int postCount = postService.getAllPosts().size();
-        statsContainer.add(createStatCard("Articles", postCount, "#388e3c"));
-        // Commentaires
-        int commentaireCount = commentaireService.getAllCommentaires().join().size();
-        statsContainer.add(createStatCard("Commentaires", commentaireCount, "#fbc02d"));
-        // Messages
-        int messageCount = messageService.getAllMessages().join().size();
-        statsContainer.add(createStatCard("Messages", messageCount, "#d32f2f"));
-
         add(statsContainer);
+
+        // Section activité quotidienne, lue depuis les agrégats
+        periodeSelect.setLabel("Période");
+        periodeSelect.setItems(PERIODES_JOURS);
+        periodeSelect.setItemLabelGenerator(jours -> jours + " derniers jours");
+        periodeSelect.setValue(PERIODES_JOURS.get(0));
+        periodeSelect.addValueChangeListener(e -> chargerActivite());
+        activiteContainer.setWidth("90%");
+        activiteContainer.getStyle().set("margin-top", "32px");
+        add(periodeSelect, activiteContainer);
         // Ici tu pourras ajouter des widgets/statistiques plus tard
 
         // Section raccourcis
@@ -73,7 +94,78 @@ public class DashboardAdminView extends VerticalLayout {
         add(shortcutsContainer);
     }
 
-    private Div createStatCard(String label, int value, String color) {
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        asyncDataLoader.loadData(
+                statsContainer,
+                statisticsService::getStatistiques,
+                this::afficherStatistiques,
+                erreur -> statsContainer.add(new Span(erreur)),
+                "Chargement des statistiques...",
+                attachEvent.getUI()
+        );
+        chargerActivite();
+    }
+
+    /**
+     * Charge en arrière-plan l'activité de la période choisie et l'affiche en
+     * graphique.
+     */
+    private void chargerActivite() {
+        int jours = periodeSelect.getValue() != null ? periodeSelect.getValue() : PERIODES_JOURS.get(0);
+        LocalDate fin = LocalDate.now();
+        getUI().ifPresent(ui -> asyncDataLoader.loadData(
+                activiteContainer,
+                () -> activiteService.getActivite(fin.minusDays(jours - 1L), fin),
+                activite -> activiteContainer.add(creerGraphiqueActivite(activite)),
+                erreur -> activiteContainer.add(new Span(erreur)),
+                "Chargement de l'activité...",
+                ui
+        ));
+    }
+
+    /**
+     * Crée le graphique de l'activité jour par jour.
+     */
+    private Chart creerGraphiqueActivite(List<ActiviteQuotidienne> activite) {
+        Chart chart = new Chart(ChartType.LINE);
+        Configuration conf = chart.getConfiguration();
+        conf.setTitle("Activité quotidienne");
+        conf.getxAxis().setType(AxisType.DATETIME);
+        conf.getyAxis().setTitle("Nombre");
+        conf.getyAxis().setMin(0);
+        conf.getTooltip().setShared(true);
+
+        DataSeries articles = new DataSeries("Articles publiés");
+        DataSeries commentaires = new DataSeries("Commentaires");
+        DataSeries signales = new DataSeries("Commentaires signalés");
+        DataSeries messages = new DataSeries("Messages reçus");
+        for (ActiviteQuotidienne jour : activite) {
+            // Les dates du graphique sont interprétées en UTC
+            Instant instant = jour.getJour().atStartOfDay(ZoneOffset.UTC).toInstant();
+            articles.add(new DataSeriesItem(instant, jour.getArticlesPublies()));
+            commentaires.add(new DataSeriesItem(instant, jour.getCommentairesCrees()));
+            signales.add(new DataSeriesItem(instant, jour.getCommentairesSignales()));
+            messages.add(new DataSeriesItem(instant, jour.getMessagesRecus()));
+        }
+        conf.setSeries(articles, commentaires, signales, messages);
+        chart.setWidthFull();
+        chart.setHeight("400px");
+        return chart;
+    }
+
+    /**
+     * Affiche les totaux de l'instantané de statistiques.
+     */
+    private void afficherStatistiques(StatisticsService.Statistiques statistiques) {
+        statsContainer.add(createStatCard("Utilisateurs", statistiques.utilisateurs(), "#1976d2"));
+        statsContainer.add(createStatCard("Articles", statistiques.articles(), "#388e3c"));
+        statsContainer.add(createStatCard("Commentaires", statistiques.commentaires(), "#fbc02d"));
+        statsContainer.add(createStatCard("Messages", statistiques.messages(), "#d32f2f"));
+    }
+
+    private Div createStatCard(String label, long value, String color) {
         Div card = new Div();
         card.getStyle()
                 .set("background", "#fff")
@@ -84,7 +176,8 @@ public class DashboardAdminView extends VerticalLayout {
                 .set("flex-direction", "column")
                 .set("align-items", "center")
                 .set("min-width", "140px");
-        Span valueSpan = new Span(String.valueOf(value));
+        // Valeur négative : total indisponible
+        Span valueSpan = new Span(value < 0 ? "—" : String.valueOf(value));
         valueSpan.getStyle().set("font-size", "2.5em").set("font-weight", "bold").set("color", color);
         Span labelSpan = new Span(label);
         labelSpan.getStyle().set("font-size", "1.1em").set("color", "#888").set("margin-top", "8px");
@@ -0,0 +1,75 @@
+package app.project_fin_d_etude.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import app.project_fin_d_etude.model.CommentSummary;
+import app.project_fin_d_etude.service.CommentThreadService.Fil;
+import app.project_fin_d_etude.service.CommentThreadService.Noeud;
+
+/**
+ * Tests du regroupement en arbre d'une branche de fil lue dans l'ordre des
+ * chemins.
+ */
+class CommentThreadServiceTest {
+
+    private static CommentSummary commentaire(long id, Long parentId) {
+        return new CommentSummary(id, parentId, "Auteur", null, LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id),
+                "Contenu " + id, false);
+    }
+
+    @Test
+    void reponsesRattacheesALeurParentDansLOrdre() {
+        Fil fil = CommentThreadService.construire(List.of(
+                commentaire(1, null), commentaire(2, 1L), commentaire(4, 2L), commentaire(3, 1L)));
+
+        assertEquals(4, fil.nombreCommentaires());
+        assertEquals(1, fil.racines().size());
+        Noeud racine = fil.racines().get(0);
+        assertEquals(List.of(2L, 3L), racine.reponses().stream().map(n -> n.commentaire().id()).toList());
+        assertEquals(2, racine.nombreReponses());
+        assertEquals(List.of(4L), racine.reponses().get(0).reponses().stream().map(n -> n.commentaire().id()).toList());
+    }
+
+    @Test
+    void parentAbsentRattacheAuPremierNiveau() {
+        // La racine d'une branche a un parent hors de la branche
+        Fil fil = CommentThreadService.construire(List.of(commentaire(5, 1L), commentaire(6, 5L), commentaire(7, 99L)));
+
+        assertEquals(List.of(5L, 7L), fil.racines().stream().map(n -> n.commentaire().id()).toList());
+        assertEquals(1, fil.racines().get(0).reponses().size());
+    }
+
+    @Test
+    void dernierNiveauPorteLeNombreDeReponsesNonChargees() {
+        Fil fil = CommentThreadService.construire(List.of(commentaire(1, null), commentaire(2, 1L)), Map.of(2L, 3L, 1L, 8L));
+
+        Noeud racine = fil.racines().get(0);
+        // Réponses chargées : leur nombre prime sur le compte
+        assertEquals(1, racine.nombreReponses());
+        Noeud feuille = racine.reponses().get(0);
+        assertTrue(feuille.reponses().isEmpty());
+        assertEquals(3, feuille.nombreReponses());
+    }
+
+    @Test
+    void filTresProfondSansDebordementDePile() {
+        List<CommentSummary> chaine = new ArrayList<>();
+        chaine.add(commentaire(0, null));
+        for (long id = 1; id < 100_000; id++) {
+            chaine.add(commentaire(id, id - 1));
+        }
+
+        Fil fil = CommentThreadService.construire(chaine);
+
+        assertEquals(1, fil.racines().size());
+        assertEquals(100_000, fil.nombreCommentaires());
+    }
+}
@@ -0,0 +1,60 @@
+package app.project_fin_d_etude.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import app.project_fin_d_etude.model.Commentaire;
+
+/**
+ * Tests du chemin matérialisé des commentaires : format des segments, bornes
+ * de la plage d'un sous-arbre et limite de profondeur.
+ */
+class CommentaireCheminTest {
+
+    @Test
+    void segmentSurDouzeChiffresSuiviDUnSlash() {
+        assertEquals("000000000012/", Commentaire.cheminEnfant("", 12L));
+        assertEquals("000000000012/000000000045/", Commentaire.cheminEnfant("000000000012/", 45L));
+        assertEquals(Commentaire.LONGUEUR_SEGMENT_CHEMIN, Commentaire.cheminEnfant("", 999_999_999_999L).length());
+    }
+
+    @Test
+    void ordreDesCheminsSuitLOrdreNumeriqueDesIdentifiants() {
+        // Sans le remplissage par des zéros, "9/" serait après "10/"
+        assertTrue(Commentaire.cheminEnfant("", 9L).compareTo(Commentaire.cheminEnfant("", 10L)) < 0);
+    }
+
+    @Test
+    void finSousArbreRemplaceLeSlashFinalParZero() {
+        assertEquals("000000000012/0000000000450", Commentaire.finSousArbre("000000000012/000000000045/"));
+    }
+
+    @Test
+    void plageDuSousArbreCouvreLesDescendantsSeulement() {
+        String chemin = Commentaire.cheminEnfant("", 12L);
+        String fin = Commentaire.finSousArbre(chemin);
+
+        String descendant = Commentaire.cheminEnfant(Commentaire.cheminEnfant(chemin, 45L), 999_999_999_999L);
+        assertTrue(chemin.compareTo(descendant) <= 0 && descendant.compareTo(fin) < 0);
+
+        // Les frères, même d'identifiant voisin, sont hors de la plage
+        String frereSuivant = Commentaire.cheminEnfant("", 13L);
+        String frerePrecedent = Commentaire.cheminEnfant("", 11L);
+        assertTrue(frereSuivant.compareTo(fin) >= 0);
+        assertTrue(frerePrecedent.compareTo(chemin) < 0);
+    }
+
+    @Test
+    void cinquanteNiveauxAuPlus() {
+        String chemin = "";
+        for (long niveau = 1; niveau <= 50; niveau++) {
+            chemin = Commentaire.cheminEnfant(chemin, niveau);
+        }
+
+        assertEquals(Commentaire.LONGUEUR_MAX_CHEMIN, chemin.length());
+        // Un 51e niveau dépasse la colonne : aucun chemin ne lui est attribué
+        assertTrue(Commentaire.cheminEnfant(chemin, 51L).length() > Commentaire.LONGUEUR_MAX_CHEMIN);
+    }
+}
@@ -0,0 +1,34 @@
+package app.project_fin_d_etude.service;
+
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import app.project_fin_d_etude.model.PostSummary;
+import app.project_fin_d_etude.repository.PostRepository;
+
+/**
+ * Données communes des tests des index de titres : index vide, sans base, et
+ * articles dont la date de publication croît avec l'identifiant.
+ */
+final class IndexFixtures {
+
+    private IndexFixtures() {
+    }
+
+    /**
+     * Crée un index vide sur un dépôt factice.
+     */
+    static <I> I indexVide(Function<PostRepository, I> fabrique) {
+        return fabrique.apply(mock(PostRepository.class));
+    }
+
+    /**
+     * Résumé d'article : plus l'identifiant est grand, plus l'article est
+     * récent.
+     */
+    static PostSummary post(long id, String titre) {
+        return new PostSummary(id, titre, "", LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(id), "Auteur", null, 0, null);
+    }
+}
@@ -0,0 +1,127 @@
+package app.project_fin_d_etude.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import app.project_fin_d_etude.model.Post;
+import app.project_fin_d_etude.repository.PostRepository;
+
+/**
+ * Tests de l'index plein texte : découpage, classement BM25, mise à jour
+ * incrémentale et reconstruction par lots.
+ */
+class PostSearchIndexTest {
+
+    private PostRepository postRepository;
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        index = new PostSearchIndex(postRepository);
+    }
+
+    private static Post post(long id, String titre, String contenu) {
+        return new Post(id, titre, contenu, LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(id), "a@exemple.fr", "Auteur", null);
+    }
+
+    @Test
+    void tokeniserRetireAccentsMotsVidesEtTermesCourts() {
+        assertEquals(List.of("ete", "chaud", "mer"), PostSearchIndex.tokeniser("L'Été est chaud à la mer"));
+        assertEquals(List.of(), PostSearchIndex.tokeniser(null));
+    }
+
+    @Test
+    void termeDuTitrePasseAvantTermeDuContenu() {
+        index.indexer(post(1, "Cuisine du monde", "Recettes simples avec du riz"));
+        index.indexer(post(2, "Voyage en Asie", "Le riz est partout dans la cuisine locale"));
+
+        assertEquals(List.of(1L, 2L), index.rechercher("cuisine", 10));
+    }
+
+    @Test
+    void termeRareCompteDavantageQueTermeFrequent() {
+        index.indexer(post(1, "Jardin", "tomate tomate"));
+        index.indexer(post(2, "Jardin", "tomate basilic"));
+        index.indexer(post(3, "Jardin", "tomate salade"));
+
+        // "basilic" n'apparaît que dans l'article 2 : son idf l'emporte
+        assertEquals(2L, index.rechercher("tomate basilic", 10).get(0));
+    }
+
+    @Test
+    void documentCourtPasseAvantDocumentLongAFrequenceEgale() {
+        index.indexer(post(1, "Notes", "python"));
+        index.indexer(post(2, "Notes", "python langage typage dynamique interpreteur bibliotheque standard"));
+
+        assertEquals(List.of(1L, 2L), index.rechercher("python", 10));
+    }
+
+    @Test
+    void aScoreEgalLePlusRecentPasseEnPremier() {
+        index.indexer(post(1, "Titre", "meteo"));
+        index.indexer(post(2, "Titre", "meteo"));
+
+        assertEquals(List.of(2L, 1L), index.rechercher("météo", 10));
+        assertEquals(List.of(2L), index.rechercher("meteo", 1));
+    }
+
+    @Test
+    void reindexerRemplaceEtSupprimerRetire() {
+        index.indexer(post(1, "Ancien titre", "contenu ancien"));
+        index.indexer(post(1, "Nouveau titre", "contenu nouveau"));
+
+        assertEquals(List.of(), index.rechercher("ancien", 10));
+        assertEquals(List.of(1L), index.rechercher("nouveau", 10));
+        assertEquals(1, index.taille());
+
+        index.supprimer(1L);
+        assertEquals(List.of(), index.rechercher("nouveau", 10));
+        assertEquals(0, index.taille());
+    }
+
+    @Test
+    void requeteSansTermeUtileNeRenvoieRien() {
+        index.indexer(post(1, "Titre", "contenu"));
+
+        assertEquals(List.of(), index.rechercher("le la de", 10));
+        assertEquals(List.of(), index.rechercher("contenu", 0));
+    }
+
+    @Test
+    void reconstruireParcourtTousLesLots() {
+        // Plus d'un lot de reconstruction (500 articles par lot)
+        List<Post> posts = new ArrayList<>();
+        for (long id = 1; id <= 1200; id++) {
+            posts.add(post(id, "Article " + id, id % 100 == 0 ? "centaine" : "ordinaire"));
+        }
+        when(postRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long dernierId = invocation.getArgument(0);
+            Pageable limite = invocation.getArgument(1);
+            return posts.stream().filter(p -> p.getId() > dernierId).limit(limite.getPageSize()).toList();
+        });
+        index.indexer(post(5000, "Ancien", "hors base"));
+        assertFalse(index.isPret());
+
+        index.reconstruire();
+
+        assertTrue(index.isPret());
+        assertEquals(1200, index.taille());
+        assertEquals(12, index.rechercher("centaine", 100).size());
+        // La reconstruction repart d'un index vide
+        assertEquals(List.of(), index.rechercher("ancien", 10));
+    }
+}
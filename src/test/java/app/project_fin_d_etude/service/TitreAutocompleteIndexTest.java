@@ -0,0 +1,92 @@
+package app.project_fin_d_etude.service;
+
+import static app.project_fin_d_etude.service.IndexFixtures.post;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests de l'autocomplétion des titres : préfixes du titre et de ses mots,
+ * classement par date et maintien des meilleures suggestions de chaque nœud
+ * après suppression.
+ */
+class TitreAutocompleteIndexTest {
+
+    private TitreAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = IndexFixtures.indexVide(TitreAutocompleteIndex::new);
+    }
+
+    private List<Long> ids(String saisie, int limite) {
+        return index.suggerer(saisie, limite).stream().map(TitreAutocompleteIndex.Suggestion::id).toList();
+    }
+
+    @Test
+    void prefixeDuTitreOuDUnDeSesMots() {
+        index.indexer(post(1, "Sécurité réseau"));
+        index.indexer(post(2, "La sécurité des applications"));
+        index.indexer(post(3, "Cuisine"));
+
+        assertEquals(List.of(2L, 1L), ids("secu", 10));
+        assertEquals(List.of(2L, 1L), ids("SÉCU", 10));
+        assertEquals(List.of(1L), ids("securite res", 10));
+        assertEquals(List.of(), ids("xyz", 10));
+    }
+
+    @Test
+    void dernierMotSaisiCommePrefixeLesAutresDansLeTitre() {
+        index.indexer(post(1, "La sécurité des applications"));
+        index.indexer(post(2, "Sécurité réseau"));
+
+        assertEquals(List.of(1L), ids("applications secu", 10));
+    }
+
+    @Test
+    void suggestionsLesPlusRecentesDAbordEtLimitees() {
+        LongStream.rangeClosed(1, 15).forEach(id -> index.indexer(post(id, "Article " + id)));
+
+        assertEquals(List.of(15L, 14L, 13L, 12L, 11L, 10L, 9L, 8L, 7L, 6L), ids("art", 10));
+        assertEquals(List.of(15L, 14L, 13L), ids("article", 3));
+    }
+
+    @Test
+    void suppressionRecalculeLesMeilleuresSuggestions() {
+        LongStream.rangeClosed(1, 15).forEach(id -> index.indexer(post(id, "Article " + id)));
+
+        index.supprimer(15L);
+        index.supprimer(12L);
+
+        // Les articles 5 et 4, absents du top de "art", y remontent depuis leurs branches
+        assertEquals(List.of(14L, 13L, 11L, 10L, 9L, 8L, 7L, 6L, 5L, 4L), ids("art", 10));
+        assertEquals(List.of(), ids("article 15", 10));
+        assertEquals(List.of(14L, 13L, 11L, 10L, 1L), ids("article 1", 10));
+    }
+
+    @Test
+    void reindexerRemplaceLesClesDuTitre() {
+        index.indexer(post(1, "Ancien titre"));
+        index.indexer(post(1, "Nouveau titre"));
+
+        assertEquals(List.of(), ids("ancien", 10));
+        assertEquals(List.of(1L), ids("nouv", 10));
+        assertEquals(List.of(1L), ids("titre", 10));
+    }
+
+    @Test
+    void toutSupprimerVideLArbre() {
+        index.indexer(post(1, "Photographie"));
+        index.indexer(post(2, "Photo de voyage"));
+
+        index.supprimer(1L);
+        assertEquals(List.of(2L), ids("photo", 10));
+        index.supprimer(2L);
+        assertEquals(List.of(), ids("p", 10));
+        assertEquals(0, index.taille());
+    }
+}
@@ -0,0 +1,81 @@
+package app.project_fin_d_etude.service;
+
+import static app.project_fin_d_etude.service.IndexFixtures.post;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests de la recherche approchée sur les titres : sélection des mots
+ * candidats par trigrammes (Jaccard), puis filtrage et classement par
+ * distance de Levenshtein.
+ */
+class TitreTrigrammeIndexTest {
+
+    private TitreTrigrammeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = IndexFixtures.indexVide(TitreTrigrammeIndex::new);
+    }
+
+    @Test
+    void fauteDeFrappeRetrouveLeTitre() {
+        index.indexer(post(1, "Développement web moderne"));
+        index.indexer(post(2, "Sécurité réseau"));
+
+        assertEquals(List.of(1L), index.rechercher("developement", 10));
+        assertEquals(List.of(2L), index.rechercher("securiter", 10));
+    }
+
+    @Test
+    void motExactPasseAvantMotProche() {
+        // Le titre le plus récent est le plus éloigné : seule la distance départage
+        index.indexer(post(1, "Le jardin"));
+        index.indexer(post(2, "Les jardins"));
+
+        assertEquals(List.of(1L, 2L), index.rechercher("jardin", 10));
+    }
+
+    @Test
+    void motAvecTropPeuDeTrigrammesCommunsEstIgnore() {
+        // "ras" et "rat" ne partagent qu'un trigramme sur cinq, malgré une seule faute
+        index.indexer(post(1, "Le rat des villes"));
+
+        assertEquals(List.of(), index.rechercher("ras", 10));
+    }
+
+    @Test
+    void motTropDistantEstIgnoreMalgreLesTrigrammes() {
+        // Trigrammes communs suffisants, mais trois modifications pour deux tolérées
+        index.indexer(post(1, "Esprit montagnard"));
+
+        assertEquals(List.of(), index.rechercher("montagne", 10));
+    }
+
+    @Test
+    void chaqueTermeDeLaRequeteAjouteSaSimilarite() {
+        index.indexer(post(1, "Jardin potager"));
+        index.indexer(post(2, "Jardin zen"));
+
+        assertEquals(List.of(1L, 2L), index.rechercher("jardin potagr", 10));
+        assertEquals(List.of(1L), index.rechercher("jardin potagr", 1));
+    }
+
+    @Test
+    void supprimerRetireLeMotDuVocabulaire() {
+        index.indexer(post(1, "Photographie argentique"));
+        index.indexer(post(2, "Photographie numérique"));
+
+        index.supprimer(1L);
+        assertEquals(List.of(), index.rechercher("argentiqe", 10));
+        assertEquals(List.of(2L), index.rechercher("photografie", 10));
+
+        index.indexer(post(2, "Peinture"));
+        assertEquals(List.of(), index.rechercher("photografie", 10));
+        assertEquals(1, index.taille());
+    }
+}
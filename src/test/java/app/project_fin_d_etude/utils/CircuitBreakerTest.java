@@ -0,0 +1,105 @@
+package app.project_fin_d_etude.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import app.project_fin_d_etude.utils.CircuitBreaker.Appel;
+import app.project_fin_d_etude.utils.CircuitBreaker.Etat;
+
+/**
+ * Tests du disjoncteur : ouverture après des échecs consécutifs, appel
+ * d'essai unique en semi-ouvert, et résultats tardifs des appels admis avant
+ * un changement d'état.
+ */
+class CircuitBreakerTest {
+
+    private static void echouer(CircuitBreaker circuit, int fois) {
+        for (int i = 0; i < fois; i++) {
+            circuit.autoriser().orElseThrow().echec();
+        }
+    }
+
+    @Test
+    void ouvertApresLeSeuilDEchecsConsecutifs() {
+        CircuitBreaker circuit = new CircuitBreaker(3, Duration.ofMinutes(1));
+
+        echouer(circuit, 2);
+        circuit.autoriser().orElseThrow().succes();
+        echouer(circuit, 2);
+        assertEquals(Etat.FERME, circuit.getEtat());
+
+        echouer(circuit, 1);
+        assertEquals(Etat.OUVERT, circuit.getEtat());
+        assertTrue(circuit.autoriser().isEmpty());
+    }
+
+    @Test
+    void unSeulEssaiEnSemiOuvert() {
+        CircuitBreaker circuit = new CircuitBreaker(1, Duration.ZERO);
+        echouer(circuit, 1);
+
+        Appel essai = circuit.autoriser().orElseThrow();
+        assertEquals(Etat.SEMI_OUVERT, circuit.getEtat());
+        assertTrue(circuit.autoriser().isEmpty());
+
+        essai.succes();
+        assertEquals(Etat.FERME, circuit.getEtat());
+    }
+
+    @Test
+    void echecDeLEssaiRouvre() {
+        CircuitBreaker circuit = new CircuitBreaker(5, Duration.ZERO);
+        echouer(circuit, 5);
+
+        circuit.autoriser().orElseThrow().echec();
+
+        assertEquals(Etat.OUVERT, circuit.getEtat());
+    }
+
+    @Test
+    void succesTardifDUnAppelFermeNeRefermePasPendantLEssai() {
+        CircuitBreaker circuit = new CircuitBreaker(1, Duration.ZERO);
+        Appel lent = circuit.autoriser().orElseThrow();
+        echouer(circuit, 1);
+
+        Appel essai = circuit.autoriser().orElseThrow();
+        lent.succes();
+
+        assertEquals(Etat.SEMI_OUVERT, circuit.getEtat());
+        assertTrue(circuit.autoriser().isEmpty());
+        essai.echec();
+        assertEquals(Etat.OUVERT, circuit.getEtat());
+    }
+
+    @Test
+    void echecTardifDUnAppelFermeNeRouvrePasPendantLEssai() {
+        CircuitBreaker circuit = new CircuitBreaker(1, Duration.ZERO);
+        Appel lent = circuit.autoriser().orElseThrow();
+        echouer(circuit, 1);
+
+        Appel essai = circuit.autoriser().orElseThrow();
+        lent.echec();
+
+        assertEquals(Etat.SEMI_OUVERT, circuit.getEtat());
+        essai.succes();
+        assertEquals(Etat.FERME, circuit.getEtat());
+    }
+
+    @Test
+    void resultatTardifIgnoreApresLaFermeture() {
+        CircuitBreaker circuit = new CircuitBreaker(2, Duration.ZERO);
+        Appel lent = circuit.autoriser().orElseThrow();
+        echouer(circuit, 2);
+        circuit.autoriser().orElseThrow().succes();
+
+        // L'échec d'un appel admis avant l'ouverture ne compte pas dans la nouvelle série
+        lent.echec();
+        echouer(circuit, 1);
+
+        assertEquals(Etat.FERME, circuit.getEtat());
+    }
+}
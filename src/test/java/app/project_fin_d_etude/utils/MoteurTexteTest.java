@@ -0,0 +1,131 @@
+package app.project_fin_d_etude.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Vérifie que {@link MoteurTexte} donne exactement les mêmes résultats que
+ * les expressions régulières et la normalisation {@link Normalizer} qu'il
+ * remplace, reproduites ici telles quelles : sur une table de cas limites,
+ * puis sur des textes aléatoires (graine fixe).
+ */
+class MoteurTexteTest {
+
+    // Implémentation d'origine
+    private static final Pattern EMAIL = Pattern.compile(
+            "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NOM = Pattern.compile(
+            "^[a-zA-ZÀ-ÿ\\s'-]{2,50}$", Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Pattern TITRE = Pattern.compile(
+            "^[a-zA-ZÀ-ÿ0-9\\s'-]{3,300}$", Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Pattern DIACRITIQUES = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    // Caractères des textes aléatoires : ASCII utiles aux motifs, Latin-1,
+    // blancs Unicode, marques combinantes, sigma, caractères au-delà de la table
+    private static final String ALPHABET = "aAzZ09._%+-@' \t\n\r\u000B\f\u0001"
+            + "éÉèàçÇñÑßøØæÿ×÷µ \u0085"
+            + "̧́̈҉ः⃝"
+            + "ΣσςΑάΆẞẠĳŁ   　ﬁＡ";
+
+    private static final int ITERATIONS = 200_000;
+
+    private static boolean emailOrigine(String texte) {
+        return texte != null && EMAIL.matcher(texte.trim()).matches();
+    }
+
+    private static boolean nomOrigine(String texte) {
+        return texte != null && NOM.matcher(texte.trim()).matches();
+    }
+
+    private static boolean titreOrigine(String texte) {
+        return texte != null && TITRE.matcher(texte.trim()).matches();
+    }
+
+    private static String nettoyerOrigine(String texte) {
+        return texte == null ? "" : texte.replaceAll("\\s+", " ").trim();
+    }
+
+    private static String sansAccentsOrigine(String texte) {
+        if (texte == null) {
+            return "";
+        }
+        return DIACRITIQUES.matcher(Normalizer.normalize(texte, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    private static String normaliserOrigine(String texte) {
+        return sansAccentsOrigine(texte).toLowerCase(Locale.ROOT);
+    }
+
+    private static void verifierEquivalence(String texte) {
+        String cas = texte == null ? "null" : texte.chars().mapToObj(c -> String.format("\\u%04X", c)).reduce("", String::concat);
+        assertEquals(emailOrigine(texte), MoteurTexte.estEmail(texte), () -> "estEmail " + cas);
+        assertEquals(nomOrigine(texte), MoteurTexte.estNom(texte), () -> "estNom " + cas);
+        assertEquals(titreOrigine(texte), MoteurTexte.estTitre(texte), () -> "estTitre " + cas);
+        assertEquals(nettoyerOrigine(texte), MoteurTexte.nettoyer(texte), () -> "nettoyer " + cas);
+        assertEquals(sansAccentsOrigine(texte), MoteurTexte.sansAccents(texte), () -> "sansAccents " + cas);
+        assertEquals(normaliserOrigine(texte), MoteurTexte.normaliser(texte), () -> "normaliser " + cas);
+        if (texte != null) {
+            assertEquals(texte.trim().length(), MoteurTexte.longueurUtile(texte), () -> "longueurUtile " + cas);
+            assertEquals(texte.trim().isEmpty(), MoteurTexte.estVide(texte), () -> "estVide " + cas);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "", " ", "\t\n", "a", "ab", "abc", "  Jean-Luc  ", "O'Brien", "Zoë Saldaña", "Jean Dupont",
+        "Jean Dupont", "Jean　Dupont", "Éric×", "a1", "Titre 2024 - édition", "Ça marche",
+        "user@example.com", " User.Name+tag@Sub-Domain.Example.ORG ", "a@b.c", "a@b.cc", "@b.cc", "a@.cc",
+        "a@b..cc", "a@@b.cc", "a@b.c1", "a@b.ç", "a@b.éé", "é@b.cc", "a b@c.dd", "a@b.cc\u0085",
+        "Ligne 1\r\n\r\nLigne  2\t\tfin  ", "\u0001texte\u0001", "déjà vu", "CAFÉ CRÈME", "été",
+        "ẞß", "ΣΟΦΟΣ", "ΟΔΟΣ ΣΑ", "Ά́", "ﬁn", "ＡＢ", "a⃝", "कः",
+        "x҉y", "  "
+    })
+    void casLimitesIdentiquesALOrigine(String texte) {
+        verifierEquivalence(texte);
+    }
+
+    @Test
+    void nullIdentiqueALOrigine() {
+        verifierEquivalence(null);
+    }
+
+    @Test
+    void longueursLimitesDuNomEtDuTitre() {
+        verifierEquivalence("a".repeat(50));
+        verifierEquivalence("a".repeat(51));
+        verifierEquivalence(" " + "é".repeat(300) + " ");
+        verifierEquivalence("é".repeat(301));
+    }
+
+    @Test
+    void textesAleatoiresIdentiquesALOrigine() {
+        Random random = new Random(20241017L);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sb.setLength(0);
+            // Surtout des textes courts, parfois au-delà des longueurs maximales
+            int longueur = random.nextInt(10) == 0 ? random.nextInt(320) : random.nextInt(24);
+            for (int j = 0; j < longueur; j++) {
+                sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            verifierEquivalence(sb.toString());
+        }
+    }
+
+    @Test
+    void texteInchangeRenvoyeSansCopie() {
+        String texte = "deja normalise";
+        assertSame(texte, MoteurTexte.sansAccents(texte));
+        assertSame(texte, MoteurTexte.normaliser(texte));
+        assertSame(texte, MoteurTexte.nettoyer(texte));
+    }
+}